@@ -0,0 +1,6 @@
+ConcurrentHashMap<String, Object> credentials = new ConcurrentHashMap<>();
+credentials.put("username", "foo");
+credentials.put("password", "bar");
+
+kuzzle.getAuthController().login("local", credentials).get();
+Boolean valid = kuzzle.getAuthController().checkTokenValidity(60000).get();
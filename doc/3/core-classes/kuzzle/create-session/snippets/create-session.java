@@ -0,0 +1,8 @@
+KuzzleSession session = kuzzle.createSession();
+
+ConcurrentHashMap<String, Object> credentials = new ConcurrentHashMap<>();
+credentials.put("username", "foo");
+credentials.put("password", "bar");
+
+session.getAuthController().login("local", credentials).get();
+session.close();
@@ -39,7 +39,7 @@ public class SnippetTest {
       // Sends the subscription
       kuzzle.getRealtimeController()
           .subscribe("nyc-open-data", "yellow-taxi", filters, notification -> {
-            ConcurrentHashMap<String, Object> content = ((ConcurrentHashMap<String, Object>)(notification.result));
+            ConcurrentHashMap<String, Object> content = ((ConcurrentHashMap<String, Object>)(notification.getResult()));
             System.out.println("New created document notification: " + content);
           }).get();
       System.out.println("Successfully subscribed!");
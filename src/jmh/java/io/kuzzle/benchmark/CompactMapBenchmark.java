@@ -0,0 +1,83 @@
+package io.kuzzle.benchmark;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of search result pages as KuzzleMap or CompactKuzzleMap.
+ * The JMH benchmarks measure the decoding time (and allocations, with
+ * -prof gc). The main method measures the heap retained by decoded pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactMapBenchmark {
+  @Param({ "10000" })
+  public int hits;
+
+  private String json;
+
+  @Setup
+  public void setup() {
+    json = JsonSerializer.serialize(Documents.searchPage(hits, 0.2));
+  }
+
+  @Benchmark
+  public Object decode() {
+    return JsonSerializer.deserializeValue(json, false);
+  }
+
+  @Benchmark
+  public Object decodeCompact() {
+    return JsonSerializer.deserializeValue(json, true);
+  }
+
+  /**
+   * Print the heap retained by a decoded 10k hits page, in both modes.
+   *
+   * @param args Unused
+   */
+  public static void main(final String[] args) {
+    final String json = JsonSerializer.serialize(
+        Documents.searchPage(10000, 0.2));
+
+    for (final boolean compact : new boolean[] { false, true }) {
+      final Object[] pages = new Object[10];
+      final long before = usedHeap();
+
+      for (int i = 0; i < pages.length; i++) {
+        pages[i] = JsonSerializer.deserializeValue(json, compact);
+      }
+
+      final long retained = (usedHeap() - before) / pages.length;
+      System.out.printf("%s: %d KiB per page (%d hits)%n",
+          compact ? "compact" : "default", retained / 1024,
+          ((KuzzleMap) pages[0]).getArrayList("hits").size());
+    }
+  }
+
+  private static long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,70 @@
+package io.kuzzle.benchmark;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.SearchResult;
+import io.kuzzle.sdk.Options.SearchOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pages through the first hits of a search over 1M documents, served by a
+ * local stand-in server, with from/size or with search_after.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class DeepPaginationBenchmark {
+  private static final int PAGE_SIZE = 1000;
+
+  @Param({ "10000", "50000" })
+  public int depth;
+
+  @Param({ "fromSize", "searchAfter" })
+  public String strategy;
+
+  private StandInServer server;
+
+  @Setup
+  public void setup() {
+    server = new StandInServer(1000000, 5);
+  }
+
+  @Benchmark
+  public int paginate() throws Exception {
+    final SearchOptions options = new SearchOptions();
+    options.setSize(PAGE_SIZE);
+    options.setSearchAfterThreshold(
+        strategy.equals("fromSize") ? Integer.MAX_VALUE : 0);
+
+    final KuzzleMap query = new KuzzleMap()
+        .put("sort", new ArrayList<>(Arrays.asList("rank")));
+
+    SearchResult page = server.getDocumentController()
+        .search("index", "collection", query, options)
+        .get();
+    int fetched = 0;
+
+    while (page != null && fetched < depth) {
+      fetched += page.hits.size();
+      page = page.next().get();
+    }
+
+    return fetched;
+  }
+}
@@ -0,0 +1,93 @@
+package io.kuzzle.benchmark;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Generates realistic nested documents for the benchmarks.
+ */
+public class Documents {
+  private Documents() {
+  }
+
+  /**
+   * @param random    Random source
+   * @param nullRatio Ratio of optional fields left null
+   * @return A taxi ride like document
+   */
+  public static KuzzleMap document(final Random random, final double nullRatio) {
+    final KuzzleMap document = new KuzzleMap();
+
+    document
+        .put("vendorId", "vendor-" + random.nextInt(10))
+        .put("passengerCount", random.nextInt(6) + 1)
+        .put("tripDistance", random.nextDouble() * 30)
+        .put("storeAndForward", random.nextBoolean())
+        .put("pickup", new KuzzleMap()
+            .put("datetime", "2020-05-11T15:03:26Z")
+            .put("location", new KuzzleMap()
+                .put("lat", 40.7 + random.nextDouble() / 10)
+                .put("lon", -74 + random.nextDouble() / 10))
+            .put("zone", optional(random, nullRatio, "Manhattan")))
+        .put("dropoff", new KuzzleMap()
+            .put("datetime", "2020-05-11T15:23:26Z")
+            .put("location", new KuzzleMap()
+                .put("lat", 40.7 + random.nextDouble() / 10)
+                .put("lon", -74 + random.nextDouble() / 10))
+            .put("zone", optional(random, nullRatio, "Brooklyn")));
+
+    final KuzzleMap fare = new KuzzleMap();
+    for (final String field : new String[] {
+        "amount", "extra", "mtaTax", "tip", "tolls", "improvement", "total" }) {
+      fare.put(field, optional(random, nullRatio, random.nextDouble() * 50));
+    }
+    document.put("fare", fare);
+
+    final ArrayList<Object> tags = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      tags.add("tag-" + random.nextInt(100));
+    }
+    document.put("tags", tags);
+
+    for (int i = 0; i < 10; i++) {
+      document.put("optional" + i, optional(random, nullRatio, "value-" + i));
+    }
+
+    return document;
+  }
+
+  /**
+   * @param size      Number of hits
+   * @param nullRatio Ratio of optional fields left null
+   * @return A search result page, as returned by document:search
+   */
+  public static KuzzleMap searchPage(final int size, final double nullRatio) {
+    final Random random = new Random(42);
+    final ArrayList<Object> hits = new ArrayList<>();
+
+    for (int i = 0; i < size; i++) {
+      hits.add(new KuzzleMap()
+          .put("_id", "document-" + i)
+          .put("_score", 1)
+          .put("_source", document(random, nullRatio))
+          .put("_meta", new KuzzleMap()
+              .put("author", "-1")
+              .put("createdAt", 1589202206000L)
+              .put("updatedAt", null)
+              .put("updater", null)));
+    }
+
+    return new KuzzleMap()
+        .put("hits", hits)
+        .put("total", size)
+        .put("scrollId", null)
+        .put("aggregations", null);
+  }
+
+  private static Object optional(final Random random, final double nullRatio,
+                                 final Object value) {
+    return random.nextDouble() < nullRatio ? null : value;
+  }
+}
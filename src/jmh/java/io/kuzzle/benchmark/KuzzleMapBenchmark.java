@@ -0,0 +1,119 @@
+package io.kuzzle.benchmark;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMapEntry;
+import io.kuzzle.sdk.CoreClasses.Maps.Null;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Serialization and traversal of nested KuzzleMap documents.
+ * The legacy* benchmarks reproduce the former entrySet() implementation,
+ * which copied the entries through a parallel stream on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KuzzleMapBenchmark {
+  @Param({ "1", "100" })
+  public int hits;
+
+  private KuzzleMap page;
+  private Object legacyPage;
+
+  @Setup
+  public void setup() {
+    page = Documents.searchPage(hits, 0.2);
+    legacyPage = toLegacy(page);
+  }
+
+  @Benchmark
+  public String serialize() {
+    return JsonSerializer.serialize(page);
+  }
+
+  @Benchmark
+  public void traverse(final Blackhole blackhole) {
+    traverse(page, blackhole);
+  }
+
+  @Benchmark
+  public void legacyTraverse(final Blackhole blackhole) {
+    traverse(legacyPage, blackhole);
+  }
+
+  @Benchmark
+  public KuzzleMap copy() {
+    return new KuzzleMap(page);
+  }
+
+  private static void traverse(final Object value, final Blackhole blackhole) {
+    if (value instanceof ConcurrentHashMap) {
+      for (final Map.Entry<String, Object> entry
+          : ((ConcurrentHashMap<String, Object>) value).entrySet()) {
+        blackhole.consume(entry.getKey());
+        traverse(entry.getValue(), blackhole);
+      }
+    } else if (value instanceof ArrayList) {
+      for (final Object item : (ArrayList<Object>) value) {
+        traverse(item, blackhole);
+      }
+    } else {
+      blackhole.consume(value);
+    }
+  }
+
+  private static Object toLegacy(final Object value) {
+    if (value instanceof ConcurrentHashMap) {
+      final LegacyKuzzleMap map = new LegacyKuzzleMap();
+      ((ConcurrentHashMap<String, Object>) value)
+          .forEach((key, item) -> map.put(key, toLegacy(item)));
+      return map;
+    }
+    if (value instanceof ArrayList) {
+      final ArrayList<Object> list = new ArrayList<>();
+      for (final Object item : (ArrayList<Object>) value) {
+        list.add(toLegacy(item));
+      }
+      return list;
+    }
+    return value;
+  }
+
+  /**
+   * KuzzleMap storage with the former entrySet() implementation.
+   */
+  private static class LegacyKuzzleMap extends ConcurrentHashMap<String, Object> {
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return super.entrySet().parallelStream().map((entry) -> {
+        if (entry.getValue() instanceof Null) {
+          return (Entry<String, Object>) new KuzzleMapEntry(
+              entry.getKey(), entry.getValue(), this);
+        }
+        return entry;
+      }).collect(Collectors.toSet());
+    }
+  }
+}
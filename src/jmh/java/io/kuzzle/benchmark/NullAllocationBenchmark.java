@@ -0,0 +1,101 @@
+package io.kuzzle.benchmark;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocations of null-heavy documents. Run with the gc profiler to get the
+ * allocated bytes per operation:
+ * gradle jmh -Pjmh.include=NullAllocationBenchmark -Pjmh.profilers=gc
+ * or java -jar build/libs/*-jmh.jar NullAllocationBenchmark -prof gc
+ *
+ * legacyPut reproduces the former behavior, allocating a marker per null.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NullAllocationBenchmark {
+  private static final String[] FIELDS = new String[64];
+
+  static {
+    for (int i = 0; i < FIELDS.length; i++) {
+      FIELDS[i] = "field" + i;
+    }
+  }
+
+  @Param({ "0.2", "0.8" })
+  public double nullRatio;
+
+  private boolean[] nulls;
+  private KuzzleMap document;
+  private KuzzleMap page;
+
+  @Setup
+  public void setup() {
+    nulls = new boolean[FIELDS.length];
+    for (int i = 0; i < FIELDS.length; i++) {
+      nulls[i] = i < FIELDS.length * nullRatio;
+    }
+    document = put();
+    page = Documents.searchPage(100, nullRatio);
+  }
+
+  @Benchmark
+  public KuzzleMap put() {
+    final KuzzleMap map = new KuzzleMap();
+
+    for (int i = 0; i < FIELDS.length; i++) {
+      map.put(FIELDS[i], nulls[i] ? null : FIELDS[i]);
+    }
+    return map;
+  }
+
+  @Benchmark
+  public ConcurrentHashMap<String, Object> legacyPut() {
+    final ConcurrentHashMap<String, Object> map = new ConcurrentHashMap<>();
+
+    for (int i = 0; i < FIELDS.length; i++) {
+      map.put(FIELDS[i], nulls[i] ? new LegacyNull() : FIELDS[i]);
+    }
+    return map;
+  }
+
+  @Benchmark
+  public KuzzleMap copy() {
+    return new KuzzleMap(document);
+  }
+
+  @Benchmark
+  public String serialize() {
+    return JsonSerializer.serialize(page);
+  }
+
+  /**
+   * Same layout as the former per-value Null marker.
+   */
+  private static class LegacyNull {
+    final int hashCode = 572487463;
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package io.kuzzle.benchmark;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Kuzzle;
+import io.kuzzle.sdk.Protocol.AbstractProtocol;
+import io.kuzzle.sdk.Protocol.ProtocolState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for a Kuzzle server searching a sharded collection sorted on
+ * a unique "rank" field, with from/size or search_after.
+ *
+ * As Elasticsearch does, each shard collects its best from + size documents
+ * (or its best size documents following search_after), and the results of
+ * the shards are merged before returning the requested page.
+ */
+public class StandInServer extends Kuzzle {
+  private static class NoProtocol extends AbstractProtocol {
+    @Override
+    public ProtocolState getState() {
+      return ProtocolState.OPEN;
+    }
+
+    @Override
+    public void connect() {
+    }
+
+    @Override
+    public void disconnect() {
+    }
+
+    @Override
+    public void send(final ConcurrentHashMap<String, Object> payload) {
+    }
+  }
+
+  private final int[][] shards;
+  private final int total;
+
+  /**
+   * @param total  Number of documents
+   * @param shards Number of shards
+   */
+  public StandInServer(final int total, final int shards) {
+    super(new NoProtocol());
+
+    final int[] ranks = new int[total];
+    final Random random = new Random(42);
+
+    for (int i = 0; i < total; i++) {
+      ranks[i] = i;
+    }
+    for (int i = total - 1; i > 0; i--) {
+      final int j = random.nextInt(i + 1);
+      final int rank = ranks[i];
+      ranks[i] = ranks[j];
+      ranks[j] = rank;
+    }
+
+    this.total = total;
+    this.shards = new int[shards][];
+    for (int shard = 0; shard < shards; shard++) {
+      this.shards[shard] = Arrays.copyOfRange(ranks,
+          shard * total / shards, (shard + 1) * total / shards);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Response> query(
+      final ConcurrentHashMap<String, Object> query) {
+    final KuzzleMap request = KuzzleMap.from(query);
+    final KuzzleMap body = request.getMap("body");
+    final int size = request.getNumber("size").intValue();
+    final int from = request.optNumber("from", 0).intValue();
+    final ArrayList<Object> searchAfter = body.getArrayList("search_after");
+    final int after = searchAfter == null ? -1
+        : ((Number) searchAfter.get(0)).intValue();
+
+    // each shard returns its best from + size documents
+    final int[] merged = new int[shards.length * (from + size)];
+    int count = 0;
+    for (final int[] shard : shards) {
+      final int[] best = collect(shard, from + size, after);
+      System.arraycopy(best, 0, merged, count, best.length);
+      count += best.length;
+    }
+    Arrays.sort(merged, 0, count);
+
+    final ArrayList<Object> hits = new ArrayList<>();
+    for (int i = from; i < Math.min(count, from + size); i++) {
+      hits.add(new KuzzleMap()
+          .put("_id", "document-" + merged[i])
+          .put("_score", 1)
+          .put("_source", new KuzzleMap().put("rank", merged[i])));
+    }
+
+    final Response response = new Response();
+    response.setResult(new KuzzleMap()
+        .put("hits", hits)
+        .put("total", total));
+    return CompletableFuture.completedFuture(response);
+  }
+
+  /**
+   * @return The limit lowest ranks of a shard greater than after, sorted
+   */
+  private static int[] collect(final int[] shard, final int limit,
+                               final int after) {
+    // bounded max-heap of the best ranks found so far
+    final int[] heap = new int[limit];
+    int size = 0;
+
+    for (final int rank : shard) {
+      if (rank <= after) {
+        continue;
+      }
+
+      if (size < limit) {
+        int i = size++;
+        heap[i] = rank;
+        while (i > 0 && heap[(i - 1) / 2] < heap[i]) {
+          swap(heap, i, (i - 1) / 2);
+          i = (i - 1) / 2;
+        }
+      } else if (rank < heap[0]) {
+        heap[0] = rank;
+        int i = 0;
+        while (true) {
+          final int left = 2 * i + 1;
+          final int right = left + 1;
+          int largest = i;
+
+          if (left < size && heap[left] > heap[largest]) {
+            largest = left;
+          }
+          if (right < size && heap[right] > heap[largest]) {
+            largest = right;
+          }
+          if (largest == i) {
+            break;
+          }
+          swap(heap, i, largest);
+          i = largest;
+        }
+      }
+    }
+
+    final int[] best = Arrays.copyOf(heap, size);
+    Arrays.sort(best);
+    return best;
+  }
+
+  private static void swap(final int[] heap, final int a, final int b) {
+    final int value = heap[a];
+    heap[a] = heap[b];
+    heap[b] = value;
+  }
+}
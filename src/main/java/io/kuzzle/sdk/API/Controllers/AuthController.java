@@ -37,7 +37,46 @@ public class AuthController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
+  }
+
+  /**
+   * Checks that an authentication token remains valid for at least
+   * minValidity milliseconds. The answer is read from the token expiration
+   * date when it is certain, and asked to Kuzzle with checkToken otherwise.
+   * A token revoked before its expiration is only detected by Kuzzle: use
+   * checkToken to detect it.
+   *
+   * @param token       An authentication token
+   * @param minValidity Time, in milliseconds, the token must remain valid
+   * @return a CompletableFuture
+   * @throws NotConnectedException
+   * @throws InternalException
+   */
+  public CompletableFuture<Boolean> checkTokenValidity(
+      final String token,
+      final long minValidity) throws NotConnectedException, InternalException {
+    return kuzzle.getTokenValidator().isValid(token, minValidity);
+  }
+
+  /**
+   * Checks that the current authentication token remains valid for at
+   * least minValidity milliseconds, like checkTokenValidity(String, long).
+   *
+   * @param minValidity Time, in milliseconds, the token must remain valid
+   * @return a CompletableFuture
+   * @throws NotConnectedException
+   * @throws InternalException
+   */
+  public CompletableFuture<Boolean> checkTokenValidity(final long minValidity)
+      throws NotConnectedException, InternalException {
+    final String token = kuzzle.getAuthenticationToken();
+
+    if (token == null) {
+      return CompletableFuture.completedFuture(false);
+    }
+    return checkTokenValidity(token, minValidity);
   }
 
   /**
@@ -66,7 +105,8 @@ public class AuthController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync((response) -> KuzzleMap
-            .from((ConcurrentHashMap<String, Object>) response.result));
+            .from((ConcurrentHashMap<String, Object>) response.getResult()),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -89,7 +129,7 @@ public class AuthController extends BaseController {
 
     return kuzzle
         .query(query)
-        .thenApplyAsync((response) -> (Boolean) response.result);
+        .thenApplyAsync((response) -> (Boolean) response.getResult(), kuzzle.getExecutor());
   }
 
   public CompletableFuture<Void> deleteMyCredentials(final String strategy)
@@ -101,7 +141,7 @@ public class AuthController extends BaseController {
     query.put("strategy", strategy);
 
     return kuzzle.query(query).thenRunAsync(() -> {
-    });
+    }, kuzzle.getExecutor());
   }
 
   public CompletableFuture<ConcurrentHashMap<String, Object>> getCurrentUser()
@@ -113,7 +153,8 @@ public class AuthController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync((response) -> KuzzleMap
-            .from((ConcurrentHashMap<String, Object>) response.result));
+            .from((ConcurrentHashMap<String, Object>) response.getResult()),
+            kuzzle.getExecutor());
   }
 
   public CompletableFuture<ConcurrentHashMap<String, Object>> getMyCredentials(
@@ -128,7 +169,8 @@ public class AuthController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync((response) -> KuzzleMap
-            .from((ConcurrentHashMap<String, Object>) response.result));
+            .from((ConcurrentHashMap<String, Object>) response.getResult()),
+            kuzzle.getExecutor());
   }
 
   public CompletableFuture<ArrayList<Object>> getMyRights()
@@ -140,8 +182,9 @@ public class AuthController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync((response) -> KuzzleMap
-            .from((ConcurrentHashMap<String, Object>) response.result)
-            .getArrayList("hits"));
+            .from((ConcurrentHashMap<String, Object>) response.getResult())
+            .getArrayList("hits"),
+            kuzzle.getExecutor());
   }
 
   public CompletableFuture<ArrayList<String>> getStrategies()
@@ -153,7 +196,7 @@ public class AuthController extends BaseController {
 
     return kuzzle
         .query(query)
-        .thenApplyAsync((response) -> (ArrayList<String>) response.result);
+        .thenApplyAsync((response) -> (ArrayList<String>) response.getResult(), kuzzle.getExecutor());
   }
 
   public CompletableFuture<ConcurrentHashMap<String, Object>> login(
@@ -171,7 +214,7 @@ public class AuthController extends BaseController {
 
     return kuzzle.query(query).thenApplyAsync((response) -> {
       final KuzzleMap map = KuzzleMap
-          .from((ConcurrentHashMap<String, Object>) response.result);
+          .from((ConcurrentHashMap<String, Object>) response.getResult());
       kuzzle.setAuthenticationToken(map.getString("jwt"));
       if (map.getString("_id") != null) {
         kuzzle.trigger(Event.loginAttempt, true);
@@ -179,7 +222,7 @@ public class AuthController extends BaseController {
         kuzzle.trigger(Event.loginAttempt, false);
       }
       return map;
-    });
+    }, kuzzle.getExecutor());
   }
 
   public CompletableFuture<ConcurrentHashMap<String, Object>> login(
@@ -209,11 +252,11 @@ public class AuthController extends BaseController {
 
     return kuzzle.query(query).thenApplyAsync((response) -> {
       final KuzzleMap map = KuzzleMap
-          .from((ConcurrentHashMap<String, Object>) response.result);
+          .from((ConcurrentHashMap<String, Object>) response.getResult());
       kuzzle.setAuthenticationToken(map.getString("jwt"));
 
       return map;
-    });
+    }, kuzzle.getExecutor());
   }
 
   public CompletableFuture<ConcurrentHashMap<String, Object>> refreshToken()
@@ -236,7 +279,8 @@ public class AuthController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync((response) -> KuzzleMap
-            .from((ConcurrentHashMap<String, Object>) response.result));
+            .from((ConcurrentHashMap<String, Object>) response.getResult()),
+            kuzzle.getExecutor());
   }
 
   public CompletableFuture<ConcurrentHashMap<String, Object>> updateSelf(
@@ -252,7 +296,8 @@ public class AuthController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync((response) -> KuzzleMap
-            .from((ConcurrentHashMap<String, Object>) response.result));
+            .from((ConcurrentHashMap<String, Object>) response.getResult()),
+            kuzzle.getExecutor());
   }
 
   public CompletableFuture<Boolean> validateMyCredentials(final String strategy,
@@ -268,6 +313,6 @@ public class AuthController extends BaseController {
 
     return kuzzle
         .query(query)
-        .thenApplyAsync((response) -> (Boolean) response.result);
+        .thenApplyAsync((response) -> (Boolean) response.getResult(), kuzzle.getExecutor());
   }
 }
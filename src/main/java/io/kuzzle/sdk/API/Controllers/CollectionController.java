@@ -39,7 +39,8 @@ public class CollectionController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (Boolean) response.result);
+            (response) -> (Boolean) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -65,7 +66,8 @@ public class CollectionController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (null));
+            (response) -> (null),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -94,7 +96,7 @@ public class CollectionController extends BaseController {
 
     return kuzzle
         .query(query)
-        .thenApplyAsync((response) -> null);
+        .thenApplyAsync((response) -> null, kuzzle.getExecutor());
   }
 
   /**
@@ -136,7 +138,8 @@ public class CollectionController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -162,7 +165,8 @@ public class CollectionController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> null);
+            (response) -> null,
+            kuzzle.getExecutor());
   }
 
   /**
@@ -189,7 +193,8 @@ public class CollectionController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> null);
+            (response) -> null,
+            kuzzle.getExecutor());
   }
 
   /**
@@ -216,7 +221,8 @@ public class CollectionController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -246,7 +252,8 @@ public class CollectionController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -276,7 +283,8 @@ public class CollectionController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -310,7 +318,8 @@ public class CollectionController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> new SearchResult(kuzzle, query, options, response));
+            (response) -> new SearchResult(kuzzle, query, options, response),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -347,6 +356,7 @@ public class CollectionController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
   }
 }
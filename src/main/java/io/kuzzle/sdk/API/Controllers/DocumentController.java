@@ -1,29 +1,46 @@
 package io.kuzzle.sdk.API.Controllers;
 
 import com.google.gson.internal.LazilyParsedNumber;
+import io.kuzzle.sdk.CoreClasses.BulkWriter;
 import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
 import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.CoreClasses.SearchAfter;
 import io.kuzzle.sdk.CoreClasses.SearchResult;
+import io.kuzzle.sdk.CoreClasses.SlicedSearch;
 import io.kuzzle.sdk.Exceptions.InternalException;
 import io.kuzzle.sdk.Exceptions.NotConnectedException;
 import io.kuzzle.sdk.Kuzzle;
+import io.kuzzle.sdk.Options.BulkOptions;
 import io.kuzzle.sdk.Options.SearchOptions;
 import io.kuzzle.sdk.Options.UpdateOptions;
 import io.kuzzle.sdk.Options.CreateOptions;
+import io.kuzzle.sdk.Protocol.RequestPriority;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 public class DocumentController extends BaseController {
+  /**
+   * Sends a chunk of a bulk write.
+   */
+  private interface BulkAction<T> {
+    CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> send(
+        ArrayList<T> items) throws NotConnectedException, InternalException;
+  }
+
   public DocumentController(final Kuzzle kuzzle) {
     super(kuzzle);
   }
 
   /**
    * Creates a document in a given collection and index.
+   * If write batching is enabled, the document is sent with the concurrent
+   * creations targeting the same collection, in a single mCreate request.
    *
    * @param index
    * @param collection
@@ -43,9 +60,16 @@ public class DocumentController extends BaseController {
 
     String id = null;
     Boolean waitForRefresh = null;
+    RequestPriority priority = null;
     if (options != null) {
       waitForRefresh = options.getWaitForRefresh();
       id = options.getId();
+      priority = options.getPriority();
+    }
+
+    if (kuzzle.getWriteBatcher() != null) {
+      return kuzzle.getWriteBatcher()
+          .create(index, collection, id, document, waitForRefresh, priority);
     }
 
     query
@@ -57,10 +81,15 @@ public class DocumentController extends BaseController {
         .put("_id", id)
         .put("waitForRefresh", waitForRefresh);
 
+    if (options != null && options.getPriority() != null) {
+      query.put("priority", options.getPriority());
+    }
+
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -121,10 +150,15 @@ public class DocumentController extends BaseController {
         .put("retryOnConflict", retryOnConflict)
         .put("source", source);
 
+    if (options != null && options.getPriority() != null) {
+      query.put("priority", options.getPriority());
+    }
+
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -149,6 +183,9 @@ public class DocumentController extends BaseController {
 
   /**
    * Gets a document in a given collection and index.
+   * If read batching is enabled, the document is fetched with the concurrent
+   * gets targeting the same collection, in a single mGet request.
+   * If the document cache is enabled, cached documents are not fetched.
    *
    * @param index
    * @param collection
@@ -162,6 +199,23 @@ public class DocumentController extends BaseController {
       final String collection,
       final String id) throws NotConnectedException, InternalException {
 
+    if (kuzzle.getDocumentCache() != null) {
+      return kuzzle.getDocumentCache().get(index, collection, id,
+          (documentId) -> fetch(index, collection, documentId));
+    }
+
+    return fetch(index, collection, id);
+  }
+
+  private CompletableFuture<ConcurrentHashMap<String, Object>> fetch(
+      final String index,
+      final String collection,
+      final String id) throws NotConnectedException, InternalException {
+
+    if (kuzzle.getReadBatcher() != null) {
+      return kuzzle.getReadBatcher().get(index, collection, id);
+    }
+
     final KuzzleMap query = new KuzzleMap();
 
     query
@@ -174,11 +228,15 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
    * Creates or Replace a document in a given collection and index.
+   * If write batching is enabled, the document is sent with the concurrent
+   * writes targeting the same collection, in a single mCreateOrReplace
+   * request.
    *
    * @param index
    * @param collection
@@ -196,6 +254,12 @@ public class DocumentController extends BaseController {
       final ConcurrentHashMap<String, Object> document,
       final Boolean waitForRefresh) throws NotConnectedException, InternalException {
 
+    if (kuzzle.getWriteBatcher() != null) {
+      return kuzzle.getWriteBatcher()
+          .createOrReplace(index, collection, id, document, waitForRefresh,
+              null);
+    }
+
     final KuzzleMap query = new KuzzleMap();
 
     query
@@ -210,7 +274,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -262,7 +327,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.result);
+            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -313,7 +379,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.result);
+            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -367,7 +434,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -420,7 +488,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, Object>) response.result);
+            (response) -> (ConcurrentHashMap<String, Object>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -443,6 +512,8 @@ public class DocumentController extends BaseController {
 
   /**
    * Gets multiple documents in a given collection and index.
+   * If the document cache is enabled, only the documents that are not
+   * cached are fetched.
    *
    * @param index
    * @param collection
@@ -456,6 +527,18 @@ public class DocumentController extends BaseController {
       final String collection,
       final ArrayList<String> ids) throws NotConnectedException, InternalException {
 
+    if (kuzzle.getDocumentCache() != null) {
+      return kuzzle.getDocumentCache().mGet(index, collection, ids,
+          (missing) -> fetchAll(index, collection, missing));
+    }
+
+    return fetchAll(index, collection, ids);
+  }
+
+  private CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> fetchAll(
+      final String index,
+      final String collection,
+      final ArrayList<String> ids) throws NotConnectedException, InternalException {
 
     final KuzzleMap query = new KuzzleMap();
     query
@@ -468,7 +551,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.result);
+            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -500,7 +584,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.result);
+            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -547,7 +632,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (Boolean) response.result);
+            (response) -> (Boolean) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -584,10 +670,15 @@ public class DocumentController extends BaseController {
         .put("waitForRefresh", waitForRefresh);
 
 
+    if (options != null && options.getPriority() != null) {
+      query.put("priority", options.getPriority());
+    }
+
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.result);
+            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -637,7 +728,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.result);
+            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -688,7 +780,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ArrayList<String>) ((ConcurrentHashMap<String, Object>) response.result).get("ids"));
+            (response) -> (ArrayList<String>) ((ConcurrentHashMap<String, Object>) response.getResult()).get("ids"),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -735,7 +828,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (Boolean) ((ConcurrentHashMap<String, Object>) response.result).get("valid"));
+            (response) -> (Boolean) ((ConcurrentHashMap<String, Object>) response.getResult()).get("valid"),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -764,7 +858,8 @@ public class DocumentController extends BaseController {
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> ((LazilyParsedNumber) ((ConcurrentHashMap<String, Object>) response.result).get("count")).intValue());
+            (response) -> ((LazilyParsedNumber) ((ConcurrentHashMap<String, Object>) response.getResult()).get("count")).intValue(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -828,10 +923,15 @@ public class DocumentController extends BaseController {
         .put("retryOnConflict", retryOnConflict)
         .put("waitForRefresh", waitForRefresh);
 
+    if (options != null && options.getPriority() != null) {
+      query.put("priority", options.getPriority());
+    }
+
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.result);
+            (response) -> (ConcurrentHashMap<String, ArrayList<Object>>) response.getResult(),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -879,6 +979,17 @@ public class DocumentController extends BaseController {
         .put("action", "search")
         .put("body", new KuzzleMap(searchQuery));
 
+    // all the pages must share one unique sort if SearchResult.next() can
+    // switch to search_after: ties would otherwise be ordered differently
+    // by the from/size pages
+    if (options != null
+        && options.getScroll() == null
+        && options.getSize() != null
+        && (options.getSearchAfterThreshold() != null
+        || query.getMap("body").get("sort") != null)) {
+      query.put("body", SearchAfter.withTiebreaker(searchQuery));
+    }
+
     if (options != null) {
       query
           .put("from", options.getFrom())
@@ -886,12 +997,16 @@ public class DocumentController extends BaseController {
       if (options.getScroll() != null) {
         query.put("scroll", options.getScroll());
       }
+      if (options.getPriority() != null) {
+        query.put("priority", options.getPriority());
+      }
     }
 
     return kuzzle
         .query(query)
         .thenApplyAsync(
-            (response) -> new SearchResult(kuzzle, query, options, response));
+            (response) -> new SearchResult(kuzzle, query, options, response),
+            kuzzle.getExecutor());
   }
 
   /**
@@ -911,4 +1026,277 @@ public class DocumentController extends BaseController {
 
     return this.search(index, collection, searchQuery, new SearchOptions());
   }
+
+  /**
+   * Searches documents with a sliced scroll: the search is split into slices,
+   * each one paginated with its own scroll cursor, and fetched concurrently.
+   * Nothing is sent until the hits are consumed with SlicedSearch.stream() or
+   * SlicedSearch.partitions().
+   *
+   * @param index
+   * @param collection
+   * @param searchQuery
+   * @param options     Search options. A scroll duration is required.
+   * @param slices      Number of slices
+   * @param maxPages    Maximum number of pages held at any time
+   * @return a SlicedSearch
+   * @throws IllegalArgumentException
+   */
+  public SlicedSearch searchSliced(
+      final String index,
+      final String collection,
+      final ConcurrentHashMap<String, Object> searchQuery,
+      final SearchOptions options,
+      final int slices,
+      final int maxPages) throws IllegalArgumentException {
+
+    if (options == null || options.getScroll() == null) {
+      throw new IllegalArgumentException("A sliced search requires a scroll duration");
+    }
+
+    return new SlicedSearch((slice) -> {
+      final KuzzleMap body = new KuzzleMap(searchQuery);
+
+      // Elasticsearch rejects single slices
+      if (slices > 1) {
+        body.put("slice", new KuzzleMap()
+            .put("id", slice)
+            .put("max", slices));
+      }
+
+      try {
+        return this.search(index, collection, body, options);
+      } catch (NotConnectedException | InternalException e) {
+        throw new CompletionException(e);
+      }
+    }, slices, maxPages);
+  }
+
+  private <T> CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> bulk(
+      final ArrayList<T> items,
+      final BulkOptions options,
+      final BulkAction<T> action,
+      final Function<ConcurrentHashMap<String, Object>, T> retryItem) {
+
+    return new BulkWriter<T>((chunk) -> {
+      try {
+        return action.send(chunk);
+      } catch (NotConnectedException | InternalException e) {
+        throw new CompletionException(e);
+      }
+    }, retryItem, items, options, kuzzle.getTimer(), kuzzle.getExecutor())
+        .start();
+  }
+
+  private static ConcurrentHashMap<String, Object> rejectedDocument(
+      final ConcurrentHashMap<String, Object> error) {
+    final Object document = error.get("document");
+
+    return document instanceof ConcurrentHashMap
+        ? (ConcurrentHashMap<String, Object>) document
+        : null;
+  }
+
+  /**
+   * Creates any number of documents with mCreate: documents are sent in
+   * chunks, several chunks being sent without waiting for the previous ones
+   * to be answered. Documents rejected because Kuzzle is overloaded are sent
+   * again after a delay.
+   *
+   * @param index
+   * @param collection
+   * @param documents
+   * @param options
+   * @return a CompletableFuture, with the successes and errors of all chunks
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> bulkCreate(
+      final String index,
+      final String collection,
+      final ArrayList<ConcurrentHashMap<String, Object>> documents,
+      final BulkOptions options) {
+
+    final Boolean waitForRefresh = options != null ? options.getWaitForRefresh() : null;
+
+    return bulk(documents, options,
+        (chunk) -> this.mCreate(index, collection, chunk, waitForRefresh),
+        DocumentController::rejectedDocument);
+  }
+
+  /**
+   * Creates any number of documents with mCreate, in chunks.
+   *
+   * @param index
+   * @param collection
+   * @param documents
+   * @return a CompletableFuture, with the successes and errors of all chunks
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> bulkCreate(
+      final String index,
+      final String collection,
+      final ArrayList<ConcurrentHashMap<String, Object>> documents) {
+
+    return this.bulkCreate(index, collection, documents, null);
+  }
+
+  /**
+   * Creates or replaces any number of documents with mCreateOrReplace, in
+   * chunks.
+   *
+   * @param index
+   * @param collection
+   * @param documents
+   * @param options
+   * @return a CompletableFuture, with the successes and errors of all chunks
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> bulkCreateOrReplace(
+      final String index,
+      final String collection,
+      final ArrayList<ConcurrentHashMap<String, Object>> documents,
+      final BulkOptions options) {
+
+    final Boolean waitForRefresh = options != null ? options.getWaitForRefresh() : null;
+
+    return bulk(documents, options,
+        (chunk) -> this.mCreateOrReplace(index, collection, chunk, waitForRefresh),
+        DocumentController::rejectedDocument);
+  }
+
+  /**
+   * Creates or replaces any number of documents with mCreateOrReplace, in
+   * chunks.
+   *
+   * @param index
+   * @param collection
+   * @param documents
+   * @return a CompletableFuture, with the successes and errors of all chunks
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> bulkCreateOrReplace(
+      final String index,
+      final String collection,
+      final ArrayList<ConcurrentHashMap<String, Object>> documents) {
+
+    return this.bulkCreateOrReplace(index, collection, documents, null);
+  }
+
+  /**
+   * Replaces any number of documents with mReplace, in chunks.
+   *
+   * @param index
+   * @param collection
+   * @param documents
+   * @param options
+   * @return a CompletableFuture, with the successes and errors of all chunks
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> bulkReplace(
+      final String index,
+      final String collection,
+      final ArrayList<ConcurrentHashMap<String, Object>> documents,
+      final BulkOptions options) {
+
+    final Boolean waitForRefresh = options != null ? options.getWaitForRefresh() : null;
+
+    return bulk(documents, options,
+        (chunk) -> this.mReplace(index, collection, chunk, waitForRefresh),
+        DocumentController::rejectedDocument);
+  }
+
+  /**
+   * Replaces any number of documents with mReplace, in chunks.
+   *
+   * @param index
+   * @param collection
+   * @param documents
+   * @return a CompletableFuture, with the successes and errors of all chunks
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> bulkReplace(
+      final String index,
+      final String collection,
+      final ArrayList<ConcurrentHashMap<String, Object>> documents) {
+
+    return this.bulkReplace(index, collection, documents, null);
+  }
+
+  /**
+   * Updates any number of documents with mUpdate, in chunks.
+   *
+   * @param index
+   * @param collection
+   * @param documents
+   * @param options
+   * @return a CompletableFuture, with the successes and errors of all chunks
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> bulkUpdate(
+      final String index,
+      final String collection,
+      final ArrayList<ConcurrentHashMap<String, Object>> documents,
+      final BulkOptions options) {
+
+    final UpdateOptions updateOptions = new UpdateOptions();
+    if (options != null) {
+      updateOptions.setWaitForRefresh(options.getWaitForRefresh());
+      if (options.getRetryOnConflict() != null) {
+        updateOptions.setRetryOnConflict(options.getRetryOnConflict());
+      }
+    }
+
+    return bulk(documents, options,
+        (chunk) -> this.mUpdate(index, collection, chunk, updateOptions),
+        DocumentController::rejectedDocument);
+  }
+
+  /**
+   * Updates any number of documents with mUpdate, in chunks.
+   *
+   * @param index
+   * @param collection
+   * @param documents
+   * @return a CompletableFuture, with the successes and errors of all chunks
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> bulkUpdate(
+      final String index,
+      final String collection,
+      final ArrayList<ConcurrentHashMap<String, Object>> documents) {
+
+    return this.bulkUpdate(index, collection, documents, null);
+  }
+
+  /**
+   * Deletes any number of documents with mDelete, in chunks.
+   *
+   * @param index
+   * @param collection
+   * @param ids
+   * @param options
+   * @return a CompletableFuture, with the successes and errors of all chunks
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> bulkDelete(
+      final String index,
+      final String collection,
+      final ArrayList<String> ids,
+      final BulkOptions options) {
+
+    final Boolean waitForRefresh = options != null ? options.getWaitForRefresh() : null;
+
+    return bulk(ids, options,
+        (chunk) -> this.mDelete(index, collection, chunk, waitForRefresh),
+        (error) -> error.get("_id") instanceof String
+            ? (String) error.get("_id")
+            : null);
+  }
+
+  /**
+   * Deletes any number of documents with mDelete, in chunks.
+   *
+   * @param index
+   * @param collection
+   * @param ids
+   * @return a CompletableFuture, with the successes and errors of all chunks
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> bulkDelete(
+      final String index,
+      final String collection,
+      final ArrayList<String> ids) {
+
+    return this.bulkDelete(index, collection, ids, null);
+  }
 }
@@ -27,7 +27,7 @@ public class IndexController extends BaseController {
             .put("controller", "index")
             .put("action", "create")
             .put("index", index))
-        .thenApplyAsync((response) -> null);
+        .thenApplyAsync((response) -> null, kuzzle.getExecutor());
   }
 
   /**
@@ -44,7 +44,7 @@ public class IndexController extends BaseController {
             .put("controller", "index")
             .put("action", "delete")
             .put("index", index))
-        .thenApplyAsync((response) -> null);
+        .thenApplyAsync((response) -> null, kuzzle.getExecutor());
   }
 
   /**
@@ -61,7 +61,7 @@ public class IndexController extends BaseController {
             .put("controller", "index")
             .put("action", "exists")
             .put("index", index))
-        .thenApplyAsync((response) -> (Boolean) response.result);
+        .thenApplyAsync((response) -> (Boolean) response.getResult(), kuzzle.getExecutor());
   }
 
   /**
@@ -76,7 +76,7 @@ public class IndexController extends BaseController {
         .query(new KuzzleMap()
             .put("controller", "index")
             .put("action", "list"))
-        .thenApplyAsync((response) -> (((KuzzleMap) response.result).getArrayList("indexes")));
+        .thenApplyAsync((response) -> (((KuzzleMap) response.getResult()).getArrayList("indexes")), kuzzle.getExecutor());
   }
 
   /**
@@ -93,6 +93,6 @@ public class IndexController extends BaseController {
             .put("controller", "index")
             .put("action", "mDelete")
             .put("body", new KuzzleMap().put("indexes", indexes)))
-        .thenApplyAsync((response) -> (((KuzzleMap) response.result).getArrayList("deleted")));
+        .thenApplyAsync((response) -> (((KuzzleMap) response.getResult()).getArrayList("deleted")), kuzzle.getExecutor());
   }
 }
@@ -57,6 +57,8 @@ public class RealtimeController extends BaseController {
       ArrayList<Subscription> subs = RealtimeController.this.currentSubscriptions.get(((Response) args[0]).room);
 
       if (subs != null) {
+        // handlers read the result field: parse it before dispatching
+        response.getResult();
         final String instanceId = sdkInstanceId;
         subs.forEach(sub -> {
           if (sub != null && (instanceId.equals(kuzzle.instanceId) && sub.options.isSubscribeToSelf() || !instanceId.equals(kuzzle.instanceId))) {
@@ -86,7 +88,7 @@ public class RealtimeController extends BaseController {
             .put("controller", "realtime")
             .put("action", "count")
             .put("body", new KuzzleMap().put("roomId", roomId)))
-        .thenApplyAsync((response) -> ((KuzzleMap) response.result).getNumber("count").intValue());
+        .thenApplyAsync((response) -> ((KuzzleMap) response.getResult()).getNumber("count").intValue(), kuzzle.getExecutor());
   }
 
   /**
@@ -109,7 +111,7 @@ public class RealtimeController extends BaseController {
             .put("index", index)
             .put("collection", collection)
             .put("body", new KuzzleMap().put("message", message)))
-        .thenApplyAsync((response) -> null);
+        .thenApplyAsync((response) -> null, kuzzle.getExecutor());
   }
 
   public void renewSubscriptions() {
@@ -161,7 +163,7 @@ public class RealtimeController extends BaseController {
         .query(query)
         .thenApplyAsync(
             (response) -> {
-              String channel = ((ConcurrentHashMap<String, Object>) response.result).get("channel").toString();
+              String channel = ((ConcurrentHashMap<String, Object>) response.getResult()).get("channel").toString();
               Subscription subscription = new Subscription(
                   index,
                   collection,
@@ -180,8 +182,8 @@ public class RealtimeController extends BaseController {
                 subscriptionsCache.get(channel).add(subscription);
               }
 
-              return ((ConcurrentHashMap<String, Object>) response.result).get("roomId").toString();
-            });
+              return ((ConcurrentHashMap<String, Object>) response.getResult()).get("roomId").toString();
+            }, kuzzle.getExecutor());
   }
 
   private CompletableFuture<String> subscribe(final Subscription subscribe) throws NotConnectedException, InternalException {
@@ -222,6 +224,6 @@ public class RealtimeController extends BaseController {
             subscriptionsCache.get(roomId).clear();
           }
           return null;
-        });
+        }, kuzzle.getExecutor());
   }
 }
@@ -0,0 +1,70 @@
+package io.kuzzle.sdk.CoreClasses;
+
+/**
+ * Snapshot of the progress of a bulk write.
+ */
+public class BulkProgress {
+  private final int total;
+  private final int succeeded;
+  private final int failed;
+  private final int retried;
+  private final int inFlight;
+
+  public BulkProgress(final int total, final int succeeded, final int failed,
+                      final int retried, final int inFlight) {
+    this.total = total;
+    this.succeeded = succeeded;
+    this.failed = failed;
+    this.retried = retried;
+    this.inFlight = inFlight;
+  }
+
+  /**
+   * @return The number of documents to write
+   */
+  public int getTotal() {
+    return total;
+  }
+
+  /**
+   * @return The number of documents written
+   */
+  public int getSucceeded() {
+    return succeeded;
+  }
+
+  /**
+   * @return The number of documents rejected for good
+   */
+  public int getFailed() {
+    return failed;
+  }
+
+  /**
+   * @return The number of documents sent again after being rejected
+   */
+  public int getRetried() {
+    return retried;
+  }
+
+  /**
+   * @return The number of chunks sent and not answered yet
+   */
+  public int getInFlight() {
+    return inFlight;
+  }
+
+  /**
+   * @return The number of documents neither written nor rejected yet
+   */
+  public int getRemaining() {
+    return total - succeeded - failed;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkProgress{total=" + total + ", succeeded=" + succeeded
+        + ", failed=" + failed + ", retried=" + retried
+        + ", inFlight=" + inFlight + "}";
+  }
+}
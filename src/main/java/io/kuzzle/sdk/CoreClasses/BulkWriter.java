@@ -0,0 +1,378 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.Exceptions.KuzzleException;
+import io.kuzzle.sdk.Options.BulkOptions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes a large number of documents with one of the m* API actions: the
+ * documents are split into chunks bounded both in number of documents and in
+ * serialized size, and up to maxInFlight chunks are sent without waiting for
+ * the previous ones to be answered.
+ *
+ * The successes and errors of all the chunks are aggregated into a single
+ * result. Documents rejected because Kuzzle is overloaded (429, 502, 503 and
+ * 504 statuses), and chunks rejected as a whole for the same reason, are sent
+ * again up to maxRetries times. Each rejection pauses the sending of new
+ * chunks for an exponentially growing delay, reset once a chunk is fully
+ * accepted.
+ *
+ * Other failures of a whole chunk fail the bulk write: the chunks not sent
+ * yet are dropped.
+ *
+ * @param <T> Type of the items sent (documents, or document ids)
+ */
+public class BulkWriter<T> {
+  private static final class Chunk<T> {
+    final ArrayList<T> items;
+    final int attempt;
+
+    Chunk(final ArrayList<T> items, final int attempt) {
+      this.items = items;
+      this.attempt = attempt;
+    }
+  }
+
+  private final Function<ArrayList<T>,
+      CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>>> send;
+  private final Function<ConcurrentHashMap<String, Object>, T> retryItem;
+  private final ArrayList<T> items;
+  private final BulkOptions options;
+  private final HashedWheelTimer timer;
+  private final Executor executor;
+  private final CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>>
+      result = new CompletableFuture<>();
+
+  private final ArrayList<Object> successes = new ArrayList<>();
+  private final ArrayList<Object> errors = new ArrayList<>();
+  private final ArrayDeque<Chunk<T>> retries = new ArrayDeque<>();
+
+  /**
+   * Position of the next item to send, and size of this item once computed.
+   * Only accessed by the dispatching thread.
+   */
+  private int next = 0;
+  private int nextSize = -1;
+
+  private int inFlight = 0;
+  private int succeeded = 0;
+  private int failed = 0;
+  private int retried = 0;
+  private int backoffs = 0;
+  private long resumeAt = System.nanoTime();
+  private boolean wakeUpScheduled = false;
+  private boolean dispatching = false;
+  private boolean redispatch = false;
+  private boolean started = false;
+
+  /**
+   * @param send      Sends a chunk with a m* API action
+   * @param retryItem Returns the item to send again from an error of the
+   *                  result of a chunk, or null if it cannot be sent again
+   * @param items     Items to send
+   * @param options   Bulk options
+   * @param timer     Timer scheduling the end of the backoff delays
+   * @param executor  Executor resuming the sending after a backoff delay
+   */
+  public BulkWriter(
+      final Function<ArrayList<T>,
+          CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>>> send,
+      final Function<ConcurrentHashMap<String, Object>, T> retryItem,
+      final ArrayList<T> items,
+      final BulkOptions options,
+      final HashedWheelTimer timer,
+      final Executor executor) {
+    this.send = send;
+    this.retryItem = retryItem;
+    this.items = items != null ? items : new ArrayList<>();
+    this.options = options != null ? new BulkOptions(options)
+        : new BulkOptions();
+    this.timer = timer;
+    this.executor = executor;
+  }
+
+  /**
+   * Start sending the chunks. Cancelling the returned future stops sending
+   * new chunks.
+   *
+   * @return The aggregated successes and errors of all the chunks
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> start() {
+    synchronized (this) {
+      if (started) {
+        throw new IllegalStateException("This bulk write has already been started");
+      }
+      started = true;
+    }
+
+    dispatch();
+    completeIfDone();
+    return result;
+  }
+
+  /**
+   * @return A snapshot of the progress of the bulk write
+   */
+  public synchronized BulkProgress getProgress() {
+    return new BulkProgress(items.size(), succeeded, failed, retried,
+        inFlight);
+  }
+
+  /**
+   * Send chunks until the in-flight window is full. Only one thread
+   * dispatches at a time: a dispatch requested meanwhile is handled by the
+   * dispatching thread.
+   */
+  private void dispatch() {
+    synchronized (this) {
+      if (dispatching) {
+        redispatch = true;
+        return;
+      }
+      dispatching = true;
+    }
+
+    while (true) {
+      Chunk<T> chunk = null;
+      boolean build = false;
+
+      synchronized (this) {
+        redispatch = false;
+
+        if (!result.isDone() && inFlight < options.getMaxInFlight()
+            && (!retries.isEmpty() || next < items.size())) {
+          final long wait = resumeAt - System.nanoTime();
+
+          if (wait > 0) {
+            scheduleWakeUp(wait);
+          } else {
+            chunk = retries.pollFirst();
+            build = chunk == null;
+            inFlight++;
+          }
+        }
+
+        if (chunk == null && !build) {
+          if (!redispatch) {
+            dispatching = false;
+            return;
+          }
+          continue;
+        }
+      }
+
+      if (build) {
+        chunk = new Chunk<>(nextChunk(), 0);
+      }
+      sendChunk(chunk);
+    }
+  }
+
+  private void scheduleWakeUp(final long delay) {
+    if (wakeUpScheduled) {
+      return;
+    }
+
+    wakeUpScheduled = true;
+    timer.schedule(() -> executor.execute(() -> {
+      synchronized (this) {
+        wakeUpScheduled = false;
+      }
+      dispatch();
+    }), TimeUnit.NANOSECONDS.toMillis(delay) + 1);
+  }
+
+  private ArrayList<T> nextChunk() {
+    final ArrayList<T> chunk = new ArrayList<>();
+    long bytes = 0;
+
+    while (next < items.size() && chunk.size() < options.getChunkSize()) {
+      if (nextSize < 0) {
+        nextSize = sizeOf(items.get(next));
+      }
+
+      // a document larger than maxChunkBytes is sent alone
+      if (!chunk.isEmpty() && bytes + nextSize > options.getMaxChunkBytes()) {
+        break;
+      }
+
+      chunk.add(items.get(next));
+      bytes += nextSize;
+      next++;
+      nextSize = -1;
+    }
+
+    return chunk;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static int sizeOf(final Object item) {
+    if (item instanceof ConcurrentHashMap) {
+      return utf8Length(JsonSerializer
+          .serialize((ConcurrentHashMap<String, Object>) item));
+    }
+    return item == null ? 4 : utf8Length(item.toString()) + 2;
+  }
+
+  private static int utf8Length(final String string) {
+    int length = string.length();
+
+    for (int i = 0; i < string.length(); i++) {
+      final char c = string.charAt(i);
+
+      if (c >= 0x800) {
+        // surrogate pairs: 4 bytes for 2 chars
+        length += Character.isSurrogate(c) ? 1 : 2;
+      } else if (c >= 0x80) {
+        length++;
+      }
+    }
+    return length;
+  }
+
+  private void sendChunk(final Chunk<T> chunk) {
+    CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> future;
+
+    try {
+      future = send.apply(chunk.items);
+    } catch (RuntimeException e) {
+      future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+    }
+
+    future.whenComplete((response, error) -> onChunk(chunk, response, error));
+  }
+
+  private void onChunk(final Chunk<T> chunk,
+                       final ConcurrentHashMap<String, ArrayList<Object>> response,
+                       final Throwable error) {
+    final Throwable cause = error instanceof CompletionException
+        && error.getCause() != null ? error.getCause() : error;
+    final boolean canRetry = chunk.attempt < options.getMaxRetries();
+    final BulkProgress progress;
+
+    if (cause != null) {
+      synchronized (this) {
+        inFlight--;
+
+        if (!canRetry || !(cause instanceof KuzzleException)
+            || !isRetryable(((KuzzleException) cause).getStatus())) {
+          result.completeExceptionally(cause);
+          return;
+        }
+
+        retry(chunk.items, chunk.attempt);
+        progress = getProgress();
+      }
+    } else {
+      final ArrayList<Object> chunkSuccesses =
+          list(response == null ? null : response.get("successes"));
+      final ArrayList<Object> chunkErrors = new ArrayList<>();
+      final ArrayList<T> again = new ArrayList<>();
+
+      for (final Object entry : list(response == null ? null : response.get("errors"))) {
+        final T item = canRetry ? toRetry(entry) : null;
+
+        if (item != null) {
+          again.add(item);
+        } else {
+          chunkErrors.add(entry);
+        }
+      }
+
+      synchronized (this) {
+        inFlight--;
+        successes.addAll(chunkSuccesses);
+        errors.addAll(chunkErrors);
+        succeeded += chunkSuccesses.size();
+        failed += chunkErrors.size();
+
+        if (again.isEmpty()) {
+          backoffs = 0;
+        } else {
+          retry(again, chunk.attempt);
+        }
+        progress = getProgress();
+      }
+    }
+
+    final Consumer<BulkProgress> onProgress = options.getOnProgress();
+    try {
+      if (onProgress != null) {
+        onProgress.accept(progress);
+      }
+    } finally {
+      dispatch();
+      completeIfDone();
+    }
+  }
+
+  /**
+   * Queue items to be sent again, and pause the sending of new chunks.
+   */
+  private void retry(final ArrayList<T> rejected, final int attempt) {
+    final long delay = Math.min(options.getMaxRetryDelay(),
+        options.getRetryDelay() << Math.min(backoffs, 30));
+
+    retried += rejected.size();
+    retries.addLast(new Chunk<>(rejected, attempt + 1));
+    backoffs++;
+
+    final long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+    if (until - resumeAt > 0) {
+      resumeAt = until;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private T toRetry(final Object entry) {
+    if (!(entry instanceof ConcurrentHashMap)) {
+      return null;
+    }
+
+    final Object status = ((Map<?, ?>) entry).get("status");
+    if (!(status instanceof Number) || !isRetryable(((Number) status).intValue())) {
+      return null;
+    }
+
+    return retryItem.apply((ConcurrentHashMap<String, Object>) entry);
+  }
+
+  private static boolean isRetryable(final int status) {
+    return status == 429 || status == 502 || status == 503 || status == 504;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArrayList<Object> list(final Object value) {
+    return value instanceof ArrayList ? (ArrayList<Object>) value
+        : new ArrayList<>();
+  }
+
+  private void completeIfDone() {
+    final ConcurrentHashMap<String, ArrayList<Object>> aggregated;
+
+    synchronized (this) {
+      if (result.isDone() || inFlight > 0 || !retries.isEmpty()
+          || next < items.size()) {
+        return;
+      }
+
+      aggregated = new ConcurrentHashMap<>();
+      aggregated.put("successes", new ArrayList<>(successes));
+      aggregated.put("errors", new ArrayList<>(errors));
+    }
+
+    result.complete(aggregated);
+  }
+}
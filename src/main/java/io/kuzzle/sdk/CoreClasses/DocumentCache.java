@@ -0,0 +1,438 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Exceptions.InternalException;
+import io.kuzzle.sdk.Exceptions.NotConnectedException;
+import io.kuzzle.sdk.Kuzzle;
+import io.kuzzle.sdk.Options.DocumentCacheOptions;
+import io.kuzzle.sdk.Protocol.ProtocolState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of the documents fetched with get and mGet. The least
+ * recently used document is evicted past maxSize documents, and documents
+ * expire ttl milliseconds after being fetched.
+ *
+ * The cache subscribes to each collection it caches documents of, and
+ * evicts a document as soon as a notification about it is received: the
+ * first read of a collection waits for this subscription. A document is not
+ * cached if a notification about its collection was received while it was
+ * being fetched, and the whole cache is invalidated on each network state
+ * change, since notifications may have been missed meanwhile.
+ *
+ * Cached documents are shared by all their readers, and should not be
+ * modified.
+ */
+public class DocumentCache {
+  /**
+   * Fetches documents missing from the cache.
+   *
+   * @param <K> Requested IDs
+   * @param <T> Result
+   */
+  @FunctionalInterface
+  public interface Loader<K, T> {
+    CompletableFuture<T> load(K ids)
+        throws NotConnectedException, InternalException;
+  }
+
+  private static final class Cached {
+    final ConcurrentHashMap<String, Object> document;
+    final long expiresAt;
+
+    Cached(final ConcurrentHashMap<String, Object> document,
+           final long expiresAt) {
+      this.document = document;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private final Kuzzle kuzzle;
+  private final DocumentCacheOptions options;
+  private final LinkedHashMap<List<Object>, Cached> entries;
+
+  /**
+   * Subscriptions to the cached collections, completed with true once
+   * active
+   */
+  private final HashMap<List<Object>, CompletableFuture<Boolean>>
+      subscriptions = new HashMap<>();
+
+  /**
+   * Generation of the last notification received for each collection
+   */
+  private final HashMap<List<Object>, Long> invalidated = new HashMap<>();
+  private long generation = 0;
+  private long clearedAt = 0;
+
+  private long hits = 0;
+  private long misses = 0;
+  private long evictions = 0;
+  private long invalidations = 0;
+
+  /**
+   * @param kuzzle  Kuzzle instance fetching the documents
+   * @param options Cache options
+   */
+  public DocumentCache(final Kuzzle kuzzle,
+                       final DocumentCacheOptions options) {
+    this.kuzzle = kuzzle;
+    this.options = options != null ? new DocumentCacheOptions(options)
+        : new DocumentCacheOptions();
+    this.entries = new LinkedHashMap<List<Object>, Cached>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(
+          final Map.Entry<List<Object>, Cached> eldest) {
+        if (size() > DocumentCache.this.options.getMaxSize()) {
+          evictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Get a document from the cache, or fetch it with the loader.
+   *
+   * @param index
+   * @param collection
+   * @param id
+   * @param loader     Fetches the document if it is not cached
+   * @return a CompletableFuture
+   * @throws NotConnectedException
+   * @throws InternalException
+   */
+  public CompletableFuture<ConcurrentHashMap<String, Object>> get(
+      final String index,
+      final String collection,
+      final String id,
+      final Loader<String, ConcurrentHashMap<String, Object>> loader)
+      throws NotConnectedException, InternalException {
+    final long snapshot;
+
+    synchronized (this) {
+      final ConcurrentHashMap<String, Object> document =
+          lookup(Arrays.asList(index, collection, id));
+
+      if (document != null) {
+        return CompletableFuture.completedFuture(document);
+      }
+      snapshot = generation;
+    }
+
+    return whenSubscribed(index, collection, id, loader)
+        .thenApply(document -> {
+          store(index, collection, document, snapshot);
+          return document;
+        });
+  }
+
+  /**
+   * Get documents from the cache, and fetch the missing ones with the
+   * loader.
+   *
+   * @param index
+   * @param collection
+   * @param ids
+   * @param loader     Fetches, with mGet, the documents that are not cached
+   * @return a CompletableFuture
+   * @throws NotConnectedException
+   * @throws InternalException
+   */
+  public CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> mGet(
+      final String index,
+      final String collection,
+      final ArrayList<String> ids,
+      final Loader<ArrayList<String>, ConcurrentHashMap<String, ArrayList<Object>>> loader)
+      throws NotConnectedException, InternalException {
+    final HashMap<String, ConcurrentHashMap<String, Object>> found =
+        new HashMap<>();
+    final ArrayList<String> missing = new ArrayList<>();
+    final long snapshot;
+
+    synchronized (this) {
+      for (final String id : ids) {
+        final ConcurrentHashMap<String, Object> document =
+            lookup(Arrays.asList(index, collection, id));
+
+        if (document != null) {
+          found.put(id, document);
+        } else {
+          missing.add(id);
+        }
+      }
+      snapshot = generation;
+    }
+
+    if (missing.isEmpty()) {
+      return CompletableFuture.completedFuture(
+          result(ids, found, new ArrayList<>()));
+    }
+
+    return whenSubscribed(index, collection, missing, loader)
+        .thenApply(fetched -> {
+          // the loader result is raw JSON, whatever its static type
+          final Map<String, ?> response = fetched;
+
+          for (final Object entry : list(response.get("successes"))) {
+            final ConcurrentHashMap<String, Object> document = map(entry);
+
+            if (document == null) {
+              continue;
+            }
+
+            final Object id = document.get("_id");
+
+            if (id != null) {
+              store(index, collection, document, snapshot);
+              found.put(id.toString(), document);
+            }
+          }
+
+          return result(ids, found, list(response.get("errors")));
+        });
+  }
+
+  /**
+   * Evict a document from the cache.
+   *
+   * @param index
+   * @param collection
+   * @param id
+   */
+  public synchronized void invalidate(final String index,
+                                      final String collection,
+                                      final String id) {
+    invalidated.put(Arrays.asList(index, collection), ++generation);
+
+    if (entries.remove(Arrays.asList(index, collection, id)) != null) {
+      invalidations++;
+    }
+  }
+
+  /**
+   * Evict all the documents from the cache.
+   */
+  public synchronized void invalidateAll() {
+    clearedAt = ++generation;
+    invalidations += entries.size();
+    entries.clear();
+  }
+
+  /**
+   * Invalidate the cache when the network protocol state changes. The
+   * subscriptions are renewed with the other ones if autoResubscribe is set,
+   * and subscribed again on the next read otherwise.
+   *
+   * @param state The new network protocol state
+   */
+  public synchronized void onStateChanged(final ProtocolState state) {
+    invalidateAll();
+
+    if (state != ProtocolState.OPEN && !kuzzle.isAutoResubscribe()) {
+      subscriptions.clear();
+    }
+  }
+
+  /**
+   * @return The number of documents currently cached
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return The number of documents read from the cache
+   */
+  public synchronized long getHitCount() {
+    return hits;
+  }
+
+  /**
+   * @return The number of documents that had to be fetched
+   */
+  public synchronized long getMissCount() {
+    return misses;
+  }
+
+  /**
+   * @return The number of documents evicted because the cache was full, or
+   * because they expired
+   */
+  public synchronized long getEvictionCount() {
+    return evictions;
+  }
+
+  /**
+   * @return The number of documents evicted because they changed, or
+   * because the cache was invalidated
+   */
+  public synchronized long getInvalidationCount() {
+    return invalidations;
+  }
+
+  private ConcurrentHashMap<String, Object> lookup(final List<Object> key) {
+    final Cached entry = entries.get(key);
+
+    if (entry == null) {
+      misses++;
+      return null;
+    }
+
+    if (entry.expiresAt - System.nanoTime() <= 0) {
+      entries.remove(key);
+      evictions++;
+      misses++;
+      return null;
+    }
+
+    hits++;
+    return entry.document;
+  }
+
+  private synchronized void store(final String index,
+                                  final String collection,
+                                  final ConcurrentHashMap<String, Object> document,
+                                  final long snapshot) {
+    final List<Object> key = Arrays.asList(index, collection);
+    final CompletableFuture<Boolean> subscription = subscriptions.get(key);
+
+    if (document == null || document.get("_id") == null
+        || subscription == null || !subscription.getNow(false)
+        || clearedAt > snapshot
+        || invalidated.getOrDefault(key, 0L) > snapshot) {
+      return;
+    }
+
+    entries.put(Arrays.asList(index, collection, document.get("_id").toString()),
+        new Cached(document, System.nanoTime()
+            + TimeUnit.MILLISECONDS.toNanos(options.getTtl())));
+  }
+
+  /**
+   * Fetch documents once the collection subscription is settled. Documents
+   * are still fetched if it failed, but are not cached.
+   */
+  private <K, T> CompletableFuture<T> whenSubscribed(
+      final String index,
+      final String collection,
+      final K ids,
+      final Loader<K, T> loader)
+      throws NotConnectedException, InternalException {
+    final CompletableFuture<Boolean> subscription =
+        subscribe(index, collection);
+
+    if (subscription.isDone()) {
+      return loader.load(ids);
+    }
+
+    return subscription.thenCompose(active -> {
+      try {
+        return loader.load(ids);
+      } catch (NotConnectedException | InternalException e) {
+        throw new CompletionException(e);
+      }
+    });
+  }
+
+  private CompletableFuture<Boolean> subscribe(final String index,
+                                               final String collection)
+      throws NotConnectedException, InternalException {
+    final List<Object> key = Arrays.asList(index, collection);
+    final CompletableFuture<Boolean> subscription;
+
+    synchronized (this) {
+      final CompletableFuture<Boolean> existing = subscriptions.get(key);
+
+      if (existing != null) {
+        return existing;
+      }
+      subscription = new CompletableFuture<>();
+      subscriptions.put(key, subscription);
+    }
+
+    final CompletableFuture<String> room;
+    try {
+      room = kuzzle.getRealtimeController()
+          .subscribe(index, collection, new KuzzleMap(), this::onNotification);
+    } catch (NotConnectedException | InternalException e) {
+      forget(key, subscription);
+      throw e;
+    }
+
+    // a failed subscription is attempted again on the next read
+    room.whenComplete((roomId, error) -> {
+      if (error != null) {
+        forget(key, subscription);
+      }
+      subscription.complete(error == null);
+    });
+
+    return subscription;
+  }
+
+  private synchronized void forget(final List<Object> key,
+                                   final CompletableFuture<Boolean> subscription) {
+    subscriptions.remove(key, subscription);
+  }
+
+  private void onNotification(final Response notification) {
+    final Object result = notification.getResult();
+
+    if (!(result instanceof Map)) {
+      return;
+    }
+
+    final Object id = ((Map<?, ?>) result).get("_id");
+
+    if (id != null) {
+      invalidate(notification.index, notification.collection, id.toString());
+    }
+  }
+
+  private static ConcurrentHashMap<String, ArrayList<Object>> result(
+      final ArrayList<String> ids,
+      final HashMap<String, ConcurrentHashMap<String, Object>> found,
+      final List<?> errors) {
+    final ConcurrentHashMap<String, ArrayList<Object>> result =
+        new ConcurrentHashMap<>();
+    final ArrayList<Object> successes = new ArrayList<>();
+
+    for (final String id : ids) {
+      if (found.containsKey(id)) {
+        successes.add(found.get(id));
+      }
+    }
+
+    result.put("successes", successes);
+    result.put("errors", new ArrayList<>(errors));
+    return result;
+  }
+
+  private static List<?> list(final Object value) {
+    return value instanceof ArrayList ? (ArrayList<?>) value
+        : new ArrayList<>();
+  }
+
+  /**
+   * @return The value if it is a JSON object, null otherwise
+   */
+  @SuppressWarnings("unchecked")
+  private static ConcurrentHashMap<String, Object> map(final Object value) {
+    return value instanceof ConcurrentHashMap
+        ? (ConcurrentHashMap<String, Object>) value
+        : null;
+  }
+}
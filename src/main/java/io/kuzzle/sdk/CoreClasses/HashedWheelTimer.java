@@ -0,0 +1,270 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Schedules a large number of short-lived timeouts with a single thread, the
+ * way Netty's HashedWheelTimer does: timeouts are hashed into a wheel of
+ * buckets, one bucket being expired per tick. Scheduling and cancelling are
+ * O(1), and cancelled timeouts are unlinked on the next tick, so that
+ * timeouts of requests answered in time do not pile up.
+ *
+ * Timeouts expire up to one tick late. Their task runs on the timer thread,
+ * and should be short. The thread sleeps while no timeout is pending.
+ */
+public class HashedWheelTimer {
+  private static final int INIT = 0;
+  private static final int CANCELLED = 1;
+  private static final int EXPIRED = 2;
+
+  /**
+   * Handle of a scheduled task.
+   */
+  public static final class Timeout {
+    private final HashedWheelTimer timer;
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicInteger state = new AtomicInteger(INIT);
+    private long rounds;
+    private Bucket bucket;
+    private Timeout previous;
+    private Timeout next;
+
+    private Timeout(final HashedWheelTimer timer, final Runnable task,
+                    final long deadline) {
+      this.timer = timer;
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancel the task, unless it already ran.
+     *
+     * @return false if the task already ran or was already cancelled
+     */
+    public boolean cancel() {
+      if (!state.compareAndSet(INIT, CANCELLED)) {
+        return false;
+      }
+      timer.cancelled.add(this);
+      return true;
+    }
+
+    /**
+     * @return true if the task was cancelled
+     */
+    public boolean isCancelled() {
+      return state.get() == CANCELLED;
+    }
+
+    /**
+     * @return true if the task ran
+     */
+    public boolean isExpired() {
+      return state.get() == EXPIRED;
+    }
+  }
+
+  private static final class Bucket {
+    private Timeout head;
+    private Timeout tail;
+
+    void add(final Timeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.previous = tail;
+        tail = timeout;
+      }
+    }
+
+    void remove(final Timeout timeout) {
+      if (timeout.previous != null) {
+        timeout.previous.next = timeout.next;
+      } else {
+        head = timeout.next;
+      }
+
+      if (timeout.next != null) {
+        timeout.next.previous = timeout.previous;
+      } else {
+        tail = timeout.previous;
+      }
+
+      timeout.bucket = null;
+      timeout.previous = null;
+      timeout.next = null;
+    }
+  }
+
+  private static final class Shared {
+    static final HashedWheelTimer INSTANCE = new HashedWheelTimer(10, 512);
+  }
+
+  private final long tickDuration;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final long startTime = System.nanoTime();
+  private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+  private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+  private final AtomicLong pending = new AtomicLong(0);
+  private Thread worker;
+  private long tick = 0;
+
+  /**
+   * @param tickDuration Duration of a tick, in milliseconds
+   * @param ticksPerWheel Number of buckets, rounded up to a power of 2
+   */
+  public HashedWheelTimer(final long tickDuration, final int ticksPerWheel) {
+    int size = 1;
+    while (size < ticksPerWheel) {
+      size <<= 1;
+    }
+
+    this.tickDuration = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickDuration));
+    this.wheel = new Bucket[size];
+    this.mask = size - 1;
+
+    for (int i = 0; i < size; i++) {
+      wheel[i] = new Bucket();
+    }
+  }
+
+  /**
+   * @return The timer shared by the Kuzzle instances, ticking every 10ms
+   */
+  public static HashedWheelTimer shared() {
+    return Shared.INSTANCE;
+  }
+
+  /**
+   * Run a task once the delay expired.
+   *
+   * @param task  Task to run on the timer thread
+   * @param delay Delay in milliseconds
+   * @return The timeout handle, to cancel the task
+   */
+  public Timeout schedule(final Runnable task, final long delay) {
+    final Timeout timeout = new Timeout(this, task,
+        System.nanoTime() - startTime
+            + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delay)));
+
+    pending.incrementAndGet();
+    added.add(timeout);
+
+    synchronized (this) {
+      if (worker == null) {
+        worker = new Thread(this::run, "kuzzle-timer");
+        worker.setDaemon(true);
+        worker.start();
+      } else {
+        notifyAll();
+      }
+    }
+
+    return timeout;
+  }
+
+  /**
+   * @return The number of timeouts neither expired nor cancelled yet
+   */
+  public long getPendingCount() {
+    return pending.get();
+  }
+
+  private void run() {
+    while (true) {
+      try {
+        awaitTick();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      removeCancelled();
+      transferAdded();
+      expire(wheel[(int) (tick & mask)]);
+      tick++;
+    }
+  }
+
+  /**
+   * Sleep until the end of the current tick. While no timeout is pending,
+   * sleep until one is scheduled, and skip the ticks elapsed meanwhile.
+   */
+  private void awaitTick() throws InterruptedException {
+    synchronized (this) {
+      if (pending.get() == 0 && added.isEmpty()) {
+        while (pending.get() == 0 && added.isEmpty()) {
+          wait();
+        }
+        tick = (System.nanoTime() - startTime) / tickDuration;
+      }
+    }
+
+    final long deadline = tickDuration * (tick + 1);
+    long sleep;
+
+    while ((sleep = deadline - (System.nanoTime() - startTime)) > 0) {
+      TimeUnit.NANOSECONDS.sleep(sleep);
+    }
+  }
+
+  private void transferAdded() {
+    Timeout timeout;
+
+    while ((timeout = added.poll()) != null) {
+      if (timeout.state.get() == CANCELLED) {
+        continue;
+      }
+
+      final long expiresAt = timeout.deadline / tickDuration;
+      timeout.rounds = (expiresAt - tick) / wheel.length;
+
+      // already late: expired with the current tick
+      wheel[(int) (Math.max(expiresAt, tick) & mask)].add(timeout);
+    }
+  }
+
+  private void removeCancelled() {
+    Timeout timeout;
+
+    while ((timeout = cancelled.poll()) != null) {
+      pending.decrementAndGet();
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+      }
+    }
+  }
+
+  private void expire(final Bucket bucket) {
+    Timeout timeout = bucket.head;
+
+    while (timeout != null) {
+      final Timeout next = timeout.next;
+
+      if (timeout.rounds <= 0) {
+        bucket.remove(timeout);
+
+        if (timeout.state.compareAndSet(INIT, EXPIRED)) {
+          pending.decrementAndGet();
+          try {
+            timeout.task.run();
+          } catch (RuntimeException e) {
+            e.printStackTrace();
+          }
+        }
+      } else {
+        timeout.rounds--;
+      }
+
+      timeout = next;
+    }
+  }
+}
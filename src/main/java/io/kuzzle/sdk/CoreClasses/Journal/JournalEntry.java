@@ -0,0 +1,33 @@
+package io.kuzzle.sdk.CoreClasses.Journal;
+
+/**
+ * A journaled request that has not been acknowledged yet.
+ */
+public class JournalEntry {
+  final String requestId;
+  final String payload;
+  final long sequence;
+  JournalSegment segment;
+
+  JournalEntry(final String requestId, final String payload,
+               final long sequence, final JournalSegment segment) {
+    this.requestId = requestId;
+    this.payload = payload;
+    this.sequence = sequence;
+    this.segment = segment;
+  }
+
+  /**
+   * @return The request unique identifier.
+   */
+  public String getRequestId() {
+    return requestId;
+  }
+
+  /**
+   * @return The serialized request.
+   */
+  public String getPayload() {
+    return payload;
+  }
+}
@@ -0,0 +1,136 @@
+package io.kuzzle.sdk.CoreClasses.Journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A memory-mapped journal file. Records are laid out as:
+ * [int length][byte type][long sequence][short idLength][id][payload]
+ * where length covers everything after itself. The length is written last,
+ * so that a record interrupted by a crash is never read back.
+ */
+class JournalSegment {
+  static final byte APPEND = 1;
+  static final byte ACK = 2;
+
+  /**
+   * Size of a record, excluding its id and payload.
+   */
+  static final int HEADER_SIZE = 4 + 1 + 8 + 2;
+
+  /**
+   * Callback used to read records back.
+   */
+  interface RecordReader {
+    void read(byte type, long sequence, String requestId, String payload);
+  }
+
+  final long id;
+  final Path path;
+  private final MappedByteBuffer buffer;
+
+  /**
+   * Number of appended records, and of those not acknowledged yet.
+   */
+  int records = 0;
+  int live = 0;
+
+  private JournalSegment(final long id, final Path path,
+                         final MappedByteBuffer buffer) {
+    this.id = id;
+    this.path = path;
+    this.buffer = buffer;
+  }
+
+  static JournalSegment create(final Path path, final long id,
+                               final int size) throws IOException {
+    try (FileChannel channel = FileChannel.open(path,
+        StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      return new JournalSegment(id, path,
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+  }
+
+  static JournalSegment open(final Path path, final long id)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(path,
+        StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      final MappedByteBuffer buffer = channel
+          .map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+      buffer.position(buffer.limit());
+      return new JournalSegment(id, path, buffer);
+    }
+  }
+
+  static int recordSize(final byte[] requestId, final byte[] payload) {
+    return HEADER_SIZE + requestId.length + payload.length;
+  }
+
+  boolean hasRoom(final int recordSize) {
+    // keep room for the terminating zero length
+    return buffer.remaining() >= recordSize + 4;
+  }
+
+  void write(final byte type, final long sequence, final byte[] requestId,
+             final byte[] payload) {
+    final int start = buffer.position();
+
+    buffer.position(start + 4);
+    buffer.put(type);
+    buffer.putLong(sequence);
+    buffer.putShort((short) requestId.length);
+    buffer.put(requestId);
+    buffer.put(payload);
+    buffer.putInt(start, buffer.position() - start - 4);
+  }
+
+  /**
+   * Read every complete record of this segment.
+   *
+   * @param reader Record callback
+   */
+  void readAll(final RecordReader reader) {
+    int position = 0;
+
+    while (position + HEADER_SIZE <= buffer.limit()) {
+      final int length = buffer.getInt(position);
+
+      if (length < HEADER_SIZE - 4 || position + 4 + length > buffer.limit()) {
+        break;
+      }
+
+      final byte type = buffer.get(position + 4);
+      final long sequence = buffer.getLong(position + 5);
+      final int idLength = buffer.getShort(position + 13);
+      final byte[] requestId = new byte[idLength];
+      final byte[] payload = new byte[length - (HEADER_SIZE - 4) - idLength];
+
+      final ByteBuffer view = buffer.duplicate();
+      view.position(position + HEADER_SIZE);
+      view.get(requestId);
+      view.get(payload);
+
+      reader.read(type, sequence,
+          new String(requestId, StandardCharsets.UTF_8),
+          new String(payload, StandardCharsets.UTF_8));
+      position += 4 + length;
+    }
+  }
+
+  void force() {
+    buffer.force();
+  }
+
+  void delete() throws IOException {
+    Files.deleteIfExists(path);
+  }
+}
@@ -0,0 +1,278 @@
+package io.kuzzle.sdk.CoreClasses.Journal;
+
+import io.kuzzle.sdk.Options.JournalOptions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only, memory-mapped journal of the requests sent to Kuzzle.
+ * Requests are appended before being sent and acknowledged once Kuzzle
+ * answered them, so that requests lost by a process restart can be replayed.
+ *
+ * Appends are plain memory writes: the journal is synced to disk in batches,
+ * either after syncBatchSize appends or every syncInterval milliseconds.
+ * Segments whose records have all been acknowledged are deleted, and mostly
+ * acknowledged segments are compacted by moving their pending records to the
+ * current segment.
+ */
+public class RequestJournal implements Closeable {
+  private static final String PREFIX = "journal-";
+  private static final String SUFFIX = ".log";
+
+  private final Path directory;
+  private final JournalOptions options;
+  private final TreeMap<Long, JournalSegment> segments = new TreeMap<>();
+  private final HashMap<String, JournalEntry> pending = new HashMap<>();
+  private final ScheduledExecutorService syncer;
+  private JournalSegment current;
+  private long sequence = 0;
+  private int unsynced = 0;
+  private boolean closed = false;
+
+  /**
+   * Open (or create) a journal in the given directory.
+   *
+   * @param directory Journal directory
+   * @throws IOException
+   */
+  public RequestJournal(final Path directory) throws IOException {
+    this(directory, new JournalOptions());
+  }
+
+  /**
+   * Open (or create) a journal in the given directory, and load the requests
+   * left unacknowledged by a previous run.
+   *
+   * @param directory Journal directory
+   * @param options   Journal options
+   * @throws IOException
+   */
+  public RequestJournal(final Path directory, final JournalOptions options)
+      throws IOException {
+    this.directory = directory;
+    this.options = options != null ? new JournalOptions(options)
+        : new JournalOptions();
+
+    Files.createDirectories(directory);
+    load();
+    current = createSegment(this.options.getSegmentSize());
+    compact();
+
+    syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "kuzzle-journal-sync");
+      thread.setDaemon(true);
+      return thread;
+    });
+    syncer.scheduleWithFixedDelay(this::sync,
+        this.options.getSyncInterval(),
+        this.options.getSyncInterval(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private void load() throws IOException {
+    try (DirectoryStream<Path> files = Files
+        .newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+      for (final Path file : files) {
+        final String name = file.getFileName().toString();
+        final long id = Long.parseLong(name
+            .substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        segments.put(id, JournalSegment.open(file, id));
+      }
+    }
+
+    for (final JournalSegment segment : segments.values()) {
+      segment.readAll((type, seq, requestId, payload) -> {
+        if (type == JournalSegment.APPEND) {
+          // a compacted record replaces its previous copy
+          final JournalEntry previous = pending.put(requestId,
+              new JournalEntry(requestId, payload, seq, segment));
+          if (previous != null) {
+            previous.segment.live--;
+          }
+          segment.records++;
+          segment.live++;
+        } else if (type == JournalSegment.ACK) {
+          final JournalEntry entry = pending.remove(requestId);
+          if (entry != null) {
+            entry.segment.live--;
+          }
+        }
+        sequence = Math.max(sequence, seq);
+      });
+    }
+  }
+
+  private JournalSegment createSegment(final int size) throws IOException {
+    final long id = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+    final JournalSegment segment = JournalSegment.create(
+        directory.resolve(String.format("%s%020d%s", PREFIX, id, SUFFIX)),
+        id, size);
+
+    segments.put(id, segment);
+    return segment;
+  }
+
+  private void write(final byte type, final long seq, final byte[] requestId,
+                     final byte[] payload) throws IOException {
+    final int size = JournalSegment.recordSize(requestId, payload);
+
+    if (!current.hasRoom(size)) {
+      current.force();
+      current = createSegment(Math.max(options.getSegmentSize(), size + 4));
+    }
+
+    current.write(type, seq, requestId, payload);
+
+    if (++unsynced >= options.getSyncBatchSize()) {
+      current.force();
+      unsynced = 0;
+    }
+  }
+
+  /**
+   * @param query Request about to be sent
+   * @return true if the request should be journaled
+   */
+  public boolean accepts(final ConcurrentHashMap<String, Object> query) {
+    return options.getFilter().test(query);
+  }
+
+  /**
+   * Append a request to the journal.
+   *
+   * @param requestId Request unique identifier
+   * @param payload   Serialized request
+   * @throws IOException
+   */
+  public synchronized void append(final String requestId,
+                                  final String payload) throws IOException {
+    if (closed) {
+      throw new IOException("The request journal is closed");
+    }
+
+    final long seq = ++sequence;
+    write(JournalSegment.APPEND, seq,
+        requestId.getBytes(StandardCharsets.UTF_8),
+        payload.getBytes(StandardCharsets.UTF_8));
+
+    current.records++;
+    current.live++;
+    pending.put(requestId, new JournalEntry(requestId, payload, seq, current));
+  }
+
+  /**
+   * Mark a request as processed by Kuzzle. It won't be replayed anymore.
+   *
+   * @param requestId Request unique identifier
+   * @throws IOException
+   */
+  public synchronized void acknowledge(final String requestId)
+      throws IOException {
+    final JournalEntry entry = pending.remove(requestId);
+
+    if (entry == null || closed) {
+      return;
+    }
+
+    write(JournalSegment.ACK, 0,
+        requestId.getBytes(StandardCharsets.UTF_8), new byte[0]);
+    entry.segment.live--;
+    compact();
+  }
+
+  /**
+   * Delete the oldest segments once all their records are acknowledged, and
+   * move the last pending records of mostly acknowledged ones to the current
+   * segment.
+   * Segments are only ever removed oldest first, so that acknowledgements
+   * always outlive the records they refer to.
+   */
+  private void compact() throws IOException {
+    while (segments.firstEntry().getValue() != current) {
+      final JournalSegment oldest = segments.firstEntry().getValue();
+
+      if (oldest.live > 0 && oldest.live * 4 > oldest.records) {
+        return;
+      }
+
+      if (oldest.live > 0) {
+        for (final JournalEntry entry : pending.values()) {
+          if (entry.segment == oldest) {
+            write(JournalSegment.APPEND, entry.sequence,
+                entry.requestId.getBytes(StandardCharsets.UTF_8),
+                entry.payload.getBytes(StandardCharsets.UTF_8));
+            entry.segment = current;
+            current.records++;
+            current.live++;
+          }
+        }
+        current.force();
+        unsynced = 0;
+      }
+
+      segments.remove(oldest.id);
+      oldest.delete();
+    }
+  }
+
+  /**
+   * @return The requests not acknowledged yet, in their submission order.
+   */
+  public synchronized List<JournalEntry> getPending() {
+    final ArrayList<JournalEntry> entries = new ArrayList<>(pending.values());
+    entries.sort(Comparator.comparingLong(entry -> entry.sequence));
+    return entries;
+  }
+
+  /**
+   * @return The number of requests not acknowledged yet.
+   */
+  public synchronized int size() {
+    return pending.size();
+  }
+
+  /**
+   * @return The number of segment files currently in use.
+   */
+  public synchronized int getSegmentCount() {
+    return segments.size();
+  }
+
+  /**
+   * Sync the appended records to disk.
+   */
+  public synchronized void sync() {
+    if (!closed && unsynced > 0) {
+      current.force();
+      unsynced = 0;
+    }
+  }
+
+  /**
+   * Sync and close the journal. Pending requests are kept on disk.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+
+    sync();
+    closed = true;
+    syncer.shutdown();
+  }
+}
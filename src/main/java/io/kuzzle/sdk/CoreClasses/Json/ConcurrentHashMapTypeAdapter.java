@@ -6,13 +6,16 @@ import com.google.gson.internal.LazilyParsedNumber;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import io.kuzzle.sdk.CoreClasses.Maps.CompactKuzzleMap;
 import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Maps.Null;
 import io.kuzzle.sdk.CoreClasses.Maps.Serializable;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class ConcurrentHashMapTypeAdapter
@@ -24,16 +27,7 @@ public class ConcurrentHashMapTypeAdapter
     if (map == null) {
       out.nullValue();
     } else {
-      out.beginObject();
-      Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
-
-      while (iterator.hasNext()) {
-        Map.Entry<String, Object> entry = iterator.next();
-        out.name(String.valueOf(entry.getKey()));
-        writeObject(out, entry.getValue());
-      }
-
-      out.endObject();
+      writeMap(out, map);
     }
   }
 
@@ -68,6 +62,31 @@ public class ConcurrentHashMapTypeAdapter
     return null;
   }
 
+  /**
+   * Read any JSON value: objects are read as KuzzleMap, arrays as ArrayList
+   * and numbers as LazilyParsedNumber.
+   *
+   * @param in JSON reader
+   * @return The read value
+   * @throws IOException
+   */
+  public Object readValue(JsonReader in) throws IOException {
+    return readObject(in);
+  }
+
+  /**
+   * Read any JSON value, with the same rules as readValue, except that objects
+   * are read as CompactKuzzleMap: objects with the same keys share their key
+   * layout.
+   *
+   * @param in JSON reader
+   * @return The read value
+   * @throws IOException
+   */
+  public Object readCompactValue(JsonReader in) throws IOException {
+    return readCompactObject(in, new LayoutTree());
+  }
+
   private void writeObject(JsonWriter out, Object value) throws IOException {
     if (value instanceof Number) {
       out.value((Number) value);
@@ -85,29 +104,42 @@ public class ConcurrentHashMapTypeAdapter
 
       out.endArray();
     } else if (value instanceof ConcurrentHashMap) {
-      out.beginObject();
-      Iterator<Map.Entry<String, Object>> iterator = ((ConcurrentHashMap<String, Object>) value)
-          .entrySet()
-          .iterator();
-
-      while (iterator.hasNext()) {
-        Map.Entry<String, Object> e = iterator.next();
-        out.name(e.getKey());
-        writeObject(out, e.getValue());
-      }
-
-      out.endObject();
+      writeMap(out, (ConcurrentHashMap<String, Object>) value);
     } else if (value instanceof Serializable) {
       try {
         writeObject(out, ((Serializable) value).toMap());
       } catch (Exception e) {
         throw new IOException(e);
       }
-    } else if (value == null) {
+    } else if (value == null || value == Null.INSTANCE) {
       out.nullValue();
     }
   }
 
+  /**
+   * Write a map from its stored values, without going through its entry set:
+   * null values are written from the Null marker without being wrapped.
+   */
+  private void writeMap(JsonWriter out, ConcurrentHashMap<String, Object> map)
+      throws IOException {
+    out.beginObject();
+
+    try {
+      map.forEach((key, value) -> {
+        try {
+          out.name(key);
+          writeObject(out, value);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    out.endObject();
+  }
+
   private Object readObject(JsonReader in) throws IOException {
     switch (in.peek()) {
     case NUMBER:
@@ -152,4 +184,86 @@ public class ConcurrentHashMapTypeAdapter
       throw new IllegalArgumentException();
     }
   }
+
+  private Object readCompactObject(JsonReader in, LayoutTree root)
+      throws IOException {
+    switch (in.peek()) {
+    case BEGIN_ARRAY:
+      ArrayList<Object> array = new ArrayList<>();
+      in.beginArray();
+
+      while (in.hasNext()) {
+        array.add(readCompactObject(in, root));
+      }
+
+      in.endArray();
+      array.trimToSize();
+      return array;
+    case BEGIN_OBJECT:
+      LayoutTree node = root;
+      Object[] values = new Object[8];
+      int size = 0;
+      in.beginObject();
+
+      while (in.hasNext()) {
+        String key = in.nextName();
+        Object object = readCompactObject(in, root);
+        if (object != null) {
+          node = node.with(key);
+          if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+          }
+          values[size++] = object;
+        }
+      }
+
+      in.endObject();
+
+      CompactKuzzleMap.Layout layout = node.layout();
+      if (layout == null) {
+        // duplicate keys: the last value wins, as with readObject
+        KuzzleMap map = new KuzzleMap();
+        String[] keys = node.keys();
+
+        for (int i = 0; i < size; i++) {
+          map.put(keys[i], values[i]);
+        }
+        return map;
+      }
+
+      return new CompactKuzzleMap(layout, Arrays.copyOf(values, size));
+    case NUMBER:
+      return readCompactNumber(in.nextString());
+    default:
+      return readObject(in);
+    }
+  }
+
+  /**
+   * Kuzzle being a Node.js application, its numbers are doubles: integers are
+   * read as Integer or Long, other numbers as Double, which all take less
+   * memory than a LazilyParsedNumber and its string.
+   */
+  private Number readCompactNumber(String number) {
+    boolean integral = true;
+
+    for (int i = 0; i < number.length() && integral; i++) {
+      char c = number.charAt(i);
+      integral = (c >= '0' && c <= '9') || (i == 0 && c == '-');
+    }
+
+    try {
+      if (!integral) {
+        return Double.parseDouble(number);
+      }
+
+      long value = Long.parseLong(number);
+      if (value == (int) value) {
+        return (int) value;
+      }
+      return value;
+    } catch (NumberFormatException e) {
+      return new LazilyParsedNumber(number);
+    }
+  }
 }
@@ -0,0 +1,137 @@
+package io.kuzzle.sdk.CoreClasses.Json;
+
+/**
+ * Locates values in a raw JSON document without building it.
+ */
+public class JsonScanner {
+  private final String json;
+  private int position = 0;
+
+  private JsonScanner(final String json) {
+    this.json = json;
+  }
+
+  /**
+   * Find the bounds of a top-level field value in a JSON object.
+   *
+   * @param json Raw JSON object
+   * @param key  Field name
+   * @return The [start, end) bounds of the value, or null if the field is
+   *         missing or the document is not an object.
+   */
+  public static int[] findTopLevelValue(final String json, final String key) {
+    return new JsonScanner(json).find(key);
+  }
+
+  private int[] find(final String key) {
+    skipWhitespaces();
+    if (!consume('{')) {
+      return null;
+    }
+
+    skipWhitespaces();
+    if (consume('}')) {
+      return null;
+    }
+
+    while (position < json.length()) {
+      skipWhitespaces();
+      final int keyStart = position + 1;
+      skipString();
+      final int keyEnd = position - 1;
+
+      skipWhitespaces();
+      if (!consume(':')) {
+        return null;
+      }
+      skipWhitespaces();
+
+      final int valueStart = position;
+      skipValue();
+
+      if (keyEnd - keyStart == key.length()
+          && json.startsWith(key, keyStart)) {
+        return new int[] { valueStart, position };
+      }
+
+      skipWhitespaces();
+      if (!consume(',')) {
+        return null;
+      }
+    }
+
+    return null;
+  }
+
+  private boolean consume(final char c) {
+    if (position < json.length() && json.charAt(position) == c) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private void skipWhitespaces() {
+    while (position < json.length()
+        && Character.isWhitespace(json.charAt(position))) {
+      position++;
+    }
+  }
+
+  private void skipString() {
+    // opening quote
+    position++;
+
+    while (position < json.length()) {
+      final char c = json.charAt(position++);
+
+      if (c == '\\') {
+        position++;
+      } else if (c == '"') {
+        return;
+      }
+    }
+  }
+
+  private void skipValue() {
+    if (position >= json.length()) {
+      return;
+    }
+
+    final char c = json.charAt(position);
+
+    if (c == '"') {
+      skipString();
+    } else if (c == '{' || c == '[') {
+      int depth = 0;
+
+      while (position < json.length()) {
+        final char current = json.charAt(position);
+
+        if (current == '"') {
+          skipString();
+          continue;
+        }
+
+        position++;
+        if (current == '{' || current == '[') {
+          depth++;
+        } else if (current == '}' || current == ']') {
+          if (--depth == 0) {
+            return;
+          }
+        }
+      }
+    } else {
+      while (position < json.length()) {
+        final char current = json.charAt(position);
+
+        if (current == ',' || current == '}' || current == ']'
+            || Character.isWhitespace(current)) {
+          return;
+        }
+        position++;
+      }
+    }
+  }
+}
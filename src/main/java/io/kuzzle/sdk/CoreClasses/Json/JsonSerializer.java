@@ -2,19 +2,24 @@ package io.kuzzle.sdk.CoreClasses.Json;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class JsonSerializer {
   private static Gson gson;
+  private static ConcurrentHashMapTypeAdapter adapter;
 
   static {
+    adapter = new ConcurrentHashMapTypeAdapter();
     gson = new GsonBuilder()
         .disableHtmlEscaping()
         .disableInnerClassSerialization()
         .serializeNulls()
-        .registerTypeAdapter(ConcurrentHashMap.class,
-            new ConcurrentHashMapTypeAdapter())
+        .registerTypeAdapter(ConcurrentHashMap.class, adapter)
         .create();
   }
 
@@ -22,6 +27,33 @@ public class JsonSerializer {
     return gson.fromJson(rawJson, ConcurrentHashMap.class);
   }
 
+  /**
+   * Deserialize any JSON value, not only objects.
+   *
+   * @param rawJson Raw JSON value
+   * @return The deserialized value
+   */
+  public static Object deserializeValue(String rawJson) {
+    return deserializeValue(rawJson, false);
+  }
+
+  /**
+   * Deserialize any JSON value, not only objects.
+   *
+   * @param rawJson Raw JSON value
+   * @param compact If true, objects are read as CompactKuzzleMap
+   * @return The deserialized value
+   */
+  public static Object deserializeValue(String rawJson, boolean compact) {
+    try {
+      JsonReader reader = new JsonReader(new StringReader(rawJson));
+      return compact ? adapter.readCompactValue(reader)
+          : adapter.readValue(reader);
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
   public static String serialize(ConcurrentHashMap<String, Object> map) {
     return gson.toJson(map, ConcurrentHashMap.class);
   }
@@ -0,0 +1,82 @@
+package io.kuzzle.sdk.CoreClasses.Json;
+
+import io.kuzzle.sdk.CoreClasses.Maps.CompactKuzzleMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Transition tree of the key sequences met while decoding a payload: objects
+ * reading the same keys in the same order end up on the same node, and share
+ * its layout and its key strings.
+ */
+final class LayoutTree {
+  private final LayoutTree parent;
+  private final String key;
+  private final int depth;
+  private HashMap<String, LayoutTree> children;
+  private CompactKuzzleMap.Layout layout;
+  private boolean duplicates = false;
+
+  LayoutTree() {
+    this(null, null, 0);
+  }
+
+  private LayoutTree(final LayoutTree parent, final String key,
+                     final int depth) {
+    this.parent = parent;
+    this.key = key;
+    this.depth = depth;
+  }
+
+  /**
+   * @param key Next key
+   * @return The node reached by appending a key to this one
+   */
+  LayoutTree with(final String key) {
+    if (children == null) {
+      children = new HashMap<>(4);
+    }
+
+    LayoutTree child = children.get(key);
+    if (child == null) {
+      child = new LayoutTree(this, key, depth + 1);
+      children.put(key, child);
+    }
+
+    return child;
+  }
+
+  /**
+   * @return The keys leading to this node, in order
+   */
+  String[] keys() {
+    final String[] keys = new String[depth];
+    LayoutTree node = this;
+
+    for (int i = depth - 1; i >= 0; i--) {
+      keys[i] = node.key;
+      node = node.parent;
+    }
+
+    return keys;
+  }
+
+  /**
+   * @return The layout of this node, or null if its keys contain duplicates
+   */
+  CompactKuzzleMap.Layout layout() {
+    if (layout == null && !duplicates) {
+      final String[] keys = keys();
+
+      if (new HashSet<>(Arrays.asList(keys)).size() != keys.length) {
+        duplicates = true;
+      } else {
+        layout = new CompactKuzzleMap.Layout(keys);
+      }
+    }
+
+    return layout;
+  }
+}
@@ -0,0 +1,67 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the claims of a JSON Web Token. The signature is not verified: only
+ * Kuzzle can do it, this is only meant to know when a token expires without
+ * asking Kuzzle.
+ */
+public final class Jwt {
+  private Jwt() {
+  }
+
+  /**
+   * @param token JSON Web Token
+   * @return The claims of the token, or null if it is not a JWT
+   */
+  public static KuzzleMap decode(final String token) {
+    if (token == null) {
+      return null;
+    }
+
+    final String[] parts = token.split("\\.");
+
+    if (parts.length != 3) {
+      return null;
+    }
+
+    try {
+      final ConcurrentHashMap<String, Object> claims =
+          JsonSerializer.deserialize(new String(
+              Base64.getUrlDecoder().decode(parts[1]),
+              StandardCharsets.UTF_8));
+
+      return claims != null ? KuzzleMap.from(claims) : null;
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @param token JSON Web Token
+   * @return The expiration date of the token, in milliseconds since the
+   * epoch, or -1 if unknown
+   */
+  public static long getExpiresAt(final String token) {
+    return getExpiresAt(decode(token));
+  }
+
+  /**
+   * @param claims Claims of a JSON Web Token
+   * @return The expiration date of the token, in milliseconds since the
+   * epoch, or -1 if unknown
+   */
+  public static long getExpiresAt(final KuzzleMap claims) {
+    if (claims == null || !(claims.get("exp") instanceof Number)) {
+      return -1;
+    }
+
+    return (long) (((Number) claims.get("exp")).doubleValue() * 1000);
+  }
+}
@@ -0,0 +1,516 @@
+package io.kuzzle.sdk.CoreClasses.Maps;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Read-optimized KuzzleMap, built from decoded JSON payloads.
+ *
+ * Entries are stored in a plain array of values, while keys are stored in a
+ * Layout which is shared by all the maps having the same keys, in the same
+ * order (e.g. the documents of a search result). No hash table is allocated
+ * until the map is modified: the first modification moves the entries to the
+ * ConcurrentHashMap storage, and the map then behaves like any KuzzleMap.
+ *
+ * The parallel bulk operations inherited from ConcurrentHashMap (search,
+ * reduce, forEach with a parallelism threshold, ...) only see the entries
+ * once the map is inflated: call inflate() before using them.
+ */
+public class CompactKuzzleMap extends KuzzleMap {
+  private static final long serialVersionUID = -3364155932510727049L;
+
+  /**
+   * Keys of a compact map, shared between maps with the same keys.
+   * Small layouts are scanned linearly, larger ones are indexed with an
+   * open-addressed table.
+   */
+  public static final class Layout {
+    private static final int LINEAR_SCAN_MAX = 8;
+
+    private final String[] keys;
+    private final int[] index;
+
+    /**
+     * @param keys Keys, in their insertion order. The array is not copied.
+     */
+    public Layout(final String[] keys) {
+      this.keys = keys;
+      this.index = keys.length > LINEAR_SCAN_MAX ? buildIndex(keys) : null;
+    }
+
+    private static int[] buildIndex(final String[] keys) {
+      final int[] index = new int[Integer.highestOneBit(keys.length * 2) << 1];
+      final int mask = index.length - 1;
+
+      Arrays.fill(index, -1);
+      for (int i = 0; i < keys.length; i++) {
+        int slot = spread(keys[i].hashCode()) & mask;
+
+        while (index[slot] != -1) {
+          slot = (slot + 1) & mask;
+        }
+        index[slot] = i;
+      }
+
+      return index;
+    }
+
+    private static int spread(final int hash) {
+      return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return The number of keys
+     */
+    public int size() {
+      return keys.length;
+    }
+
+    /**
+     * @param i Key position
+     * @return The key at this position
+     */
+    public String key(final int i) {
+      return keys[i];
+    }
+
+    /**
+     * @param key Key to look for
+     * @return The position of the key, or -1
+     */
+    public int indexOf(final Object key) {
+      if (!(key instanceof String)) {
+        return -1;
+      }
+
+      if (index == null) {
+        for (int i = 0; i < keys.length; i++) {
+          if (keys[i] == key || keys[i].equals(key)) {
+            return i;
+          }
+        }
+        return -1;
+      }
+
+      final int mask = index.length - 1;
+      int slot = spread(key.hashCode()) & mask;
+
+      while (index[slot] != -1) {
+        final String candidate = keys[index[slot]];
+
+        if (candidate == key || candidate.equals(key)) {
+          return index[slot];
+        }
+        slot = (slot + 1) & mask;
+      }
+
+      return -1;
+    }
+  }
+
+  private final Layout layout;
+
+  /**
+   * Stored values, Null.INSTANCE for null ones. Set to null once the entries
+   * have been moved to the ConcurrentHashMap storage.
+   */
+  private volatile Object[] values;
+
+  /**
+   * @param layout Keys of the map
+   * @param values Values, in the same order as the layout keys. The array is
+   *               not copied, and must not contain null values: use
+   *               Null.INSTANCE instead.
+   */
+  public CompactKuzzleMap(final Layout layout, final Object[] values) {
+    super();
+
+    if (layout.size() != values.length) {
+      throw new IllegalArgumentException(
+          "The layout and the values must have the same size");
+    }
+
+    this.layout = layout;
+    this.values = values;
+  }
+
+  /**
+   * @return true if the map still uses its compact storage
+   */
+  public boolean isCompact() {
+    return values != null;
+  }
+
+  /**
+   * Move the entries to the ConcurrentHashMap storage. This is done
+   * automatically by the first modification of the map.
+   */
+  public void inflate() {
+    if (values == null) {
+      return;
+    }
+
+    synchronized (this) {
+      final Object[] current = values;
+
+      if (current == null) {
+        return;
+      }
+
+      for (int i = 0; i < current.length; i++) {
+        super.put(layout.key(i), current[i]);
+      }
+      values = null;
+    }
+  }
+
+  @Override
+  Object raw(final Object key) {
+    final Object[] current = values;
+
+    if (current == null) {
+      return super.raw(key);
+    }
+
+    final int i = layout.indexOf(key);
+    return i < 0 ? null : current[i];
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return values == null ? super.containsKey(key) : get(key) != null;
+  }
+
+  @Override
+  public Object getOrDefault(final Object key, final Object defaultValue) {
+    final Object value = get(key);
+    return value == null ? defaultValue : value;
+  }
+
+  @Override
+  public int size() {
+    final Object[] current = values;
+    return current == null ? super.size() : current.length;
+  }
+
+  @Override
+  public long mappingCount() {
+    final Object[] current = values;
+    return current == null ? super.mappingCount() : current.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    final Object[] current = values;
+    return current == null ? super.isEmpty() : current.length == 0;
+  }
+
+  @Override
+  public boolean containsValue(final Object value) {
+    final Object[] current = values;
+
+    if (current == null) {
+      return super.containsValue(value);
+    }
+    if (value == null) {
+      throw new NullPointerException();
+    }
+
+    for (final Object candidate : current) {
+      if (candidate == value || candidate.equals(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean contains(final Object value) {
+    return containsValue(value);
+  }
+
+  @Override
+  public void forEach(final BiConsumer<? super String, ? super Object> action) {
+    final Object[] current = values;
+
+    if (current == null) {
+      super.forEach(action);
+      return;
+    }
+
+    for (int i = 0; i < current.length; i++) {
+      action.accept(layout.key(i), current[i]);
+    }
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    final Object[] current = values;
+
+    if (current == null) {
+      return super.entrySet();
+    }
+
+    return new AbstractSet<Entry<String, Object>>() {
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        return new Iterator<Entry<String, Object>>() {
+          private int next = 0;
+
+          @Override
+          public boolean hasNext() {
+            return next < current.length;
+          }
+
+          @Override
+          public Entry<String, Object> next() {
+            if (next >= current.length) {
+              throw new NoSuchElementException();
+            }
+
+            final int i = next++;
+            return new KuzzleMapEntry(layout.key(i), current[i],
+                CompactKuzzleMap.this);
+          }
+
+          @Override
+          public void remove() {
+            if (next == 0) {
+              throw new IllegalStateException();
+            }
+            CompactKuzzleMap.this.remove(layout.key(next - 1));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return current.length;
+      }
+    };
+  }
+
+  /**
+   * ConcurrentHashMap key set views are bound to the hash table: getting one
+   * inflates the map.
+   */
+  @Override
+  public KeySetView<String, Object> keySet() {
+    inflate();
+    return super.keySet();
+  }
+
+  @Override
+  public KeySetView<String, Object> keySet(final Object mappedValue) {
+    inflate();
+    return super.keySet(mappedValue);
+  }
+
+  @Override
+  public Collection<Object> values() {
+    final Object[] current = values;
+
+    if (current == null) {
+      return super.values();
+    }
+    return Collections.unmodifiableList(Arrays.asList(current));
+  }
+
+  @Override
+  public Enumeration<String> keys() {
+    if (values == null) {
+      return super.keys();
+    }
+
+    final String[] keys = new String[layout.size()];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = layout.key(i);
+    }
+    return Collections.enumeration(Arrays.asList(keys));
+  }
+
+  @Override
+  public Enumeration<Object> elements() {
+    final Object[] current = values;
+
+    if (current == null) {
+      return super.elements();
+    }
+    return Collections.enumeration(Arrays.asList(current));
+  }
+
+  @Override
+  public KuzzleMap put(final String key, final Object value) {
+    inflate();
+    return super.put(key, value);
+  }
+
+  @Override
+  public void putAll(final Map<? extends String, ?> map) {
+    inflate();
+    super.putAll(map);
+  }
+
+  @Override
+  public Object putIfAbsent(final String key, final Object value) {
+    inflate();
+    return super.putIfAbsent(key, value);
+  }
+
+  @Override
+  public Object remove(final Object key) {
+    inflate();
+    return super.remove(key);
+  }
+
+  @Override
+  public boolean remove(final Object key, final Object value) {
+    inflate();
+    return super.remove(key, value);
+  }
+
+  @Override
+  public boolean replace(final String key, final Object oldValue,
+                         final Object newValue) {
+    inflate();
+    return super.replace(key, oldValue, newValue);
+  }
+
+  @Override
+  public Object replace(final String key, final Object value) {
+    inflate();
+    return super.replace(key, value);
+  }
+
+  @Override
+  public void replaceAll(
+      final BiFunction<? super String, ? super Object, ?> function) {
+    inflate();
+    super.replaceAll(function);
+  }
+
+  @Override
+  public Object computeIfAbsent(final String key,
+      final Function<? super String, ?> mappingFunction) {
+    inflate();
+    return super.computeIfAbsent(key, mappingFunction);
+  }
+
+  @Override
+  public Object computeIfPresent(final String key,
+      final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+    inflate();
+    return super.computeIfPresent(key, remappingFunction);
+  }
+
+  @Override
+  public Object compute(final String key,
+      final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+    inflate();
+    return super.compute(key, remappingFunction);
+  }
+
+  @Override
+  public Object merge(final String key, final Object value,
+      final BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+    inflate();
+    return super.merge(key, value, remappingFunction);
+  }
+
+  @Override
+  public void clear() {
+    inflate();
+    super.clear();
+  }
+
+  @Override
+  public int hashCode() {
+    final Object[] current = values;
+
+    if (current == null) {
+      return super.hashCode();
+    }
+
+    int hash = 0;
+    for (int i = 0; i < current.length; i++) {
+      hash += layout.key(i).hashCode() ^ current[i].hashCode();
+    }
+    return hash;
+  }
+
+  @Override
+  public boolean equals(final Object object) {
+    final Object[] current = values;
+
+    if (current == null) {
+      return super.equals(object);
+    }
+    if (object == this) {
+      return true;
+    }
+    if (!(object instanceof Map)) {
+      return false;
+    }
+
+    final Map<?, ?> map = (Map<?, ?>) object;
+
+    // same semantics as ConcurrentHashMap.equals
+    for (int i = 0; i < current.length; i++) {
+      final Object value = map.get(layout.key(i));
+
+      if (value == null
+          || (value != current[i] && !value.equals(current[i]))) {
+        return false;
+      }
+    }
+
+    for (final Map.Entry<?, ?> entry : map.entrySet()) {
+      final Object key = entry.getKey();
+      final Object value = entry.getValue();
+      final Object stored;
+
+      if (key == null || value == null || (stored = get(key)) == null
+          || (value != stored && !value.equals(stored))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    final Object[] current = values;
+
+    if (current == null) {
+      return super.toString();
+    }
+
+    final StringBuilder builder = new StringBuilder().append('{');
+    for (int i = 0; i < current.length; i++) {
+      if (i > 0) {
+        builder.append(',').append(' ');
+      }
+      builder.append(layout.key(i)).append('=')
+          .append(current[i] == this ? "(this Map)" : current[i]);
+    }
+    return builder.append('}').toString();
+  }
+
+  /**
+   * Serialized as a regular KuzzleMap.
+   */
+  private Object writeReplace() {
+    return new KuzzleMap(this);
+  }
+}
@@ -1,10 +1,10 @@
 package io.kuzzle.sdk.CoreClasses.Maps;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * CustomMap is a Class that extends ConcurrentHashMap to be ThreadSafe and that
@@ -51,12 +51,8 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    */
   public KuzzleMap(ConcurrentHashMap<String, Object> map) {
     super();
-    Iterator<Entry<String, Object>> it = map.entrySet().iterator();
-
-    while (it.hasNext()) {
-      Entry<String, Object> entry = it.next();
-      this.put(entry.getKey(), entry.getValue());
-    }
+    // forEach reads the stored values: nulls are copied as Null.INSTANCE
+    map.forEach(super::put);
   }
 
   @Override
@@ -64,7 +60,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
     if (o != null) {
       super.put(s, o);
     } else {
-      super.put(s, new Null());
+      super.put(s, Null.INSTANCE);
     }
 
     return this;
@@ -72,22 +68,85 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
 
   @Override
   public Object get(Object key) {
-    Object value = super.get(key);
-    if (value instanceof Null) {
+    Object value = raw(key);
+    if (value == Null.INSTANCE) {
       return null;
     }
     return value;
   }
 
+  /**
+   * @return A view of the entries of this map, where null values are
+   *         translated on the fly.
+   */
   @Override
   public Set<Entry<String, Object>> entrySet() {
-    Set<Entry<String, Object>> entrySet = super.entrySet();
-    return entrySet.parallelStream().map((Entry<String, Object> entry) -> {
-      if (entry.getValue() instanceof Null) {
-        return new KuzzleMapEntry(entry.getKey(), entry.getValue(), this);
-      }
-      return entry;
-    }).collect(Collectors.toSet());
+    return new EntrySetView(this, super.entrySet());
+  }
+
+  /**
+   * Entry set view of a KuzzleMap, wrapping the ConcurrentHashMap one without
+   * copying it.
+   */
+  private static class EntrySetView extends AbstractSet<Entry<String, Object>> {
+    private final KuzzleMap map;
+    private final Set<Entry<String, Object>> entries;
+
+    EntrySetView(final KuzzleMap map, final Set<Entry<String, Object>> entries) {
+      this.map = map;
+      this.entries = entries;
+    }
+
+    @Override
+    public Iterator<Entry<String, Object>> iterator() {
+      final Iterator<Entry<String, Object>> iterator = entries.iterator();
+
+      return new Iterator<Entry<String, Object>>() {
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+          final Entry<String, Object> entry = iterator.next();
+
+          if (entry.getValue() == Null.INSTANCE) {
+            return new KuzzleMapEntry(entry.getKey(), entry.getValue(), map);
+          }
+          return entry;
+        }
+
+        @Override
+        public void remove() {
+          iterator.remove();
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return entries.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return entries.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+      entries.clear();
+    }
+  }
+
+  /**
+   * @param key
+   *              a String representing the key.
+   * @return The stored value, Null.INSTANCE for null values.
+   */
+  Object raw(Object key) {
+    return super.get(key);
   }
 
   /**
@@ -98,7 +157,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return true if the value is null.
    */
   public boolean isNull(String key) {
-    return super.get(key) instanceof Null;
+    return raw(key) == Null.INSTANCE;
   }
 
   /**
@@ -109,7 +168,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return true if the key is a String.
    */
   public boolean isString(String key) {
-    return super.get(key) instanceof String;
+    return raw(key) instanceof String;
   }
 
   /**
@@ -120,7 +179,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return true if the key is a Boolean.
    */
   public boolean isBoolean(String key) {
-    return super.get(key) instanceof Boolean;
+    return raw(key) instanceof Boolean;
   }
 
   /**
@@ -131,7 +190,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return true if the key is a Number.
    */
   public boolean isNumber(String key) {
-    return super.get(key) instanceof Number;
+    return raw(key) instanceof Number;
   }
 
   /**
@@ -142,7 +201,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return true if the key is an ArrayList.
    */
   public boolean isArrayList(String key) {
-    return super.get(key) instanceof ArrayList;
+    return raw(key) instanceof ArrayList;
   }
 
   /**
@@ -153,7 +212,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return true if the key is a ConcurrentHashMap.
    */
   public boolean isMap(String key) {
-    return super.get(key) instanceof ConcurrentHashMap;
+    return raw(key) instanceof ConcurrentHashMap;
   }
 
   /**
@@ -164,7 +223,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return The String at the key or null
    */
   public String getString(String key) {
-    return isString(key) ? (String) super.get(key) : null;
+    return isString(key) ? (String) raw(key) : null;
   }
 
   /**
@@ -175,7 +234,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return The Boolean at the key or null
    */
   public Boolean getBoolean(String key) {
-    return isBoolean(key) ? (Boolean) super.get(key) : null;
+    return isBoolean(key) ? (Boolean) raw(key) : null;
   }
 
   /**
@@ -186,7 +245,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return The Number at the key or null
    */
   public Number getNumber(String key) {
-    return isNumber(key) ? (Number) super.get(key) : null;
+    return isNumber(key) ? (Number) raw(key) : null;
   }
 
   /**
@@ -197,7 +256,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return The ArrayList at the key or null
    */
   public ArrayList getArrayList(String key) {
-    return isArrayList(key) ? (ArrayList) super.get(key) : null;
+    return isArrayList(key) ? (ArrayList) raw(key) : null;
   }
 
   /**
@@ -210,7 +269,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    */
   public KuzzleMap getMap(String key) {
     return isMap(key)
-        ? KuzzleMap.from((ConcurrentHashMap<String, Object>) super.get(key))
+        ? KuzzleMap.from((ConcurrentHashMap<String, Object>) raw(key))
         : null;
   }
 
@@ -223,7 +282,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return The String at the key or def value
    */
   public String optString(String key, String def) {
-    return isString(key) ? (String) super.get(key) : def;
+    return isString(key) ? (String) raw(key) : def;
   }
 
   /**
@@ -235,7 +294,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return The Boolean at the key or def value
    */
   public Boolean optBoolean(String key, Boolean def) {
-    return isBoolean(key) ? (Boolean) super.get(key) : def;
+    return isBoolean(key) ? (Boolean) raw(key) : def;
   }
 
   /**
@@ -247,7 +306,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return The Number at the key or def value
    */
   public Number optNumber(String key, Number def) {
-    return isNumber(key) ? (Number) super.get(key) : def;
+    return isNumber(key) ? (Number) raw(key) : def;
   }
 
   /**
@@ -259,7 +318,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    * @return The ArrayList at the key or def value
    */
   public ArrayList optArrayList(String key, ArrayList def) {
-    return isArrayList(key) ? (ArrayList) super.get(key) : def;
+    return isArrayList(key) ? (ArrayList) raw(key) : def;
   }
 
   /**
@@ -272,7 +331,7 @@ public class KuzzleMap extends ConcurrentHashMap<String, Object> {
    */
   public KuzzleMap optMap(String key, ConcurrentHashMap<String, Object> def) {
     return isMap(key)
-        ? KuzzleMap.from((ConcurrentHashMap<String, Object>) super.get(key))
+        ? KuzzleMap.from((ConcurrentHashMap<String, Object>) raw(key))
         : KuzzleMap.from(def);
   }
 }
@@ -19,7 +19,7 @@ public class KuzzleMapEntry implements Map.Entry<String, Object> {
   }
 
   public Object getValue() {
-    if (this.value instanceof Null) {
+    if (this.value == Null.INSTANCE) {
       return null;
     }
     return this.value;
@@ -51,7 +51,7 @@ public class KuzzleMapEntry implements Map.Entry<String, Object> {
   public Object setValue(Object value) {
     if (value == null) {
       Object oldValue = this.value;
-      this.value = new Null();
+      this.value = Null.INSTANCE;
       this.map.put(this.key, this.value);
       return oldValue;
     } else {
@@ -1,13 +1,22 @@
 package io.kuzzle.sdk.CoreClasses.Maps;
 
-public class Null {
-  final int hashCode = 572487463;
+/**
+ * Marker stored in place of null values, which ConcurrentHashMap does not
+ * accept. There is a single instance: compare it by identity.
+ */
+public final class Null {
+  public static final Null INSTANCE = new Null();
+
+  private static final int HASH_CODE = 572487463;
+
+  private Null() {
+  }
 
   public int hashCode() {
-    return hashCode;
+    return HASH_CODE;
   }
 
   public String toString() {
     return "null";
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,223 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Exceptions.ConnectionLostException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.function.BiPredicate;
+import java.util.function.IntSupplier;
+
+/**
+ * Bounded queue holding the requests made while the network protocol is not
+ * able to send them, and replaying them once it is.
+ */
+public class OfflineQueue {
+  private static class Item {
+    final KuzzleMap query;
+    final Task<Response> task;
+    final long timestamp;
+
+    Item(final KuzzleMap query, final Task<Response> task) {
+      this.query = query;
+      this.task = task;
+      this.timestamp = System.currentTimeMillis();
+    }
+  }
+
+  private final ArrayDeque<Item> items = new ArrayDeque<>();
+  private final IntSupplier maxQueueSize;
+  private final IntSupplier maxRequestDelay;
+  private final HashedWheelTimer timer;
+  private final Executor executor;
+  private boolean replaying = false;
+  /**
+   * Incremented by each replay, so that a step scheduled by a stopped replay
+   * does nothing.
+   */
+  private long generation = 0;
+  /**
+   * Submission time of the last replayed request, -1 before the first one
+   */
+  private long previous = -1;
+  /**
+   * Request the replay waited for, sent without further delay
+   */
+  private Item due;
+  private HashedWheelTimer.Timeout next;
+
+  /**
+   * @param maxQueueSize    Maximum number of queued requests, -1 for no limit
+   * @param maxRequestDelay Maximum delay between two replayed requests
+   * @param timer           Timer scheduling the delays between replayed
+   *                        requests
+   * @param executor        Executor replaying the requests
+   */
+  public OfflineQueue(final IntSupplier maxQueueSize,
+                      final IntSupplier maxRequestDelay,
+                      final HashedWheelTimer timer,
+                      final Executor executor) {
+    this.maxQueueSize = maxQueueSize;
+    this.maxRequestDelay = maxRequestDelay;
+    this.timer = timer;
+    this.executor = executor;
+  }
+
+  /**
+   * Queue a request. If the queue is full, the oldest requests are evicted
+   * and their task fails with a ConnectionLostException.
+   *
+   * @param query Request to queue
+   * @param task  Task completed by the request response
+   * @return false if the queue does not accept any request
+   */
+  public boolean push(final KuzzleMap query, final Task<Response> task) {
+    final int max = maxQueueSize.getAsInt();
+
+    if (max == 0) {
+      return false;
+    }
+
+    final ArrayList<Item> evicted = new ArrayList<>();
+
+    synchronized (this) {
+      items.addLast(new Item(query, task));
+
+      while (max > 0 && items.size() > max) {
+        evicted.add(items.pollFirst());
+      }
+    }
+
+    for (final Item item : evicted) {
+      item.task.setException(new ConnectionLostException());
+    }
+
+    return true;
+  }
+
+  /**
+   * Remove a request from the queue.
+   *
+   * @param task Task of the request to remove
+   * @return true if the request was queued.
+   */
+  public synchronized boolean remove(final Task<Response> task) {
+    final Iterator<Item> iterator = items.iterator();
+
+    while (iterator.hasNext()) {
+      if (iterator.next().task == task) {
+        iterator.remove();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return The number of queued requests.
+   */
+  public synchronized int size() {
+    return items.size();
+  }
+
+  /**
+   * Fail every queued request with a ConnectionLostException and empty the
+   * queue.
+   */
+  public void clear() {
+    final ArrayList<Item> dropped;
+
+    synchronized (this) {
+      dropped = new ArrayList<>(items);
+      items.clear();
+    }
+
+    for (final Item item : dropped) {
+      item.task.setException(new ConnectionLostException());
+    }
+  }
+
+  /**
+   * Replay the queued requests in order, on the executor. The delay between
+   * two requests mirrors the delay between their original submissions,
+   * capped by maxRequestDelay, and is waited for on the timer.
+   * The sender returns false if the request could not be sent, in which case
+   * the replay stops and the request stays at the head of the queue.
+   *
+   * @param sender Sends a request and registers its task
+   */
+  public synchronized void replay(
+      final BiPredicate<KuzzleMap, Task<Response>> sender) {
+    if (replaying || items.isEmpty()) {
+      return;
+    }
+
+    final long current = ++generation;
+
+    replaying = true;
+    previous = -1;
+    due = null;
+    executor.execute(() -> step(sender, current));
+  }
+
+  /**
+   * Stop replaying. The queued requests stay in the queue.
+   */
+  public synchronized void stop() {
+    replaying = false;
+    due = null;
+    generation++;
+
+    if (next != null) {
+      next.cancel();
+      next = null;
+    }
+  }
+
+  /**
+   * Send the queued requests until one of them must wait, then schedule the
+   * next step after its delay.
+   */
+  private synchronized void step(
+      final BiPredicate<KuzzleMap, Task<Response>> sender,
+      final long current) {
+    if (current != generation) {
+      return;
+    }
+    next = null;
+
+    Item item;
+
+    while ((item = items.peekFirst()) != null) {
+      // the request waited for is sent, unless the queue changed meanwhile
+      if (item != due && previous >= 0) {
+        final long delay = Math.min(
+            item.timestamp - previous,
+            maxRequestDelay.getAsInt());
+
+        if (delay > 0) {
+          previous = item.timestamp;
+          due = item;
+          next = timer.schedule(
+              () -> executor.execute(() -> step(sender, current)),
+              delay);
+          return;
+        }
+      }
+      previous = item.timestamp;
+      due = null;
+
+      // requests cancelled or evicted meanwhile are simply dropped
+      if (!item.task.isDone() && !sender.test(item.query, item.task)) {
+        break;
+      }
+      items.pollFirst();
+    }
+
+    replaying = false;
+    due = null;
+  }
+}
@@ -0,0 +1,483 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.Exceptions.KuzzleException;
+import io.kuzzle.sdk.Exceptions.RateLimitExceededException;
+import io.kuzzle.sdk.Exceptions.RequestTimeoutException;
+import io.kuzzle.sdk.Options.RateLimitOptions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Limits the requests sent to Kuzzle: token buckets bound the number of
+ * requests and of serialized characters sent per second, and a concurrency
+ * limit bounds the number of requests waiting for their response.
+ *
+ * With the AIMD and VEGAS concurrency, the limit adapts to the observed
+ * response times and errors: 429 and 503 errors and timeouts mean Kuzzle is
+ * overloaded, and decrease the limit.
+ *
+ * Requests exceeding the limits wait in FIFO order, or fail with a
+ * RateLimitExceededException, depending on the overflow policy.
+ */
+public class RateLimiter {
+  /**
+   * Concurrency limit, adapted to the response of each request.
+   */
+  public interface Limit {
+    /**
+     * @return The current maximum number of requests in flight
+     */
+    int get();
+
+    /**
+     * Adapt the limit to a response.
+     *
+     * @param rtt      Response time, in nanoseconds
+     * @param inFlight Number of requests in flight when it was sent
+     * @param dropped  true if Kuzzle was overloaded
+     */
+    void onSample(long rtt, int inFlight, boolean dropped);
+  }
+
+  /**
+   * Fixed concurrency limit.
+   */
+  public static class FixedLimit implements Limit {
+    private final int limit;
+
+    public FixedLimit(final int limit) {
+      this.limit = limit;
+    }
+
+    @Override
+    public int get() {
+      return limit;
+    }
+
+    @Override
+    public void onSample(final long rtt, final int inFlight,
+                         final boolean dropped) {
+    }
+  }
+
+  /**
+   * Additive increase, multiplicative decrease: the limit grows by one per
+   * response while at least half of it is used, and is cut by 10% on
+   * overload.
+   */
+  public static class AimdLimit implements Limit {
+    private final int min;
+    private final int max;
+    private double limit;
+
+    public AimdLimit(final int initial, final int min, final int max) {
+      this.min = min;
+      this.max = max;
+      this.limit = Math.max(min, Math.min(max, initial));
+    }
+
+    @Override
+    public int get() {
+      return (int) limit;
+    }
+
+    @Override
+    public void onSample(final long rtt, final int inFlight,
+                         final boolean dropped) {
+      if (dropped) {
+        limit = Math.max(min, limit * 0.9);
+      } else if (inFlight * 2 >= limit) {
+        limit = Math.min(max, limit + 1);
+      }
+    }
+  }
+
+  /**
+   * TCP Vegas-like limit: the number of requests queued on the server side
+   * is estimated from the ratio between the lowest response time observed
+   * and the current one. The limit grows while fewer than alpha requests
+   * are queued, and shrinks past beta, alpha and beta growing with the
+   * logarithm of the limit. It is cut by 10% on overload.
+   */
+  public static class VegasLimit implements Limit {
+    private final int min;
+    private final int max;
+    private double limit;
+    private long rttNoLoad = 0;
+
+    public VegasLimit(final int initial, final int min, final int max) {
+      this.min = min;
+      this.max = max;
+      this.limit = Math.max(min, Math.min(max, initial));
+    }
+
+    @Override
+    public int get() {
+      return (int) limit;
+    }
+
+    @Override
+    public void onSample(final long rtt, final int inFlight,
+                         final boolean dropped) {
+      if (dropped) {
+        limit = Math.max(min, limit * 0.9);
+        return;
+      }
+
+      if (rtt <= 0) {
+        return;
+      }
+
+      if (rttNoLoad == 0 || rtt < rttNoLoad) {
+        rttNoLoad = rtt;
+      }
+
+      // not enough load to measure the queuing
+      if (inFlight * 2 < limit) {
+        return;
+      }
+
+      final double step = Math.max(1, Math.log10(limit));
+      final double queued = limit * (1 - (double) rttNoLoad / rtt);
+
+      if (queued < 3 * step) {
+        limit = Math.min(max, limit + step);
+      } else if (queued > 6 * step) {
+        limit = Math.max(min, limit - step);
+      }
+    }
+  }
+
+  private static final class TokenBucket {
+    private final double rate;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+
+    TokenBucket(final double rate) {
+      this.rate = rate;
+      this.capacity = Math.max(1, rate);
+      this.tokens = capacity;
+    }
+
+    /**
+     * @return The nanoseconds to wait for the cost to be available, or 0 if
+     * it is. A cost larger than the capacity waits for a full bucket.
+     */
+    long delay(final long cost, final long now) {
+      tokens = Math.min(capacity,
+          tokens + (now - refilledAt) * rate / TimeUnit.SECONDS.toNanos(1));
+      refilledAt = now;
+
+      final double missing = Math.min(cost, capacity) - tokens;
+
+      return missing <= 0 ? 0
+          : (long) Math.ceil(missing * TimeUnit.SECONDS.toNanos(1) / rate);
+    }
+
+    void consume(final long cost) {
+      tokens -= cost;
+    }
+  }
+
+  private static final class Pending {
+    final Task<?> task;
+    final String serialized;
+    final long size;
+    final Consumer<String> dispatch;
+
+    Pending(final Task<?> task, final String serialized,
+            final Consumer<String> dispatch) {
+      this.task = task;
+      this.serialized = serialized;
+      this.size = serialized != null ? serialized.length() : 0;
+      this.dispatch = dispatch;
+    }
+  }
+
+  private final RateLimitOptions options;
+  private final Limit limit;
+  private final TokenBucket requestBucket;
+  private final TokenBucket byteBucket;
+  private final HashedWheelTimer timer;
+  private final Executor executor;
+  private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+  private HashedWheelTimer.Timeout refill;
+  private int inFlight = 0;
+  private long throttled = 0;
+  private long rejected = 0;
+  private long dropped = 0;
+
+  /**
+   * @param options  Rate limit options
+   * @param timer    Timer waking the queue up once tokens are available
+   * @param executor Executor sending the requests queued until then
+   */
+  public RateLimiter(final RateLimitOptions options,
+                     final HashedWheelTimer timer,
+                     final Executor executor) {
+    this.options = options != null ? new RateLimitOptions(options)
+        : new RateLimitOptions();
+    this.timer = timer;
+    this.executor = executor;
+
+    final int max = this.options.getMaxConcurrency() > 0
+        ? this.options.getMaxConcurrency()
+        : Integer.MAX_VALUE;
+
+    switch (this.options.getConcurrency()) {
+      case AIMD:
+        this.limit = new AimdLimit(this.options.getInitialConcurrency(),
+            this.options.getMinConcurrency(), max);
+        break;
+      case VEGAS:
+        this.limit = new VegasLimit(this.options.getInitialConcurrency(),
+            this.options.getMinConcurrency(), max);
+        break;
+      default:
+        this.limit = new FixedLimit(max);
+    }
+
+    this.requestBucket = this.options.getRequestsPerSecond() > 0
+        ? new TokenBucket(this.options.getRequestsPerSecond())
+        : null;
+    this.byteBucket = this.options.getBytesPerSecond() > 0
+        ? new TokenBucket(this.options.getBytesPerSecond())
+        : null;
+  }
+
+  /**
+   * Send a request now if the limits allow it. Otherwise, queue it or fail
+   * its task with a RateLimitExceededException, depending on the overflow
+   * policy.
+   *
+   * @param query    Request to send
+   * @param task     Task of the request
+   * @param dispatch Sends the request, given its serialized form if the
+   *                 byte rate is limited, or null
+   */
+  public void submit(final ConcurrentHashMap<String, Object> query,
+                     final Task<?> task,
+                     final Consumer<String> dispatch) {
+    final Pending pending = new Pending(task,
+        byteBucket != null ? JsonSerializer.serialize(query) : null,
+        dispatch);
+    final boolean admitted;
+    final boolean queued;
+
+    synchronized (this) {
+      admitted = queue.isEmpty() && acquire(pending, System.nanoTime()) == 0;
+      queued = !admitted
+          && options.getOverflow() == RateLimitOptions.Overflow.QUEUE
+          && (options.getMaxQueueSize() == -1
+          || queue.size() < options.getMaxQueueSize());
+
+      if (queued) {
+        throttled++;
+        queue.addLast(pending);
+      } else if (!admitted) {
+        rejected++;
+      }
+    }
+
+    if (admitted) {
+      start(pending);
+    } else if (queued) {
+      // waits for the token buckets if no response will drain the queue
+      drain();
+    } else {
+      task.setException(new RateLimitExceededException());
+    }
+  }
+
+  /**
+   * Withdraw a queued request.
+   *
+   * @param task Task of the request
+   * @return true if the request was waiting for the limits
+   */
+  public synchronized boolean remove(final Task<?> task) {
+    return queue.removeIf(pending -> pending.task == task);
+  }
+
+  /**
+   * Empty the queue.
+   *
+   * @return The tasks of the requests that were waiting for the limits
+   */
+  public synchronized List<Task<?>> clear() {
+    final List<Task<?>> tasks = new ArrayList<>();
+
+    for (final Pending pending : queue) {
+      tasks.add(pending.task);
+    }
+    queue.clear();
+    return tasks;
+  }
+
+  /**
+   * @return The current maximum number of requests in flight
+   */
+  public synchronized int getConcurrencyLimit() {
+    return limit.get();
+  }
+
+  /**
+   * @return The number of requests sent and waiting for their response
+   */
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  /**
+   * @return The number of requests waiting for the limits
+   */
+  public synchronized int getQueueDepth() {
+    return queue.size();
+  }
+
+  /**
+   * @return The number of requests that had to wait for the limits
+   */
+  public synchronized long getThrottledCount() {
+    return throttled;
+  }
+
+  /**
+   * @return The number of requests failed with a RateLimitExceededException
+   */
+  public synchronized long getRejectedCount() {
+    return rejected;
+  }
+
+  /**
+   * @return The number of responses showing that Kuzzle was overloaded
+   */
+  public synchronized long getDroppedCount() {
+    return dropped;
+  }
+
+  /**
+   * Take the limits of a request.
+   *
+   * @return 0 if taken, the nanoseconds to wait for tokens if the token
+   * buckets are short, or -1 if the concurrency limit is reached
+   */
+  private long acquire(final Pending pending, final long now) {
+    if (inFlight >= limit.get()) {
+      return -1;
+    }
+
+    final long delay = Math.max(
+        requestBucket != null ? requestBucket.delay(1, now) : 0,
+        byteBucket != null ? byteBucket.delay(pending.size, now) : 0);
+
+    if (delay > 0) {
+      return delay;
+    }
+
+    if (requestBucket != null) {
+      requestBucket.consume(1);
+    }
+    if (byteBucket != null) {
+      byteBucket.consume(pending.size);
+    }
+    inFlight++;
+    return 0;
+  }
+
+  private void start(final Pending pending) {
+    final long sentAt = System.nanoTime();
+    final int load;
+
+    synchronized (this) {
+      load = inFlight;
+    }
+
+    pending.task.getFuture().whenComplete(
+        (response, error) -> release(sentAt, load, error));
+    pending.dispatch.accept(pending.serialized);
+  }
+
+  private void release(final long sentAt, final int load,
+                       final Throwable error) {
+    final Throwable cause = error instanceof CompletionException
+        && error.getCause() != null ? error.getCause() : error;
+
+    synchronized (this) {
+      inFlight--;
+
+      if (!(cause instanceof CancellationException)) {
+        final boolean overloaded = isOverloaded(cause);
+
+        if (overloaded) {
+          dropped++;
+        }
+        limit.onSample(System.nanoTime() - sentAt, load, overloaded);
+      }
+    }
+
+    drain();
+  }
+
+  /**
+   * Send the queued requests the limits allow, and wait for tokens if
+   * needed.
+   */
+  private void drain() {
+    final List<Pending> ready = new ArrayList<>();
+
+    synchronized (this) {
+      final long now = System.nanoTime();
+
+      while (!queue.isEmpty()) {
+        final long delay = acquire(queue.peekFirst(), now);
+
+        if (delay < 0) {
+          break;
+        }
+
+        if (delay > 0) {
+          if (refill == null) {
+            refill = timer.schedule(() -> executor.execute(() -> {
+              synchronized (this) {
+                refill = null;
+              }
+              drain();
+            }), Math.max(1, TimeUnit.NANOSECONDS.toMillis(delay)));
+          }
+          break;
+        }
+
+        ready.add(queue.pollFirst());
+      }
+    }
+
+    for (final Pending pending : ready) {
+      start(pending);
+    }
+  }
+
+  private static boolean isOverloaded(final Throwable error) {
+    if (error instanceof RequestTimeoutException) {
+      return true;
+    }
+
+    if (error instanceof RateLimitExceededException
+        || !(error instanceof KuzzleException)) {
+      return false;
+    }
+
+    final int status = ((KuzzleException) error).getStatus();
+    return status == 429 || status == 503;
+  }
+}
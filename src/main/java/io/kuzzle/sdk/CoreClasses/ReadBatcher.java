@@ -0,0 +1,327 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.ErrorResponse;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Exceptions.ApiErrorException;
+import io.kuzzle.sdk.Exceptions.InternalException;
+import io.kuzzle.sdk.Exceptions.KuzzleExceptionCode;
+import io.kuzzle.sdk.Kuzzle;
+import io.kuzzle.sdk.Options.ReadBatchingOptions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent document gets into mGet requests, the way a
+ * DataLoader does: gets targeting the same collection are collected for up
+ * to lingerTime milliseconds, or until maxBatchSize distinct IDs are
+ * collected, and fetched with a single mGet.
+ *
+ * Gets of a document already waiting in a batch, or already being fetched,
+ * share its result instead of fetching it again: all their callers get the
+ * same result map, which should not be modified. Documents missing from the
+ * mGet result fail with the ApiErrorException a get would have failed with.
+ * A batch of a single document is fetched with get.
+ */
+public class ReadBatcher {
+  /**
+   * Callers waiting for the same document.
+   */
+  private static final class Load {
+    final List<Object> key;
+    final String id;
+    final ArrayList<CompletableFuture<ConcurrentHashMap<String, Object>>>
+        futures = new ArrayList<>();
+
+    Load(final List<Object> key, final String id) {
+      this.key = key;
+      this.id = id;
+    }
+  }
+
+  private static final class Batch {
+    final List<Object> key;
+    final String index;
+    final String collection;
+    final LinkedHashMap<String, Load> loads = new LinkedHashMap<>();
+    HashedWheelTimer.Timeout linger;
+
+    Batch(final List<Object> key, final String index,
+          final String collection) {
+      this.key = key;
+      this.index = index;
+      this.collection = collection;
+    }
+  }
+
+  private final Kuzzle kuzzle;
+  private final ReadBatchingOptions options;
+  private final HashMap<List<Object>, Batch> batches = new HashMap<>();
+  private final HashMap<List<Object>, Load> loads = new HashMap<>();
+  private long requested = 0;
+  private long fetched = 0;
+
+  /**
+   * @param kuzzle  Kuzzle instance sending the batches
+   * @param options Batching options
+   */
+  public ReadBatcher(final Kuzzle kuzzle, final ReadBatchingOptions options) {
+    this.kuzzle = kuzzle;
+    this.options = options != null ? new ReadBatchingOptions(options)
+        : new ReadBatchingOptions();
+  }
+
+  /**
+   * Get a document, batched with the other gets of the same collection.
+   *
+   * @param index
+   * @param collection
+   * @param id
+   * @return a CompletableFuture
+   */
+  public CompletableFuture<ConcurrentHashMap<String, Object>> get(
+      final String index,
+      final String collection,
+      final String id) {
+    final CompletableFuture<ConcurrentHashMap<String, Object>> future =
+        new CompletableFuture<>();
+    final List<Object> loadKey = Arrays.asList(index, collection, id);
+    Batch full = null;
+
+    synchronized (this) {
+      requested++;
+
+      Load load = loads.get(loadKey);
+      if (load != null) {
+        load.futures.add(future);
+        return future;
+      }
+
+      load = new Load(loadKey, id);
+      load.futures.add(future);
+      loads.put(loadKey, load);
+
+      final List<Object> key = Arrays.asList(index, collection);
+      Batch batch = batches.get(key);
+
+      if (batch == null) {
+        final Batch created = new Batch(key, index, collection);
+        // the timer thread only hands the batch over to the executor
+        created.linger = kuzzle.getTimer().schedule(
+            () -> kuzzle.getExecutor().execute(() -> expire(created)),
+            options.getLingerTime());
+        batches.put(key, created);
+        batch = created;
+      }
+
+      batch.loads.put(id, load);
+
+      if (batch.loads.size() >= options.getMaxBatchSize()) {
+        full = batch;
+        batches.remove(key, batch);
+        batch.linger.cancel();
+      }
+    }
+
+    if (full != null) {
+      send(full);
+    }
+
+    return future;
+  }
+
+  /**
+   * Send all the pending batches now.
+   */
+  public void flush() {
+    final ArrayList<Batch> pending;
+
+    synchronized (this) {
+      pending = new ArrayList<>(batches.values());
+      batches.clear();
+      for (final Batch batch : pending) {
+        batch.linger.cancel();
+      }
+    }
+
+    for (final Batch batch : pending) {
+      send(batch);
+    }
+  }
+
+  /**
+   * @return The number of gets requested
+   */
+  public synchronized long getRequestedCount() {
+    return requested;
+  }
+
+  /**
+   * @return The number of documents actually fetched from Kuzzle
+   */
+  public synchronized long getFetchedCount() {
+    return fetched;
+  }
+
+  private void expire(final Batch batch) {
+    synchronized (this) {
+      if (batches.get(batch.key) != batch) {
+        return;
+      }
+      batches.remove(batch.key);
+    }
+
+    send(batch);
+  }
+
+  private void send(final Batch batch) {
+    final KuzzleMap query = new KuzzleMap()
+        .put("index", batch.index)
+        .put("collection", batch.collection)
+        .put("controller", "document");
+    final ArrayList<String> ids = new ArrayList<>(batch.loads.keySet());
+    final boolean single = ids.size() == 1;
+
+    synchronized (this) {
+      fetched += ids.size();
+    }
+
+    if (single) {
+      query
+          .put("action", "get")
+          .put("_id", ids.get(0));
+    } else {
+      query
+          .put("action", "mGet")
+          .put("body", new KuzzleMap().put("ids", ids));
+    }
+
+    final CompletableFuture<Response> response;
+    try {
+      response = kuzzle.query(query);
+    } catch (Exception e) {
+      fail(batch, e);
+      return;
+    }
+
+    response.whenCompleteAsync((result, error) -> {
+      final Throwable cause = error instanceof CompletionException
+          && error.getCause() != null ? error.getCause() : error;
+
+      try {
+        if (cause != null) {
+          fail(batch, cause);
+        } else if (single) {
+          complete(batch.loads.get(ids.get(0)), map(result.getResult()), null);
+        } else {
+          dispatch(batch, map(result.getResult()));
+        }
+      } catch (RuntimeException e) {
+        // an unexpected result must not leave the gets pending
+        fail(batch, e);
+      }
+    }, kuzzle.getExecutor());
+  }
+
+  private void fail(final Batch batch, final Throwable error) {
+    for (final Load load : batch.loads.values()) {
+      complete(load, null, error);
+    }
+  }
+
+  /**
+   * Complete the gets of each document of a batch from the mGet result.
+   */
+  private void dispatch(final Batch batch,
+                        final ConcurrentHashMap<String, Object> result) {
+    final HashMap<String, Load> remaining = new HashMap<>(batch.loads);
+    final KuzzleMap mGet = result != null ? KuzzleMap.from(result)
+        : new KuzzleMap();
+
+    for (final Object entry : list(mGet, "successes")) {
+      final ConcurrentHashMap<String, Object> document = map(entry);
+
+      if (document == null) {
+        continue;
+      }
+
+      final Object id = document.get("_id");
+      final Load load = id == null ? null : remaining.remove(id.toString());
+
+      if (load != null) {
+        complete(load, document, null);
+      }
+    }
+
+    // errors are either IDs, or objects with an _id
+    for (final Object entry : list(mGet, "errors")) {
+      final Object id = entry instanceof Map ? ((Map<?, ?>) entry).get("_id")
+          : entry;
+      final Load load = id == null ? null : remaining.remove(id.toString());
+
+      if (load != null) {
+        complete(load, null, notFound(load.id));
+      }
+    }
+
+    for (final Load load : remaining.values()) {
+      complete(load, null,
+          new InternalException(KuzzleExceptionCode.MISSING_BATCH_RESULT));
+    }
+  }
+
+  private void complete(final Load load,
+                        final ConcurrentHashMap<String, Object> document,
+                        final Throwable error) {
+    final ArrayList<CompletableFuture<ConcurrentHashMap<String, Object>>>
+        futures;
+
+    // later gets of this document fetch it again
+    synchronized (this) {
+      loads.remove(load.key, load);
+      futures = new ArrayList<>(load.futures);
+    }
+
+    for (final CompletableFuture<ConcurrentHashMap<String, Object>> future
+        : futures) {
+      if (error != null) {
+        future.completeExceptionally(error);
+      } else {
+        future.complete(document);
+      }
+    }
+  }
+
+  private static ApiErrorException notFound(final String id) {
+    final Response response = new Response();
+
+    response.status = 404;
+    response.error = new ErrorResponse();
+    response.error.status = 404;
+    response.error.id = "services.storage.not_found";
+    response.error.message = "Document \"" + id + "\" not found.";
+    return new ApiErrorException(response);
+  }
+
+  private static List<?> list(final KuzzleMap map, final String key) {
+    return map.isArrayList(key) ? map.getArrayList(key) : new ArrayList<>();
+  }
+
+  /**
+   * @return The value if it is a JSON object, null otherwise
+   */
+  @SuppressWarnings("unchecked")
+  private static ConcurrentHashMap<String, Object> map(final Object value) {
+    return value instanceof ConcurrentHashMap
+        ? (ConcurrentHashMap<String, Object>) value
+        : null;
+  }
+}
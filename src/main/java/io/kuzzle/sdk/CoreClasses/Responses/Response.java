@@ -1,5 +1,7 @@
 package io.kuzzle.sdk.CoreClasses.Responses;
 
+import io.kuzzle.sdk.CoreClasses.Json.JsonScanner;
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
 import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
 import io.kuzzle.sdk.CoreClasses.Maps.Serializable;
 import io.kuzzle.sdk.Exceptions.InternalException;
@@ -12,9 +14,20 @@ public class Response implements Serializable {
   public String room;
 
   /**
-   * Response payload (depends on the executed API action)
+   * Response payload (depends on the executed API action).
+   * Responses read with fromJson parse it on the first getResult() call.
    */
-  public Object result;
+  private Object result;
+
+  /**
+   * Raw JSON result, not parsed yet
+   */
+  private volatile String rawResult;
+
+  /**
+   * Whether the raw result is to be read as compact maps
+   */
+  private boolean compactResult = false;
 
   /**
    * Error object (null if the request finished successfully)
@@ -83,6 +96,67 @@ public class Response implements Serializable {
    */
   public String type;
 
+  /**
+   * @return Response payload (depends on the executed API action)
+   */
+  public Object getResult() {
+    if (rawResult != null) {
+      synchronized (this) {
+        if (rawResult != null) {
+          result = JsonSerializer.deserializeValue(rawResult, compactResult);
+          rawResult = null;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Set the response payload.
+   *
+   * @param result Response payload
+   */
+  public synchronized void setResult(Object result) {
+    this.result = result;
+    rawResult = null;
+  }
+
+  /**
+   * Read a raw API response. Only the envelope (requestId, room, status,
+   * error, ...) is parsed: the result is kept raw, and only parsed by the
+   * first call to getResult().
+   *
+   * @param rawJson Raw API response
+   * @throws InternalException
+   */
+  public void fromJson(String rawJson) throws InternalException {
+    fromJson(rawJson, false);
+  }
+
+  /**
+   * Read a raw API response, like fromJson(String).
+   *
+   * @param rawJson       Raw API response
+   * @param compactResult If true, JSON objects in the result are read as
+   *                      CompactKuzzleMap
+   * @throws InternalException
+   */
+  public void fromJson(String rawJson, boolean compactResult)
+      throws InternalException {
+    final int[] bounds = JsonScanner.findTopLevelValue(rawJson, "result");
+
+    if (bounds == null) {
+      fromMap(JsonSerializer.deserialize(rawJson));
+      return;
+    }
+
+    fromMap(JsonSerializer.deserialize(rawJson.substring(0, bounds[0])
+        + "null"
+        + rawJson.substring(bounds[1])));
+    this.compactResult = compactResult;
+    rawResult = rawJson.substring(bounds[0], bounds[1]);
+  }
+
   @Override
   public void fromMap(ConcurrentHashMap<String, Object> map)
       throws InternalException {
@@ -93,6 +167,7 @@ public class Response implements Serializable {
 
     room = kuzzleMap.getString("room");
     result = kuzzleMap.get("result");
+    rawResult = null;
     error = null;
     if (kuzzleMap.isMap("error")) {
       error = new ErrorResponse();
@@ -120,7 +195,7 @@ public class Response implements Serializable {
     ConcurrentHashMap<String, Object> map = new KuzzleMap();
 
     map.put("room", room);
-    map.put("result", result);
+    map.put("result", getResult());
     map.put("error", error);
     map.put("requestId", requestId);
     map.put("status", status);
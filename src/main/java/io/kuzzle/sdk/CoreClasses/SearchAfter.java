@@ -0,0 +1,217 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds search_after requests: the sort values of the last hit of a page are
+ * used as the starting point of the next one.
+ */
+public final class SearchAfter {
+  private SearchAfter() {
+  }
+
+  /**
+   * Return a copy of a search body whose sort identifies each document
+   * uniquely, which search_after requires not to skip documents: "_id" is
+   * appended to the sort if neither "_id" nor "_uid" are part of it. Searches
+   * without sort are sorted by relevance.
+   *
+   * @param body Search body
+   * @return A copy of the search body
+   */
+  public static KuzzleMap withTiebreaker(
+      final ConcurrentHashMap<String, Object> body) {
+    final KuzzleMap copy = body != null ? new KuzzleMap(body) : new KuzzleMap();
+    final ArrayList<Object> sort = new ArrayList<>();
+
+    if (copy.get("sort") == null) {
+      sort.add(new KuzzleMap().put("_score", "desc"));
+    } else if (copy.get("sort") instanceof ArrayList) {
+      sort.addAll((ArrayList<?>) copy.get("sort"));
+    } else {
+      sort.add(copy.get("sort"));
+    }
+
+    for (final Object clause : sort) {
+      final String field = field(clause);
+      if ("_id".equals(field) || "_uid".equals(field)) {
+        return copy;
+      }
+    }
+
+    sort.add("_id");
+    return copy.put("sort", sort);
+  }
+
+  /**
+   * Build the request fetching the page following a hit. The original
+   * request is left untouched. If the request does not use search_after yet,
+   * its sort is made unique with withTiebreaker first.
+   *
+   * @param request Search request of the current page
+   * @param lastHit Last hit of the current page
+   * @return The request of the next page, or null if the request has no body
+   */
+  public static KuzzleMap nextRequest(
+      final ConcurrentHashMap<String, Object> request,
+      final ConcurrentHashMap<String, Object> lastHit) {
+    final KuzzleMap body = KuzzleMap.from(request).getMap("body");
+
+    if (body == null) {
+      return null;
+    }
+
+    final KuzzleMap sorted = body.get("search_after") != null
+        ? new KuzzleMap(body)
+        : withTiebreaker(body);
+    final Object collection = request.get("collection");
+    final KuzzleMap nextBody = sorted
+        .put("search_after", sortValues(lastHit, sorted.get("sort"),
+            collection == null ? null : collection.toString()));
+    final KuzzleMap nextRequest = new KuzzleMap(request)
+        .put("body", nextBody);
+
+    // search_after cannot be combined with an offset
+    nextRequest.remove("from");
+    return nextRequest;
+  }
+
+  /**
+   * Compute the sort values of a hit. If Kuzzle returned them with the hit,
+   * they are used as is, and the values of the clauses added since (such as
+   * the "_id" tiebreaker) are appended. Otherwise they are read from the
+   * hit: "_id",
+   * "_score", "_uid" (collection#id), or a field of the document, dotted
+   * paths being resolved in nested objects. For multi-valued fields, the
+   * lowest value is used in ascending order and the highest one in
+   * descending order, as Elasticsearch does by default.
+   *
+   * @param hit        Search hit
+   * @param sort       Sort clause of the search
+   * @param collection Searched collection
+   * @return The sort values of the hit
+   */
+  public static ArrayList<Object> sortValues(
+      final ConcurrentHashMap<String, Object> hit,
+      final Object sort,
+      final String collection) {
+    final ArrayList<Object> clauses = new ArrayList<>();
+    if (sort instanceof ArrayList) {
+      clauses.addAll((ArrayList<?>) sort);
+    } else if (sort != null) {
+      clauses.add(sort);
+    }
+
+    final ArrayList<Object> values = new ArrayList<>();
+    if (hit.get("sort") instanceof ArrayList) {
+      values.addAll((ArrayList<?>) hit.get("sort"));
+    }
+
+    for (int i = values.size(); i < clauses.size(); i++) {
+      final Object clause = clauses.get(i);
+      final String field = field(clause);
+
+      if ("_id".equals(field)) {
+        values.add(hit.get("_id"));
+      } else if ("_uid".equals(field)) {
+        values.add(collection + "#" + hit.get("_id"));
+      } else if ("_score".equals(field)) {
+        values.add(hit.get("_score"));
+      } else {
+        values.add(select(resolve(hit.get("_source"), field),
+            descending(clause)));
+      }
+    }
+
+    return values;
+  }
+
+  /**
+   * @return The field name of a sort clause: "field", { "field": "asc" } or
+   *         { "field": { "order": "asc" } }
+   */
+  private static String field(final Object clause) {
+    if (clause instanceof Map) {
+      for (final Object key : ((Map<?, ?>) clause).keySet()) {
+        return key.toString();
+      }
+      return null;
+    }
+    return clause == null ? null : clause.toString();
+  }
+
+  private static boolean descending(final Object clause) {
+    if (!(clause instanceof Map)) {
+      return false;
+    }
+
+    for (final Object order : ((Map<?, ?>) clause).values()) {
+      if (order instanceof Map) {
+        return "desc".equals(((Map<?, ?>) order).get("order"));
+      }
+      return "desc".equals(order);
+    }
+    return false;
+  }
+
+  private static Object resolve(final Object source, final String path) {
+    if (source instanceof ArrayList) {
+      // arrays of objects: collect the values of every object
+      final ArrayList<Object> values = new ArrayList<>();
+
+      for (final Object item : (ArrayList<?>) source) {
+        final Object value = resolve(item, path);
+
+        if (value instanceof ArrayList) {
+          values.addAll((ArrayList<?>) value);
+        } else if (value != null) {
+          values.add(value);
+        }
+      }
+      return values.isEmpty() ? null : values;
+    }
+
+    if (!(source instanceof Map) || path == null) {
+      return null;
+    }
+
+    final Map<?, ?> map = (Map<?, ?>) source;
+    if (map.containsKey(path)) {
+      return map.get(path);
+    }
+
+    final int dot = path.indexOf('.');
+    if (dot < 0) {
+      return null;
+    }
+
+    return resolve(map.get(path.substring(0, dot)), path.substring(dot + 1));
+  }
+
+  private static Object select(final Object value, final boolean descending) {
+    if (!(value instanceof ArrayList)) {
+      return value;
+    }
+
+    Object selected = null;
+    for (final Object item : (ArrayList<?>) value) {
+      if (item != null && (selected == null
+          || compare(item, selected) * (descending ? -1 : 1) < 0)) {
+        selected = item;
+      }
+    }
+    return selected;
+  }
+
+  private static int compare(final Object a, final Object b) {
+    if (a instanceof Number && b instanceof Number) {
+      return Double.compare(((Number) a).doubleValue(),
+          ((Number) b).doubleValue());
+    }
+    return a.toString().compareTo(b.toString());
+  }
+}
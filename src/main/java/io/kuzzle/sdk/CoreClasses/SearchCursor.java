@@ -0,0 +1,152 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Iterates over the hits of a search, page after page, using the pagination
+ * method of SearchResult.next() (scroll, search_after or from/size).
+ *
+ * The next pages are fetched while the current one is being consumed: at most
+ * maxPages pages are held at any time, including the one being consumed.
+ * Hits of the fetched pages are released as soon as they have been returned.
+ *
+ * Errors are thrown by next() as CompletionException, wrapping the actual
+ * cause.
+ */
+public class SearchCursor
+    implements Iterator<ConcurrentHashMap<String, Object>>, AutoCloseable {
+  private final ArrayDeque<CompletableFuture<SearchResult>> pages =
+      new ArrayDeque<>();
+  private final int maxPages;
+  private ArrayList<ConcurrentHashMap<String, Object>> hits;
+  private boolean release;
+  private int position = 0;
+  private boolean closed = false;
+  private boolean exhausted = false;
+  private CompletableFuture<SearchResult> last;
+
+  /**
+   * @param first    First page of results. Its hits are not released.
+   * @param maxPages Maximum number of pages held, including the one being
+   *                 consumed: 1 fetches pages on demand.
+   */
+  public SearchCursor(final SearchResult first, final int maxPages) {
+    if (maxPages < 1) {
+      throw new IllegalArgumentException("maxPages must be at least 1");
+    }
+
+    this.maxPages = maxPages;
+    this.hits = first.hits;
+    this.release = false;
+    this.last = CompletableFuture.completedFuture(first);
+    prefetch();
+  }
+
+  /**
+   * Queue the next pages fetches, each one being sent once the previous page
+   * is received.
+   */
+  private void prefetch() {
+    while (!closed && pages.size() < maxPages - 1) {
+      last = last.thenCompose(SearchCursor::fetchNext);
+      pages.addLast(last);
+    }
+  }
+
+  private static CompletableFuture<SearchResult> fetchNext(
+      final SearchResult page) {
+    if (page == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    try {
+      return page.next();
+    } catch (Exception e) {
+      final CompletableFuture<SearchResult> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+  }
+
+  @Override
+  public synchronized boolean hasNext() {
+    while (!closed && !exhausted
+        && (hits == null || position >= hits.size())) {
+      if (pages.isEmpty()) {
+        // no prefetching: fetch the next page on demand
+        last = last.thenCompose(SearchCursor::fetchNext);
+        pages.addLast(last);
+      }
+
+      final SearchResult page = await(pages.pollFirst());
+      prefetch();
+
+      if (page == null || page.hits == null || page.hits.isEmpty()) {
+        exhausted = true;
+        hits = null;
+      } else {
+        hits = page.hits;
+        release = true;
+        position = 0;
+      }
+    }
+
+    return !closed && !exhausted;
+  }
+
+  @Override
+  public synchronized ConcurrentHashMap<String, Object> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    final ConcurrentHashMap<String, Object> hit = hits.get(position);
+    if (release) {
+      hits.set(position, null);
+    }
+    position++;
+
+    return hit;
+  }
+
+  private SearchResult await(final CompletableFuture<SearchResult> page) {
+    try {
+      return page.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      close();
+      throw new CompletionException(e);
+    } catch (ExecutionException e) {
+      close();
+      throw new CompletionException(e.getCause());
+    } catch (CancellationException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Stop iterating and cancel the pending page fetches.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    hits = null;
+    for (final CompletableFuture<SearchResult> page : pages) {
+      page.cancel(false);
+    }
+    pages.clear();
+  }
+}
@@ -1,6 +1,6 @@
 package io.kuzzle.sdk.CoreClasses;
 
-import com.google.gson.internal.LazilyParsedNumber;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
 import io.kuzzle.sdk.CoreClasses.Responses.Response;
 import io.kuzzle.sdk.Exceptions.InternalException;
 import io.kuzzle.sdk.Exceptions.NotConnectedException;
@@ -9,10 +9,13 @@ import io.kuzzle.sdk.Options.SearchOptions;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class SearchResult {
 
@@ -41,7 +44,7 @@ public class SearchResult {
 
     this.aggregations = (ConcurrentHashMap<String, Object>) ((ConcurrentHashMap<String, Object>) _response.get("result")).get("aggregations");
     this.hits = (ArrayList<ConcurrentHashMap<String, Object>>) ((ConcurrentHashMap<String, Object>) _response.get("result")).get("hits");
-    this.total = ((LazilyParsedNumber) ((ConcurrentHashMap<String, Object>) _response.get("result")).get("total")).intValue();
+    this.total = ((Number) ((ConcurrentHashMap<String, Object>) _response.get("result")).get("total")).intValue();
     this.fetched = hits.size();
     this.scrollId = (String) ((ConcurrentHashMap<String, Object>) _response.get("result")).get("scrollId");
   }
@@ -61,7 +64,7 @@ public class SearchResult {
 
     this.aggregations = (ConcurrentHashMap<String, Object>) ((ConcurrentHashMap<String, Object>) _response.get("result")).get("aggregations");
     this.hits = (ArrayList<ConcurrentHashMap<String, Object>>) ((ConcurrentHashMap<String, Object>) _response.get("result")).get("hits");
-    this.total = ((LazilyParsedNumber) ((ConcurrentHashMap<String, Object>) _response.get("result")).get("total")).intValue();
+    this.total = ((Number) ((ConcurrentHashMap<String, Object>) _response.get("result")).get("total")).intValue();
     this.fetched = hits.size() + previouslyFetched;
     this.scrollId = (String) ((ConcurrentHashMap<String, Object>) _response.get("result")).get("scrollId");
   }
@@ -75,50 +78,61 @@ public class SearchResult {
     return obj;
   }
 
-  private ConcurrentHashMap<String, Object> getSearchAfterRequest() {
-    ConcurrentHashMap<String, Object> nextRequest = this.request;
-    ConcurrentHashMap<String, Object> lastItem = this.hits.get(this.hits.size());
-    ArrayList<Object> searchAfter = new ArrayList<>();
-    ArrayList<Object> sort = (ArrayList<Object>) ((ConcurrentHashMap<String, Object>) this.request.get("body")).get("sort");
-
-    ((ConcurrentHashMap<String, Object>) this.request.get("body")).put("search_after", searchAfter);
-
-    for (Object value : sort) {
-      String key;
+  /**
+   * @return The offset of this page, 0 for search_after pages
+   */
+  private int getFrom() {
+    final Object from = this.request.get("from");
+    return from instanceof Number ? ((Number) from).intValue() : 0;
+  }
 
-      if (value instanceof String) {
-        key = value.toString();
-      } else {
-        key = ((ConcurrentHashMap<String, Object>) value).get("First").toString();
-      }
+  /**
+   * Pages are fetched with search_after once the search uses it, or if the
+   * next page ends past the threshold. Without threshold, sorted searches
+   * use search_after from the second page on, and searches without sort
+   * never do. Otherwise, from/size is used.
+   */
+  private boolean useSearchAfter(final int nextFrom) {
+    final KuzzleMap body = KuzzleMap.from(this.request).getMap("body");
+
+    if (body == null) {
+      return false;
+    }
 
-      if (key.equals("_uid")) {
-        searchAfter.add(this.request.get("collection").toString() + "#" + lastItem.get("_id").toString());
-      } else {
-        ConcurrentHashMap<String, Object> _source = (ConcurrentHashMap<String, Object>) lastItem.get("_source");
-        searchAfter.add(_source.get(key));
-      }
+    if (body.get("search_after") != null) {
+      return true;
     }
-    return nextRequest;
+
+    final Integer threshold = this.options.getSearchAfterThreshold();
+    return threshold == null
+        ? body.get("sort") != null
+        : nextFrom + this.options.getSize() > threshold;
   }
 
   public CompletableFuture<SearchResult> next() throws NotConnectedException, InternalException, ExecutionException, InterruptedException {
 
     if (this.fetched >= this.total) return CompletableFuture.completedFuture(null);
 
-    ConcurrentHashMap<String, Object> nextRequest = new ConcurrentHashMap<>();
+    ConcurrentHashMap<String, Object> nextRequest = null;
+    SearchOptions nextOptions = this.options;
     if (this.scrollId != null) {
       nextRequest = this.getScrollRequest();
-    } else if (this.options.getSize() != null
-        && ((ConcurrentHashMap<String, Object>) this.request.get("body")).get("sort") != null) {
-      nextRequest = this.getSearchAfterRequest();
-    } else if (this.options.getSize() != null) {
-      if (this.options.getFrom() != null && this.options.getFrom() > this.total) {
+    } else if (this.options != null && this.options.getSize() != null) {
+      final int nextFrom = this.getFrom() + this.hits.size();
+
+      if (this.hits.isEmpty()) {
         return CompletableFuture.completedFuture(null);
       }
 
-      this.options.setFrom(this.fetched);
-      nextRequest = this.request;
+      if (this.useSearchAfter(nextFrom)) {
+        nextRequest = SearchAfter.nextRequest(this.request, this.hits.get(this.hits.size() - 1));
+      } else if (nextFrom >= this.total) {
+        return CompletableFuture.completedFuture(null);
+      } else {
+        nextOptions = new SearchOptions(this.options);
+        nextOptions.setFrom(nextFrom);
+        nextRequest = new KuzzleMap(this.request).put("from", nextFrom);
+      }
     }
 
     if (nextRequest == null) {
@@ -126,8 +140,60 @@ public class SearchResult {
     }
 
     final ConcurrentHashMap<String, Object> request = nextRequest;
+    final SearchOptions options = nextOptions;
     return this.kuzzle.query(nextRequest)
         .thenApplyAsync(
-            (response) -> new SearchResult(this.kuzzle, request, this.options, response, this.fetched));
+            (response) -> new SearchResult(this.kuzzle, request, options, response, this.fetched),
+            this.kuzzle.getExecutor());
+  }
+
+  /**
+   * Iterate over the hits of this page and of the next ones, fetching the
+   * next page while the current one is being consumed.
+   *
+   * @return A cursor holding at most 2 pages
+   */
+  public SearchCursor cursor() {
+    return cursor(2);
+  }
+
+  /**
+   * Iterate over the hits of this page and of the next ones, fetching the
+   * next pages while the current one is being consumed.
+   *
+   * @param maxPages Maximum number of pages held, including the one being
+   *                 consumed: 1 fetches the next page on demand.
+   * @return A cursor over the hits
+   */
+  public SearchCursor cursor(int maxPages) {
+    return new SearchCursor(this, maxPages);
+  }
+
+  /**
+   * Stream the hits of this page and of the next ones, fetching the next page
+   * while the current one is being consumed.
+   * Closing the stream cancels the pending page fetches.
+   *
+   * @return A sequential stream of hits
+   */
+  public Stream<ConcurrentHashMap<String, Object>> stream() {
+    return stream(2);
+  }
+
+  /**
+   * Stream the hits of this page and of the next ones.
+   * Closing the stream cancels the pending page fetches.
+   *
+   * @param maxPages Maximum number of pages held, including the one being
+   *                 consumed.
+   * @return A sequential stream of hits
+   */
+  public Stream<ConcurrentHashMap<String, Object>> stream(int maxPages) {
+    final SearchCursor cursor = cursor(maxPages);
+
+    return StreamSupport
+        .stream(Spliterators.spliteratorUnknownSize(cursor,
+            Spliterator.ORDERED | Spliterator.NONNULL), false)
+        .onClose(cursor::close);
   }
 }
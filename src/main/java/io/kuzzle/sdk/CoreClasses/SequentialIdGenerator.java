@@ -0,0 +1,40 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Generates unique request identifiers made of a random instance prefix and
+ * an atomic counter, both base-36 encoded.
+ * Unlike UUID.randomUUID(), generating an identifier does not go through a
+ * shared SecureRandom, and identifiers are much shorter.
+ */
+public class SequentialIdGenerator implements Supplier<String> {
+  private final String prefix;
+  private final AtomicLong counter = new AtomicLong();
+
+  /**
+   * Initialize a generator with a random prefix.
+   */
+  public SequentialIdGenerator() {
+    this(Long.toString(new SecureRandom().nextLong() >>> 1, 36));
+  }
+
+  /**
+   * Initialize a generator with the given prefix.
+   *
+   * @param prefix Prefix, which must be unique among the generators in use
+   */
+  public SequentialIdGenerator(final String prefix) {
+    this.prefix = prefix + "-";
+  }
+
+  /**
+   * @return A new unique identifier.
+   */
+  @Override
+  public String get() {
+    return prefix + Long.toString(counter.incrementAndGet(), 36);
+  }
+}
@@ -0,0 +1,363 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Search split into slices, each one paginated with its own scroll cursor.
+ * The slices are fetched concurrently, and their hits are consumed either
+ * merged into a single stream, or as one stream per slice.
+ *
+ * At most maxPages pages are held at any time, counting the pages being
+ * fetched, the pages waiting to be consumed and the pages being consumed.
+ * When consumed as one stream per slice, each slice gets an equal share of
+ * maxPages (at least one page), so that slices can be consumed one after the
+ * other.
+ *
+ * Nothing is sent until stream() or partitions() is called.
+ */
+public class SlicedSearch implements AutoCloseable {
+  private static final Object END = new Object();
+  private static final Object CLOSED = new Object();
+
+  /**
+   * Pages that can still be fetched, and fetches waiting for one.
+   */
+  private static class Permits {
+    int available;
+    final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+
+    Permits(final int available) {
+      this.available = available;
+    }
+  }
+
+  private static class Failure {
+    final Throwable error;
+
+    Failure(final Throwable error) {
+      this.error = error;
+    }
+  }
+
+  private final IntFunction<CompletableFuture<SearchResult>> start;
+  private final int slices;
+  private final int maxPages;
+  private final ArrayList<CompletableFuture<SearchResult>> pending =
+      new ArrayList<>();
+  private Permits[] permits;
+  private LinkedBlockingQueue<Object>[] queues;
+  private boolean started = false;
+  private boolean closed = false;
+
+  /**
+   * @param start    Sends the search of a slice and returns its first page
+   * @param slices   Number of slices
+   * @param maxPages Maximum number of pages held at any time
+   */
+  public SlicedSearch(final IntFunction<CompletableFuture<SearchResult>> start,
+                      final int slices, final int maxPages) {
+    if (slices < 1) {
+      throw new IllegalArgumentException("slices must be at least 1");
+    }
+    if (maxPages < 1) {
+      throw new IllegalArgumentException("maxPages must be at least 1");
+    }
+
+    this.start = start;
+    this.slices = slices;
+    this.maxPages = maxPages;
+  }
+
+  /**
+   * @return The number of slices
+   */
+  public int getSlices() {
+    return slices;
+  }
+
+  /**
+   * Fetch the slices and merge their hits into a single stream, in no
+   * particular order. Closing the stream cancels the pending fetches.
+   *
+   * @return A sequential stream of hits
+   */
+  public Stream<ConcurrentHashMap<String, Object>> stream() {
+    final Permits shared = new Permits(maxPages);
+    final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    final Permits[] slicePermits = new Permits[slices];
+    final LinkedBlockingQueue<Object>[] sliceQueues = newQueues();
+
+    for (int i = 0; i < slices; i++) {
+      slicePermits[i] = shared;
+      sliceQueues[i] = queue;
+    }
+
+    begin(slicePermits, sliceQueues);
+    return toStream(new PageIterator(shared, queue, slices))
+        .onClose(this::close);
+  }
+
+  /**
+   * Fetch the slices and return one stream of hits per slice. Streams can be
+   * consumed concurrently, or one after the other.
+   * Closing this SlicedSearch cancels the pending fetches of all slices, and
+   * ends all the streams.
+   *
+   * @return One sequential stream of hits per slice
+   */
+  public List<Stream<ConcurrentHashMap<String, Object>>> partitions() {
+    final Permits[] slicePermits = new Permits[slices];
+    final LinkedBlockingQueue<Object>[] sliceQueues = newQueues();
+    final ArrayList<Stream<ConcurrentHashMap<String, Object>>> streams =
+        new ArrayList<>();
+
+    for (int i = 0; i < slices; i++) {
+      slicePermits[i] = new Permits(Math.max(1, maxPages / slices));
+      sliceQueues[i] = new LinkedBlockingQueue<>();
+    }
+
+    begin(slicePermits, sliceQueues);
+    for (int i = 0; i < slices; i++) {
+      streams.add(toStream(
+          new PageIterator(slicePermits[i], sliceQueues[i], 1)));
+    }
+    return streams;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private LinkedBlockingQueue<Object>[] newQueues() {
+    return (LinkedBlockingQueue<Object>[]) new LinkedBlockingQueue[slices];
+  }
+
+  private Stream<ConcurrentHashMap<String, Object>> toStream(
+      final PageIterator iterator) {
+    return StreamSupport
+        .stream(Spliterators.spliteratorUnknownSize(iterator,
+            Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  private void begin(final Permits[] slicePermits,
+                     final LinkedBlockingQueue<Object>[] sliceQueues) {
+    synchronized (this) {
+      if (started) {
+        throw new IllegalStateException("This search has already been started");
+      }
+
+      started = true;
+      permits = slicePermits;
+      queues = sliceQueues;
+    }
+
+    for (int i = 0; i < slices; i++) {
+      final int slice = i;
+      fetch(slice, () -> start.apply(slice));
+    }
+  }
+
+  /**
+   * Fetch a page of a slice as soon as a page can be held.
+   */
+  private void fetch(final int slice,
+                     final Supplier<CompletableFuture<SearchResult>> page) {
+    final Permits slicePermits = permits[slice];
+    final Runnable send = () -> {
+      final CompletableFuture<SearchResult> future;
+
+      try {
+        future = page.get();
+      } catch (Exception e) {
+        onPage(slice, null, e);
+        return;
+      }
+
+      synchronized (this) {
+        pending.add(future);
+      }
+      future.whenComplete((result, error) -> {
+        synchronized (this) {
+          pending.remove(future);
+        }
+        onPage(slice, result, error);
+      });
+    };
+
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+
+      if (slicePermits.available == 0) {
+        slicePermits.waiting.addLast(send);
+        return;
+      }
+      slicePermits.available--;
+    }
+
+    send.run();
+  }
+
+  private void onPage(final int slice, final SearchResult page,
+                      final Throwable error) {
+    final LinkedBlockingQueue<Object> queue = queues[slice];
+
+    if (error != null) {
+      release(permits[slice]);
+      queue.add(new Failure(error instanceof CompletionException
+          && error.getCause() != null ? error.getCause() : error));
+      return;
+    }
+
+    if (page == null) {
+      release(permits[slice]);
+      queue.add(END);
+      return;
+    }
+
+    queue.add(page);
+    fetch(slice, () -> {
+      try {
+        return page.next();
+      } catch (Exception e) {
+        throw new CompletionException(e);
+      }
+    });
+  }
+
+  private void release(final Permits slicePermits) {
+    Runnable next = null;
+
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+
+      if (slicePermits.waiting.isEmpty()) {
+        slicePermits.available++;
+      } else {
+        next = slicePermits.waiting.pollFirst();
+      }
+    }
+
+    if (next != null) {
+      next.run();
+    }
+  }
+
+  /**
+   * Cancel the pending fetches.
+   */
+  @Override
+  public void close() {
+    final ArrayList<CompletableFuture<SearchResult>> cancelled;
+
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+
+      closed = true;
+      cancelled = new ArrayList<>(pending);
+      pending.clear();
+      if (permits != null) {
+        for (final Permits slicePermits : permits) {
+          slicePermits.waiting.clear();
+        }
+        // wake up the consumers waiting for a page
+        for (int i = 0; i < queues.length; i++) {
+          if (i == 0 || queues[i] != queues[0]) {
+            queues[i].add(CLOSED);
+          }
+        }
+      }
+    }
+
+    for (final CompletableFuture<SearchResult> future : cancelled) {
+      future.cancel(false);
+    }
+  }
+
+  /**
+   * Iterates over the hits of the pages of one or several slices.
+   */
+  private class PageIterator
+      implements Iterator<ConcurrentHashMap<String, Object>> {
+    private final Permits pagePermits;
+    private final LinkedBlockingQueue<Object> queue;
+    private int remaining;
+    private ArrayList<ConcurrentHashMap<String, Object>> hits;
+    private int position = 0;
+
+    PageIterator(final Permits pagePermits,
+                 final LinkedBlockingQueue<Object> queue, final int slices) {
+      this.pagePermits = pagePermits;
+      this.queue = queue;
+      this.remaining = slices;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (hits == null || position >= hits.size()) {
+        if (hits != null) {
+          hits = null;
+          release(pagePermits);
+        }
+
+        if (remaining == 0) {
+          return false;
+        }
+
+        final Object item;
+        try {
+          item = queue.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          close();
+          throw new CompletionException(e);
+        }
+
+        if (item == CLOSED) {
+          remaining = 0;
+        } else if (item == END) {
+          remaining--;
+        } else if (item instanceof Failure) {
+          close();
+          throw new CompletionException(((Failure) item).error);
+        } else {
+          hits = ((SearchResult) item).hits;
+          position = 0;
+          if (hits == null) {
+            hits = new ArrayList<>();
+          }
+        }
+      }
+
+      return true;
+    }
+
+    @Override
+    public ConcurrentHashMap<String, Object> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      final ConcurrentHashMap<String, Object> hit = hits.get(position);
+      hits.set(position, null);
+      position++;
+      return hit;
+    }
+  }
+}
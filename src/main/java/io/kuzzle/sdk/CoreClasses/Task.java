@@ -1,5 +1,7 @@
 package io.kuzzle.sdk.CoreClasses;
 
+import io.kuzzle.sdk.Protocol.RequestPriority;
+
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -11,6 +13,17 @@ public class Task<T> {
    */
   protected CompletableFuture<T> future = new CompletableFuture<>();
 
+  /**
+   * Time to wait for the response once the request is sent, in
+   * milliseconds. 0 for no timeout.
+   */
+  protected long timeout = 0;
+
+  /**
+   * Outbound lane of the request.
+   */
+  protected RequestPriority priority = RequestPriority.INTERACTIVE;
+
   /**
    * @return The associated CompletableFuture.
    */
@@ -18,6 +31,40 @@ public class Task<T> {
     return future;
   }
 
+  /**
+   * @return The time to wait for the response once the request is sent, in
+   * milliseconds.
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Set the time to wait for the response once the request is sent, in
+   * milliseconds. 0 for no timeout.
+   *
+   * @param timeout
+   */
+  public void setTimeout(long timeout) {
+    this.timeout = Math.max(0, timeout);
+  }
+
+  /**
+   * @return The outbound lane of the request.
+   */
+  public RequestPriority getPriority() {
+    return priority;
+  }
+
+  /**
+   * Set the outbound lane of the request.
+   *
+   * @param priority
+   */
+  public void setPriority(RequestPriority priority) {
+    this.priority = priority != null ? priority : RequestPriority.INTERACTIVE;
+  }
+
   /**
    * Set the exception of the CompletableFuture.
    *
@@ -0,0 +1,224 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import io.kuzzle.sdk.Exceptions.InternalException;
+import io.kuzzle.sdk.Exceptions.NotConnectedException;
+import io.kuzzle.sdk.Kuzzle;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntSupplier;
+
+/**
+ * Refreshes the authentication token before it expires. The expiration date
+ * is read from the token itself, and the token is refreshed once less than
+ * minTokenDuration milliseconds are left, but not before half of the
+ * validity it had when it was set, for a new token lasting
+ * refreshedTokenDuration milliseconds.
+ *
+ * The new token replaces the current one atomically: requests are only held
+ * back if the current token is about to expire while its refresh is still
+ * pending, and are sent with the new token once it is received.
+ * A failed refresh is attempted again while the token is valid. Until then,
+ * requests are sent with the current token.
+ */
+public class TokenRefresher {
+  /**
+   * Requests made while the token expires within this delay, in
+   * milliseconds, wait for the pending refresh.
+   */
+  public static final long SWAP_WINDOW = 1000;
+
+  /**
+   * The maximum delay between two refresh attempts, in milliseconds
+   */
+  public static final long RETRY_DELAY = 10000;
+
+  private final Kuzzle kuzzle;
+  private final HashedWheelTimer timer;
+  private final IntSupplier minTokenDuration;
+  private final IntSupplier refreshedTokenDuration;
+  private String token;
+  private long expiresAt = -1;
+  private HashedWheelTimer.Timeout scheduled;
+  private CompletableFuture<Void> refreshing;
+  /**
+   * After a failed refresh, date of the next attempt: requests do not start
+   * another refresh before it
+   */
+  private long retryAt = -1;
+  private long refreshes = 0;
+  private long failures = 0;
+
+  /**
+   * @param kuzzle                 Kuzzle instance whose token is refreshed
+   * @param timer                  Timer scheduling the refreshes
+   * @param minTokenDuration       Remaining validity, in milliseconds, below
+   *                               which the token is refreshed. -1 to
+   *                               disable.
+   * @param refreshedTokenDuration Validity of the refreshed tokens, in
+   *                               milliseconds. -1 to disable.
+   */
+  public TokenRefresher(final Kuzzle kuzzle,
+                        final HashedWheelTimer timer,
+                        final IntSupplier minTokenDuration,
+                        final IntSupplier refreshedTokenDuration) {
+    this.kuzzle = kuzzle;
+    this.timer = timer;
+    this.minTokenDuration = minTokenDuration;
+    this.refreshedTokenDuration = refreshedTokenDuration;
+  }
+
+  /**
+   * Schedule the refresh of a new authentication token.
+   *
+   * @param token The new token, or null if logged out
+   */
+  public synchronized void onTokenChanged(final String token) {
+    this.token = token;
+    this.expiresAt = kuzzle.getTokenValidator().getExpiresAt(token);
+    this.retryAt = -1;
+
+    if (expiresAt < 0) {
+      cancel();
+      return;
+    }
+
+    final long remaining = expiresAt - System.currentTimeMillis();
+    schedule(Math.max(remaining - minTokenDuration.getAsInt(), remaining / 2));
+  }
+
+  /**
+   * Stop refreshing the token.
+   */
+  public synchronized void cancel() {
+    if (scheduled != null) {
+      scheduled.cancel();
+      scheduled = null;
+    }
+  }
+
+  /**
+   * Called before sending a request: if the token is about to expire, its
+   * refresh is started if it is not already pending.
+   *
+   * @return A future completed once the pending refresh is over, or null if
+   * the request can be sent right away.
+   */
+  public CompletableFuture<Void> awaitToken() {
+    synchronized (this) {
+      if (!isEnabled() || expiresAt < 0
+          || expiresAt - System.currentTimeMillis() > SWAP_WINDOW) {
+        return null;
+      }
+
+      if (refreshing != null) {
+        return refreshing;
+      }
+
+      // a refresh just failed: no new attempt before the scheduled one
+      if (System.currentTimeMillis() < retryAt) {
+        return null;
+      }
+    }
+
+    return refresh();
+  }
+
+  /**
+   * @return The expiration date of the current token, in milliseconds since
+   * the epoch, or -1 if unknown
+   */
+  public synchronized long getExpiresAt() {
+    return expiresAt;
+  }
+
+  /**
+   * @return The number of successful refreshes
+   */
+  public synchronized long getRefreshCount() {
+    return refreshes;
+  }
+
+  /**
+   * @return The number of failed refresh attempts
+   */
+  public synchronized long getFailureCount() {
+    return failures;
+  }
+
+  private boolean isEnabled() {
+    return minTokenDuration.getAsInt() >= 0
+        && refreshedTokenDuration.getAsInt() >= 0;
+  }
+
+  private void schedule(final long delay) {
+    cancel();
+
+    if (isEnabled()) {
+      scheduled = timer.schedule(this::refresh, Math.max(0, delay));
+    }
+  }
+
+  private CompletableFuture<Void> refresh() {
+    final CompletableFuture<Void> done;
+    final String refreshed;
+
+    synchronized (this) {
+      if (refreshing != null) {
+        return refreshing;
+      }
+
+      if (!isEnabled() || token == null) {
+        return null;
+      }
+
+      cancel();
+      refreshed = token;
+      done = new CompletableFuture<>();
+      refreshing = done;
+    }
+
+    try {
+      // the new token is set, and its refresh scheduled, by refreshToken
+      kuzzle.getAuthController()
+          .refreshToken(refreshedTokenDuration.getAsInt() + "ms")
+          .whenComplete((result, error) -> onRefreshed(refreshed, error));
+    } catch (NotConnectedException | InternalException e) {
+      onRefreshed(refreshed, e);
+    }
+
+    return done;
+  }
+
+  private void onRefreshed(final String refreshed, final Throwable error) {
+    final CompletableFuture<Void> done;
+
+    synchronized (this) {
+      done = refreshing;
+      refreshing = null;
+
+      if (error == null) {
+        refreshes++;
+      } else {
+        failures++;
+
+        final long now = System.currentTimeMillis();
+        final long remaining = expiresAt - now;
+
+        // the token may have changed meanwhile, with a login
+        if (refreshed.equals(token)) {
+          if (remaining > 0) {
+            final long delay = Math.min(RETRY_DELAY, remaining / 2);
+
+            retryAt = now + delay;
+            schedule(delay);
+          } else {
+            // expired: only a new login can help
+            retryAt = Long.MAX_VALUE;
+          }
+        }
+      }
+    }
+
+    done.complete(null);
+  }
+}
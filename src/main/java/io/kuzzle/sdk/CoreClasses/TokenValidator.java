@@ -0,0 +1,168 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.Exceptions.InternalException;
+import io.kuzzle.sdk.Exceptions.NotConnectedException;
+import io.kuzzle.sdk.Kuzzle;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tells whether an authentication token is still valid from its exp claim,
+ * without asking Kuzzle when the answer is certain: a token that expired
+ * more than CLOCK_SKEW milliseconds ago is expired, and a token expiring
+ * CLOCK_SKEW milliseconds after the requested validity is valid. Otherwise,
+ * or if the token has no readable expiration date, Kuzzle is asked with
+ * auth:checkToken.
+ *
+ * Only the expiration is checked locally: a token revoked by a logout is
+ * still considered valid until it expires.
+ */
+public class TokenValidator {
+  /**
+   * The maximum difference between the client and the Kuzzle clocks, in
+   * milliseconds
+   */
+  public static final long CLOCK_SKEW = 5000;
+
+  /**
+   * Local answer about the validity of a token
+   */
+  public enum Validity {
+    EXPIRED,
+    VALID,
+    UNCERTAIN
+  }
+
+  private static final class Decoded {
+    final String token;
+    final KuzzleMap claims;
+    final long expiresAt;
+
+    Decoded(final String token, final KuzzleMap claims) {
+      this.token = token;
+      this.claims = claims;
+      this.expiresAt = Jwt.getExpiresAt(claims);
+    }
+  }
+
+  private final Kuzzle kuzzle;
+  private volatile Decoded decoded = new Decoded(null, null);
+  private final AtomicLong localAnswers = new AtomicLong();
+  private final AtomicLong roundTrips = new AtomicLong();
+
+  /**
+   * @param kuzzle Kuzzle instance asked when the answer is uncertain
+   */
+  public TokenValidator(final Kuzzle kuzzle) {
+    this.kuzzle = kuzzle;
+  }
+
+  /**
+   * Tell whether a token is valid for at least minValidity milliseconds,
+   * asking Kuzzle only if it cannot be told locally.
+   *
+   * @param token       Authentication token
+   * @param minValidity Time, in milliseconds, the token must remain valid
+   * @return a CompletableFuture
+   * @throws NotConnectedException
+   * @throws InternalException
+   */
+  public CompletableFuture<Boolean> isValid(final String token,
+                                            final long minValidity)
+      throws NotConnectedException, InternalException {
+    final Validity validity = validate(token, minValidity);
+
+    if (validity != Validity.UNCERTAIN) {
+      return CompletableFuture.completedFuture(validity == Validity.VALID);
+    }
+
+    roundTrips.incrementAndGet();
+    return kuzzle.getAuthController().checkToken(token).thenApply(result -> {
+      final KuzzleMap map = KuzzleMap.from(result);
+
+      return map.optBoolean("valid", false)
+          && (!(map.get("expiresAt") instanceof Number)
+          || map.getNumber("expiresAt").longValue()
+          - System.currentTimeMillis() >= minValidity);
+    });
+  }
+
+  /**
+   * Tell locally whether a token is valid for at least minValidity
+   * milliseconds.
+   *
+   * @param token       Authentication token
+   * @param minValidity Time, in milliseconds, the token must remain valid
+   * @return EXPIRED or VALID if certain, UNCERTAIN otherwise
+   */
+  public Validity validate(final String token, final long minValidity) {
+    final long expiresAt = getExpiresAt(token);
+
+    if (expiresAt < 0) {
+      return Validity.UNCERTAIN;
+    }
+
+    final long remaining = expiresAt - System.currentTimeMillis();
+    final Validity validity;
+
+    if (remaining <= -CLOCK_SKEW) {
+      validity = Validity.EXPIRED;
+    } else if (remaining - CLOCK_SKEW >= minValidity) {
+      validity = Validity.VALID;
+    } else {
+      return Validity.UNCERTAIN;
+    }
+
+    localAnswers.incrementAndGet();
+    return validity;
+  }
+
+  /**
+   * @param token Authentication token
+   * @return The claims of the token, or null if it is not a JWT
+   */
+  public KuzzleMap getClaims(final String token) {
+    return decode(token).claims;
+  }
+
+  /**
+   * @param token Authentication token
+   * @return The expiration date of the token, in milliseconds since the
+   * epoch, or -1 if unknown
+   */
+  public long getExpiresAt(final String token) {
+    return decode(token).expiresAt;
+  }
+
+  /**
+   * @return The number of validity checks answered without asking Kuzzle
+   */
+  public long getLocalAnswerCount() {
+    return localAnswers.get();
+  }
+
+  /**
+   * @return The number of validity checks that had to ask Kuzzle
+   */
+  public long getRoundTripCount() {
+    return roundTrips.get();
+  }
+
+  /**
+   * The claims of the last token are kept: it is usually the current
+   * authentication token, checked over and over.
+   */
+  private Decoded decode(final String token) {
+    final Decoded last = decoded;
+
+    if (token == null ? last.token == null : token.equals(last.token)) {
+      return last;
+    }
+
+    final Decoded current = new Decoded(token, Jwt.decode(token));
+    decoded = current;
+    return current;
+  }
+}
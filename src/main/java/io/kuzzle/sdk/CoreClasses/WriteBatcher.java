@@ -0,0 +1,458 @@
+package io.kuzzle.sdk.CoreClasses;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Maps.Null;
+import io.kuzzle.sdk.CoreClasses.Responses.ErrorResponse;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Exceptions.ApiErrorException;
+import io.kuzzle.sdk.Exceptions.InternalException;
+import io.kuzzle.sdk.Exceptions.KuzzleExceptionCode;
+import io.kuzzle.sdk.Kuzzle;
+import io.kuzzle.sdk.Options.WriteBatchingOptions;
+import io.kuzzle.sdk.Protocol.RequestPriority;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent single-document writes into multi-document writes:
+ * create and createOrReplace calls targeting the same collection (with the
+ * same refresh option and priority) are sent together with mCreate and
+ * mCreateOrReplace.
+ *
+ * A batch is sent as soon as it holds maxBatchSize documents, or lingerTime
+ * milliseconds after its first document was added. A batch holding a single
+ * document is sent with the single-document action.
+ *
+ * Each caller gets its own result, taken from the successes and errors of
+ * the batch response: documents with an ID are matched by ID, other ones by
+ * position (Kuzzle answers in the order of the documents), rejected
+ * documents by content. Two writes of the same document ID are never sent in
+ * the same batch, so that they are applied in order.
+ */
+public class WriteBatcher {
+  private final class Batch {
+    final List<Object> key;
+    final String action;
+    final String index;
+    final String collection;
+    final Boolean waitForRefresh;
+    final RequestPriority priority;
+    final ArrayList<ConcurrentHashMap<String, Object>> documents =
+        new ArrayList<>();
+    final ArrayList<String> ids = new ArrayList<>();
+    final ArrayList<CompletableFuture<ConcurrentHashMap<String, Object>>>
+        futures = new ArrayList<>();
+    HashedWheelTimer.Timeout linger;
+
+    Batch(final List<Object> key, final String action, final String index,
+          final String collection, final Boolean waitForRefresh,
+          final RequestPriority priority) {
+      this.key = key;
+      this.action = action;
+      this.index = index;
+      this.collection = collection;
+      this.waitForRefresh = waitForRefresh;
+      this.priority = priority;
+    }
+  }
+
+  private final Kuzzle kuzzle;
+  private final WriteBatchingOptions options;
+  private final HashMap<List<Object>, Batch> batches = new HashMap<>();
+
+  /**
+   * @param kuzzle  Kuzzle instance sending the batches
+   * @param options Batching options
+   */
+  public WriteBatcher(final Kuzzle kuzzle,
+                      final WriteBatchingOptions options) {
+    this.kuzzle = kuzzle;
+    this.options = options != null ? new WriteBatchingOptions(options)
+        : new WriteBatchingOptions();
+  }
+
+  /**
+   * Create a document, batched with other document creations.
+   *
+   * @param index
+   * @param collection
+   * @param id             Document ID, or null to let Kuzzle generate one
+   * @param document
+   * @param waitForRefresh
+   * @param priority       Priority of the request, or null for the default
+   *                       one
+   * @return a CompletableFuture
+   */
+  public CompletableFuture<ConcurrentHashMap<String, Object>> create(
+      final String index,
+      final String collection,
+      final String id,
+      final ConcurrentHashMap<String, Object> document,
+      final Boolean waitForRefresh,
+      final RequestPriority priority) {
+    return add("create", index, collection, id, document, waitForRefresh,
+        priority);
+  }
+
+  /**
+   * Create or replace a document, batched with other document creations or
+   * replacements.
+   *
+   * @param index
+   * @param collection
+   * @param id
+   * @param document
+   * @param waitForRefresh
+   * @param priority       Priority of the request, or null for the default
+   *                       one
+   * @return a CompletableFuture
+   */
+  public CompletableFuture<ConcurrentHashMap<String, Object>> createOrReplace(
+      final String index,
+      final String collection,
+      final String id,
+      final ConcurrentHashMap<String, Object> document,
+      final Boolean waitForRefresh,
+      final RequestPriority priority) {
+    return add("createOrReplace", index, collection, id, document,
+        waitForRefresh, priority);
+  }
+
+  /**
+   * Send all the pending batches now.
+   */
+  public void flush() {
+    final ArrayList<Batch> pending;
+
+    synchronized (this) {
+      pending = new ArrayList<>(batches.values());
+      for (final Batch batch : pending) {
+        detach(batch);
+      }
+    }
+
+    for (final Batch batch : pending) {
+      send(batch);
+    }
+  }
+
+  private CompletableFuture<ConcurrentHashMap<String, Object>> add(
+      final String action,
+      final String index,
+      final String collection,
+      final String id,
+      final ConcurrentHashMap<String, Object> document,
+      final Boolean waitForRefresh,
+      final RequestPriority priority) {
+    final List<Object> key = Arrays.asList(action, index, collection,
+        waitForRefresh, priority);
+    final CompletableFuture<ConcurrentHashMap<String, Object>> future =
+        new CompletableFuture<>();
+    Batch previous = null;
+    Batch full = null;
+
+    synchronized (this) {
+      Batch batch = batches.get(key);
+
+      // writes of the same document are applied in order
+      if (batch != null && id != null && batch.ids.contains(id)) {
+        previous = batch;
+        detach(batch);
+        batch = null;
+      }
+
+      if (batch == null) {
+        final Batch created = new Batch(key, action, index, collection,
+            waitForRefresh, priority);
+        // the timer thread only hands the batch over to the executor
+        created.linger = kuzzle.getTimer().schedule(
+            () -> kuzzle.getExecutor().execute(() -> expire(created)),
+            options.getLingerTime());
+        batches.put(key, created);
+        batch = created;
+      }
+
+      batch.documents.add(document);
+      batch.ids.add(id);
+      batch.futures.add(future);
+
+      if (batch.documents.size() >= options.getMaxBatchSize()) {
+        full = batch;
+        detach(batch);
+      }
+    }
+
+    if (previous != null) {
+      send(previous);
+    }
+    if (full != null) {
+      send(full);
+    }
+
+    return future;
+  }
+
+  /**
+   * Remove a batch from the pending ones. Must be called with the lock held.
+   */
+  private void detach(final Batch batch) {
+    batches.remove(batch.key, batch);
+    batch.linger.cancel();
+  }
+
+  private void expire(final Batch batch) {
+    synchronized (this) {
+      if (batches.get(batch.key) != batch) {
+        return;
+      }
+      batches.remove(batch.key);
+    }
+
+    send(batch);
+  }
+
+  private void send(final Batch batch) {
+    final KuzzleMap query = new KuzzleMap()
+        .put("index", batch.index)
+        .put("collection", batch.collection)
+        .put("controller", "document")
+        .put("waitForRefresh", batch.waitForRefresh);
+    final boolean single = batch.documents.size() == 1;
+
+    if (single) {
+      query
+          .put("action", batch.action)
+          .put("body", batch.documents.get(0))
+          .put("_id", batch.ids.get(0));
+    } else {
+      final ArrayList<Object> documents = new ArrayList<>();
+
+      for (int i = 0; i < batch.documents.size(); i++) {
+        final KuzzleMap document = new KuzzleMap()
+            .put("body", batch.documents.get(i));
+
+        if (batch.ids.get(i) != null) {
+          document.put("_id", batch.ids.get(i));
+        }
+        documents.add(document);
+      }
+
+      query
+          .put("action", batch.action.equals("create")
+              ? "mCreate" : "mCreateOrReplace")
+          .put("body", new KuzzleMap().put("documents", documents))
+          // coalesced single-document writes are not bulk writes
+          .put("priority", batch.priority != null ? batch.priority
+              : RequestPriority.INTERACTIVE);
+    }
+
+    if (single && batch.priority != null) {
+      query.put("priority", batch.priority);
+    }
+
+    final CompletableFuture<Response> response;
+    try {
+      response = kuzzle.query(query);
+    } catch (Exception e) {
+      fail(batch, e);
+      return;
+    }
+
+    response.whenCompleteAsync((result, error) -> {
+      if (error != null) {
+        fail(batch, error instanceof CompletionException
+            && error.getCause() != null ? error.getCause() : error);
+      } else if (single) {
+        batch.futures.get(0).complete(map(result.getResult()));
+      } else {
+        dispatch(batch, map(result.getResult()));
+      }
+    }, kuzzle.getExecutor());
+  }
+
+  private void fail(final Batch batch, final Throwable error) {
+    for (final CompletableFuture<ConcurrentHashMap<String, Object>> future
+        : batch.futures) {
+      future.completeExceptionally(error);
+    }
+  }
+
+  /**
+   * Complete the future of each document of a batch from the batch result.
+   */
+  private void dispatch(final Batch batch,
+                        final ConcurrentHashMap<String, Object> result) {
+    final int size = batch.documents.size();
+    final boolean[] done = new boolean[size];
+    final HashMap<String, Integer> positions = new HashMap<>();
+
+    for (int i = 0; i < size; i++) {
+      if (batch.ids.get(i) != null) {
+        positions.put(batch.ids.get(i), i);
+      }
+    }
+
+    for (final Object entry : list(result == null ? null : result.get("errors"))) {
+      if (!(entry instanceof Map)) {
+        continue;
+      }
+
+      final Map<?, ?> error = (Map<?, ?>) entry;
+      final Object document = error.get("document");
+      final int i = rejected(batch, done, positions, document);
+
+      if (i >= 0) {
+        done[i] = true;
+        batch.futures.get(i).completeExceptionally(toException(error));
+      }
+    }
+
+    int next = 0;
+    for (final Object entry : list(result == null ? null : result.get("successes"))) {
+      final ConcurrentHashMap<String, Object> success = map(entry);
+
+      if (success == null) {
+        continue;
+      }
+
+      final Integer position = positions.get(success.get("_id"));
+      int i = -1;
+
+      if (position != null && !done[position]) {
+        i = position;
+      } else {
+        // documents without ID are answered in order
+        while (next < size && (done[next] || batch.ids.get(next) != null)) {
+          next++;
+        }
+        if (next < size) {
+          i = next;
+        }
+      }
+
+      if (i >= 0) {
+        done[i] = true;
+        batch.futures.get(i).complete(success);
+      }
+    }
+
+    for (int i = 0; i < size; i++) {
+      if (!done[i]) {
+        batch.futures.get(i).completeExceptionally(new InternalException(
+            KuzzleExceptionCode.MISSING_BATCH_RESULT));
+      }
+    }
+  }
+
+  /**
+   * @return The position of a rejected document in a batch, or -1
+   */
+  private static int rejected(final Batch batch, final boolean[] done,
+                              final HashMap<String, Integer> positions,
+                              final Object document) {
+    if (!(document instanceof Map)) {
+      return -1;
+    }
+
+    final Object id = ((Map<?, ?>) document).get("_id");
+    if (id != null && id != Null.INSTANCE) {
+      final Integer position = positions.get(id.toString());
+      return position != null && !done[position] ? position : -1;
+    }
+
+    final Object body = ((Map<?, ?>) document).get("body");
+    for (int i = 0; i < batch.documents.size(); i++) {
+      if (!done[i] && batch.ids.get(i) == null
+          && sameJson(batch.documents.get(i), body)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static ApiErrorException toException(final Map<?, ?> error) {
+    final Response response = new Response();
+    final Object status = error.get("status");
+    final Object reason = error.get("reason");
+
+    response.status = status instanceof Number ? ((Number) status).intValue()
+        : 400;
+    response.error = new ErrorResponse();
+    response.error.status = response.status;
+    response.error.message = reason != null ? reason.toString() : null;
+    return new ApiErrorException(response);
+  }
+
+  /**
+   * Compare a document with the copy Kuzzle sent back: numbers are compared
+   * by value, and nulls and missing keys are equivalent.
+   */
+  private static boolean sameJson(final Object a, final Object b) {
+    final boolean aNull = a == null || a == Null.INSTANCE;
+    final boolean bNull = b == null || b == Null.INSTANCE;
+
+    if (aNull || bNull) {
+      return aNull && bNull;
+    }
+
+    if (a instanceof Number && b instanceof Number) {
+      return ((Number) a).doubleValue() == ((Number) b).doubleValue();
+    }
+
+    if (a instanceof Map && b instanceof Map) {
+      final Map<?, ?> left = (Map<?, ?>) a;
+      final Map<?, ?> right = (Map<?, ?>) b;
+
+      for (final Map.Entry<?, ?> entry : left.entrySet()) {
+        if (!sameJson(entry.getValue(), right.get(entry.getKey()))) {
+          return false;
+        }
+      }
+      for (final Map.Entry<?, ?> entry : right.entrySet()) {
+        if (!sameJson(left.get(entry.getKey()), entry.getValue())) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    if (a instanceof List && b instanceof List) {
+      final List<?> left = (List<?>) a;
+      final List<?> right = (List<?>) b;
+
+      if (left.size() != right.size()) {
+        return false;
+      }
+      for (int i = 0; i < left.size(); i++) {
+        if (!sameJson(left.get(i), right.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    return a.toString().equals(b.toString());
+  }
+
+  private static List<?> list(final Object value) {
+    return value instanceof ArrayList ? (ArrayList<?>) value
+        : new ArrayList<>();
+  }
+
+  /**
+   * @return The value if it is a JSON object, null otherwise
+   */
+  @SuppressWarnings("unchecked")
+  private static ConcurrentHashMap<String, Object> map(final Object value) {
+    return value instanceof ConcurrentHashMap
+        ? (ConcurrentHashMap<String, Object>) value
+        : null;
+  }
+}
@@ -5,6 +5,10 @@ public enum KuzzleExceptionCode {
   MISSING_QUERY(400, "You must provide a query"),
   NOT_CONNECTED(500, "Not connected."),
   CONNECTION_LOST(500, "Connection lost"),
+  REQUEST_TIMEOUT(408, "Request timed out"),
+  RATE_LIMITED(429, "Client-side rate limit exceeded"),
+  JOURNAL_ERROR(500, "Unable to write to the request journal"),
+  MISSING_BATCH_RESULT(500, "The batch response has no result for this document"),
   WRONG_VOLATILE_TYPE(
       400,
       "Volatile data must be a ConcurrentHashMap<String, Object>");
@@ -0,0 +1,19 @@
+package io.kuzzle.sdk.Exceptions;
+
+/**
+ * Thrown to close an API task, when its request exceeds the client-side rate
+ * limits and cannot wait for them.
+ */
+public class RateLimitExceededException extends KuzzleException {
+  /**
+   *
+   */
+  private static final long serialVersionUID = 4183922641850336718L;
+
+  /**
+   * Initializes a new instance of the RateLimitExceededException.
+   */
+  public RateLimitExceededException() {
+    super(KuzzleExceptionCode.RATE_LIMITED);
+  }
+}
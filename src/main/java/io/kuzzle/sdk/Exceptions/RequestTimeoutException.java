@@ -0,0 +1,45 @@
+package io.kuzzle.sdk.Exceptions;
+
+/**
+ * Thrown to close an API task, when Kuzzle did not answer its request in
+ * time.
+ */
+public class RequestTimeoutException extends KuzzleException {
+  /**
+   *
+   */
+  private static final long serialVersionUID = -2870584426386710459L;
+
+  private final String requestId;
+  private final long timeout;
+
+  /**
+   * Initializes a new instance of the RequestTimeoutException.
+   *
+   * @param requestId
+   *                    Identifier of the request left unanswered.
+   * @param timeout
+   *                    Time the response was waited for, in milliseconds.
+   */
+  public RequestTimeoutException(final String requestId, final long timeout) {
+    super(KuzzleExceptionCode.REQUEST_TIMEOUT.getMessage() + " (request "
+        + requestId + ", " + timeout + "ms)",
+        KuzzleExceptionCode.REQUEST_TIMEOUT);
+    this.requestId = requestId;
+    this.timeout = timeout;
+  }
+
+  /**
+   * @return The identifier of the request left unanswered.
+   */
+  public String getRequestId() {
+    return requestId;
+  }
+
+  /**
+   * @return The time the response was waited for, in milliseconds.
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+}
@@ -5,22 +5,42 @@ import io.kuzzle.sdk.API.Controllers.CollectionController;
 import io.kuzzle.sdk.API.Controllers.DocumentController;
 import io.kuzzle.sdk.API.Controllers.IndexController;
 import io.kuzzle.sdk.API.Controllers.RealtimeController;
+import io.kuzzle.sdk.CoreClasses.DocumentCache;
+import io.kuzzle.sdk.CoreClasses.HashedWheelTimer;
+import io.kuzzle.sdk.CoreClasses.Journal.JournalEntry;
+import io.kuzzle.sdk.CoreClasses.Journal.RequestJournal;
 import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
 import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.OfflineQueue;
+import io.kuzzle.sdk.CoreClasses.RateLimiter;
+import io.kuzzle.sdk.CoreClasses.ReadBatcher;
+import io.kuzzle.sdk.CoreClasses.SequentialIdGenerator;
 import io.kuzzle.sdk.CoreClasses.Task;
+import io.kuzzle.sdk.CoreClasses.TokenRefresher;
+import io.kuzzle.sdk.CoreClasses.TokenValidator;
+import io.kuzzle.sdk.CoreClasses.WriteBatcher;
 import io.kuzzle.sdk.Exceptions.*;
 import io.kuzzle.sdk.Options.KuzzleOptions;
 import io.kuzzle.sdk.Protocol.AbstractProtocol;
 import io.kuzzle.sdk.Protocol.ProtocolState;
+import io.kuzzle.sdk.Protocol.RequestPriority;
 import io.kuzzle.sdk.CoreClasses.Responses.*;
 import io.kuzzle.sdk.Events.Event;
 import io.kuzzle.sdk.Events.EventManager;
 
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class Kuzzle extends EventManager {
   protected final AbstractProtocol networkProtocol;
@@ -52,17 +72,108 @@ public class Kuzzle extends EventManager {
    */
   protected AtomicInteger refreshedTokenDuration;
 
+  /**
+   * Refreshes the authentication token before it expires
+   */
+  protected TokenRefresher tokenRefresher;
+
+  /**
+   * Tells locally whether authentication tokens expired
+   */
+  protected TokenValidator tokenValidator;
+
   /**
    * The maximum delay between two requests to be replayed
    */
   protected AtomicInteger maxRequestDelay;
 
+  /**
+   * The default time to wait for the response of a sent request, in
+   * milliseconds. 0 for no timeout.
+   */
+  protected AtomicInteger requestTimeout;
+
+  /**
+   * Timer failing the requests left unanswered
+   */
+  protected HashedWheelTimer timer = HashedWheelTimer.shared();
+
+  /**
+   * Number of requests cancelled by their caller
+   */
+  protected final AtomicLong cancelledRequests = new AtomicLong();
+
+  /**
+   * Number of cancelled requests withdrawn before being sent
+   */
+  protected final AtomicLong withdrawnRequests = new AtomicLong();
+
+  /**
+   * Filter deciding which requests can be queued while offline
+   */
+  protected Predicate<ConcurrentHashMap<String, Object>> queueFilter;
+
+  /**
+   * Requests made while offline, waiting to be replayed
+   */
+  protected OfflineQueue offlineQueue;
+
+  private boolean autoQueue;
+
+  private final boolean compactResults;
+
+  /**
+   * Journal persisting requests until Kuzzle answers them (null if disabled)
+   */
+  protected RequestJournal journal;
+
+  /**
+   * Generates the requests unique identifiers
+   */
+  protected Supplier<String> requestIdGenerator;
+
+  /**
+   * Executor running the controllers response processing
+   */
+  protected Executor executor;
+
+  /**
+   * Coalesces single-document writes (null if disabled)
+   */
+  protected WriteBatcher writeBatcher;
+
+  /**
+   * Coalesces document gets (null if disabled)
+   */
+  protected ReadBatcher readBatcher;
+
+  /**
+   * Caches the documents read with get and mGet (null if disabled)
+   */
+  protected DocumentCache documentCache;
+
+  /**
+   * Limits the requests sent to Kuzzle (null if disabled)
+   */
+  protected RateLimiter rateLimiter;
+
   protected ConcurrentHashMap<String, Task<Response>> requests = new ConcurrentHashMap<>();
 
+  /**
+   * Sessions that sent the pending requests, by request ID. The requests
+   * of the instance owning the network connection are not recorded.
+   */
+  protected ConcurrentHashMap<String, Kuzzle> requestOwners = new ConcurrentHashMap<>();
+
   private RealtimeController realtimeController;
 
   private boolean autoResubscribe;
 
+  /**
+   * Sessions sharing the network connection of this instance
+   */
+  protected final Set<KuzzleSession> sessions = ConcurrentHashMap.newKeySet();
+
   /**
    * Initialize a new instance of Kuzzle
    *
@@ -142,13 +253,155 @@ public class Kuzzle extends EventManager {
     this.minTokenDuration = new AtomicInteger(kOptions.getMinTokenDuration());
     this.refreshedTokenDuration = new AtomicInteger(
         kOptions.getRefreshedTokenDuration());
+    this.tokenRefresher = new TokenRefresher(this, timer,
+        minTokenDuration::get, refreshedTokenDuration::get);
+    this.tokenValidator = new TokenValidator(this);
     this.maxRequestDelay = new AtomicInteger(kOptions.getMaxRequestDelay());
+    this.requestTimeout = new AtomicInteger(kOptions.getRequestTimeout());
+    this.queueFilter = kOptions.getQueueFilter();
 
     this.autoResubscribe = kOptions.isAutoResubscribe();
+    this.autoQueue = kOptions.isAutoQueue();
+    this.compactResults = kOptions.isCompactResults();
+    this.journal = kOptions.getJournal();
+    this.executor = kOptions.getExecutor();
+    this.offlineQueue = new OfflineQueue(maxQueueSize::get,
+        maxRequestDelay::get, timer, executor);
+    this.requestIdGenerator = kOptions.getRequestIdGenerator() != null
+        ? kOptions.getRequestIdGenerator()
+        : new SequentialIdGenerator();
+    this.writeBatcher = kOptions.getWriteBatching() != null
+        ? new WriteBatcher(this, kOptions.getWriteBatching())
+        : null;
+    this.readBatcher = kOptions.getReadBatching() != null
+        ? new ReadBatcher(this, kOptions.getReadBatching())
+        : null;
+    this.documentCache = kOptions.getDocumentCache() != null
+        ? new DocumentCache(this, kOptions.getDocumentCache())
+        : null;
+    this.rateLimiter = kOptions.getRateLimit() != null
+        ? new RateLimiter(kOptions.getRateLimit(), timer, executor)
+        : null;
 
     this.version = "3";
     this.instanceId = UUID.randomUUID().toString();
     this.sdkName = "java@" + version;
+
+    if (journal != null) {
+      restoreJournal();
+    }
+  }
+
+  /**
+   * Initialize a session sharing the network connection, the pending
+   * requests and the rate limiter of another instance. The session does not
+   * listen to the network protocol: the instance owning the connection
+   * forwards the network events to it.
+   *
+   * @param parent Instance owning the network connection
+   */
+  protected Kuzzle(final Kuzzle parent) {
+    this.networkProtocol = parent.networkProtocol;
+    this.requests = parent.requests;
+    this.requestOwners = parent.requestOwners;
+    this.timer = parent.timer;
+    this.rateLimiter = parent.rateLimiter;
+    this.requestIdGenerator = parent.requestIdGenerator;
+    this.executor = parent.executor;
+    this.queueFilter = parent.queueFilter;
+    this.requestTimeout = parent.requestTimeout;
+
+    this.maxQueueSize = parent.maxQueueSize;
+    this.minTokenDuration = parent.minTokenDuration;
+    this.refreshedTokenDuration = parent.refreshedTokenDuration;
+    this.maxRequestDelay = parent.maxRequestDelay;
+    this.offlineQueue = new OfflineQueue(maxQueueSize::get,
+        maxRequestDelay::get, timer, executor);
+    this.tokenRefresher = new TokenRefresher(this, timer,
+        minTokenDuration::get, refreshedTokenDuration::get);
+    this.tokenValidator = new TokenValidator(this);
+
+    this.autoResubscribe = parent.autoResubscribe;
+    this.autoQueue = parent.autoQueue;
+    this.compactResults = parent.compactResults;
+
+    this.version = parent.version;
+    this.instanceId = parent.instanceId;
+    this.sdkName = parent.sdkName;
+  }
+
+  /**
+   * Create a session sharing the network connection of this instance, with
+   * its own authentication token. Sessions are closed with
+   * KuzzleSession.close().
+   *
+   * @return A new session
+   */
+  public KuzzleSession createSession() {
+    final KuzzleSession session = new KuzzleSession(this);
+    sessions.add(session);
+    return session;
+  }
+
+  /**
+   * @return The number of open sessions sharing the network connection of
+   * this instance
+   */
+  public int getSessionCount() {
+    return sessions.size();
+  }
+
+  /**
+   * Queues the requests left unanswered in the journal by a previous run.
+   */
+  private void restoreJournal() {
+    for (final JournalEntry entry : journal.getPending()) {
+      final Task<Response> task = new Task<>();
+      acknowledgeOnResponse(entry.getRequestId(), task);
+      offlineQueue.push(
+          KuzzleMap.from(JsonSerializer.deserialize(entry.getPayload())),
+          task);
+    }
+  }
+
+  /**
+   * Appends a request accepted for sending or queuing to the journal, if
+   * the journal accepts it.
+   */
+  private void journal(final String requestId, final KuzzleMap query,
+                       final Task<Response> task) throws InternalException {
+    if (journal == null || !journal.accepts(query)) {
+      return;
+    }
+
+    final KuzzleMap entry = new KuzzleMap(query);
+    entry.remove("jwt");
+
+    try {
+      journal.append(requestId, JsonSerializer.serialize(entry));
+    } catch (IOException e) {
+      throw new InternalException(e.getMessage(),
+          KuzzleExceptionCode.JOURNAL_ERROR);
+    }
+    acknowledgeOnResponse(requestId, task);
+  }
+
+  /**
+   * Removes a journaled request from the journal once its caller is told
+   * its outcome: a response, an API error, or a client-side failure
+   * (timeout, rate limit, eviction from the offline queue, lost connection,
+   * cancellation). No failure keeps the entry: only the requests still
+   * pending when the process stops are replayed on the next start.
+   */
+  private void acknowledgeOnResponse(final String requestId,
+                                     final Task<Response> task) {
+    task.getFuture().whenComplete((response, error) -> {
+      try {
+        journal.acknowledge(requestId);
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    });
   }
 
   /**
@@ -168,14 +421,16 @@ public class Kuzzle extends EventManager {
   }
 
   /**
-   * Handles the ResponseReceivedEvent from the network protocol
+   * Handles the ResponseReceivedEvent from the network protocol.
+   * Only the response envelope is parsed here: the result is parsed on first
+   * access, outside of the network thread.
    *
    * @param payload Raw API Response
    */
   protected void onResponseReceived(final Object... payload) {
     final Response response = new Response();
     try {
-      response.fromMap(JsonSerializer.deserialize(payload[0].toString()));
+      response.fromJson(payload[0].toString(), compactResults);
     } catch (final Exception e) {
       e.printStackTrace();
       return;
@@ -183,46 +438,164 @@ public class Kuzzle extends EventManager {
 
     if (requests != null && (response.room == null || !requests.containsKey(response.room))) {
       super.trigger(Event.unhandledResponse, response);
+      for (final KuzzleSession session : sessions) {
+        session.trigger(Event.unhandledResponse, response);
+      }
       return;
     }
 
-    if (response.error == null) {
-      final Task<Response> task = requests.get(response.requestId);
+    // read before the task completes and forgets its owner
+    final Kuzzle owner = response.requestId != null
+        ? requestOwners.getOrDefault(response.requestId, this)
+        : this;
+    final Task<Response> task = requests.remove(response.requestId);
 
+    if (response.error == null) {
       if (task != null) {
         task.trigger(response);
       }
-
-      requests.remove(response.requestId);
       return;
     }
 
-    if (response.error.id == null
-        || !response.error.id.equals("security.token.expired")) {
-      final Task<Response> task = requests.get(response.requestId);
-      if (task != null) {
-        task.setException(new ApiErrorException(response));
-      }
-      return;
+    if (task != null) {
+      task.setException(new ApiErrorException(response));
     }
 
-    super.trigger(Event.tokenExpired);
+    // the token of the instance that sent the request expired
+    if ("security.token.expired".equals(response.error.id)) {
+      owner.trigger(Event.tokenExpired);
+    }
   }
 
   protected void onStateChanged(final Object... args) {
+    if (documentCache != null) {
+      documentCache.onStateChanged((ProtocolState) args[0]);
+    }
+
     // If not connected anymore: close tasks and clean up the requests buffer
     if (args[0] == ProtocolState.CLOSE) {
       for (final Task<Response> task : requests.values()) {
         task.setException(new ConnectionLostException());
       }
       requests.clear();
-    } else if (args[0] == ProtocolState.OPEN && realtimeController != null && autoResubscribe) {
-      realtimeController.renewSubscriptions();
+      if (rateLimiter != null) {
+        for (final Task<?> task : rateLimiter.clear()) {
+          task.setException(new ConnectionLostException());
+        }
+      }
+      if (!autoQueue) {
+        offlineQueue.clear();
+      }
+    } else if (args[0] == ProtocolState.OPEN) {
+      if (realtimeController != null && autoResubscribe) {
+        realtimeController.renewSubscriptions();
+      }
+      offlineQueue.replay(this::replayQuery);
+    }
+
+    for (final KuzzleSession session : sessions) {
+      session.onStateChanged(args);
+    }
+  }
+
+  /**
+   * Sends a request taken from the offline queue.
+   *
+   * @param query Queued request
+   * @param task  Task associated to the request
+   * @return false if the network protocol is not able to send it anymore
+   */
+  protected boolean replayQuery(final KuzzleMap query, final Task<Response> task) {
+    if (networkProtocol.getState() != ProtocolState.OPEN) {
+      return false;
+    }
+
+    super.trigger(Event.offlineQueuePop, query);
+    if (authenticationToken != null) {
+      query.put("jwt", authenticationToken.get());
+    }
+    send(query.getString("requestId"), query, task);
+    return true;
+  }
+
+  /**
+   * Drops a request whose future was cancelled by its caller. If it was not
+   * sent yet, it is withdrawn from the offline queue, from the rate limiter
+   * queue or from the network protocol queue, and will never be sent.
+   */
+  private void onCancelled(final String requestId, final KuzzleMap query,
+                           final Task<Response> task) {
+    cancelledRequests.incrementAndGet();
+
+    final boolean withdrawn = offlineQueue.remove(task)
+        || rateLimiter != null && rateLimiter.remove(task)
+        || requests.remove(requestId, task) && networkProtocol.cancel(query);
+
+    if (withdrawn) {
+      withdrawnRequests.incrementAndGet();
+    }
+  }
+
+  /**
+   * Sends a request once the rate limiter allows it.
+   */
+  private void send(final String requestId, final KuzzleMap query,
+                    final Task<Response> task) {
+    if (rateLimiter == null) {
+      dispatch(requestId, query, null, task);
+    } else {
+      rateLimiter.submit(query, task,
+          serialized -> dispatch(requestId, query, serialized, task));
+    }
+  }
+
+  /**
+   * Sends a request, and fails it with a RequestTimeoutException if it is
+   * not answered within the task timeout. The serialized request is null
+   * unless the rate limiter already serialized it. Once the request is over,
+   * the network protocol forgets it.
+   */
+  private void dispatch(final String requestId, final KuzzleMap query,
+                        final String serialized, final Task<Response> task) {
+    final boolean owned = this instanceof KuzzleSession;
+
+    requests.put(requestId, task);
+
+    if (owned) {
+      requestOwners.put(requestId, this);
+    }
+
+    final HashedWheelTimer.Timeout timeout = task.getTimeout() > 0
+        ? timer.schedule(() -> {
+          if (requests.remove(requestId, task)) {
+            task.setException(
+                new RequestTimeoutException(requestId, task.getTimeout()));
+          }
+        }, task.getTimeout())
+        : null;
+
+    task.getFuture().whenComplete((response, error) -> {
+      if (timeout != null) {
+        timeout.cancel();
+      }
+      if (owned) {
+        requestOwners.remove(requestId, this);
+      }
+      networkProtocol.forget(requestId);
+    });
+
+    if (serialized != null) {
+      networkProtocol.send(query, serialized, task.getPriority());
+    } else {
+      networkProtocol.send(query, task.getPriority());
     }
   }
 
   /**
    * Sends an API request to Kuzzle and returns the corresponding API
+   * response. While reconnecting (or while disconnected, if autoQueue is
+   * set), the request is put in the offline queue and sent once the
+   * connection is back.
    *
    * @param query Kuzzle API query
    * @return A CompletableFuture
@@ -232,12 +605,50 @@ public class Kuzzle extends EventManager {
   public CompletableFuture<Response> query(
       final ConcurrentHashMap<String, Object> query)
       throws InternalException, NotConnectedException {
+    return query(query, requestTimeout.get());
+  }
+
+  /**
+   * Sends an API request to Kuzzle and returns the corresponding API
+   * response, failing with a RequestTimeoutException if Kuzzle does not
+   * answer within timeout milliseconds once the request is sent. The time
+   * spent in the offline queue does not count.
+   * Cancelling the returned future drops the request, and withdraws it if it
+   * was not sent yet.
+   * The request is sent in the outbound lane of the RequestPriority set in
+   * its "priority" field, or of its action default priority.
+   * If rate limiting is enabled, the request waits for the limits before
+   * being sent, or fails with a RateLimitExceededException. The time spent
+   * waiting does not count in the timeout either.
+   * Requests made while the authentication token is about to expire wait
+   * for its pending refresh, and are sent with the new token.
+   *
+   * @param query   Kuzzle API query
+   * @param timeout Time to wait for the response, in milliseconds. 0 for no
+   *                timeout.
+   * @return A CompletableFuture
+   * @throws InternalException
+   * @throws NotConnectedException
+   */
+  public CompletableFuture<Response> query(
+      final ConcurrentHashMap<String, Object> query,
+      final long timeout)
+      throws InternalException, NotConnectedException {
     if (query == null) {
       throw new InternalException(KuzzleExceptionCode.MISSING_QUERY);
     }
 
+    final CompletableFuture<Void> refreshed =
+        "auth".equals(query.get("controller")) ? null
+            : tokenRefresher.awaitToken();
+
+    if (refreshed != null && !refreshed.isDone()) {
+      return afterRefresh(refreshed, query, timeout);
+    }
+
+    final ProtocolState state = networkProtocol.getState();
 
-    if (networkProtocol.getState() == ProtocolState.CLOSE) {
+    if (state == ProtocolState.CLOSE && !autoQueue) {
       throw new NotConnectedException();
     }
     final KuzzleMap queryMap = KuzzleMap.from(query);
@@ -249,11 +660,19 @@ public class Kuzzle extends EventManager {
       queryMap.remove("waitForRefresh");
     }
 
+    RequestPriority priority = RequestPriority.of(
+        Objects.toString(queryMap.get("controller"), null),
+        Objects.toString(queryMap.get("action"), null));
+
+    if (queryMap.get("priority") instanceof RequestPriority) {
+      priority = (RequestPriority) queryMap.remove("priority");
+    }
+
     if (authenticationToken != null) {
       queryMap.put("jwt", authenticationToken.toString());
     }
 
-    final String requestId = UUID.randomUUID().toString();
+    final String requestId = requestIdGenerator.get();
 
     queryMap.put("requestId", requestId);
 
@@ -268,20 +687,86 @@ public class Kuzzle extends EventManager {
     queryMap.getMap("volatile").put("sdkName", sdkName);
 
     final Task<Response> task = new Task<>();
-    requests.put(requestId, task);
+    task.setTimeout(timeout);
+    task.setPriority(priority);
+
+    task.getFuture().whenComplete((response, error) -> {
+      if (error instanceof CancellationException) {
+        onCancelled(requestId, queryMap, task);
+      }
+    });
 
+    if (state == ProtocolState.OPEN) {
+      journal(requestId, queryMap, task);
+      send(requestId, queryMap, task);
+      return task.getFuture();
+    }
+
+    if (!queueFilter.test(queryMap) || !offlineQueue.push(queryMap, task)) {
+      throw new NotConnectedException();
+    }
+
+    try {
+      journal(requestId, queryMap, task);
+    } catch (InternalException e) {
+      offlineQueue.remove(task);
+      throw e;
+    }
+    super.trigger(Event.offlineQueuePush, queryMap);
+
+    // The connection may have been restored while queuing
     if (networkProtocol.getState() == ProtocolState.OPEN) {
-      networkProtocol.send(queryMap);
+      offlineQueue.replay(this::replayQuery);
     }
 
     return task.getFuture();
   }
 
+  /**
+   * Sends a request once the pending token refresh is over.
+   */
+  private CompletableFuture<Response> afterRefresh(
+      final CompletableFuture<Void> refreshed,
+      final ConcurrentHashMap<String, Object> query,
+      final long timeout) {
+    final CompletableFuture<Response> deferred = new CompletableFuture<>();
+
+    refreshed.thenRun(() -> {
+      // cancelled meanwhile
+      if (deferred.isDone()) {
+        return;
+      }
+
+      final CompletableFuture<Response> sent;
+      try {
+        sent = query(query, timeout);
+      } catch (InternalException | NotConnectedException e) {
+        deferred.completeExceptionally(e);
+        return;
+      }
+
+      sent.whenComplete((response, error) -> {
+        if (error != null) {
+          deferred.completeExceptionally(error);
+        } else {
+          deferred.complete(response);
+        }
+      });
+      deferred.whenComplete((response, error) -> {
+        if (error instanceof CancellationException) {
+          sent.cancel(false);
+        }
+      });
+    });
+
+    return deferred;
+  }
+
   /**
    * @return The authentication token
    */
   public String getAuthenticationToken() {
-    return authenticationToken.get();
+    return authenticationToken != null ? authenticationToken.get() : null;
   }
 
   /**
@@ -294,6 +779,54 @@ public class Kuzzle extends EventManager {
       authenticationToken = new AtomicReference<>();
     }
     authenticationToken.set(token);
+    tokenRefresher.onTokenChanged(token);
+  }
+
+  /**
+   * @return The scheduler refreshing the authentication token
+   */
+  public TokenRefresher getTokenRefresher() {
+    return tokenRefresher;
+  }
+
+  /**
+   * @return The validator of the authentication tokens expiration
+   */
+  public TokenValidator getTokenValidator() {
+    return tokenValidator;
+  }
+
+  /**
+   * @return The default time to wait for the response of a sent request, in
+   * milliseconds
+   */
+  public int getRequestTimeout() {
+    return requestTimeout.get();
+  }
+
+  /**
+   * Set the default time to wait for the response of a sent request, in
+   * milliseconds. 0 for no timeout.
+   *
+   * @param requestTimeout
+   */
+  public void setRequestTimeout(final int requestTimeout) {
+    this.requestTimeout.set(Math.max(0, requestTimeout));
+  }
+
+  /**
+   * @return The number of requests whose future was cancelled by the caller
+   */
+  public long getCancelledRequestCount() {
+    return cancelledRequests.get();
+  }
+
+  /**
+   * @return The number of cancelled requests that were withdrawn before
+   * being sent
+   */
+  public long getWithdrawnRequestCount() {
+    return withdrawnRequests.get();
   }
 
   public boolean isAutoResubscribe() {
@@ -303,4 +836,62 @@ public class Kuzzle extends EventManager {
   public void setAutoResubscribe(boolean autoResubscribe) {
     this.autoResubscribe = autoResubscribe;
   }
+
+  /**
+   * @return The timer scheduling the request timeouts, the token refreshes
+   * and the other delayed tasks of this instance
+   */
+  public HashedWheelTimer getTimer() {
+    return timer;
+  }
+
+  /**
+   * @return The executor running the controllers response processing
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * @return The batcher of single-document writes, or null if disabled
+   */
+  public WriteBatcher getWriteBatcher() {
+    return writeBatcher;
+  }
+
+  /**
+   * @return The batcher of document gets, or null if disabled
+   */
+  public ReadBatcher getReadBatcher() {
+    return readBatcher;
+  }
+
+  /**
+   * @return The document cache, or null if disabled
+   */
+  public DocumentCache getDocumentCache() {
+    return documentCache;
+  }
+
+  /**
+   * @return The rate limiter, or null if disabled
+   */
+  public RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  public boolean isAutoQueue() {
+    return autoQueue;
+  }
+
+  public void setAutoQueue(boolean autoQueue) {
+    this.autoQueue = autoQueue;
+  }
+
+  /**
+   * @return The number of requests waiting in the offline queue
+   */
+  public int getOfflineQueueSize() {
+    return offlineQueue.size();
+  }
 }
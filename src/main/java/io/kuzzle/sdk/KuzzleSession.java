@@ -0,0 +1,62 @@
+package io.kuzzle.sdk;
+
+/**
+ * Lightweight session sharing the network connection of a Kuzzle instance,
+ * created with Kuzzle.createSession(). A session has its own
+ * authentication token, refreshed on its own schedule, and its own offline
+ * queue and realtime subscriptions. Requests of all the sessions are sent
+ * through the same connection, and share the same pending requests and rate
+ * limits.
+ *
+ * Write and read batching and the document cache are disabled in sessions:
+ * they would mix the requests and the documents of several users.
+ */
+public class KuzzleSession extends Kuzzle {
+  private final Kuzzle parent;
+
+  /**
+   * @param parent Instance owning the network connection
+   */
+  protected KuzzleSession(final Kuzzle parent) {
+    super(parent);
+    this.parent = parent;
+  }
+
+  /**
+   * @return The instance owning the network connection
+   */
+  public Kuzzle getParent() {
+    return parent;
+  }
+
+  /**
+   * Establish the shared network connection, if needed.
+   *
+   * @throws Exception
+   */
+  @Override
+  public void connect() throws Exception {
+    parent.connect();
+  }
+
+  /**
+   * Close this session. The shared network connection stays open.
+   */
+  @Override
+  public void disconnect() {
+    close();
+  }
+
+  /**
+   * Close this session: the automatic token refresh and the replay of its
+   * offline queue are stopped, requests waiting in that queue fail with a
+   * ConnectionLostException, and network events are not forwarded to it
+   * anymore. Its pending requests are still answered.
+   */
+  public void close() {
+    parent.sessions.remove(this);
+    tokenRefresher.cancel();
+    offlineQueue.stop();
+    offlineQueue.clear();
+  }
+}
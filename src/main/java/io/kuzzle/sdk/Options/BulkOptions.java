@@ -0,0 +1,228 @@
+package io.kuzzle.sdk.Options;
+
+import io.kuzzle.sdk.CoreClasses.BulkProgress;
+
+import java.util.function.Consumer;
+
+public class BulkOptions {
+
+  /**
+   * The maximum number of documents per chunk. Kuzzle rejects requests
+   * writing more than limits.documentsWriteCount documents (200 by default).
+   */
+  private int chunkSize = 200;
+
+  /**
+   * The maximum serialized size of the documents of a chunk, in bytes.
+   * The default value leaves room for the request envelope below Kuzzle's
+   * default server.maxRequestSize (1MB).
+   */
+  private int maxChunkBytes = 900 * 1024;
+
+  /**
+   * The maximum number of chunks sent and not answered yet.
+   */
+  private int maxInFlight = 4;
+
+  /**
+   * The maximum number of times a document rejected because Kuzzle is
+   * overloaded is sent again.
+   */
+  private int maxRetries = 3;
+
+  /**
+   * The delay before sending again rejected documents, in milliseconds,
+   * doubled after each consecutive rejection.
+   */
+  private long retryDelay = 100;
+
+  /**
+   * The maximum delay before sending again rejected documents, in
+   * milliseconds.
+   */
+  private long maxRetryDelay = 10000;
+
+  private Boolean waitForRefresh;
+
+  private Integer retryOnConflict;
+
+  private Consumer<BulkProgress> onProgress;
+
+  /**
+   * Initialize a new BulkOptions instance.
+   */
+  public BulkOptions() {
+  }
+
+  /**
+   * Initialize a new BulkOptions instance and copy other BulkOptions fields
+   *
+   * @param other
+   */
+  public BulkOptions(BulkOptions other) {
+    this.chunkSize = other.chunkSize;
+    this.maxChunkBytes = other.maxChunkBytes;
+    this.maxInFlight = other.maxInFlight;
+    this.maxRetries = other.maxRetries;
+    this.retryDelay = other.retryDelay;
+    this.maxRetryDelay = other.maxRetryDelay;
+    this.waitForRefresh = other.waitForRefresh;
+    this.retryOnConflict = other.retryOnConflict;
+    this.onProgress = other.onProgress;
+  }
+
+  /**
+   * @return The maximum number of documents per chunk.
+   */
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Set the maximum number of documents per chunk.
+   *
+   * @param chunkSize
+   * @return This BulkOptions instance.
+   */
+  public BulkOptions setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize > 0 ? chunkSize : 200;
+    return this;
+  }
+
+  /**
+   * @return The maximum serialized size of the documents of a chunk, in
+   *         bytes.
+   */
+  public int getMaxChunkBytes() {
+    return maxChunkBytes;
+  }
+
+  /**
+   * Set the maximum serialized size of the documents of a chunk, in bytes.
+   * A document larger than this size is sent alone.
+   *
+   * @param maxChunkBytes
+   * @return This BulkOptions instance.
+   */
+  public BulkOptions setMaxChunkBytes(int maxChunkBytes) {
+    this.maxChunkBytes = maxChunkBytes > 0 ? maxChunkBytes : 900 * 1024;
+    return this;
+  }
+
+  /**
+   * @return The maximum number of chunks sent and not answered yet.
+   */
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  /**
+   * Set the maximum number of chunks sent and not answered yet.
+   *
+   * @param maxInFlight
+   * @return This BulkOptions instance.
+   */
+  public BulkOptions setMaxInFlight(int maxInFlight) {
+    this.maxInFlight = maxInFlight > 0 ? maxInFlight : 1;
+    return this;
+  }
+
+  /**
+   * @return The maximum number of times a rejected document is sent again.
+   */
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  /**
+   * Set the maximum number of times a document rejected because Kuzzle is
+   * overloaded is sent again. 0 disables retries.
+   *
+   * @param maxRetries
+   * @return This BulkOptions instance.
+   */
+  public BulkOptions setMaxRetries(int maxRetries) {
+    this.maxRetries = Math.max(0, maxRetries);
+    return this;
+  }
+
+  /**
+   * @return The initial delay before sending again rejected documents, in
+   *         milliseconds.
+   */
+  public long getRetryDelay() {
+    return retryDelay;
+  }
+
+  /**
+   * Set the initial delay before sending again rejected documents, in
+   * milliseconds.
+   *
+   * @param retryDelay
+   * @return This BulkOptions instance.
+   */
+  public BulkOptions setRetryDelay(long retryDelay) {
+    this.retryDelay = Math.max(0, retryDelay);
+    return this;
+  }
+
+  /**
+   * @return The maximum delay before sending again rejected documents, in
+   *         milliseconds.
+   */
+  public long getMaxRetryDelay() {
+    return maxRetryDelay;
+  }
+
+  /**
+   * Set the maximum delay before sending again rejected documents, in
+   * milliseconds.
+   *
+   * @param maxRetryDelay
+   * @return This BulkOptions instance.
+   */
+  public BulkOptions setMaxRetryDelay(long maxRetryDelay) {
+    this.maxRetryDelay = Math.max(0, maxRetryDelay);
+    return this;
+  }
+
+  public Boolean getWaitForRefresh() {
+    return waitForRefresh;
+  }
+
+  public BulkOptions setWaitForRefresh(Boolean waitForRefresh) {
+    this.waitForRefresh = waitForRefresh;
+    return this;
+  }
+
+  public Integer getRetryOnConflict() {
+    return retryOnConflict;
+  }
+
+  /**
+   * Set the number of times Kuzzle retries updates conflicting with other
+   * updates (mUpdate only).
+   *
+   * @param retryOnConflict
+   * @return This BulkOptions instance.
+   */
+  public BulkOptions setRetryOnConflict(Integer retryOnConflict) {
+    this.retryOnConflict = retryOnConflict;
+    return this;
+  }
+
+  public Consumer<BulkProgress> getOnProgress() {
+    return onProgress;
+  }
+
+  /**
+   * Set a listener called each time a chunk is answered.
+   *
+   * @param onProgress
+   * @return This BulkOptions instance.
+   */
+  public BulkOptions setOnProgress(Consumer<BulkProgress> onProgress) {
+    this.onProgress = onProgress;
+    return this;
+  }
+}
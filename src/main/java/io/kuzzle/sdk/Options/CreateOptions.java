@@ -1,5 +1,7 @@
 package io.kuzzle.sdk.Options;
 
+import io.kuzzle.sdk.Protocol.RequestPriority;
+
 import java.util.concurrent.ConcurrentHashMap;
 
 public class CreateOptions {
@@ -7,6 +9,11 @@ public class CreateOptions {
   private String id;
   private Integer retryOnConflict;
   private Boolean waitForRefresh;
+
+  /**
+   * Outbound lane of the request. Null for the action default priority.
+   */
+  private RequestPriority priority;
   /**
    * Constructor
    */
@@ -21,6 +28,7 @@ public class CreateOptions {
     this.id = options.getId();
     this.waitForRefresh = options.getWaitForRefresh();
     this.retryOnConflict = options.getRetryOnConflict();
+    this.priority = options.getPriority();
   }
 
   public Integer getRetryOnConflict() {
@@ -47,6 +55,20 @@ public class CreateOptions {
     this.retryOnConflict = retryOnConflict;
   }
 
+  public RequestPriority getPriority() {
+    return priority;
+  }
+
+  /**
+   * Set the outbound lane of the request, instead of the action default
+   * priority.
+   *
+   * @param priority
+   */
+  public void setPriority(RequestPriority priority) {
+    this.priority = priority;
+  }
+
   public ConcurrentHashMap<String, Object> toHashMap() {
     ConcurrentHashMap<String, Object> options = new ConcurrentHashMap<>();
 
@@ -54,6 +76,10 @@ public class CreateOptions {
     options.put("waitForRefresh", this.waitForRefresh);
     options.put("retryOnConflict", this.retryOnConflict);
 
+    if (this.priority != null) {
+      options.put("priority", this.priority);
+    }
+
     return options;
   }
 }
@@ -0,0 +1,69 @@
+package io.kuzzle.sdk.Options;
+
+public class DocumentCacheOptions {
+
+  /**
+   * The maximum number of cached documents. The least recently used
+   * document is evicted when a new one is cached past this limit.
+   */
+  private int maxSize = 1000;
+
+  /**
+   * The time, in milliseconds, a document stays cached after being fetched.
+   */
+  private long ttl = 60000;
+
+  /**
+   * Initialize a new DocumentCacheOptions instance.
+   */
+  public DocumentCacheOptions() {
+  }
+
+  /**
+   * Initialize a new DocumentCacheOptions instance and copy other
+   * DocumentCacheOptions fields
+   *
+   * @param other
+   */
+  public DocumentCacheOptions(DocumentCacheOptions other) {
+    this.maxSize = other.maxSize;
+    this.ttl = other.ttl;
+  }
+
+  /**
+   * @return The maximum number of cached documents.
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Set the maximum number of cached documents.
+   *
+   * @param maxSize
+   * @return This DocumentCacheOptions instance.
+   */
+  public DocumentCacheOptions setMaxSize(int maxSize) {
+    this.maxSize = maxSize > 0 ? maxSize : 1000;
+    return this;
+  }
+
+  /**
+   * @return The time a document stays cached, in milliseconds.
+   */
+  public long getTtl() {
+    return ttl;
+  }
+
+  /**
+   * Set the time a document stays cached after being fetched, in
+   * milliseconds.
+   *
+   * @param ttl
+   * @return This DocumentCacheOptions instance.
+   */
+  public DocumentCacheOptions setTtl(long ttl) {
+    this.ttl = ttl > 0 ? ttl : 60000;
+    return this;
+  }
+}
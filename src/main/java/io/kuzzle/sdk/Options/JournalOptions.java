@@ -0,0 +1,130 @@
+package io.kuzzle.sdk.Options;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static io.kuzzle.sdk.Helpers.Default.defaultValue;
+
+public class JournalOptions {
+
+  /**
+   * The size of a journal segment file, in bytes.
+   */
+  private int segmentSize = 16 * 1024 * 1024;
+
+  /**
+   * The number of appended records after which the journal is synced to
+   * disk.
+   */
+  private int syncBatchSize = 64;
+
+  /**
+   * The maximum delay, in milliseconds, before appended records are synced
+   * to disk.
+   */
+  private long syncInterval = 100;
+
+  /**
+   * Filter deciding which requests are journaled. Authentication and
+   * subscription requests are tied to a connection and are not journaled by
+   * default.
+   */
+  private Predicate<ConcurrentHashMap<String, Object>> filter =
+      JournalOptions::defaultFilter;
+
+  /**
+   * Initialize a new JournalOptions instance.
+   */
+  public JournalOptions() {
+  }
+
+  /**
+   * Initialize a new JournalOptions instance and copy other JournalOptions
+   * fields
+   *
+   * @param other
+   */
+  public JournalOptions(JournalOptions other) {
+    this.segmentSize = other.segmentSize;
+    this.syncBatchSize = other.syncBatchSize;
+    this.syncInterval = other.syncInterval;
+    this.filter = other.filter;
+  }
+
+  private static boolean defaultFilter(ConcurrentHashMap<String, Object> query) {
+    final Object controller = query.get("controller");
+    final Object action = query.get("action");
+
+    if ("auth".equals(controller)) {
+      return false;
+    }
+    return !("realtime".equals(controller)
+        && ("subscribe".equals(action) || "unsubscribe".equals(action)));
+  }
+
+  /**
+   * @return The size of a journal segment file, in bytes.
+   */
+  public int getSegmentSize() {
+    return segmentSize;
+  }
+
+  /**
+   * Set the size of a journal segment file, in bytes.
+   *
+   * @param segmentSize
+   * @return This JournalOptions instance.
+   */
+  public JournalOptions setSegmentSize(int segmentSize) {
+    this.segmentSize = segmentSize > 0 ? segmentSize : 16 * 1024 * 1024;
+    return this;
+  }
+
+  /**
+   * @return The number of appended records after which the journal is synced.
+   */
+  public int getSyncBatchSize() {
+    return syncBatchSize;
+  }
+
+  /**
+   * Set the number of appended records after which the journal is synced.
+   *
+   * @param syncBatchSize
+   * @return This JournalOptions instance.
+   */
+  public JournalOptions setSyncBatchSize(int syncBatchSize) {
+    this.syncBatchSize = syncBatchSize > 0 ? syncBatchSize : 1;
+    return this;
+  }
+
+  /**
+   * @return The maximum delay before appended records are synced, in
+   *         milliseconds.
+   */
+  public long getSyncInterval() {
+    return syncInterval;
+  }
+
+  /**
+   * Set the maximum delay before appended records are synced, in
+   * milliseconds.
+   *
+   * @param syncInterval
+   * @return This JournalOptions instance.
+   */
+  public JournalOptions setSyncInterval(long syncInterval) {
+    this.syncInterval = syncInterval > 0 ? syncInterval : 100;
+    return this;
+  }
+
+  public Predicate<ConcurrentHashMap<String, Object>> getFilter() {
+    return filter;
+  }
+
+  public JournalOptions setFilter(
+      Predicate<ConcurrentHashMap<String, Object>> filter) {
+    this.filter = defaultValue(filter, JournalOptions::defaultFilter);
+    return this;
+  }
+}
@@ -1,12 +1,24 @@
 package io.kuzzle.sdk.Options;
 
+import io.kuzzle.sdk.CoreClasses.Journal.RequestJournal;
+
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static io.kuzzle.sdk.Helpers.Default.defaultValue;
 
 public class KuzzleOptions {
 
+  /**
+   * Executor running continuations on the thread completing the request,
+   * i.e. the network thread. Only suitable for trivial, non-blocking
+   * continuations.
+   */
+  public static final Executor SAME_THREAD_EXECUTOR = Runnable::run;
+
   /**
    * The maximum amount of elements that the queue can contains. If set to -1,
    * the size is unlimited.
@@ -30,11 +42,68 @@ public class KuzzleOptions {
    */
   private int maxRequestDelay = 1000;
 
+  /**
+   * The time, in milliseconds, to wait for the response of a sent request
+   * before failing it. 0 for no timeout.
+   */
+  private int requestTimeout = 60000;
+
   private Predicate<ConcurrentHashMap<String, Object>> queueFilter = (
       ConcurrentHashMap<String, Object> obj) -> true;
 
   private boolean autoResubscribe = true;
 
+  /**
+   * If true, requests made while the SDK is disconnected are queued instead
+   * of being rejected, and replayed on the next connection.
+   */
+  private boolean autoQueue = false;
+
+  /**
+   * Journal persisting the requests until Kuzzle answers them. Disabled if
+   * null.
+   */
+  private RequestJournal journal = null;
+
+  /**
+   * Generates the requests unique identifiers. If null, each Kuzzle instance
+   * uses its own SequentialIdGenerator.
+   */
+  private Supplier<String> requestIdGenerator = null;
+
+  /**
+   * Executor running the controllers response processing and the callbacks
+   * chained to it.
+   */
+  private Executor executor = ForkJoinPool.commonPool();
+
+  /**
+   * If true, JSON objects in API results are decoded as read-optimized
+   * CompactKuzzleMap instances.
+   */
+  private boolean compactResults = false;
+
+  /**
+   * Batching of concurrent single-document writes. Disabled if null.
+   */
+  private WriteBatchingOptions writeBatching = null;
+
+  /**
+   * Batching of concurrent document gets. Disabled if null.
+   */
+  private ReadBatchingOptions readBatching = null;
+
+  /**
+   * Client-side cache of the documents read with get and mGet. Disabled if
+   * null.
+   */
+  private DocumentCacheOptions documentCache = null;
+
+  /**
+   * Client-side rate limiting of the requests. Disabled if null.
+   */
+  private RateLimitOptions rateLimit = null;
+
   /**
    * Initialize a new KuzzleOptions instance.
    */
@@ -51,8 +120,18 @@ public class KuzzleOptions {
     this.minTokenDuration = options.minTokenDuration;
     this.refreshedTokenDuration = options.refreshedTokenDuration;
     this.autoResubscribe = options.autoResubscribe;
+    this.autoQueue = options.autoQueue;
+    this.journal = options.journal;
+    this.requestIdGenerator = options.requestIdGenerator;
+    this.executor = options.executor;
+    this.compactResults = options.compactResults;
+    this.writeBatching = options.writeBatching;
+    this.readBatching = options.readBatching;
+    this.documentCache = options.documentCache;
+    this.rateLimit = options.rateLimit;
 
     this.maxRequestDelay = options.maxRequestDelay;
+    this.requestTimeout = options.requestTimeout;
 
     this.queueFilter = options.queueFilter;
   }
@@ -140,6 +219,26 @@ public class KuzzleOptions {
     return this;
   }
 
+  /**
+   * @return The time to wait for the response of a sent request, in
+   *         milliseconds. 0 for no timeout.
+   */
+  public int getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  /**
+   * Set the time to wait for the response of a sent request before failing
+   * it with a RequestTimeoutException, in milliseconds. 0 for no timeout.
+   *
+   * @param requestTimeout
+   * @return This KuzzleOptions instance
+   */
+  public KuzzleOptions setRequestTimeout(int requestTimeout) {
+    this.requestTimeout = Math.max(0, requestTimeout);
+    return this;
+  }
+
   public Predicate<ConcurrentHashMap<String, Object>> getQueueFilter() {
     return queueFilter;
   }
@@ -159,4 +258,188 @@ public class KuzzleOptions {
     this.autoResubscribe = autoResubscribe;
     return this;
   }
+
+  /**
+   * @return If requests made while disconnected are queued.
+   */
+  public boolean isAutoQueue() {
+    return autoQueue;
+  }
+
+  /**
+   * Set if requests made while disconnected are queued instead of being
+   * rejected. Requests made while reconnecting are always queued.
+   *
+   * @param autoQueue
+   * @return This KuzzleOptions instance
+   */
+  public KuzzleOptions setAutoQueue(boolean autoQueue) {
+    this.autoQueue = autoQueue;
+    return this;
+  }
+
+  /**
+   * @return The journal persisting requests, or null if disabled.
+   */
+  public RequestJournal getJournal() {
+    return journal;
+  }
+
+  /**
+   * Set the journal persisting requests until Kuzzle answers them. Requests
+   * left in the journal by a previous run are queued and replayed once
+   * connected.
+   *
+   * @param journal
+   * @return This KuzzleOptions instance
+   */
+  public KuzzleOptions setJournal(RequestJournal journal) {
+    this.journal = journal;
+    return this;
+  }
+
+  /**
+   * @return The request identifiers generator, or null to use the default
+   *         one.
+   */
+  public Supplier<String> getRequestIdGenerator() {
+    return requestIdGenerator;
+  }
+
+  /**
+   * Set the generator of request unique identifiers. It must never return
+   * the same identifier twice. If null, each Kuzzle instance uses its own
+   * SequentialIdGenerator.
+   *
+   * @param requestIdGenerator
+   * @return This KuzzleOptions instance
+   */
+  public KuzzleOptions setRequestIdGenerator(
+      Supplier<String> requestIdGenerator) {
+    this.requestIdGenerator = requestIdGenerator;
+    return this;
+  }
+
+  /**
+   * @return The executor running the controllers response processing.
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Set the executor running the controllers response processing, and the
+   * callbacks chained to it. Defaults to ForkJoinPool.commonPool(). Use
+   * SAME_THREAD_EXECUTOR to skip the thread handoff.
+   *
+   * @param executor
+   * @return This KuzzleOptions instance
+   */
+  public KuzzleOptions setExecutor(Executor executor) {
+    this.executor = defaultValue(executor, ForkJoinPool.commonPool());
+    return this;
+  }
+
+  /**
+   * @return If API results are decoded as compact maps.
+   */
+  public boolean isCompactResults() {
+    return compactResults;
+  }
+
+  /**
+   * Set if JSON objects in API results are decoded as CompactKuzzleMap.
+   * Compact maps share their keys with the sibling objects having the same
+   * keys and allocate no hash table until they are modified, which makes
+   * large results (e.g. search pages) several times smaller in memory.
+   *
+   * @param compactResults
+   * @return This KuzzleOptions instance
+   */
+  public KuzzleOptions setCompactResults(boolean compactResults) {
+    this.compactResults = compactResults;
+    return this;
+  }
+
+  /**
+   * @return The batching options of single-document writes, or null if
+   *         disabled.
+   */
+  public WriteBatchingOptions getWriteBatching() {
+    return writeBatching;
+  }
+
+  /**
+   * Enable the batching of single-document writes: concurrent
+   * DocumentController.create and createOrReplace calls targeting the same
+   * collection are sent together with mCreate and mCreateOrReplace. Disabled
+   * if null.
+   *
+   * @param writeBatching
+   * @return This KuzzleOptions instance
+   */
+  public KuzzleOptions setWriteBatching(WriteBatchingOptions writeBatching) {
+    this.writeBatching = writeBatching;
+    return this;
+  }
+
+  /**
+   * @return The batching options of document gets, or null if disabled.
+   */
+  public ReadBatchingOptions getReadBatching() {
+    return readBatching;
+  }
+
+  /**
+   * Enable the batching of document gets: concurrent DocumentController.get
+   * calls targeting the same collection are fetched together with mGet, and
+   * concurrent gets of the same document are fetched once. Disabled if null.
+   *
+   * @param readBatching
+   * @return This KuzzleOptions instance
+   */
+  public KuzzleOptions setReadBatching(ReadBatchingOptions readBatching) {
+    this.readBatching = readBatching;
+    return this;
+  }
+
+  /**
+   * @return The document cache options, or null if disabled.
+   */
+  public DocumentCacheOptions getDocumentCache() {
+    return documentCache;
+  }
+
+  /**
+   * Enable the client-side document cache: documents read with
+   * DocumentController.get and mGet are cached, and kept up to date with
+   * realtime subscriptions to their collections. Disabled if null.
+   *
+   * @param documentCache
+   * @return This KuzzleOptions instance
+   */
+  public KuzzleOptions setDocumentCache(DocumentCacheOptions documentCache) {
+    this.documentCache = documentCache;
+    return this;
+  }
+
+  /**
+   * @return The rate limit options, or null if disabled.
+   */
+  public RateLimitOptions getRateLimit() {
+    return rateLimit;
+  }
+
+  /**
+   * Enable the client-side rate limiting: requests are sent within token
+   * bucket limits on requests and characters per second, and within a fixed
+   * or adaptive concurrency limit. Disabled if null.
+   *
+   * @param rateLimit
+   * @return This KuzzleOptions instance
+   */
+  public KuzzleOptions setRateLimit(RateLimitOptions rateLimit) {
+    this.rateLimit = rateLimit;
+    return this;
+  }
 }
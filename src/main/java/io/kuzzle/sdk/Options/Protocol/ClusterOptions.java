@@ -0,0 +1,95 @@
+package io.kuzzle.sdk.Options.Protocol;
+
+public class ClusterOptions {
+
+  /**
+   * The number of milliseconds between 2 health checks of the nodes.
+   * 0 to disable the periodic health checks.
+   */
+  private long healthCheckInterval = 5000;
+
+  /**
+   * The number of milliseconds a node has to answer a health check before it
+   * is considered unhealthy.
+   */
+  private long healthCheckTimeout = 2000;
+
+  /**
+   * If the requests sent to a lost node, and still waiting for their
+   * response, are sent again to the new node.
+   */
+  private boolean replayPendingRequests = true;
+
+  /**
+   * Initialize a new ClusterOptions instance.
+   */
+  public ClusterOptions() {
+  }
+
+  /**
+   * Initialize a new ClusterOptions instance and copy other ClusterOptions
+   * fields
+   *
+   * @param other
+   */
+  public ClusterOptions(ClusterOptions other) {
+    this.healthCheckInterval = other.healthCheckInterval;
+    this.healthCheckTimeout = other.healthCheckTimeout;
+    this.replayPendingRequests = other.replayPendingRequests;
+  }
+
+  /**
+   * @return The number of milliseconds between 2 health checks.
+   */
+  public long getHealthCheckInterval() {
+    return healthCheckInterval;
+  }
+
+  /**
+   * Set the number of milliseconds between 2 health checks.
+   *
+   * @param healthCheckInterval
+   * @return This ClusterOptions instance.
+   */
+  public ClusterOptions setHealthCheckInterval(long healthCheckInterval) {
+    this.healthCheckInterval = Math.max(0, healthCheckInterval);
+    return this;
+  }
+
+  /**
+   * @return The number of milliseconds a node has to answer a health check.
+   */
+  public long getHealthCheckTimeout() {
+    return healthCheckTimeout;
+  }
+
+  /**
+   * Set the number of milliseconds a node has to answer a health check.
+   *
+   * @param healthCheckTimeout
+   * @return This ClusterOptions instance.
+   */
+  public ClusterOptions setHealthCheckTimeout(long healthCheckTimeout) {
+    this.healthCheckTimeout = Math.max(0, healthCheckTimeout);
+    return this;
+  }
+
+  /**
+   * @return If pending requests are sent again after a failover.
+   */
+  public boolean isReplayPendingRequests() {
+    return replayPendingRequests;
+  }
+
+  /**
+   * Set if pending requests are sent again after a failover.
+   *
+   * @param replayPendingRequests
+   * @return This ClusterOptions instance.
+   */
+  public ClusterOptions setReplayPendingRequests(
+      boolean replayPendingRequests) {
+    this.replayPendingRequests = replayPendingRequests;
+    return this;
+  }
+}
@@ -0,0 +1,256 @@
+package io.kuzzle.sdk.Options;
+
+public class RateLimitOptions {
+
+  /**
+   * How the number of concurrent requests is limited.
+   */
+  public enum Concurrency {
+    /**
+     * At most maxConcurrency requests in flight.
+     */
+    FIXED,
+    /**
+     * Additive increase while requests succeed, multiplicative decrease when
+     * Kuzzle is overloaded (429 and 503 errors, timeouts).
+     */
+    AIMD,
+    /**
+     * Increase while the response time stays close to the lowest one
+     * observed, decrease when requests start queuing on the server side.
+     */
+    VEGAS
+  }
+
+  /**
+   * What to do with a request exceeding the limits.
+   */
+  public enum Overflow {
+    /**
+     * Wait until the limits allow it to be sent.
+     */
+    QUEUE,
+    /**
+     * Fail it immediately with a RateLimitExceededException.
+     */
+    FAIL_FAST
+  }
+
+  /**
+   * The maximum number of requests sent per second. 0 for no limit.
+   */
+  private double requestsPerSecond = 0;
+
+  /**
+   * The maximum number of serialized characters sent per second. 0 for no
+   * limit.
+   */
+  private long bytesPerSecond = 0;
+
+  /**
+   * How the number of concurrent requests is limited.
+   */
+  private Concurrency concurrency = Concurrency.FIXED;
+
+  /**
+   * The concurrency limit an adaptive limit starts from.
+   */
+  private int initialConcurrency = 20;
+
+  /**
+   * The lowest concurrency limit.
+   */
+  private int minConcurrency = 1;
+
+  /**
+   * The highest concurrency limit. 0 for no limit.
+   */
+  private int maxConcurrency = 0;
+
+  /**
+   * What to do with a request exceeding the limits.
+   */
+  private Overflow overflow = Overflow.QUEUE;
+
+  /**
+   * The maximum number of requests waiting for the limits. If set to -1, the
+   * size is unlimited.
+   */
+  private int maxQueueSize = -1;
+
+  /**
+   * Initialize a new RateLimitOptions instance.
+   */
+  public RateLimitOptions() {
+  }
+
+  /**
+   * Initialize a new RateLimitOptions instance and copy other
+   * RateLimitOptions fields
+   *
+   * @param other
+   */
+  public RateLimitOptions(RateLimitOptions other) {
+    this.requestsPerSecond = other.requestsPerSecond;
+    this.bytesPerSecond = other.bytesPerSecond;
+    this.concurrency = other.concurrency;
+    this.initialConcurrency = other.initialConcurrency;
+    this.minConcurrency = other.minConcurrency;
+    this.maxConcurrency = other.maxConcurrency;
+    this.overflow = other.overflow;
+    this.maxQueueSize = other.maxQueueSize;
+  }
+
+  /**
+   * @return The maximum number of requests sent per second. 0 for no limit.
+   */
+  public double getRequestsPerSecond() {
+    return requestsPerSecond;
+  }
+
+  /**
+   * Set the maximum number of requests sent per second. Up to one second
+   * worth of requests can be sent in a burst. 0 for no limit.
+   *
+   * @param requestsPerSecond
+   * @return This RateLimitOptions instance.
+   */
+  public RateLimitOptions setRequestsPerSecond(double requestsPerSecond) {
+    this.requestsPerSecond = Math.max(0, requestsPerSecond);
+    return this;
+  }
+
+  /**
+   * @return The maximum number of serialized characters sent per second. 0
+   * for no limit.
+   */
+  public long getBytesPerSecond() {
+    return bytesPerSecond;
+  }
+
+  /**
+   * Set the maximum number of serialized characters sent per second. Up to
+   * one second worth of characters can be sent in a burst, and a request
+   * larger than that is sent once the budget is full. 0 for no limit.
+   *
+   * @param bytesPerSecond
+   * @return This RateLimitOptions instance.
+   */
+  public RateLimitOptions setBytesPerSecond(long bytesPerSecond) {
+    this.bytesPerSecond = Math.max(0, bytesPerSecond);
+    return this;
+  }
+
+  /**
+   * @return How the number of concurrent requests is limited.
+   */
+  public Concurrency getConcurrency() {
+    return concurrency;
+  }
+
+  /**
+   * Set how the number of concurrent requests is limited.
+   *
+   * @param concurrency
+   * @return This RateLimitOptions instance.
+   */
+  public RateLimitOptions setConcurrency(Concurrency concurrency) {
+    this.concurrency = concurrency != null ? concurrency : Concurrency.FIXED;
+    return this;
+  }
+
+  /**
+   * @return The concurrency limit an adaptive limit starts from.
+   */
+  public int getInitialConcurrency() {
+    return initialConcurrency;
+  }
+
+  /**
+   * Set the concurrency limit an adaptive limit starts from.
+   *
+   * @param initialConcurrency
+   * @return This RateLimitOptions instance.
+   */
+  public RateLimitOptions setInitialConcurrency(int initialConcurrency) {
+    this.initialConcurrency = initialConcurrency > 0 ? initialConcurrency : 20;
+    return this;
+  }
+
+  /**
+   * @return The lowest concurrency limit.
+   */
+  public int getMinConcurrency() {
+    return minConcurrency;
+  }
+
+  /**
+   * Set the lowest concurrency limit an adaptive limit can decrease to.
+   *
+   * @param minConcurrency
+   * @return This RateLimitOptions instance.
+   */
+  public RateLimitOptions setMinConcurrency(int minConcurrency) {
+    this.minConcurrency = Math.max(1, minConcurrency);
+    return this;
+  }
+
+  /**
+   * @return The highest concurrency limit. 0 for no limit.
+   */
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Set the highest concurrency limit: the limit itself with the FIXED
+   * concurrency, the highest limit an adaptive limit can increase to
+   * otherwise. 0 for no limit.
+   *
+   * @param maxConcurrency
+   * @return This RateLimitOptions instance.
+   */
+  public RateLimitOptions setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = Math.max(0, maxConcurrency);
+    return this;
+  }
+
+  /**
+   * @return What to do with a request exceeding the limits.
+   */
+  public Overflow getOverflow() {
+    return overflow;
+  }
+
+  /**
+   * Set what to do with a request exceeding the limits.
+   *
+   * @param overflow
+   * @return This RateLimitOptions instance.
+   */
+  public RateLimitOptions setOverflow(Overflow overflow) {
+    this.overflow = overflow != null ? overflow : Overflow.QUEUE;
+    return this;
+  }
+
+  /**
+   * @return The maximum number of requests waiting for the limits. If set to
+   * -1, the size is unlimited.
+   */
+  public int getMaxQueueSize() {
+    return maxQueueSize;
+  }
+
+  /**
+   * Set the maximum number of requests waiting for the limits. Requests
+   * exceeding the limits while the queue is full fail with a
+   * RateLimitExceededException. If set to -1, the size is unlimited.
+   *
+   * @param maxQueueSize
+   * @return This RateLimitOptions instance.
+   */
+  public RateLimitOptions setMaxQueueSize(int maxQueueSize) {
+    this.maxQueueSize = Math.max(-1, maxQueueSize);
+    return this;
+  }
+}
@@ -0,0 +1,70 @@
+package io.kuzzle.sdk.Options;
+
+public class ReadBatchingOptions {
+
+  /**
+   * The maximum number of document IDs per batch. A batch is sent as soon as
+   * it is full.
+   */
+  private int maxBatchSize = 100;
+
+  /**
+   * The maximum delay, in milliseconds, a get waits for other gets to be
+   * batched with.
+   */
+  private long lingerTime = 2;
+
+  /**
+   * Initialize a new ReadBatchingOptions instance.
+   */
+  public ReadBatchingOptions() {
+  }
+
+  /**
+   * Initialize a new ReadBatchingOptions instance and copy other
+   * ReadBatchingOptions fields
+   *
+   * @param other
+   */
+  public ReadBatchingOptions(ReadBatchingOptions other) {
+    this.maxBatchSize = other.maxBatchSize;
+    this.lingerTime = other.lingerTime;
+  }
+
+  /**
+   * @return The maximum number of document IDs per batch.
+   */
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /**
+   * Set the maximum number of document IDs per batch.
+   *
+   * @param maxBatchSize
+   * @return This ReadBatchingOptions instance.
+   */
+  public ReadBatchingOptions setMaxBatchSize(int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize > 0 ? maxBatchSize : 100;
+    return this;
+  }
+
+  /**
+   * @return The maximum delay a get waits for other gets, in milliseconds.
+   */
+  public long getLingerTime() {
+    return lingerTime;
+  }
+
+  /**
+   * Set the maximum delay a get waits for other gets to be batched with, in
+   * milliseconds.
+   *
+   * @param lingerTime
+   * @return This ReadBatchingOptions instance.
+   */
+  public ReadBatchingOptions setLingerTime(long lingerTime) {
+    this.lingerTime = Math.max(0, lingerTime);
+    return this;
+  }
+}
@@ -1,5 +1,7 @@
 package io.kuzzle.sdk.Options;
 
+import io.kuzzle.sdk.Protocol.RequestPriority;
+
 import java.util.concurrent.ConcurrentHashMap;
 
 public class SearchOptions {
@@ -7,6 +9,19 @@ public class SearchOptions {
   private Integer from;
   private String scroll;
   private Integer size;
+
+  /**
+   * Offset from which SearchResult.next() paginates with search_after
+   * instead of from/size. If null, sorted searches use search_after from the
+   * second page on, and searches without sort always use from/size.
+   */
+  private Integer searchAfterThreshold = 1000;
+
+  /**
+   * Outbound lane of the request. Null for the action default priority.
+   */
+  private RequestPriority priority;
+
   /**
    * Constructor
    */
@@ -21,6 +36,8 @@ public class SearchOptions {
     this.from = options.getFrom();
     this.scroll = options.getScroll();
     this.size = options.getSize();
+    this.searchAfterThreshold = options.getSearchAfterThreshold();
+    this.priority = options.getPriority();
   }
 
   public Integer getFrom() {
@@ -47,6 +64,38 @@ public class SearchOptions {
     this.scroll = scroll;
   }
 
+  public Integer getSearchAfterThreshold() {
+    return searchAfterThreshold;
+  }
+
+  /**
+   * Set the offset from which SearchResult.next() paginates with search_after
+   * instead of from/size. Searches that may switch have their sort made
+   * unique with an "_id" tiebreaker from the first page on, searches without
+   * sort being sorted by relevance first.
+   * If null, sorted searches use search_after from the second page on, and
+   * searches without sort always use from/size.
+   *
+   * @param searchAfterThreshold
+   */
+  public void setSearchAfterThreshold(Integer searchAfterThreshold) {
+    this.searchAfterThreshold = searchAfterThreshold;
+  }
+
+  public RequestPriority getPriority() {
+    return priority;
+  }
+
+  /**
+   * Set the outbound lane of the request, instead of the action default
+   * priority.
+   *
+   * @param priority
+   */
+  public void setPriority(RequestPriority priority) {
+    this.priority = priority;
+  }
+
   public ConcurrentHashMap<String, Object> toHashMap() {
     ConcurrentHashMap<String, Object> options = new ConcurrentHashMap<>();
 
@@ -54,6 +103,10 @@ public class SearchOptions {
     options.put("scroll", this.scroll);
     options.put("size", this.size);
 
+    if (this.priority != null) {
+      options.put("priority", this.priority);
+    }
+
     return options;
   }
 }
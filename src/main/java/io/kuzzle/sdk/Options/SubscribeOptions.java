@@ -1,5 +1,7 @@
 package io.kuzzle.sdk.Options;
 
+import io.kuzzle.sdk.Protocol.RequestPriority;
+
 import java.util.concurrent.ConcurrentHashMap;
 
 public class SubscribeOptions {
@@ -40,6 +42,11 @@ public class SubscribeOptions {
   private boolean subscribeToSelf = true;
   private ConcurrentHashMap<String, Object> volatiles = new ConcurrentHashMap<>();
 
+  /**
+   * Outbound lane of the request. Null for the action default priority.
+   */
+  private RequestPriority priority;
+
   /**
    * Constructor
    */
@@ -55,6 +62,7 @@ public class SubscribeOptions {
     this.users = options.getUsers();
     this.subscribeToSelf = options.isSubscribeToSelf();
     this.volatiles = options.getVolatiles();
+    this.priority = options.getPriority();
   }
 
   public Scope getScope() {
@@ -89,6 +97,20 @@ public class SubscribeOptions {
     this.volatiles = volatiles;
   }
 
+  public RequestPriority getPriority() {
+    return priority;
+  }
+
+  /**
+   * Set the outbound lane of the request, instead of the action default
+   * priority.
+   *
+   * @param priority
+   */
+  public void setPriority(RequestPriority priority) {
+    this.priority = priority;
+  }
+
   public ConcurrentHashMap<String, Object> toHashMap() {
     ConcurrentHashMap<String, Object> options = new ConcurrentHashMap<>();
 
@@ -97,6 +119,10 @@ public class SubscribeOptions {
     options.put("subscribeToSelf", this.subscribeToSelf);
     options.put("volatile", this.volatiles);
 
+    if (this.priority != null) {
+      options.put("priority", this.priority);
+    }
+
     return options;
   }
 }
@@ -1,5 +1,7 @@
 package io.kuzzle.sdk.Options;
 
+import io.kuzzle.sdk.Protocol.RequestPriority;
+
 import java.util.concurrent.ConcurrentHashMap;
 
 public class UpdateOptions {
@@ -7,6 +9,11 @@ public class UpdateOptions {
   private Integer retryOnConflict;
   private Boolean source;
   private Boolean waitForRefresh;
+
+  /**
+   * Outbound lane of the request. Null for the action default priority.
+   */
+  private RequestPriority priority;
   /**
    * Constructor
    */
@@ -21,13 +28,14 @@ public class UpdateOptions {
     this.waitForRefresh = options.getWaitForRefresh();
     this.retryOnConflict = options.getRetryOnConflict();
     this.source = options.getSource();
+    this.priority = options.getPriority();
   }
 
   public Boolean getWaitForRefresh() {
     return waitForRefresh;
   }
 
-  public int getRetryOnConflict() {
+  public Integer getRetryOnConflict() {
     return retryOnConflict;
   }
 
@@ -47,6 +55,20 @@ public class UpdateOptions {
     this.source = source;
   }
 
+  public RequestPriority getPriority() {
+    return priority;
+  }
+
+  /**
+   * Set the outbound lane of the request, instead of the action default
+   * priority.
+   *
+   * @param priority
+   */
+  public void setPriority(RequestPriority priority) {
+    this.priority = priority;
+  }
+
   public ConcurrentHashMap<String, Object> toHashMap() {
     ConcurrentHashMap<String, Object> options = new ConcurrentHashMap<>();
 
@@ -54,6 +76,10 @@ public class UpdateOptions {
     options.put("waitForRefresh", this.waitForRefresh);
     options.put("retryOnConflict", this.retryOnConflict);
 
+    if (this.priority != null) {
+      options.put("priority", this.priority);
+    }
+
     return options;
   }
 }
@@ -0,0 +1,71 @@
+package io.kuzzle.sdk.Options;
+
+public class WriteBatchingOptions {
+
+  /**
+   * The maximum number of documents per batch. A batch is sent as soon as
+   * it is full.
+   */
+  private int maxBatchSize = 100;
+
+  /**
+   * The maximum delay, in milliseconds, a document waits for other
+   * documents to be batched with.
+   */
+  private long lingerTime = 5;
+
+  /**
+   * Initialize a new WriteBatchingOptions instance.
+   */
+  public WriteBatchingOptions() {
+  }
+
+  /**
+   * Initialize a new WriteBatchingOptions instance and copy other
+   * WriteBatchingOptions fields
+   *
+   * @param other
+   */
+  public WriteBatchingOptions(WriteBatchingOptions other) {
+    this.maxBatchSize = other.maxBatchSize;
+    this.lingerTime = other.lingerTime;
+  }
+
+  /**
+   * @return The maximum number of documents per batch.
+   */
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /**
+   * Set the maximum number of documents per batch.
+   *
+   * @param maxBatchSize
+   * @return This WriteBatchingOptions instance.
+   */
+  public WriteBatchingOptions setMaxBatchSize(int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize > 0 ? maxBatchSize : 100;
+    return this;
+  }
+
+  /**
+   * @return The maximum delay a document waits for other documents, in
+   *         milliseconds.
+   */
+  public long getLingerTime() {
+    return lingerTime;
+  }
+
+  /**
+   * Set the maximum delay a document waits for other documents to be
+   * batched with, in milliseconds.
+   *
+   * @param lingerTime
+   * @return This WriteBatchingOptions instance.
+   */
+  public WriteBatchingOptions setLingerTime(long lingerTime) {
+    this.lingerTime = Math.max(0, lingerTime);
+    return this;
+  }
+}
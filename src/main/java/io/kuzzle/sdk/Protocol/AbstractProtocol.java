@@ -29,4 +29,71 @@ public abstract class AbstractProtocol extends EventManager {
    * @param payload
    */
   public abstract void send(ConcurrentHashMap<String, Object> payload);
+
+  /**
+   * Send the specified payload to Kuzzle, in the outbound lane of the given
+   * priority. Protocols without lanes send it like any other payload.
+   *
+   * @param payload
+   * @param priority
+   */
+  public void send(ConcurrentHashMap<String, Object> payload,
+                   RequestPriority priority) {
+    send(payload);
+  }
+
+  /**
+   * Send the specified payload to Kuzzle, in the outbound lane of the given
+   * priority, reusing its serialized form if the caller already has it.
+   * Protocols not writing JSON send it like any other payload.
+   *
+   * @param payload
+   * @param serialized Serialized payload, or null
+   * @param priority
+   */
+  public void send(ConcurrentHashMap<String, Object> payload,
+                   String serialized,
+                   RequestPriority priority) {
+    send(payload, priority);
+  }
+
+  /**
+   * Withdraw a payload that has not been written to the network yet.
+   * Protocols writing payloads as soon as they are sent cannot withdraw
+   * them.
+   *
+   * @param payload
+   * @return true if the payload was withdrawn and will never be sent.
+   */
+  public boolean cancel(ConcurrentHashMap<String, Object> payload) {
+    return false;
+  }
+
+  /**
+   * Called once a request is over: answered, failed, timed out or
+   * cancelled. Protocols keeping track of the requests they sent drop it.
+   *
+   * @param requestId
+   */
+  public void forget(String requestId) {
+  }
+
+  /**
+   * Read the requestId of a raw response without parsing it: the response
+   * is parsed once, by the Kuzzle instance.
+   *
+   * @param response Raw API response
+   * @return The requestId, or null if there is none
+   */
+  static String requestId(final String response) {
+    final String key = "\"requestId\":\"";
+    final int start = response.indexOf(key);
+
+    if (start < 0) {
+      return null;
+    }
+
+    final int end = response.indexOf('"', start + key.length());
+    return end < 0 ? null : response.substring(start + key.length(), end);
+  }
 }
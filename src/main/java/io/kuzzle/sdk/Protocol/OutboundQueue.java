@@ -0,0 +1,197 @@
+package io.kuzzle.sdk.Protocol;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Queue of the payloads waiting to be written to the network, with one lane
+ * per RequestPriority. Lanes are served by deficit round robin: each turn,
+ * a lane is credited its weight times QUANTUM characters, and sends its
+ * payloads as long as its credit covers them. A large payload waits for
+ * its lane to accumulate enough credit, while the other lanes keep being
+ * served: at most one large payload at a time is ahead of a small one.
+ */
+public class OutboundQueue {
+  /**
+   * Credit given to a lane per weight unit and per turn, in characters.
+   */
+  public static final int QUANTUM = 16 * 1024;
+
+  /**
+   * A serialized payload.
+   */
+  public static final class Frame {
+    private final ConcurrentHashMap<String, Object> payload;
+    private final String text;
+    private final RequestPriority priority;
+
+    public Frame(final ConcurrentHashMap<String, Object> payload,
+                 final String text,
+                 final RequestPriority priority) {
+      this.payload = payload;
+      this.text = text;
+      this.priority = priority;
+    }
+
+    /**
+     * @return The payload
+     */
+    public ConcurrentHashMap<String, Object> getPayload() {
+      return payload;
+    }
+
+    /**
+     * @return The serialized payload
+     */
+    public String getText() {
+      return text;
+    }
+
+    /**
+     * @return The lane of the payload
+     */
+    public RequestPriority getPriority() {
+      return priority;
+    }
+  }
+
+  private final ArrayDeque<Frame>[] lanes;
+  private final long[] deficits;
+  private int current = 0;
+  private boolean credited = false;
+  private int size = 0;
+
+  public OutboundQueue() {
+    final int count = RequestPriority.values().length;
+
+    this.lanes = newLanes(count);
+    this.deficits = new long[count];
+    for (int i = 0; i < count; i++) {
+      lanes[i] = new ArrayDeque<>();
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static ArrayDeque<Frame>[] newLanes(final int count) {
+    return (ArrayDeque<Frame>[]) new ArrayDeque[count];
+  }
+
+  /**
+   * Queue a frame at the end of its lane.
+   *
+   * @param frame
+   */
+  public synchronized void add(final Frame frame) {
+    lanes[frame.priority.ordinal()].addLast(frame);
+    size++;
+    notifyAll();
+  }
+
+  /**
+   * Put frames taken but not written back at the head of their lanes, in
+   * order.
+   *
+   * @param frames
+   */
+  public synchronized void requeue(final List<Frame> frames) {
+    for (int i = frames.size() - 1; i >= 0; i--) {
+      lanes[frames.get(i).priority.ordinal()].addFirst(frames.get(i));
+      size++;
+    }
+    notifyAll();
+  }
+
+  /**
+   * Wait for a frame, and take the next one to write.
+   *
+   * @return The next frame
+   * @throws InterruptedException
+   */
+  public synchronized Frame take() throws InterruptedException {
+    while (size == 0) {
+      wait();
+    }
+    return next();
+  }
+
+  /**
+   * @return The next frame to write, or null if the queue is empty
+   */
+  public synchronized Frame poll() {
+    return size == 0 ? null : next();
+  }
+
+  /**
+   * Remove the frame of a payload.
+   *
+   * @param payload
+   * @return true if the payload was queued
+   */
+  public synchronized boolean remove(
+      final ConcurrentHashMap<String, Object> payload) {
+    for (final ArrayDeque<Frame> lane : lanes) {
+      // payloads are compared by identity: their content may be identical
+      if (lane.removeIf(frame -> frame.payload == payload)) {
+        size--;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return The number of queued frames
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * @param priority
+   * @return The number of frames queued in a lane
+   */
+  public synchronized int size(final RequestPriority priority) {
+    return lanes[priority.ordinal()].size();
+  }
+
+  private Frame next() {
+    while (true) {
+      final ArrayDeque<Frame> lane = lanes[current];
+
+      if (lane.isEmpty()) {
+        deficits[current] = 0;
+        advance();
+        continue;
+      }
+
+      if (!credited) {
+        deficits[current] += (long) RequestPriority.values()[current].getWeight()
+            * QUANTUM;
+        credited = true;
+      }
+
+      final Frame head = lane.peekFirst();
+
+      if (head.text.length() > deficits[current]) {
+        advance();
+        continue;
+      }
+
+      lane.pollFirst();
+      size--;
+      deficits[current] -= head.text.length();
+
+      if (lane.isEmpty()) {
+        deficits[current] = 0;
+        advance();
+      }
+      return head;
+    }
+  }
+
+  private void advance() {
+    current = (current + 1) % lanes.length;
+    credited = false;
+  }
+}
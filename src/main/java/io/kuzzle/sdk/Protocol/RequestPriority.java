@@ -0,0 +1,60 @@
+package io.kuzzle.sdk.Protocol;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Outbound lane of a request. Network protocols queuing requests serve the
+ * lanes with weighted fairness, so that bulk requests do not delay the
+ * latency-sensitive ones queued behind them.
+ */
+public enum RequestPriority {
+  CONTROL(8), // Authentication and subscriptions.
+  INTERACTIVE(4), // Latency-sensitive requests.
+  BULK(1); // Multi-document and by-query writes.
+
+  private static final Set<String> BULK_DOCUMENT_ACTIONS = new HashSet<>(
+      Arrays.asList("mCreate", "mCreateOrReplace", "mReplace", "mUpdate",
+          "mDelete", "deleteByQuery", "updateByQuery"));
+
+  private final int weight;
+
+  RequestPriority(final int weight) {
+    this.weight = weight;
+  }
+
+  /**
+   * @return The share of the outbound bandwidth of this lane, relative to
+   * the other lanes.
+   */
+  public int getWeight() {
+    return weight;
+  }
+
+  /**
+   * Default priority of an API action.
+   *
+   * @param controller
+   * @param action
+   * @return CONTROL for the auth controller and for realtime subscriptions,
+   * BULK for the bulk controller and the multi-document writes, INTERACTIVE
+   * otherwise.
+   */
+  public static RequestPriority of(final String controller,
+                                   final String action) {
+    if ("auth".equals(controller)
+        || "realtime".equals(controller)
+        && ("subscribe".equals(action) || "unsubscribe".equals(action))) {
+      return CONTROL;
+    }
+
+    if ("bulk".equals(controller)
+        || "document".equals(controller)
+        && BULK_DOCUMENT_ACTIONS.contains(action)) {
+      return BULK;
+    }
+
+    return INTERACTIVE;
+  }
+}
@@ -12,23 +12,42 @@ import javax.net.ssl.SSLSocketFactory;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.concurrent.BlockingDeque;
+import java.util.ArrayList;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class WebSocket extends AbstractProtocol {
 
   protected final boolean ssl;
   protected final int port;
-  protected BlockingDeque<ConcurrentHashMap<String, Object>> queue;
-  protected com.neovisionaries.ws.client.WebSocket socket;
-  protected ProtocolState state = ProtocolState.CLOSE;
+  /**
+   * Maximum number of characters written between two flushes, unless a
+   * single payload is larger.
+   */
+  protected static final int MAX_BATCH_LENGTH = 64 * 1024;
+
+  protected OutboundQueue queue;
+  protected volatile com.neovisionaries.ws.client.WebSocket socket;
+  protected volatile ProtocolState state = ProtocolState.CLOSE;
   protected URI uri;
   protected int connectionTimeout;
   protected boolean autoReconnect;
   protected long reconnectionDelay;
   protected long reconnectionRetries;
 
+  /**
+   * Writer thread draining the queue to the socket. It is started on the
+   * first connection and kept alive across reconnections.
+   */
+  protected Thread writer;
+  private final Object writerLock = new Object();
+
+  private final AtomicLong sentFrames = new AtomicLong();
+  private final AtomicLong sentBatches = new AtomicLong();
+  private final AtomicLong sendLatency = new AtomicLong();
+  private final AtomicLong maxSendLatency = new AtomicLong();
+
   public WebSocket(URI uri) throws Exception {
     WebSocketOptions options = new WebSocketOptions();
     if (uri.getPort() > -1) {
@@ -52,7 +71,7 @@ public class WebSocket extends AbstractProtocol {
 
     this.uri = new URI(
         (ssl ? "wss" : "ws") + "://" + uri.getHost() + ":" + port + "/");
-    this.queue = new LinkedBlockingDeque<>();
+    this.queue = new OutboundQueue();
   }
 
   public WebSocket(URI uri, WebSocketOptions options)
@@ -89,16 +108,65 @@ public class WebSocket extends AbstractProtocol {
       throw new IllegalArgumentException("Host name/address can't be empty");
     }
     this.uri = new URI((ssl ? "wss" : "ws") + "://" + host + ":" + port + "/");
-    this.queue = new LinkedBlockingDeque<>();
+    this.queue = new OutboundQueue();
   }
 
   public ProtocolState getState() {
     return state;
   }
 
+  /**
+   * Queue a payload in the lane of its action default priority.
+   *
+   * @param payload
+   */
   @Override
   public void send(ConcurrentHashMap<String, Object> payload) {
-    queue.add(payload);
+    send(payload, RequestPriority.of(
+        Objects.toString(payload.get("controller"), null),
+        Objects.toString(payload.get("action"), null)));
+  }
+
+  /**
+   * Queue a payload in the lane of the given priority. The payload is
+   * serialized by the calling thread.
+   *
+   * @param payload
+   * @param priority
+   */
+  @Override
+  public void send(ConcurrentHashMap<String, Object> payload,
+                   RequestPriority priority) {
+    send(payload, null, priority);
+  }
+
+  /**
+   * Queue a payload in the lane of the given priority. The payload is
+   * serialized by the calling thread, unless it already is.
+   *
+   * @param payload
+   * @param serialized
+   * @param priority
+   */
+  @Override
+  public void send(ConcurrentHashMap<String, Object> payload,
+                   String serialized,
+                   RequestPriority priority) {
+    queue.add(new OutboundQueue.Frame(payload,
+        serialized != null ? serialized : JsonSerializer.serialize(payload),
+        priority != null ? priority : RequestPriority.INTERACTIVE));
+  }
+
+  /**
+   * Remove a payload from the queue, unless the writer thread already took
+   * it.
+   *
+   * @param payload
+   * @return true if the payload was removed from the queue.
+   */
+  @Override
+  public boolean cancel(ConcurrentHashMap<String, Object> payload) {
+    return queue.remove(payload);
   }
 
   protected com.neovisionaries.ws.client.WebSocket createClientSocket()
@@ -132,10 +200,20 @@ public class WebSocket extends AbstractProtocol {
 
     socket = createClientSocket();
 
-    socket.connect();
+    socket.setAutoFlush(false);
+    try {
+      socket.connect();
+    } catch (WebSocketException e) {
+      // forget the failed socket, or the next connect() would be a no-op
+      socket = null;
+      throw e;
+    }
     state = ProtocolState.OPEN;
     super.trigger(Event.networkStateChange, state);
     Dequeue();
+    synchronized (writerLock) {
+      writerLock.notifyAll();
+    }
 
     socket.addListener(new WebSocketAdapter() {
       @Override
@@ -200,26 +278,132 @@ public class WebSocket extends AbstractProtocol {
       if (tryToReconnect) {
         tryToReconnect();
       } else {
-        socket.disconnect();
+        if (socket != null) {
+          socket.disconnect();
+        }
         state = ProtocolState.CLOSE;
         socket = null;
+        if (writer != null) {
+          writer.interrupt();
+          writer = null;
+        }
         super.trigger(Event.networkStateChange, state);
       }
     }
   }
 
-  protected Thread Dequeue() {
-    Thread thread = new Thread(() -> {
-      while (state == ProtocolState.OPEN) {
-        ConcurrentHashMap<String, Object> payload = queue.poll();
-        if (payload != null) {
-          String rawJson = JsonSerializer.serialize(payload);
-          socket.sendText(rawJson);
+  /**
+   * Starts the writer thread, unless it is already running.
+   *
+   * @return The writer thread
+   */
+  protected synchronized Thread Dequeue() {
+    if (writer == null || !writer.isAlive()) {
+      writer = new Thread(this::drainQueue, "kuzzle-websocket-writer");
+      writer.setDaemon(true);
+      writer.start();
+    }
+    return writer;
+  }
+
+  /**
+   * Writer loop: blocks until payloads are available, then takes the ones
+   * that are ready, in lane order and up to MAX_BATCH_LENGTH characters, and
+   * hands them to the socket in a single flush.
+   */
+  private void drainQueue() {
+    final ArrayList<OutboundQueue.Frame> batch = new ArrayList<>();
+
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        awaitOpen();
+
+        OutboundQueue.Frame frame = queue.take();
+        long length = 0;
+
+        while (frame != null) {
+          batch.add(frame);
+          length += frame.getText().length();
+          frame = length < MAX_BATCH_LENGTH ? queue.poll() : null;
+        }
+
+        final com.neovisionaries.ws.client.WebSocket ws = socket;
+        if (ws == null || state != ProtocolState.OPEN) {
+          // Connection lost while waiting: put the batch back, in order
+          queue.requeue(batch);
+          batch.clear();
+          continue;
+        }
+
+        final long start = System.nanoTime();
+        for (final OutboundQueue.Frame payload : batch) {
+          ws.sendText(payload.getText());
         }
+        ws.flush();
+        final long elapsed = System.nanoTime() - start;
+
+        sentFrames.addAndGet(batch.size());
+        sentBatches.incrementAndGet();
+        sendLatency.addAndGet(elapsed);
+        maxSendLatency.accumulateAndGet(elapsed, Math::max);
+        batch.clear();
       }
-    });
-    thread.start();
-    return thread;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void awaitOpen() throws InterruptedException {
+    synchronized (writerLock) {
+      while (state != ProtocolState.OPEN || socket == null) {
+        writerLock.wait();
+      }
+    }
+  }
+
+  /**
+   * @return The number of payloads waiting to be sent.
+   */
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  /**
+   * @param priority
+   * @return The number of payloads of a lane waiting to be sent.
+   */
+  public int getQueueDepth(RequestPriority priority) {
+    return queue.size(priority);
+  }
+
+  /**
+   * @return The number of payloads handed to the socket so far.
+   */
+  public long getSentFrames() {
+    return sentFrames.get();
+  }
+
+  /**
+   * @return The number of batches flushed to the socket so far.
+   */
+  public long getSentBatches() {
+    return sentBatches.get();
+  }
+
+  /**
+   * @return The cumulated time spent serializing and writing batches, in
+   *         nanoseconds.
+   */
+  public long getSendLatency() {
+    return sendLatency.get();
+  }
+
+  /**
+   * @return The longest time spent serializing and writing a single batch, in
+   *         nanoseconds.
+   */
+  public long getMaxSendLatency() {
+    return maxSendLatency.get();
   }
 
   public int getConnectionTimeout() {
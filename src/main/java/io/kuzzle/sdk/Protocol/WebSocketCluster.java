@@ -0,0 +1,709 @@
+package io.kuzzle.sdk.Protocol;
+
+import io.kuzzle.sdk.Events.Event;
+import io.kuzzle.sdk.Options.Protocol.ClusterOptions;
+import io.kuzzle.sdk.Options.Protocol.WebSocketOptions;
+
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Network protocol connected to several nodes of a Kuzzle cluster, from a
+ * list of seed hosts. Requests are sent to a single active node, picked at
+ * random among the healthy ones, with a probability inversely proportional
+ * to its latency.
+ *
+ * Every node is health checked with a server:now request. A node that is
+ * disconnected, or that does not answer its health check in time, is
+ * unhealthy: if it is the active node, another healthy node becomes active
+ * right away. The requests still waiting for their response are then sent
+ * again to the new node, and the protocol goes through the RECONNECTING
+ * and OPEN states so that subscriptions are renewed on it. Disconnected
+ * nodes are reconnected by the health checks.
+ *
+ * The protocol stays RECONNECTING while no node is healthy, until one of
+ * them can be reached again, or until it is disconnected.
+ */
+public class WebSocketCluster extends AbstractProtocol {
+  /**
+   * Prefix of the requestId of health checks, whose responses are not
+   * forwarded
+   */
+  protected static final String PING_PREFIX = "kuzzle-cluster-ping-";
+
+  /**
+   * Weight of the last health check in the latency of a node
+   */
+  private static final double LATENCY_SMOOTHING = 0.3;
+
+  private static final class Node {
+    final AbstractProtocol connection;
+    volatile double latency = -1;
+    volatile boolean healthy = false;
+    String ping;
+    long pingSentAt;
+
+    Node(final AbstractProtocol connection) {
+      this.connection = connection;
+    }
+  }
+
+  private static final class Pending {
+    final int node;
+    final ConcurrentHashMap<String, Object> payload;
+    final String serialized;
+    final RequestPriority priority;
+
+    Pending(final int node,
+            final ConcurrentHashMap<String, Object> payload,
+            final String serialized,
+            final RequestPriority priority) {
+      this.node = node;
+      this.payload = payload;
+      this.serialized = serialized;
+      this.priority = priority;
+    }
+  }
+
+  private final Node[] nodes;
+  private final ClusterOptions options;
+
+  /**
+   * Requests sent and waiting for their response
+   */
+  private final ConcurrentHashMap<String, Pending> pending =
+      new ConcurrentHashMap<>();
+
+  private final AtomicLong pings = new AtomicLong();
+  private final AtomicLong failovers = new AtomicLong();
+  private volatile ProtocolState state = ProtocolState.CLOSE;
+  private volatile int active = -1;
+  private boolean starting = false;
+  private boolean closing = false;
+  private ScheduledExecutorService healthCheck;
+
+  /**
+   * @param hosts          Seed list of the Kuzzle nodes host addresses
+   * @param options        WebSocket options of each node connection
+   * @param clusterOptions Cluster options
+   * @throws URISyntaxException
+   * @throws IllegalArgumentException
+   */
+  public WebSocketCluster(final List<String> hosts,
+                          final WebSocketOptions options,
+                          final ClusterOptions clusterOptions)
+      throws URISyntaxException, IllegalArgumentException {
+    this(createConnections(hosts, options), clusterOptions);
+  }
+
+  /**
+   * @param connections    Node connections, not connected yet. They must not
+   *                       reconnect automatically.
+   * @param clusterOptions Cluster options
+   * @throws IllegalArgumentException
+   */
+  public WebSocketCluster(final List<? extends AbstractProtocol> connections,
+                          final ClusterOptions clusterOptions)
+      throws IllegalArgumentException {
+    super();
+
+    if (connections == null || connections.isEmpty()) {
+      throw new IllegalArgumentException("The cluster needs seed hosts");
+    }
+
+    this.options = clusterOptions != null
+        ? new ClusterOptions(clusterOptions)
+        : new ClusterOptions();
+    this.nodes = new Node[connections.size()];
+
+    for (int i = 0; i < nodes.length; i++) {
+      final int index = i;
+
+      nodes[i] = new Node(connections.get(i));
+      nodes[i].connection.register(Event.networkResponseReceived,
+          args -> onResponseReceived(index, args));
+      nodes[i].connection.register(Event.networkStateChange,
+          args -> onStateChanged(index, (ProtocolState) args[0]));
+    }
+  }
+
+  private static List<AbstractProtocol> createConnections(
+      final List<String> hosts,
+      final WebSocketOptions options) throws URISyntaxException,
+      IllegalArgumentException {
+    if (hosts == null || hosts.isEmpty()) {
+      throw new IllegalArgumentException("The cluster needs seed hosts");
+    }
+
+    // lost nodes are reconnected by the health checks, instead of retrying
+    // while requests wait
+    final WebSocketOptions nodeOptions = (options != null
+        ? new WebSocketOptions(options)
+        : new WebSocketOptions()).setAutoReconnect(false);
+    final List<AbstractProtocol> connections = new ArrayList<>();
+
+    for (final String host : hosts) {
+      connections.add(new WebSocket(host, nodeOptions));
+    }
+    return connections;
+  }
+
+  @Override
+  public ProtocolState getState() {
+    return state;
+  }
+
+  /**
+   * Connect to all the nodes, then pick the active one. Fails only if no
+   * node can be reached.
+   *
+   * @throws Exception
+   */
+  @Override
+  public void connect() throws Exception {
+    Exception failure = null;
+
+    synchronized (this) {
+      if (state != ProtocolState.CLOSE) {
+        return;
+      }
+      closing = false;
+      starting = true;
+    }
+
+    for (final Node node : nodes) {
+      final long start = System.nanoTime();
+
+      try {
+        node.connection.connect();
+        node.latency = (System.nanoTime() - start) / 1e6;
+      } catch (Exception e) {
+        failure = e;
+      }
+    }
+
+    final List<Runnable> events = new ArrayList<>();
+
+    synchronized (this) {
+      starting = false;
+
+      final int chosen = choose(-1);
+
+      if (chosen >= 0) {
+        activate(chosen, -1, events);
+      }
+    }
+
+    run(events);
+
+    if (state == ProtocolState.CLOSE) {
+      throw failure != null ? failure
+          : new IllegalStateException("No Kuzzle node could be reached");
+    }
+
+    if (options.getHealthCheckInterval() > 0) {
+      startHealthCheck();
+    }
+  }
+
+  /**
+   * Disconnect from all the nodes.
+   */
+  @Override
+  public void disconnect() {
+    synchronized (this) {
+      closing = true;
+      active = -1;
+
+      if (healthCheck != null) {
+        healthCheck.shutdownNow();
+        healthCheck = null;
+      }
+    }
+
+    for (final Node node : nodes) {
+      node.connection.disconnect();
+      node.healthy = false;
+    }
+
+    pending.clear();
+    setState(ProtocolState.CLOSE);
+  }
+
+  /**
+   * Send a payload in the lane of its action default priority.
+   *
+   * @param payload
+   */
+  @Override
+  public void send(final ConcurrentHashMap<String, Object> payload) {
+    send(payload, RequestPriority.of(
+        Objects.toString(payload.get("controller"), null),
+        Objects.toString(payload.get("action"), null)));
+  }
+
+  /**
+   * Send a payload to the active node. Without an active node, the payload
+   * is sent once a node becomes active.
+   *
+   * @param payload
+   * @param priority
+   */
+  @Override
+  public void send(final ConcurrentHashMap<String, Object> payload,
+                   final RequestPriority priority) {
+    send(payload, null, priority);
+  }
+
+  /**
+   * Send a payload to the active node. Without an active node, the payload
+   * is sent once a node becomes active. The payload is serialized outside
+   * of the cluster lock.
+   *
+   * @param payload
+   * @param serialized
+   * @param priority
+   */
+  @Override
+  public void send(final ConcurrentHashMap<String, Object> payload,
+                   final String serialized,
+                   final RequestPriority priority) {
+    final Object requestId = payload.get("requestId");
+    final int node;
+
+    synchronized (this) {
+      node = active;
+
+      if (requestId != null) {
+        pending.put(requestId.toString(),
+            new Pending(node, payload, serialized, priority));
+      }
+    }
+
+    if (node < 0) {
+      return;
+    }
+
+    nodes[node].connection.send(payload, serialized, priority);
+
+    // the active node changed while sending
+    if (requestId != null && active != node) {
+      final List<Runnable> events = new ArrayList<>();
+
+      synchronized (this) {
+        move(requestId.toString(), payload, node, events);
+      }
+      run(events);
+    }
+  }
+
+  /**
+   * Withdraw a payload from the node it was sent to.
+   *
+   * @param payload
+   * @return true if the payload was withdrawn and will never be sent.
+   */
+  @Override
+  public synchronized boolean cancel(
+      final ConcurrentHashMap<String, Object> payload) {
+    final Object requestId = payload.get("requestId");
+    final Pending sent = requestId != null
+        ? pending.get(requestId.toString())
+        : null;
+
+    if (sent == null
+        || sent.node >= 0 && !nodes[sent.node].connection.cancel(payload)) {
+      return false;
+    }
+
+    pending.remove(requestId.toString());
+    return true;
+  }
+
+  /**
+   * Stop tracking a request that is over, so that it is not sent again on
+   * failover.
+   *
+   * @param requestId
+   */
+  @Override
+  public void forget(final String requestId) {
+    pending.remove(requestId);
+  }
+
+  /**
+   * Run a health check round: disconnected nodes are reconnected, a node
+   * that did not answer its previous check in time is unhealthy, and the
+   * others are checked again. Called every healthCheckInterval milliseconds
+   * once connected.
+   */
+  public void checkHealth() {
+    for (int i = 0; i < nodes.length; i++) {
+      final Node node = nodes[i];
+
+      if (closing) {
+        return;
+      }
+
+      if (node.connection.getState() == ProtocolState.CLOSE) {
+        final long start = System.nanoTime();
+
+        try {
+          node.connection.connect();
+          node.latency = (System.nanoTime() - start) / 1e6;
+        } catch (Exception e) {
+          node.healthy = false;
+        }
+        continue;
+      }
+
+      final List<Runnable> events = new ArrayList<>();
+
+      synchronized (this) {
+        if (closing || node.connection.getState() != ProtocolState.OPEN) {
+          continue;
+        }
+
+        if (node.ping == null) {
+          ping(i);
+        } else if (System.currentTimeMillis() - node.pingSentAt
+            > options.getHealthCheckTimeout()) {
+          node.ping = null;
+          node.healthy = false;
+
+          if (i == active) {
+            failover(i, events);
+          }
+        }
+      }
+
+      run(events);
+    }
+  }
+
+  /**
+   * @return The number of nodes
+   */
+  public int getNodeCount() {
+    return nodes.length;
+  }
+
+  /**
+   * @param index
+   * @return The connection to a node
+   */
+  public AbstractProtocol getNode(final int index) {
+    return nodes[index].connection;
+  }
+
+  /**
+   * @param index
+   * @return The state of the connection to a node
+   */
+  public ProtocolState getNodeState(final int index) {
+    return nodes[index].connection.getState();
+  }
+
+  /**
+   * @param index
+   * @return If a node is connected and answers its health checks
+   */
+  public boolean isHealthy(final int index) {
+    return nodes[index].healthy;
+  }
+
+  /**
+   * @param index
+   * @return The smoothed latency of a node, in milliseconds, or -1 if
+   * unknown
+   */
+  public double getLatency(final int index) {
+    return nodes[index].latency;
+  }
+
+  /**
+   * @return The index of the node requests are sent to, or -1 if none
+   */
+  public int getActiveNode() {
+    return active;
+  }
+
+  /**
+   * @return The number of times the active node changed after a failure
+   */
+  public long getFailoverCount() {
+    return failovers.get();
+  }
+
+  /**
+   * @return The number of requests waiting for their response
+   */
+  public int getPendingCount() {
+    return pending.size();
+  }
+
+  private synchronized void startHealthCheck() {
+    if (healthCheck != null || closing) {
+      return;
+    }
+
+    healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "kuzzle-cluster-health");
+      thread.setDaemon(true);
+      return thread;
+    });
+    healthCheck.scheduleWithFixedDelay(this::checkHealth,
+        options.getHealthCheckInterval(), options.getHealthCheckInterval(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private void ping(final int index) {
+    final ConcurrentHashMap<String, Object> payload = new ConcurrentHashMap<>();
+    final String requestId = PING_PREFIX + pings.incrementAndGet();
+
+    payload.put("controller", "server");
+    payload.put("action", "now");
+    payload.put("requestId", requestId);
+
+    nodes[index].ping = requestId;
+    nodes[index].pingSentAt = System.currentTimeMillis();
+    nodes[index].connection.send(payload, RequestPriority.CONTROL);
+  }
+
+  /**
+   * Any answer to a health check, even an error, means the node is alive.
+   */
+  private void onPong(final int index, final String requestId) {
+    final List<Runnable> events = new ArrayList<>();
+
+    synchronized (this) {
+      final Node node = nodes[index];
+
+      if (!requestId.equals(node.ping)) {
+        return;
+      }
+
+      final double latency = System.currentTimeMillis() - node.pingSentAt;
+
+      node.ping = null;
+      node.healthy = true;
+      node.latency = node.latency < 0 ? latency
+          : node.latency + LATENCY_SMOOTHING * (latency - node.latency);
+
+      if (active < 0 && !starting && !closing) {
+        activate(index, -1, events);
+      }
+    }
+
+    run(events);
+  }
+
+  private void onResponseReceived(final int index, final Object... args) {
+    final String requestId = requestId(args[0].toString());
+
+    if (requestId != null && requestId.startsWith(PING_PREFIX)) {
+      onPong(index, requestId);
+      return;
+    }
+
+    final Pending sent = requestId != null ? pending.get(requestId) : null;
+
+    // a lost node may still deliver responses: they are forwarded unless
+    // their request was sent again to another node
+    if (sent != null ? sent.node != index : index != active) {
+      return;
+    }
+
+    if (sent != null) {
+      pending.remove(requestId, sent);
+    }
+
+    super.trigger(Event.networkResponseReceived, args);
+  }
+
+  private void onStateChanged(final int index, final ProtocolState changed) {
+    final List<Runnable> events = new ArrayList<>();
+
+    synchronized (this) {
+      final Node node = nodes[index];
+
+      node.healthy = changed == ProtocolState.OPEN;
+      node.ping = null;
+
+      if (closing || starting) {
+        return;
+      }
+
+      if (index == active && changed != ProtocolState.OPEN) {
+        failover(index, events);
+      } else if (active < 0 && changed == ProtocolState.OPEN) {
+        activate(index, -1, events);
+      }
+    }
+
+    run(events);
+  }
+
+  /**
+   * Replace a lost active node by a healthy one, if any. The lost node is
+   * disconnected once the cluster lock is released.
+   */
+  private void failover(final int lost, final List<Runnable> events) {
+    final int chosen = choose(lost);
+    final AbstractProtocol connection = nodes[lost].connection;
+
+    active = -1;
+
+    // an unresponsive node is dropped, and reconnected by the health checks
+    events.add(() -> {
+      if (connection.getState() != ProtocolState.CLOSE) {
+        connection.disconnect();
+      }
+    });
+
+    if (chosen >= 0) {
+      activate(chosen, lost, events);
+    } else {
+      events.add(() -> setState(ProtocolState.RECONNECTING));
+    }
+  }
+
+  /**
+   * Make a node active and send it the requests still waiting for their
+   * response. Requests still queued on the lost node are always sent again,
+   * the others only if replayPendingRequests is set: they may have been
+   * executed by the lost node. Otherwise, they are still answered if the
+   * lost node responds.
+   */
+  private void activate(final int index, final int lost,
+                        final List<Runnable> events) {
+    final boolean replay = options.isReplayPendingRequests();
+
+    if (lost >= 0) {
+      failovers.incrementAndGet();
+    }
+    active = index;
+
+    for (final Map.Entry<String, Pending> entry : pending.entrySet()) {
+      final Pending sent = entry.getValue();
+
+      if (sent.node == index) {
+        continue;
+      }
+
+      final boolean unsent = sent.node < 0
+          || nodes[sent.node].connection.cancel(sent.payload);
+
+      if (unsent || replay) {
+        resend(entry.getKey(), sent, index, events);
+      }
+    }
+
+    // subscriptions are renewed on the new node
+    if (state == ProtocolState.OPEN) {
+      events.add(() -> setState(ProtocolState.RECONNECTING));
+    }
+    events.add(() -> setState(ProtocolState.OPEN));
+  }
+
+  /**
+   * Move a payload sent to a node that stopped being active meanwhile, if
+   * the node did not write it yet. Otherwise, activate() already handled it
+   * like the other requests written by the lost node.
+   */
+  private void move(final String requestId,
+                    final ConcurrentHashMap<String, Object> payload,
+                    final int node,
+                    final List<Runnable> events) {
+    if (active == node || !nodes[node].connection.cancel(payload)) {
+      return;
+    }
+
+    final Pending sent = pending.get(requestId);
+
+    // already answered, or already sent again by activate()
+    if (sent == null || sent.node != node) {
+      return;
+    }
+
+    if (active >= 0) {
+      resend(requestId, sent, active, events);
+    } else {
+      pending.put(requestId,
+          new Pending(-1, sent.payload, sent.serialized, sent.priority));
+    }
+  }
+
+  /**
+   * Track a pending request as sent to another node, and send it once the
+   * cluster lock is released.
+   */
+  private void resend(final String requestId, final Pending sent,
+                      final int index, final List<Runnable> events) {
+    pending.put(requestId,
+        new Pending(index, sent.payload, sent.serialized, sent.priority));
+    events.add(() -> nodes[index].connection.send(sent.payload,
+        sent.serialized, sent.priority));
+  }
+
+  /**
+   * Pick a healthy node at random, weighted by the inverse of its latency.
+   *
+   * @return The node index, or -1 if no node is healthy
+   */
+  private int choose(final int excluded) {
+    final double[] weights = new double[nodes.length];
+    double total = 0;
+
+    for (int i = 0; i < nodes.length; i++) {
+      if (i != excluded && nodes[i].healthy
+          && nodes[i].connection.getState() == ProtocolState.OPEN) {
+        weights[i] = 1 / (Math.max(0, nodes[i].latency) + 1);
+        total += weights[i];
+      }
+    }
+
+    if (total == 0) {
+      return -1;
+    }
+
+    double target = ThreadLocalRandom.current().nextDouble(total);
+
+    for (int i = 0; i < nodes.length; i++) {
+      if (weights[i] > 0 && (target -= weights[i]) < 0) {
+        return i;
+      }
+    }
+
+    // rounding: fall back on the last weighted node
+    for (int i = nodes.length - 1; i >= 0; i--) {
+      if (weights[i] > 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static void run(final List<Runnable> events) {
+    for (final Runnable event : events) {
+      event.run();
+    }
+  }
+
+  private synchronized void setState(final ProtocolState newState) {
+    if (state == newState) {
+      return;
+    }
+    state = newState;
+    super.trigger(Event.networkStateChange, newState);
+  }
+}
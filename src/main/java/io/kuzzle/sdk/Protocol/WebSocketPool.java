@@ -0,0 +1,498 @@
+package io.kuzzle.sdk.Protocol;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.Events.Event;
+import io.kuzzle.sdk.Options.Protocol.WebSocketOptions;
+
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Network protocol spreading the requests over several connections, each
+ * with its own writer and reader threads.
+ *
+ * Requests are sent through the open connection with the fewest requests
+ * waiting for their response. Realtime requests are pinned to a single
+ * connection, so that the notifications of all the subscriptions are
+ * received in order. If the pinned connection is lost, another open
+ * connection is pinned, and the pool goes through the RECONNECTING and OPEN
+ * states so that subscriptions are renewed on it. Payloads still queued on
+ * a lost connection are sent through the open ones. Those already written
+ * to it fail with a network.connection.lost error, unless
+ * replayPendingRequests is set: they are then sent again.
+ *
+ * The pool is OPEN while one of its connections is, RECONNECTING while one
+ * of them is reconnecting, and CLOSE otherwise.
+ */
+public class WebSocketPool extends AbstractProtocol {
+  /**
+   * Pending request, and the connection it was sent through
+   */
+  private static final class Route {
+    final int index;
+    final ConcurrentHashMap<String, Object> payload;
+    final String serialized;
+    final RequestPriority priority;
+
+    Route(final int index,
+          final ConcurrentHashMap<String, Object> payload,
+          final String serialized,
+          final RequestPriority priority) {
+      this.index = index;
+      this.payload = payload;
+      this.serialized = serialized;
+      this.priority = priority;
+    }
+  }
+
+  private final AbstractProtocol[] connections;
+  private final AtomicInteger[] inFlight;
+  private final ConcurrentHashMap<String, Route> routes =
+      new ConcurrentHashMap<>();
+
+  private volatile ProtocolState state = ProtocolState.CLOSE;
+  private volatile int pinned = 0;
+  private volatile boolean replayPendingRequests = false;
+  private boolean closing = false;
+
+  /**
+   * @param host    Kuzzle host address
+   * @param options WebSocket options of each connection
+   * @param size    Number of connections
+   * @throws URISyntaxException
+   * @throws IllegalArgumentException
+   */
+  public WebSocketPool(final String host,
+                       final WebSocketOptions options,
+                       final int size)
+      throws URISyntaxException, IllegalArgumentException {
+    this(createConnections(host, options, size));
+  }
+
+  /**
+   * @param connections Pooled connections, not connected yet
+   * @throws IllegalArgumentException
+   */
+  public WebSocketPool(final List<? extends AbstractProtocol> connections)
+      throws IllegalArgumentException {
+    super();
+
+    if (connections == null || connections.isEmpty()) {
+      throw new IllegalArgumentException("The pool needs connections");
+    }
+
+    this.connections = connections.toArray(new AbstractProtocol[0]);
+    this.inFlight = new AtomicInteger[this.connections.length];
+
+    for (int i = 0; i < this.connections.length; i++) {
+      final int index = i;
+
+      inFlight[i] = new AtomicInteger();
+      this.connections[i].register(Event.networkResponseReceived,
+          args -> onResponseReceived(index, args));
+      this.connections[i].register(Event.networkStateChange,
+          args -> onStateChanged(index, (ProtocolState) args[0]));
+    }
+  }
+
+  private static List<AbstractProtocol> createConnections(
+      final String host,
+      final WebSocketOptions options,
+      final int size) throws URISyntaxException, IllegalArgumentException {
+    if (size < 1) {
+      throw new IllegalArgumentException("The pool needs connections");
+    }
+
+    final List<AbstractProtocol> connections = new ArrayList<>();
+
+    for (int i = 0; i < size; i++) {
+      connections.add(new WebSocket(host, options));
+    }
+    return connections;
+  }
+
+  @Override
+  public ProtocolState getState() {
+    return state;
+  }
+
+  /**
+   * Connect all the connections. Fails only if none of them can connect.
+   *
+   * @throws Exception
+   */
+  @Override
+  public void connect() throws Exception {
+    Exception failure = null;
+
+    synchronized (this) {
+      closing = false;
+    }
+
+    for (final AbstractProtocol connection : connections) {
+      try {
+        connection.connect();
+      } catch (Exception e) {
+        failure = e;
+      }
+    }
+
+    if (failure != null && state == ProtocolState.CLOSE) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Disconnect all the connections.
+   */
+  @Override
+  public void disconnect() {
+    synchronized (this) {
+      closing = true;
+    }
+
+    for (int i = 0; i < connections.length; i++) {
+      connections[i].disconnect();
+      abandon(i);
+    }
+
+    setState(ProtocolState.CLOSE);
+  }
+
+  /**
+   * Send a payload in the lane of its action default priority.
+   *
+   * @param payload
+   */
+  @Override
+  public void send(final ConcurrentHashMap<String, Object> payload) {
+    send(payload, RequestPriority.of(
+        Objects.toString(payload.get("controller"), null),
+        Objects.toString(payload.get("action"), null)));
+  }
+
+  /**
+   * Send a payload through the pinned connection if it is a realtime
+   * request, through the least loaded open connection otherwise.
+   *
+   * @param payload
+   * @param priority
+   */
+  @Override
+  public void send(final ConcurrentHashMap<String, Object> payload,
+                   final RequestPriority priority) {
+    send(payload, null, priority);
+  }
+
+  /**
+   * Send a payload through the pinned connection if it is a realtime
+   * request, through the least loaded open connection otherwise.
+   *
+   * @param payload
+   * @param serialized
+   * @param priority
+   */
+  @Override
+  public void send(final ConcurrentHashMap<String, Object> payload,
+                   final String serialized,
+                   final RequestPriority priority) {
+    final int index = "realtime".equals(payload.get("controller"))
+        ? pinned
+        : leastLoaded();
+    final Object requestId = payload.get("requestId");
+
+    if (requestId != null) {
+      final Route previous = routes.put(requestId.toString(),
+          new Route(index, payload, serialized, priority));
+
+      if (previous != null) {
+        inFlight[previous.index].decrementAndGet();
+      }
+      inFlight[index].incrementAndGet();
+    }
+
+    connections[index].send(payload, serialized, priority);
+  }
+
+  /**
+   * Withdraw a payload from the connection it was sent through.
+   *
+   * @param payload
+   * @return true if the payload was withdrawn and will never be sent.
+   */
+  @Override
+  public boolean cancel(final ConcurrentHashMap<String, Object> payload) {
+    final Object requestId = payload.get("requestId");
+    final Route route = requestId != null ? routes.get(requestId.toString())
+        : null;
+
+    if (route == null || !connections[route.index].cancel(payload)) {
+      return false;
+    }
+
+    if (routes.remove(requestId.toString(), route)) {
+      inFlight[route.index].decrementAndGet();
+    }
+    return true;
+  }
+
+  /**
+   * Stop counting a request that is over, such as a request that timed out.
+   *
+   * @param requestId
+   */
+  @Override
+  public void forget(final String requestId) {
+    final Route route = routes.remove(requestId);
+
+    if (route != null) {
+      inFlight[route.index].decrementAndGet();
+    }
+  }
+
+  /**
+   * @return The number of pooled connections
+   */
+  public int getConnectionCount() {
+    return connections.length;
+  }
+
+  /**
+   * @param index
+   * @return A pooled connection
+   */
+  public AbstractProtocol getConnection(final int index) {
+    return connections[index];
+  }
+
+  /**
+   * @param index
+   * @return The state of a pooled connection
+   */
+  public ProtocolState getConnectionState(final int index) {
+    return connections[index].getState();
+  }
+
+  /**
+   * @param index
+   * @return The number of requests sent through a connection and waiting
+   * for their response
+   */
+  public int getInFlight(final int index) {
+    return inFlight[index].get();
+  }
+
+  /**
+   * @return The number of requests waiting for their response
+   */
+  public int getInFlight() {
+    return routes.size();
+  }
+
+  /**
+   * @return The index of the connection carrying the realtime requests
+   */
+  public int getPinnedConnection() {
+    return pinned;
+  }
+
+  /**
+   * @return If requests written to a lost connection are sent again
+   */
+  public boolean isReplayPendingRequests() {
+    return replayPendingRequests;
+  }
+
+  /**
+   * Set if requests written to a lost connection are sent again through
+   * the open ones. They may have been executed already. Disabled by
+   * default: they fail instead.
+   *
+   * @param replayPendingRequests
+   */
+  public void setReplayPendingRequests(final boolean replayPendingRequests) {
+    this.replayPendingRequests = replayPendingRequests;
+  }
+
+  private int leastLoaded() {
+    int best = pinned;
+    int bestLoad = Integer.MAX_VALUE;
+
+    for (int i = 0; i < connections.length; i++) {
+      final int load = inFlight[i].get();
+
+      if (connections[i].getState() == ProtocolState.OPEN && load < bestLoad) {
+        best = i;
+        bestLoad = load;
+      }
+    }
+    return best;
+  }
+
+  private void onResponseReceived(final int index, final Object... args) {
+    final String requestId = requestId(args[0].toString());
+    final Route route = requestId != null ? routes.get(requestId) : null;
+
+    if (route != null && route.index == index
+        && routes.remove(requestId, route)) {
+      inFlight[index].decrementAndGet();
+    }
+
+    super.trigger(Event.networkResponseReceived, args);
+  }
+
+  private void onStateChanged(final int index, final ProtocolState changed) {
+    final List<Runnable> events = new ArrayList<>();
+    final List<Route> lost;
+
+    synchronized (this) {
+      if (closing) {
+        return;
+      }
+
+      lost = changed != ProtocolState.OPEN ? abandon(index) : null;
+
+      if (index == pinned && changed != ProtocolState.OPEN) {
+        final int open = firstOpen();
+
+        if (open >= 0) {
+          // subscriptions are renewed on the new pinned connection
+          pinned = open;
+          events.add(() -> setState(ProtocolState.RECONNECTING));
+          events.add(() -> setState(ProtocolState.OPEN));
+        }
+      }
+
+      if (firstOpen() >= 0) {
+        if (connections[pinned].getState() != ProtocolState.OPEN) {
+          pinned = firstOpen();
+        }
+        events.add(() -> setState(ProtocolState.OPEN));
+      } else if (anyReconnecting()) {
+        events.add(() -> setState(ProtocolState.RECONNECTING));
+      } else {
+        events.add(() -> setState(ProtocolState.CLOSE));
+      }
+    }
+
+    for (final Runnable event : events) {
+      event.run();
+    }
+
+    if (lost != null) {
+      rebalance(index, lost);
+    }
+  }
+
+  /**
+   * Requests sent through a lost connection will not be answered through
+   * it anymore.
+   *
+   * @return The routes of these requests
+   */
+  private List<Route> abandon(final int index) {
+    final List<Route> lost = new ArrayList<>();
+
+    for (final Map.Entry<String, Route> entry : routes.entrySet()) {
+      if (entry.getValue().index == index
+          && routes.remove(entry.getKey(), entry.getValue())) {
+        lost.add(entry.getValue());
+      }
+    }
+    inFlight[index].set(0);
+    return lost;
+  }
+
+  /**
+   * Move the payloads still queued on a lost connection to the open ones.
+   * Those already written to it may have been executed: they are sent
+   * again if replayPendingRequests is set, and fail otherwise. Without an
+   * open connection, they are all left pending as with a single connection,
+   * until they time out or the pool closes.
+   */
+  private void rebalance(final int index, final List<Route> lost) {
+    if (firstOpen() < 0) {
+      return;
+    }
+
+    final HashSet<String> moved = new HashSet<>();
+
+    if (connections[index] instanceof WebSocket) {
+      final OutboundQueue queue = ((WebSocket) connections[index]).queue;
+      OutboundQueue.Frame frame;
+
+      while ((frame = queue.poll()) != null) {
+        final Object requestId = frame.getPayload().get("requestId");
+
+        if (requestId != null) {
+          moved.add(requestId.toString());
+        }
+        send(frame.getPayload(), frame.getText(), frame.getPriority());
+      }
+    }
+
+    for (final Route route : lost) {
+      final String requestId = route.payload.get("requestId").toString();
+
+      if (moved.contains(requestId)) {
+        continue;
+      }
+
+      if (replayPendingRequests
+          || connections[index].cancel(route.payload)) {
+        send(route.payload, route.serialized, route.priority);
+      } else {
+        super.trigger(Event.networkResponseReceived, lostResponse(requestId));
+      }
+    }
+  }
+
+  /**
+   * @param requestId
+   * @return The error response of a request written to a lost connection
+   */
+  private static String lostResponse(final String requestId) {
+    return JsonSerializer.serialize(new KuzzleMap()
+        .put("requestId", requestId)
+        .put("room", requestId)
+        .put("status", 503)
+        .put("error", new KuzzleMap()
+            .put("id", "network.connection.lost")
+            .put("status", 503)
+            .put("message",
+                "Connection lost before the response was received")));
+  }
+
+  private synchronized void setState(final ProtocolState newState) {
+    if (state == newState) {
+      return;
+    }
+    state = newState;
+    super.trigger(Event.networkStateChange, newState);
+  }
+
+  private int firstOpen() {
+    for (int i = 0; i < connections.length; i++) {
+      if (connections[i].getState() == ProtocolState.OPEN) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private boolean anyReconnecting() {
+    for (final AbstractProtocol connection : connections) {
+      if (connection.getState() == ProtocolState.RECONNECTING) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -119,7 +119,7 @@ public class AuthControllerTest {
 
     result.put("jwt", "my-token");
     result.put("_id", "my-id");
-    response.result = result;
+    response.setResult(result);
 
     doReturn(future).when(kuzzleSpy).query(any(KuzzleMap.class));
 
@@ -152,7 +152,7 @@ public class AuthControllerTest {
 
     result.put("jwt", "my-token");
     result.put("_id", "my-id");
-    response.result = result;
+    response.setResult(result);
 
     doReturn(future).when(kuzzleSpy).query(any(KuzzleMap.class));
 
@@ -181,7 +181,7 @@ public class AuthControllerTest {
     CompletableFuture<Response> future = new CompletableFuture<>();
     ArgumentCaptor arg = ArgumentCaptor.forClass(KuzzleMap.class);
     Response response = new Response();
-    response.result = new ConcurrentHashMap<>();
+    response.setResult(new ConcurrentHashMap<>());
 
     doReturn(future).when(kuzzleSpy).query(any(KuzzleMap.class));
 
@@ -213,7 +213,7 @@ public class AuthControllerTest {
     ConcurrentHashMap<String, Object> result = new ConcurrentHashMap<>();
 
     result.put("jwt", "my-token");
-    response.result = result;
+    response.setResult(result);
 
     doReturn(future).when(kuzzleSpy).query(any(KuzzleMap.class));
 
@@ -237,7 +237,7 @@ public class AuthControllerTest {
     ConcurrentHashMap<String, Object> result = new ConcurrentHashMap<>();
 
     result.put("jwt", "my-token");
-    response.result = result;
+    response.setResult(result);
 
     doReturn(future).when(kuzzleSpy).query(any(KuzzleMap.class));
 
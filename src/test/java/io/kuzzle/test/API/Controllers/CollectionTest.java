@@ -398,11 +398,11 @@ public class CollectionTest {
     CompletableFuture<Response> queryResponse = new CompletableFuture<>();
 
     Response r = new Response();
-    r.result = new ConcurrentHashMap<String, Object>();
-    ((ConcurrentHashMap<String, Object>) r.result).put("aggregations", new ConcurrentHashMap<String, Object>());
-    ((ConcurrentHashMap<String, Object>) r.result).put("total", new LazilyParsedNumber("1"));
-    ((ConcurrentHashMap<String, Object>) r.result).put("scrollId", "");
-    ((ConcurrentHashMap<String, Object>) r.result).put("hits", new ArrayList<ConcurrentHashMap<String, Object>>());
+    r.setResult(new ConcurrentHashMap<String, Object>());
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("aggregations", new ConcurrentHashMap<String, Object>());
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("total", new LazilyParsedNumber("1"));
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("scrollId", "");
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("hits", new ArrayList<ConcurrentHashMap<String, Object>>());
     doReturn(queryResponse).when(kuzzleMock).query(any(ConcurrentHashMap.class));
 
     new Thread(() -> {
@@ -442,11 +442,11 @@ public class CollectionTest {
     CompletableFuture<Response> queryResponse = new CompletableFuture<>();
 
     Response r = new Response();
-    r.result = new ConcurrentHashMap<String, Object>();
-    ((ConcurrentHashMap<String, Object>) r.result).put("aggregations", new ConcurrentHashMap<String, Object>());
-    ((ConcurrentHashMap<String, Object>) r.result).put("total", new LazilyParsedNumber("1"));
-    ((ConcurrentHashMap<String, Object>) r.result).put("scrollId", "");
-    ((ConcurrentHashMap<String, Object>) r.result).put("hits", new ArrayList<ConcurrentHashMap<String, Object>>());
+    r.setResult(new ConcurrentHashMap<String, Object>());
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("aggregations", new ConcurrentHashMap<String, Object>());
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("total", new LazilyParsedNumber("1"));
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("scrollId", "");
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("hits", new ArrayList<ConcurrentHashMap<String, Object>>());
     doReturn(queryResponse).when(kuzzleMock).query(any(ConcurrentHashMap.class));
 
     new Thread(() -> {
@@ -7,14 +7,17 @@ import io.kuzzle.sdk.Exceptions.InternalException;
 import io.kuzzle.sdk.Exceptions.NotConnectedException;
 import io.kuzzle.sdk.Kuzzle;
 
+import io.kuzzle.sdk.Options.KuzzleOptions;
 import io.kuzzle.sdk.Options.SearchOptions;
 import io.kuzzle.sdk.Options.UpdateOptions;
 import io.kuzzle.sdk.Options.CreateOptions;
 
 import io.kuzzle.sdk.Protocol.AbstractProtocol;
 import io.kuzzle.sdk.Protocol.ProtocolState;
+import io.kuzzle.sdk.Protocol.RequestPriority;
 import io.kuzzle.sdk.Protocol.WebSocket;
 
+import io.kuzzle.test.TestableKuzzle;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
@@ -24,6 +27,8 @@ import java.util.ArrayList;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import java.lang.Thread;
 
@@ -1208,11 +1213,11 @@ public class DocumentTest {
     CompletableFuture<Response> queryResponse = new CompletableFuture<>();
 
     Response r = new Response();
-    r.result = new ConcurrentHashMap<String, Object>();
-    ((ConcurrentHashMap<String, Object>) r.result).put("aggregations", new ConcurrentHashMap<String, Object>());
-    ((ConcurrentHashMap<String, Object>) r.result).put("total", new LazilyParsedNumber("1"));
-    ((ConcurrentHashMap<String, Object>) r.result).put("scrollId", "");
-    ((ConcurrentHashMap<String, Object>) r.result).put("hits", new ArrayList<ConcurrentHashMap<String, Object>>());
+    r.setResult(new ConcurrentHashMap<String, Object>());
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("aggregations", new ConcurrentHashMap<String, Object>());
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("total", new LazilyParsedNumber("1"));
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("scrollId", "");
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("hits", new ArrayList<ConcurrentHashMap<String, Object>>());
     doReturn(queryResponse).when(kuzzleMock).query(any(ConcurrentHashMap.class));
 
     new Thread(() -> {
@@ -1255,11 +1260,11 @@ public class DocumentTest {
     CompletableFuture<Response> queryResponse = new CompletableFuture<>();
 
     Response r = new Response();
-    r.result = new ConcurrentHashMap<String, Object>();
-    ((ConcurrentHashMap<String, Object>) r.result).put("aggregations", new ConcurrentHashMap<String, Object>());
-    ((ConcurrentHashMap<String, Object>) r.result).put("total", new LazilyParsedNumber("1"));
-    ((ConcurrentHashMap<String, Object>) r.result).put("scrollId", "");
-    ((ConcurrentHashMap<String, Object>) r.result).put("hits", new ArrayList<ConcurrentHashMap<String, Object>>());
+    r.setResult(new ConcurrentHashMap<String, Object>());
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("aggregations", new ConcurrentHashMap<String, Object>());
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("total", new LazilyParsedNumber("1"));
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("scrollId", "");
+    ((ConcurrentHashMap<String, Object>) r.getResult()).put("hits", new ArrayList<ConcurrentHashMap<String, Object>>());
     doReturn(queryResponse).when(kuzzleMock).query(any(ConcurrentHashMap.class));
 
     new Thread(() -> {
@@ -1300,4 +1305,27 @@ public class DocumentTest {
 
     kuzzleMock.getDocumentController().search(index, collection, searchQuery);
   }
+
+  @Test
+  public void responseIsProcessedOnConfiguredExecutor() throws NotConnectedException, InternalException, ExecutionException, InterruptedException {
+    AbstractProtocol fakeNetworkProtocol = Mockito.mock(WebSocket.class);
+    Mockito.when(fakeNetworkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.OPEN);
+    AtomicInteger executed = new AtomicInteger();
+    Executor executor = runnable -> {
+      executed.incrementAndGet();
+      runnable.run();
+    };
+
+    TestableKuzzle kuzzle = new TestableKuzzle(fakeNetworkProtocol, new KuzzleOptions().setExecutor(executor));
+    ArgumentCaptor<ConcurrentHashMap> arg = ArgumentCaptor.forClass(ConcurrentHashMap.class);
+
+    CompletableFuture<ConcurrentHashMap<String, Object>> result = kuzzle.getDocumentController().get("nyc-open-data", "yellow-taxi", "some-id");
+    Mockito.verify(fakeNetworkProtocol, Mockito.times(1)).send(arg.capture(), Mockito.eq(RequestPriority.INTERACTIVE));
+
+    String requestId = arg.getValue().get("requestId").toString();
+    kuzzle.onResponseReceived("{\"requestId\":\"" + requestId + "\",\"room\":\"" + requestId + "\",\"status\":200,\"result\":{\"_id\":\"some-id\"}}");
+
+    assertEquals("some-id", result.get().get("_id"));
+    assertEquals(1, executed.get());
+  }
 }
@@ -80,9 +80,9 @@ public class RealtimeControllerTest {
     NotificationHandler notificationHandler = mock(NotificationHandler.class);
     Response response = new Response();
     response.room = "a-room";
-    response.result = new ConcurrentHashMap<>();
-    ((ConcurrentHashMap)response.result).put("roomId", "a-room");
-    ((ConcurrentHashMap)response.result).put("channel", "a-room");
+    response.setResult(new ConcurrentHashMap<>());
+    ((ConcurrentHashMap)response.getResult()).put("roomId", "a-room");
+    ((ConcurrentHashMap)response.getResult()).put("channel", "a-room");
 
     CompletableFuture queryResponse = new CompletableFuture();
 
@@ -101,9 +101,9 @@ public class RealtimeControllerTest {
     NotificationHandler notificationHandler = mock(NotificationHandler.class);
     Response response = new Response();
     response.room = "a-room";
-    response.result = new ConcurrentHashMap<>();
-    ((ConcurrentHashMap)response.result).put("roomId", "a-room");
-    ((ConcurrentHashMap)response.result).put("channel", "a-room");
+    response.setResult(new ConcurrentHashMap<>());
+    ((ConcurrentHashMap)response.getResult()).put("roomId", "a-room");
+    ((ConcurrentHashMap)response.getResult()).put("channel", "a-room");
     response.Volatile = new ConcurrentHashMap<>();
     response.Volatile.put("sdkInstanceId", kuzzleSpy.instanceId);
 
@@ -0,0 +1,169 @@
+package io.kuzzle.test.CoreClasses.JournalTest;
+
+import io.kuzzle.sdk.CoreClasses.Journal.JournalEntry;
+import io.kuzzle.sdk.CoreClasses.Journal.RequestJournal;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.Exceptions.NotConnectedException;
+import io.kuzzle.sdk.Exceptions.RequestTimeoutException;
+import io.kuzzle.sdk.Options.JournalOptions;
+import io.kuzzle.sdk.Options.KuzzleOptions;
+import io.kuzzle.sdk.Protocol.ProtocolState;
+import io.kuzzle.sdk.Protocol.WebSocket;
+import io.kuzzle.test.TestableKuzzle;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class RequestJournalTest {
+  private Path directory;
+
+  @Before
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("kuzzle-journal");
+  }
+
+  @After
+  public void teardown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+    }
+  }
+
+  @Test
+  public void pendingRequestsSurviveRestart() throws IOException {
+    RequestJournal journal = new RequestJournal(directory);
+    journal.append("a", "{\"action\":\"a\"}");
+    journal.append("b", "{\"action\":\"b\"}");
+    journal.append("c", "{\"action\":\"c\"}");
+    journal.acknowledge("b");
+    journal.close();
+
+    RequestJournal reopened = new RequestJournal(directory);
+    List<JournalEntry> pending = reopened.getPending();
+
+    Assert.assertEquals(2, pending.size());
+    Assert.assertEquals("a", pending.get(0).getRequestId());
+    Assert.assertEquals("{\"action\":\"a\"}", pending.get(0).getPayload());
+    Assert.assertEquals("c", pending.get(1).getRequestId());
+    reopened.close();
+  }
+
+  @Test
+  public void acknowledgedSegmentsAreDeleted() throws IOException {
+    RequestJournal journal = new RequestJournal(directory,
+        new JournalOptions().setSegmentSize(128));
+
+    for (int i = 0; i < 20; i++) {
+      journal.append("request-" + i, "{\"index\":\"foo\"}");
+    }
+    Assert.assertTrue(journal.getSegmentCount() > 1);
+
+    for (int i = 0; i < 20; i++) {
+      journal.acknowledge("request-" + i);
+    }
+
+    Assert.assertEquals(0, journal.size());
+    Assert.assertTrue(journal.getSegmentCount() <= 2);
+    journal.close();
+
+    RequestJournal reopened = new RequestJournal(directory);
+    Assert.assertEquals(0, reopened.size());
+    reopened.close();
+  }
+
+  @Test
+  public void compactionKeepsPendingRequests() throws IOException {
+    RequestJournal journal = new RequestJournal(directory,
+        new JournalOptions().setSegmentSize(128));
+
+    for (int i = 0; i < 20; i++) {
+      journal.append("request-" + i, "{\"index\":\"foo\"}");
+    }
+    for (int i = 1; i < 20; i++) {
+      journal.acknowledge("request-" + i);
+    }
+    journal.close();
+
+    RequestJournal reopened = new RequestJournal(directory);
+    Assert.assertEquals(1, reopened.size());
+    Assert.assertEquals("request-0", reopened.getPending().get(0).getRequestId());
+    reopened.close();
+  }
+
+  @Test
+  public void authRequestsAreNotJournaledByDefault() throws IOException {
+    RequestJournal journal = new RequestJournal(directory);
+    ConcurrentHashMap<String, Object> login = new ConcurrentHashMap<>();
+    login.put("controller", "auth");
+    login.put("action", "login");
+    ConcurrentHashMap<String, Object> create = new ConcurrentHashMap<>();
+    create.put("controller", "document");
+    create.put("action", "create");
+
+    Assert.assertFalse(journal.accepts(login));
+    Assert.assertTrue(journal.accepts(create));
+    journal.close();
+  }
+
+  @Test
+  public void rejectedRequestsAreNotJournaled() throws Exception {
+    RequestJournal journal = new RequestJournal(directory);
+    WebSocket networkProtocol = Mockito.mock(WebSocket.class);
+    Mockito.when(networkProtocol.getState()).thenReturn(ProtocolState.CLOSE);
+
+    TestableKuzzle kuzzle = new TestableKuzzle(networkProtocol,
+        new KuzzleOptions()
+            .setAutoQueue(true)
+            .setMaxQueueSize(0)
+            .setJournal(journal));
+
+    try {
+      kuzzle.query(new KuzzleMap()
+          .put("controller", "document")
+          .put("action", "create"));
+      Assert.fail("Expected a NotConnectedException");
+    } catch (NotConnectedException e) {
+      Assert.assertEquals(0, journal.size());
+    }
+    journal.close();
+  }
+
+  @Test
+  public void failedRequestsAreAcknowledged() throws Exception {
+    RequestJournal journal = new RequestJournal(directory);
+    WebSocket networkProtocol = Mockito.mock(WebSocket.class);
+    Mockito.when(networkProtocol.getState()).thenReturn(ProtocolState.OPEN);
+
+    TestableKuzzle kuzzle = new TestableKuzzle(networkProtocol,
+        new KuzzleOptions().setJournal(journal));
+
+    try {
+      kuzzle.query(new KuzzleMap()
+          .put("controller", "document")
+          .put("action", "create"), 10).get(5, TimeUnit.SECONDS);
+      Assert.fail("Expected a RequestTimeoutException");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof RequestTimeoutException);
+    }
+
+    // acknowledged by the timer thread, right after failing the future
+    long deadline = System.currentTimeMillis() + 5000;
+    while (journal.size() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(0, journal.size());
+    journal.close();
+  }
+}
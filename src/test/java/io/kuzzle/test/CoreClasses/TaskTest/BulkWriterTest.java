@@ -0,0 +1,219 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.CoreClasses.BulkProgress;
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.ErrorResponse;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Exceptions.ApiErrorException;
+import io.kuzzle.sdk.Options.BulkOptions;
+import io.kuzzle.test.FakeKuzzle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+public class BulkWriterTest {
+  /**
+   * Answers m* requests with the given handler, or keeps them pending.
+   */
+  private static FakeKuzzle bulkKuzzle(
+      final Function<ArrayList<Object>, Response> handler) {
+    return new FakeKuzzle(handler == null ? null
+        : query -> handler.apply(documents(query)));
+  }
+
+  private static ArrayList<Object> documents(
+      final ConcurrentHashMap<String, Object> query) {
+    return KuzzleMap
+        .from((ConcurrentHashMap<String, Object>) query.get("body"))
+        .getArrayList("documents");
+  }
+
+  private static Response result(final ArrayList<Object> successes,
+                                 final ArrayList<Object> errors) {
+    final Response response = new Response();
+    response.setResult(new KuzzleMap()
+        .put("successes", successes)
+        .put("errors", errors));
+    return response;
+  }
+
+  private static Response accept(final ArrayList<Object> documents) {
+    return result(new ArrayList<>(documents), new ArrayList<>());
+  }
+
+  private static ArrayList<ConcurrentHashMap<String, Object>> documents(
+      final int count) {
+    final ArrayList<ConcurrentHashMap<String, Object>> documents =
+        new ArrayList<>();
+
+    for (int i = 0; i < count; i++) {
+      documents.add(new KuzzleMap()
+          .put("_id", "document-" + i)
+          .put("body", new KuzzleMap().put("name", "document " + i)));
+    }
+    return documents;
+  }
+
+  @Test
+  public void splitsDocumentsInChunks()
+      throws ExecutionException, InterruptedException {
+    FakeKuzzle kuzzle = bulkKuzzle(BulkWriterTest::accept);
+
+    ConcurrentHashMap<String, ArrayList<Object>> result = kuzzle
+        .getDocumentController()
+        .bulkCreate("index", "collection", documents(450),
+            new BulkOptions().setChunkSize(200))
+        .get();
+
+    Assert.assertEquals(3, kuzzle.queries.size());
+    Assert.assertEquals(200, documents(kuzzle.queries.get(0)).size());
+    Assert.assertEquals(200, documents(kuzzle.queries.get(1)).size());
+    Assert.assertEquals(50, documents(kuzzle.queries.get(2)).size());
+    Assert.assertEquals("mCreate", kuzzle.queries.get(0).get("action"));
+    Assert.assertEquals(450, result.get("successes").size());
+    Assert.assertEquals(0, result.get("errors").size());
+
+    HashSet<Object> ids = new HashSet<>();
+    for (Object success : result.get("successes")) {
+      ids.add(((ConcurrentHashMap<String, Object>) success).get("_id"));
+    }
+    Assert.assertEquals(450, ids.size());
+  }
+
+  @Test
+  public void boundsTheChunksSize()
+      throws ExecutionException, InterruptedException {
+    FakeKuzzle kuzzle = bulkKuzzle(BulkWriterTest::accept);
+
+    ArrayList<ConcurrentHashMap<String, Object>> documents = documents(100);
+    int largest = JsonSerializer.serialize(documents.get(99)).length();
+
+    kuzzle.getDocumentController()
+        .bulkCreate("index", "collection", documents,
+            new BulkOptions().setMaxChunkBytes(5 * largest))
+        .get();
+
+    Assert.assertEquals(20, kuzzle.queries.size());
+    for (ConcurrentHashMap<String, Object> query : kuzzle.queries) {
+      Assert.assertEquals(5, documents(query).size());
+    }
+  }
+
+  @Test
+  public void limitsTheChunksInFlight()
+      throws ExecutionException, InterruptedException {
+    FakeKuzzle kuzzle = bulkKuzzle(null);
+    List<BulkProgress> progress = new CopyOnWriteArrayList<>();
+
+    CompletableFuture<ConcurrentHashMap<String, ArrayList<Object>>> result =
+        kuzzle.getDocumentController()
+            .bulkCreate("index", "collection", documents(50),
+                new BulkOptions()
+                    .setChunkSize(10)
+                    .setMaxInFlight(2)
+                    .setOnProgress(progress::add));
+
+    Assert.assertEquals(2, kuzzle.size());
+
+    for (int i = 0; i < 5; i++) {
+      CompletableFuture<Response> chunk = kuzzle.pending.get(i);
+      chunk.complete(accept(documents(kuzzle.queries.get(i))));
+      kuzzle.awaitQueries(Math.min(5, i + 3));
+      Assert.assertEquals(Math.min(5, i + 3), kuzzle.size());
+    }
+
+    Assert.assertEquals(50, result.get().get("successes").size());
+    Assert.assertEquals(5, progress.size());
+    Assert.assertEquals(50, progress.get(4).getSucceeded());
+    Assert.assertEquals(0, progress.get(4).getRemaining());
+  }
+
+  @Test
+  public void retriesRejectedDocuments()
+      throws ExecutionException, InterruptedException, TimeoutException {
+    // the first answer rejects document-1 (overloaded) and document-2 (invalid)
+    FakeKuzzle kuzzle = bulkKuzzle(new Function<ArrayList<Object>, Response>() {
+      private boolean first = true;
+
+      @Override
+      public Response apply(final ArrayList<Object> documents) {
+        ArrayList<Object> successes = new ArrayList<>();
+        ArrayList<Object> errors = new ArrayList<>();
+
+        for (Object document : documents) {
+          Object id = ((ConcurrentHashMap<String, Object>) document).get("_id");
+
+          if (first && "document-1".equals(id)) {
+            errors.add(new KuzzleMap()
+                .put("document", document)
+                .put("status", 429)
+                .put("reason", "Too many requests"));
+          } else if ("document-2".equals(id)) {
+            errors.add(new KuzzleMap()
+                .put("document", document)
+                .put("status", 400)
+                .put("reason", "Invalid document"));
+          } else {
+            successes.add(document);
+          }
+        }
+        first = false;
+        return result(successes, errors);
+      }
+    });
+    List<BulkProgress> progress = new CopyOnWriteArrayList<>();
+
+    ConcurrentHashMap<String, ArrayList<Object>> result = kuzzle
+        .getDocumentController()
+        .bulkCreate("index", "collection", documents(5),
+            new BulkOptions()
+                .setRetryDelay(10)
+                .setOnProgress(progress::add))
+        .get(5, TimeUnit.SECONDS);
+
+    Assert.assertEquals(2, kuzzle.queries.size());
+    Assert.assertEquals(1, documents(kuzzle.queries.get(1)).size());
+    Assert.assertEquals(4, result.get("successes").size());
+    Assert.assertEquals(1, result.get("errors").size());
+    Assert.assertEquals(400,
+        ((ConcurrentHashMap<String, Object>) result.get("errors").get(0))
+            .get("status"));
+    Assert.assertEquals(1, progress.get(progress.size() - 1).getRetried());
+  }
+
+  @Test
+  public void failsOnChunkFailure() throws InterruptedException {
+    Response rejected = new Response();
+    rejected.status = 400;
+    rejected.error = new ErrorResponse();
+    rejected.error.message = "Invalid request";
+
+    FakeKuzzle kuzzle = bulkKuzzle((documents) -> {
+      throw new RuntimeException(new ApiErrorException(rejected));
+    });
+
+    try {
+      kuzzle.getDocumentController()
+          .bulkDelete("index", "collection",
+              new ArrayList<>(Arrays.asList("a", "b")))
+          .get();
+      Assert.fail("The bulk write should have failed");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof ApiErrorException);
+      Assert.assertEquals(400, ((ApiErrorException) e.getCause()).getStatus());
+    }
+    Assert.assertEquals(1, kuzzle.queries.size());
+  }
+}
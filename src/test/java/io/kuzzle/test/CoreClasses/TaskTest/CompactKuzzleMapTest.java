@@ -0,0 +1,115 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.CoreClasses.Maps.CompactKuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import org.json.JSONException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+
+public class CompactKuzzleMapTest {
+  private static final String PAGE = "{\"total\":2,\"hits\":["
+      + "{\"_id\":\"foo\",\"_source\":{\"name\":\"foo\",\"age\":42}},"
+      + "{\"_id\":\"bar\",\"_source\":{\"name\":\"bar\",\"age\":null}}]}";
+
+  private KuzzleMap decode(String json) {
+    return (KuzzleMap) JsonSerializer.deserializeValue(json, true);
+  }
+
+  @Test
+  public void decodesAsKuzzleMap() {
+    KuzzleMap page = decode(PAGE);
+    ArrayList<Object> hits = page.getArrayList("hits");
+    KuzzleMap first = (KuzzleMap) hits.get(0);
+
+    Assert.assertTrue(page instanceof CompactKuzzleMap);
+    Assert.assertEquals(2, page.getNumber("total").intValue());
+    Assert.assertEquals("foo", first.getString("_id"));
+    Assert.assertEquals(42, first.getMap("_source").getNumber("age").intValue());
+    Assert.assertNull(page.get("unknown"));
+    Assert.assertFalse(page.containsKey("unknown"));
+    Assert.assertEquals(2, page.size());
+  }
+
+  @Test
+  public void siblingsShareKeys() {
+    ArrayList<Object> hits = decode(PAGE).getArrayList("hits");
+    Iterator<Map.Entry<String, Object>> first =
+        ((KuzzleMap) hits.get(0)).entrySet().iterator();
+    Iterator<Map.Entry<String, Object>> second =
+        ((KuzzleMap) hits.get(1)).entrySet().iterator();
+
+    while (first.hasNext()) {
+      Assert.assertSame(first.next().getKey(), second.next().getKey());
+    }
+    Assert.assertFalse(second.hasNext());
+  }
+
+  @Test
+  public void matchesDefaultDecoding() throws JSONException {
+    KuzzleMap compact = decode(PAGE);
+    KuzzleMap regular = (KuzzleMap) JsonSerializer.deserializeValue(PAGE);
+
+    JSONAssert.assertEquals(JsonSerializer.serialize(regular),
+        JsonSerializer.serialize(compact), true);
+    Assert.assertEquals(new KuzzleMap(compact), compact);
+    Assert.assertEquals(compact, new KuzzleMap(compact));
+    Assert.assertEquals(new KuzzleMap(compact).hashCode(), compact.hashCode());
+  }
+
+  @Test
+  public void decodesNumbers() {
+    KuzzleMap map = decode("{\"int\":42,\"long\":1589202206000,"
+        + "\"double\":4.2,\"exp\":1e3,\"big\":123456789012345678901234}");
+
+    Assert.assertEquals(42, map.get("int"));
+    Assert.assertEquals(1589202206000L, map.get("long"));
+    Assert.assertEquals(4.2, map.get("double"));
+    Assert.assertEquals(1000.0, map.get("exp"));
+    Assert.assertEquals("123456789012345678901234", map.get("big").toString());
+  }
+
+  @Test
+  public void inflatesOnModification() {
+    KuzzleMap page = decode(PAGE);
+
+    Assert.assertTrue(((CompactKuzzleMap) page).isCompact());
+    page.put("foo", "bar");
+    page.put("total", null);
+
+    Assert.assertFalse(((CompactKuzzleMap) page).isCompact());
+    Assert.assertEquals("bar", page.getString("foo"));
+    Assert.assertTrue(page.isNull("total"));
+    Assert.assertEquals(2, page.getArrayList("hits").size());
+    Assert.assertEquals(3, page.size());
+  }
+
+  @Test
+  public void largeObjects() {
+    StringBuilder json = new StringBuilder("{");
+    for (int i = 0; i < 100; i++) {
+      json.append(i > 0 ? "," : "").append("\"key").append(i).append("\":")
+          .append(i);
+    }
+    KuzzleMap map = decode(json.append("}").toString());
+
+    Assert.assertEquals(100, map.size());
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(i, map.getNumber("key" + i).intValue());
+    }
+    Assert.assertNull(map.get("key100"));
+  }
+
+  @Test
+  public void duplicateKeys() {
+    KuzzleMap map = decode("{\"foo\":1,\"foo\":2}");
+
+    Assert.assertEquals(1, map.size());
+    Assert.assertEquals(2, map.getNumber("foo").intValue());
+  }
+}
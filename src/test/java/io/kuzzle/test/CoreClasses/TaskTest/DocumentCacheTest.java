@@ -0,0 +1,149 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.API.Controllers.DocumentController;
+import io.kuzzle.sdk.CoreClasses.DocumentCache;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Events.Event;
+import io.kuzzle.sdk.Options.DocumentCacheOptions;
+import io.kuzzle.sdk.Options.KuzzleOptions;
+import io.kuzzle.sdk.Protocol.ProtocolState;
+import io.kuzzle.test.FakeKuzzle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DocumentCacheTest {
+  /**
+   * Serves documents whose ID starts with "document-", and accepts
+   * subscriptions.
+   */
+  private static FakeKuzzle cachingKuzzle(final DocumentCacheOptions options) {
+    return new FakeKuzzle(new KuzzleOptions().setDocumentCache(options),
+        request -> "subscribe".equals(request.getString("action"))
+            ? FakeKuzzle.response(new KuzzleMap()
+                .put("channel", "channel-" + request.getString("collection"))
+                .put("roomId", "room-" + request.getString("collection")))
+            : FakeKuzzle.documents(request));
+  }
+
+  private static void notify(final FakeKuzzle kuzzle,
+                             final String collection, final String id) {
+    final Response notification = new Response();
+    notification.room = "channel-" + collection;
+    notification.index = "index";
+    notification.collection = collection;
+    notification.setResult(new KuzzleMap().put("_id", id));
+    kuzzle.trigger(Event.unhandledResponse, notification);
+  }
+
+  @Test
+  public void servesCachedDocuments() throws Exception {
+    FakeKuzzle kuzzle = cachingKuzzle(new DocumentCacheOptions());
+    DocumentController documents = kuzzle.getDocumentController();
+
+    ConcurrentHashMap<String, Object> fetched =
+        documents.get("index", "collection", "document-a").get();
+    ConcurrentHashMap<String, Object> cached =
+        documents.get("index", "collection", "document-a").get();
+
+    Assert.assertSame(fetched, cached);
+    Assert.assertEquals(1, kuzzle.count("subscribe"));
+    Assert.assertEquals(1, kuzzle.count("get"));
+    Assert.assertEquals(1, kuzzle.getDocumentCache().getHitCount());
+    Assert.assertEquals(1, kuzzle.getDocumentCache().getMissCount());
+  }
+
+  @Test
+  public void evictsNotifiedDocuments() throws Exception {
+    FakeKuzzle kuzzle = cachingKuzzle(new DocumentCacheOptions());
+    DocumentController documents = kuzzle.getDocumentController();
+
+    documents.get("index", "collection", "document-a").get();
+    documents.get("index", "collection", "document-b").get();
+    notify(kuzzle, "collection", "document-a");
+    documents.get("index", "collection", "document-a").get();
+    documents.get("index", "collection", "document-b").get();
+
+    Assert.assertEquals(3, kuzzle.count("get"));
+    Assert.assertEquals(1, kuzzle.getDocumentCache().getInvalidationCount());
+  }
+
+  @Test
+  public void boundsTheCacheSize() throws Exception {
+    FakeKuzzle kuzzle = cachingKuzzle(new DocumentCacheOptions()
+        .setMaxSize(2));
+    DocumentController documents = kuzzle.getDocumentController();
+
+    documents.get("index", "collection", "document-a").get();
+    documents.get("index", "collection", "document-b").get();
+    documents.get("index", "collection", "document-a").get();
+    documents.get("index", "collection", "document-c").get();
+
+    // document-b was the least recently used
+    documents.get("index", "collection", "document-a").get();
+    documents.get("index", "collection", "document-b").get();
+
+    Assert.assertEquals(4, kuzzle.count("get"));
+    Assert.assertEquals(2, kuzzle.getDocumentCache().size());
+    Assert.assertEquals(2, kuzzle.getDocumentCache().getEvictionCount());
+  }
+
+  @Test
+  public void expiresDocuments() throws Exception {
+    FakeKuzzle kuzzle = cachingKuzzle(new DocumentCacheOptions()
+        .setTtl(20));
+    DocumentController documents = kuzzle.getDocumentController();
+
+    documents.get("index", "collection", "document-a").get();
+    Thread.sleep(50);
+    documents.get("index", "collection", "document-a").get();
+
+    Assert.assertEquals(2, kuzzle.count("get"));
+    Assert.assertEquals(1, kuzzle.getDocumentCache().getEvictionCount());
+  }
+
+  @Test
+  public void fetchesMissingDocumentsOnly() throws Exception {
+    FakeKuzzle kuzzle = cachingKuzzle(new DocumentCacheOptions());
+    DocumentController documents = kuzzle.getDocumentController();
+
+    documents.get("index", "collection", "document-b").get();
+
+    ConcurrentHashMap<String, ArrayList<Object>> result = documents
+        .mGet("index", "collection",
+            new ArrayList<>(Arrays.asList("document-a", "document-b", "missing")))
+        .get();
+
+    Assert.assertEquals(Arrays.asList("document-a", "missing"),
+        KuzzleMap.from(kuzzle.queries.get(2)).getMap("body")
+            .getArrayList("ids"));
+    Assert.assertEquals(2, result.get("successes").size());
+    Assert.assertEquals("document-a",
+        ((ConcurrentHashMap<String, Object>) result.get("successes").get(0))
+            .get("_id"));
+    Assert.assertEquals(Arrays.asList("missing"), result.get("errors"));
+
+    documents.mGet("index", "collection",
+        new ArrayList<>(Arrays.asList("document-a", "document-b"))).get();
+    Assert.assertEquals(1, kuzzle.count("mGet"));
+  }
+
+  @Test
+  public void invalidatesOnReconnection() throws Exception {
+    FakeKuzzle kuzzle = cachingKuzzle(new DocumentCacheOptions());
+    DocumentController documents = kuzzle.getDocumentController();
+    DocumentCache cache = kuzzle.getDocumentCache();
+
+    documents.get("index", "collection", "document-a").get();
+    kuzzle.onStateChanged(ProtocolState.RECONNECTING);
+
+    Assert.assertEquals(0, cache.size());
+    documents.get("index", "collection", "document-a").get();
+    Assert.assertEquals(2, kuzzle.count("get"));
+    Assert.assertEquals(1, cache.getInvalidationCount());
+  }
+}
@@ -0,0 +1,43 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.CoreClasses.HashedWheelTimer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class HashedWheelTimerTest {
+  @Test
+  public void runsTasksOnceExpired() throws InterruptedException {
+    HashedWheelTimer timer = new HashedWheelTimer(5, 8);
+    CountDownLatch latch = new CountDownLatch(1);
+    long start = System.nanoTime();
+
+    // longer than a wheel revolution
+    HashedWheelTimer.Timeout timeout = timer.schedule(latch::countDown, 100);
+
+    Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Assert.assertTrue(
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+    Assert.assertTrue(timeout.isExpired());
+    Assert.assertFalse(timeout.cancel());
+  }
+
+  @Test
+  public void skipsCancelledTasks() throws InterruptedException {
+    HashedWheelTimer timer = new HashedWheelTimer(5, 8);
+    AtomicBoolean ran = new AtomicBoolean(false);
+    CountDownLatch latch = new CountDownLatch(1);
+
+    HashedWheelTimer.Timeout cancelled = timer.schedule(() -> ran.set(true), 20);
+    timer.schedule(latch::countDown, 60);
+
+    Assert.assertTrue(cancelled.cancel());
+    Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Assert.assertFalse(ran.get());
+    Assert.assertTrue(cancelled.isCancelled());
+    Assert.assertEquals(0, timer.getPendingCount());
+  }
+}
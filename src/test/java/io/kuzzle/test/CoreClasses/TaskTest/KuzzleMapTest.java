@@ -1,12 +1,16 @@
 package io.kuzzle.test.CoreClasses.TaskTest;
 
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
 import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Maps.Null;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class KuzzleMapTest {
@@ -233,4 +237,58 @@ public class KuzzleMapTest {
     Assert.assertEquals(kuzzleMap.optMap("Null", map).hashCode(), map.hashCode());
     Assert.assertEquals(kuzzleMap.optMap("UnknownKey", map).hashCode(), map.hashCode());
   }
+
+  @Test
+  public void entrySet() {
+    Set<Map.Entry<String, Object>> entries = kuzzleMap.entrySet();
+    int nulls = 0;
+
+    Assert.assertEquals(7, entries.size());
+    for (Map.Entry<String, Object> entry : entries) {
+      if (entry.getKey().equals("Null")) {
+        Assert.assertNull(entry.getValue());
+        nulls++;
+      } else {
+        Assert.assertNotNull(entry.getValue());
+      }
+    }
+    Assert.assertEquals(1, nulls);
+
+    kuzzleMap.put("Other", "value");
+    Assert.assertEquals(8, entries.size());
+  }
+
+  @Test
+  public void copyConstructorKeepsNulls() {
+    KuzzleMap copy = new KuzzleMap(kuzzleMap);
+
+    Assert.assertEquals(kuzzleMap.size(), copy.size());
+    Assert.assertTrue(copy.isNull("Null"));
+    Assert.assertEquals("String", copy.getString("String"));
+  }
+
+  @Test
+  public void nullsShareOneMarker() {
+    KuzzleMap other = new KuzzleMap().put("foo", null);
+    ConcurrentHashMap<String, Object> raw = kuzzleMap;
+
+    Assert.assertSame(Null.INSTANCE, raw.values().stream()
+        .filter(value -> value instanceof Null)
+        .findFirst()
+        .get());
+    Assert.assertSame(Null.INSTANCE, ((ConcurrentHashMap<String, Object>) other)
+        .values()
+        .iterator()
+        .next());
+  }
+
+  @Test
+  public void serializeNulls() {
+    ConcurrentHashMap<String, Object> raw = new ConcurrentHashMap<>();
+    raw.put("foo", Null.INSTANCE);
+
+    Assert.assertEquals("{\"foo\":null}", JsonSerializer.serialize(raw));
+    Assert.assertEquals("{\"foo\":null}",
+        JsonSerializer.serialize(new KuzzleMap().put("foo", null)));
+  }
 }
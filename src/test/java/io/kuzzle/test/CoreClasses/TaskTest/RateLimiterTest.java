@@ -0,0 +1,166 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.CoreClasses.HashedWheelTimer;
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.CoreClasses.RateLimiter;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.CoreClasses.Task;
+import io.kuzzle.sdk.Exceptions.RateLimitExceededException;
+import io.kuzzle.sdk.Exceptions.RequestTimeoutException;
+import io.kuzzle.sdk.Options.RateLimitOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RateLimiterTest {
+  private final HashedWheelTimer timer = new HashedWheelTimer(5, 64);
+  private final AtomicInteger executed = new AtomicInteger();
+  private final Executor executor = task -> {
+    executed.incrementAndGet();
+    ForkJoinPool.commonPool().execute(task);
+  };
+
+  private ArrayList<Task<Response>> submit(final RateLimiter limiter,
+                                           final int count,
+                                           final Runnable dispatch) {
+    final ArrayList<Task<Response>> tasks = new ArrayList<>();
+
+    for (int i = 0; i < count; i++) {
+      final Task<Response> task = new Task<>();
+      tasks.add(task);
+      limiter.submit(new ConcurrentHashMap<>(), task,
+          serialized -> dispatch.run());
+    }
+    return tasks;
+  }
+
+  @Test
+  public void queuesRequestsPastTheConcurrencyLimit() {
+    RateLimiter limiter = new RateLimiter(new RateLimitOptions()
+        .setMaxConcurrency(2), timer, executor);
+    AtomicInteger sent = new AtomicInteger();
+
+    ArrayList<Task<Response>> tasks = submit(limiter, 3, sent::incrementAndGet);
+
+    Assert.assertEquals(2, sent.get());
+    Assert.assertEquals(2, limiter.getInFlight());
+    Assert.assertEquals(1, limiter.getQueueDepth());
+
+    tasks.get(0).trigger(new Response());
+
+    Assert.assertEquals(3, sent.get());
+    Assert.assertEquals(0, limiter.getQueueDepth());
+    Assert.assertEquals(1, limiter.getThrottledCount());
+  }
+
+  @Test
+  public void failsFastPastTheLimits() throws InterruptedException {
+    RateLimiter limiter = new RateLimiter(new RateLimitOptions()
+        .setMaxConcurrency(2)
+        .setOverflow(RateLimitOptions.Overflow.FAIL_FAST), timer, executor);
+    AtomicInteger sent = new AtomicInteger();
+
+    ArrayList<Task<Response>> tasks = submit(limiter, 3, sent::incrementAndGet);
+
+    Assert.assertEquals(2, sent.get());
+    Assert.assertEquals(1, limiter.getRejectedCount());
+    try {
+      tasks.get(2).getFuture().get();
+      Assert.fail("The request should have been rejected");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof RateLimitExceededException);
+      Assert.assertEquals(429, ((RateLimitExceededException) e.getCause()).getStatus());
+    }
+  }
+
+  @Test
+  public void waitsForTokens() throws InterruptedException {
+    RateLimiter limiter = new RateLimiter(new RateLimitOptions()
+        .setRequestsPerSecond(20), timer, executor);
+    CountDownLatch latch = new CountDownLatch(21);
+    long start = System.nanoTime();
+
+    // the bucket holds one second worth of requests
+    submit(limiter, 21, latch::countDown);
+
+    Assert.assertEquals(1, latch.getCount());
+    Assert.assertEquals(1, limiter.getQueueDepth());
+    Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Assert.assertTrue(
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 40);
+    // sent by the executor, not by the timer thread
+    Assert.assertTrue(executed.get() > 0);
+  }
+
+  @Test
+  public void serializesRequestsOnce() {
+    RateLimiter limiter = new RateLimiter(new RateLimitOptions()
+        .setBytesPerSecond(1000), timer, executor);
+    ConcurrentHashMap<String, Object> query = new ConcurrentHashMap<>();
+    AtomicReference<String> sent = new AtomicReference<>();
+
+    query.put("controller", "server");
+    query.put("action", "now");
+    limiter.submit(query, new Task<Response>(), sent::set);
+
+    Assert.assertEquals(JsonSerializer.serialize(query), sent.get());
+  }
+
+  @Test
+  public void withdrawsQueuedRequests() {
+    RateLimiter limiter = new RateLimiter(new RateLimitOptions()
+        .setMaxConcurrency(1), timer, executor);
+    AtomicInteger sent = new AtomicInteger();
+
+    ArrayList<Task<Response>> tasks = submit(limiter, 3, sent::incrementAndGet);
+
+    Assert.assertTrue(limiter.remove(tasks.get(1)));
+    Assert.assertFalse(limiter.remove(tasks.get(0)));
+    Assert.assertEquals(1, limiter.clear().size());
+    Assert.assertEquals(0, limiter.getQueueDepth());
+    Assert.assertEquals(1, sent.get());
+  }
+
+  @Test
+  public void adaptsTheConcurrencyLimit() {
+    RateLimiter limiter = new RateLimiter(new RateLimitOptions()
+        .setConcurrency(RateLimitOptions.Concurrency.AIMD)
+        .setInitialConcurrency(10), timer, executor);
+
+    ArrayList<Task<Response>> tasks = submit(limiter, 10, () -> {});
+
+    // sent while the limit was fully used
+    tasks.get(9).trigger(new Response());
+    Assert.assertEquals(11, limiter.getConcurrencyLimit());
+
+    tasks.get(1).setException(new RequestTimeoutException("1", 10));
+    Assert.assertEquals(9, limiter.getConcurrencyLimit());
+    Assert.assertEquals(1, limiter.getDroppedCount());
+
+    // cancelled requests tell nothing about the load
+    tasks.get(2).getFuture().cancel(false);
+    Assert.assertEquals(9, limiter.getConcurrencyLimit());
+    Assert.assertEquals(7, limiter.getInFlight());
+  }
+
+  @Test
+  public void vegasLimitShrinksWhenResponsesSlowDown() {
+    RateLimiter.VegasLimit limit = new RateLimiter.VegasLimit(20, 1, 100);
+
+    limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 20, false);
+    Assert.assertEquals(21, limit.get());
+
+    // half of the requests are queued on the server side
+    limit.onSample(TimeUnit.MILLISECONDS.toNanos(20), 21, false);
+    Assert.assertEquals(19, limit.get());
+  }
+}
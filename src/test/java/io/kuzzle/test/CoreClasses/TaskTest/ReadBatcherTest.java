@@ -0,0 +1,140 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.API.Controllers.DocumentController;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.Exceptions.ApiErrorException;
+import io.kuzzle.sdk.Exceptions.InternalException;
+import io.kuzzle.sdk.Options.KuzzleOptions;
+import io.kuzzle.sdk.Options.ReadBatchingOptions;
+import io.kuzzle.test.FakeKuzzle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class ReadBatcherTest {
+  /**
+   * Serves documents whose ID starts with "document-", and keeps the
+   * requests pending until released.
+   */
+  private static FakeKuzzle loadingKuzzle(final int maxBatchSize) {
+    return new FakeKuzzle(new KuzzleOptions()
+        .setReadBatching(new ReadBatchingOptions()
+            .setMaxBatchSize(maxBatchSize)
+            .setLingerTime(60000)), FakeKuzzle::documents).hold();
+  }
+
+  @Test
+  public void coalescesGetsIntoMGet() throws Exception {
+    FakeKuzzle kuzzle = loadingKuzzle(3);
+    DocumentController documents = kuzzle.getDocumentController();
+
+    CompletableFuture<ConcurrentHashMap<String, Object>> a =
+        documents.get("index", "collection", "document-a");
+    CompletableFuture<ConcurrentHashMap<String, Object>> b =
+        documents.get("index", "collection", "document-b");
+    CompletableFuture<ConcurrentHashMap<String, Object>> otherCollection =
+        documents.get("index", "other", "document-a");
+    CompletableFuture<ConcurrentHashMap<String, Object>> c =
+        documents.get("index", "collection", "document-c");
+
+    Assert.assertEquals(1, kuzzle.queries.size());
+    KuzzleMap query = KuzzleMap.from(kuzzle.queries.get(0));
+    Assert.assertEquals("mGet", query.getString("action"));
+    Assert.assertEquals(3, query.getMap("body").getArrayList("ids").size());
+
+    kuzzle.getReadBatcher().flush();
+    kuzzle.release();
+
+    Assert.assertEquals("document-a", a.get().get("_id"));
+    Assert.assertEquals("document-b", b.get().get("_id"));
+    Assert.assertEquals("document-c", c.get().get("_id"));
+    Assert.assertEquals("document-a", otherCollection.get().get("_id"));
+    Assert.assertEquals("get", kuzzle.queries.get(1).get("action"));
+  }
+
+  @Test
+  public void deduplicatesGets() throws Exception {
+    FakeKuzzle kuzzle = loadingKuzzle(100);
+    DocumentController documents = kuzzle.getDocumentController();
+
+    CompletableFuture<ConcurrentHashMap<String, Object>> first =
+        documents.get("index", "collection", "document-a");
+    CompletableFuture<ConcurrentHashMap<String, Object>> queued =
+        documents.get("index", "collection", "document-a");
+    documents.get("index", "collection", "document-b");
+    kuzzle.getReadBatcher().flush();
+
+    // already being fetched
+    CompletableFuture<ConcurrentHashMap<String, Object>> inFlight =
+        documents.get("index", "collection", "document-a");
+    kuzzle.getReadBatcher().flush();
+    kuzzle.release();
+
+    Assert.assertEquals(1, kuzzle.queries.size());
+    Assert.assertEquals(2, KuzzleMap.from(kuzzle.queries.get(0))
+        .getMap("body").getArrayList("ids").size());
+    Assert.assertSame(first.get(), queued.get());
+    Assert.assertSame(first.get(), inFlight.get());
+    Assert.assertEquals(4, kuzzle.getReadBatcher().getRequestedCount());
+    Assert.assertEquals(2, kuzzle.getReadBatcher().getFetchedCount());
+
+    // fetched again once answered
+    documents.get("index", "collection", "document-a");
+    kuzzle.getReadBatcher().flush();
+    Assert.assertEquals(2, kuzzle.queries.size());
+  }
+
+  @Test
+  public void failsMissingDocuments() throws Exception {
+    FakeKuzzle kuzzle = loadingKuzzle(2);
+    DocumentController documents = kuzzle.getDocumentController();
+
+    CompletableFuture<ConcurrentHashMap<String, Object>> found =
+        documents.get("index", "collection", "document-a");
+    CompletableFuture<ConcurrentHashMap<String, Object>> missing =
+        documents.get("index", "collection", "missing");
+    kuzzle.release();
+
+    Assert.assertEquals("document-a", found.get().get("_id"));
+
+    try {
+      missing.get();
+      Assert.fail("The missing document should not have been found");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof ApiErrorException);
+      Assert.assertEquals(404, ((ApiErrorException) e.getCause()).getStatus());
+      Assert.assertEquals("services.storage.not_found",
+          ((ApiErrorException) e.getCause()).getId());
+    }
+  }
+
+  @Test
+  public void failsTheGetsOfAnUnexpectedResult() throws Exception {
+    FakeKuzzle kuzzle = new FakeKuzzle(new KuzzleOptions()
+        .setReadBatching(new ReadBatchingOptions().setLingerTime(60000)),
+        request -> FakeKuzzle.response(new ArrayList<>()));
+    DocumentController documents = kuzzle.getDocumentController();
+
+    CompletableFuture<ConcurrentHashMap<String, Object>> a =
+        documents.get("index", "collection", "document-a");
+    CompletableFuture<ConcurrentHashMap<String, Object>> b =
+        documents.get("index", "collection", "document-b");
+    kuzzle.getReadBatcher().flush();
+
+    for (CompletableFuture<ConcurrentHashMap<String, Object>> get
+        : Arrays.asList(a, b)) {
+      try {
+        get.get(5, TimeUnit.SECONDS);
+        Assert.fail("The get should have failed");
+      } catch (ExecutionException e) {
+        Assert.assertTrue(e.getCause() instanceof InternalException);
+      }
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonScanner;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Exceptions.InternalException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+public class ResponseTest {
+
+  @Test
+  public void findTopLevelValue() {
+    String json = "{\"a\": {\"result\": \"}\\\"{\"}, \"result\" : [1, {\"b\": \"]\"}], \"c\": 2}";
+    int[] bounds = JsonScanner.findTopLevelValue(json, "result");
+
+    Assert.assertNotNull(bounds);
+    Assert.assertEquals("[1, {\"b\": \"]\"}]", json.substring(bounds[0], bounds[1]));
+    Assert.assertNull(JsonScanner.findTopLevelValue(json, "b"));
+    Assert.assertNull(JsonScanner.findTopLevelValue("[]", "result"));
+    Assert.assertNull(JsonScanner.findTopLevelValue("{}", "result"));
+  }
+
+  @Test
+  public void fromJsonParsesResultLazily() throws InternalException {
+    Response response = new Response();
+    response.fromJson("{\"requestId\":\"foo\",\"room\":\"foo\",\"status\":200,"
+        + "\"result\":{\"hits\":[{\"_id\":\"bar\"}],\"total\":1},\"volatile\":{\"sdkName\":\"java\"}}");
+
+    Assert.assertEquals("foo", response.requestId);
+    Assert.assertEquals("foo", response.room);
+    Assert.assertEquals(200, response.status);
+    Assert.assertEquals("java", response.Volatile.get("sdkName"));
+
+    KuzzleMap result = (KuzzleMap) response.getResult();
+    Assert.assertEquals("bar", ((KuzzleMap) ((ArrayList) result.get("hits")).get(0)).get("_id"));
+    Assert.assertSame(result, response.getResult());
+  }
+
+  @Test
+  public void fromJsonWithScalarOrMissingResult() throws InternalException {
+    Response response = new Response();
+    response.fromJson("{\"requestId\":\"foo\",\"result\":true}");
+    Assert.assertEquals(true, response.getResult());
+
+    response.fromJson("{\"requestId\":\"foo\",\"result\":null}");
+    Assert.assertNull(response.getResult());
+
+    response.fromJson("{\"requestId\":\"foo\",\"error\":{\"id\":\"some.error\",\"status\":400}}");
+    Assert.assertNull(response.getResult());
+    Assert.assertEquals("some.error", response.error.id);
+  }
+}
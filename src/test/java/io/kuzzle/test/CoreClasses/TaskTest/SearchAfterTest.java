@@ -0,0 +1,201 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.CoreClasses.SearchAfter;
+import io.kuzzle.sdk.CoreClasses.SearchResult;
+import io.kuzzle.sdk.Options.SearchOptions;
+import io.kuzzle.test.FakeKuzzle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SearchAfterTest {
+  private static final int TOTAL = 45;
+
+  /**
+   * Serves documents of equal score, with from/size or search_after. They
+   * are sorted by _id if the sort has the tiebreaker. Otherwise, ties are
+   * ordered differently by each request, as shards may do.
+   */
+  private static Response page(final KuzzleMap request) {
+    final KuzzleMap body = request.getMap("body");
+    final int size = request.getNumber("size").intValue();
+    final ArrayList<?> sort = body.getArrayList("sort");
+    final boolean unique = sort != null && sort.contains("_id");
+    int from = request.optNumber("from", 0).intValue();
+
+    if (body.get("search_after") != null) {
+      Assert.assertTrue("search_after needs a unique sort", unique);
+      final ArrayList<?> after = body.getArrayList("search_after");
+      final String lastId = (String) after.get(after.size() - 1);
+      from = Integer.parseInt(lastId.substring("document-".length())) + 1;
+    }
+
+    final ArrayList<Object> hits = new ArrayList<>();
+    for (int k = from; k < Math.min(TOTAL, from + size); k++) {
+      final int i = unique ? k : (k * 7 + from) % TOTAL;
+
+      hits.add(new KuzzleMap()
+          .put("_id", String.format("document-%03d", i))
+          .put("_score", 1)
+          .put("_source", new KuzzleMap()));
+    }
+
+    return FakeKuzzle.response(new KuzzleMap()
+        .put("hits", hits)
+        .put("total", TOTAL));
+  }
+
+  private KuzzleMap hit() {
+    return new KuzzleMap()
+        .put("_id", "foo")
+        .put("_score", 1.5)
+        .put("_source", new KuzzleMap()
+            .put("name", "bar")
+            .put("address", new KuzzleMap().put("city", "Montpellier"))
+            .put("comments", new ArrayList<>(Arrays.asList(
+                new KuzzleMap().put("date", 3),
+                new KuzzleMap().put("date", 1),
+                new KuzzleMap().put("date", 2)))));
+  }
+
+  @Test
+  public void nextRequestLeavesRequestUntouched() {
+    final KuzzleMap body = new KuzzleMap()
+        .put("sort", new ArrayList<>(Arrays.asList(
+            "name",
+            new KuzzleMap().put("address.city", "desc"),
+            new KuzzleMap().put("comments.date",
+                new KuzzleMap().put("order", "desc")),
+            "comments.date",
+            "_score",
+            "_uid",
+            "_id")));
+    final KuzzleMap request = new KuzzleMap()
+        .put("collection", "collection")
+        .put("from", 10)
+        .put("body", body);
+
+    final KuzzleMap next = SearchAfter.nextRequest(request, hit());
+
+    Assert.assertNull(body.get("search_after"));
+    Assert.assertEquals(10, request.get("from"));
+    Assert.assertNull(next.get("from"));
+    Assert.assertEquals(
+        Arrays.asList("bar", "Montpellier", 3, 1, 1.5, "collection#foo", "foo"),
+        next.getMap("body").getArrayList("search_after"));
+  }
+
+  @Test
+  public void prefersSortValuesOfTheHit() {
+    final KuzzleMap hit = hit().put("sort", new ArrayList<>(Arrays.asList(42, "foo")));
+
+    Assert.assertEquals(Arrays.asList(42, "foo"),
+        SearchAfter.sortValues(hit, "name", "collection"));
+  }
+
+  @Test
+  public void withTiebreaker() {
+    Assert.assertEquals(
+        Arrays.asList(new KuzzleMap().put("_score", "desc"), "_id"),
+        SearchAfter.withTiebreaker(new KuzzleMap()).getArrayList("sort"));
+    Assert.assertEquals(Arrays.asList("name", "_id"),
+        SearchAfter.withTiebreaker(new KuzzleMap().put("sort", "name"))
+            .getArrayList("sort"));
+
+    final KuzzleMap sorted = new KuzzleMap()
+        .put("sort", new ArrayList<>(Arrays.asList("_id")));
+    Assert.assertEquals(Arrays.asList("_id"),
+        SearchAfter.withTiebreaker(sorted).getArrayList("sort"));
+  }
+
+  @Test
+  public void switchesToSearchAfterPastThreshold() throws Exception {
+    final FakeKuzzle kuzzle = new FakeKuzzle(SearchAfterTest::page);
+    final SearchOptions options = new SearchOptions();
+    options.setSize(10);
+    options.setSearchAfterThreshold(20);
+
+    SearchResult page = kuzzle.getDocumentController()
+        .search("index", "collection", new ConcurrentHashMap<>(), options)
+        .get();
+    final ArrayList<Object> ids = new ArrayList<>();
+
+    while (page != null) {
+      for (ConcurrentHashMap<String, Object> hit : page.hits) {
+        ids.add(hit.get("_id"));
+      }
+      page = page.next().get();
+    }
+
+    Assert.assertEquals(TOTAL, ids.size());
+    Assert.assertEquals(TOTAL, new HashSet<>(ids).size());
+    Assert.assertEquals("document-044", ids.get(TOTAL - 1));
+    Assert.assertEquals(5, kuzzle.queries.size());
+    Assert.assertEquals(10, kuzzle.queries.get(1).get("from"));
+    Assert.assertNull(kuzzle.queries.get(2).get("from"));
+    Assert.assertEquals(Arrays.asList(1, "document-019"),
+        kuzzle.queries.get(2).getMap("body").getArrayList("search_after"));
+    Assert.assertNull(kuzzle.queries.get(0).getMap("body").get("search_after"));
+
+    // every page follows the same unique sort
+    for (KuzzleMap query : kuzzle.queries) {
+      Assert.assertEquals(
+          Arrays.asList(new KuzzleMap().put("_score", "desc"), "_id"),
+          query.getMap("body").getArrayList("sort"));
+    }
+  }
+
+  @Test
+  public void keepsTheSortOfSearchesThatNeverSwitch() throws Exception {
+    final FakeKuzzle kuzzle = new FakeKuzzle(SearchAfterTest::page);
+    final SearchOptions options = new SearchOptions();
+    options.setSize(10);
+    options.setSearchAfterThreshold(null);
+
+    SearchResult page = kuzzle.getDocumentController()
+        .search("index", "collection", new ConcurrentHashMap<>(), options)
+        .get();
+    page.next().get();
+
+    Assert.assertNull(kuzzle.queries.get(0).getMap("body").get("sort"));
+    Assert.assertEquals(10, kuzzle.queries.get(1).get("from"));
+  }
+
+  @Test
+  public void addsTheTiebreakerWithoutThreshold() throws Exception {
+    final FakeKuzzle kuzzle = new FakeKuzzle(SearchAfterTest::page);
+    final SearchOptions options = new SearchOptions();
+    options.setSize(10);
+    options.setSearchAfterThreshold(null);
+
+    final ConcurrentHashMap<String, Object> query = new KuzzleMap()
+        .put("sort", new ArrayList<>(Arrays.asList("_score")));
+
+    SearchResult page = kuzzle.getDocumentController()
+        .search("index", "collection", query, options)
+        .get();
+    page = page.next().get();
+
+    Assert.assertEquals(Arrays.asList("_score", "_id"),
+        kuzzle.queries.get(0).getMap("body").getArrayList("sort"));
+    Assert.assertEquals(Arrays.asList("_score", "_id"),
+        kuzzle.queries.get(1).getMap("body").getArrayList("sort"));
+    Assert.assertEquals(Arrays.asList(1, "document-009"),
+        kuzzle.queries.get(1).getMap("body").getArrayList("search_after"));
+    Assert.assertEquals("document-010", page.hits.get(0).get("_id"));
+  }
+
+  @Test
+  public void appendsTheTiebreakerToTheHitSortValues() {
+    final KuzzleMap hit = hit().put("sort", new ArrayList<>(Arrays.asList(42)));
+
+    Assert.assertEquals(Arrays.asList(42, "foo"), SearchAfter.sortValues(hit,
+        new ArrayList<>(Arrays.asList("name", "_id")), "collection"));
+  }
+}
@@ -0,0 +1,114 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.CoreClasses.SearchCursor;
+import io.kuzzle.sdk.CoreClasses.SearchResult;
+import io.kuzzle.sdk.Options.SearchOptions;
+import io.kuzzle.test.FakeKuzzle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SearchCursorTest {
+  private static final int TOTAL = 25;
+  private static final int PAGE_SIZE = 10;
+
+  private int offset = 0;
+
+  /**
+   * Serves the pages of a scroll search over TOTAL documents.
+   */
+  private Response page(final KuzzleMap request) {
+    final ArrayList<Object> hits = new ArrayList<>();
+
+    for (int i = offset; i < Math.min(TOTAL, offset + PAGE_SIZE); i++) {
+      hits.add(new KuzzleMap().put("_id", "document-" + i));
+    }
+    offset += hits.size();
+
+    return FakeKuzzle.response(new KuzzleMap()
+        .put("hits", hits)
+        .put("total", TOTAL)
+        .put("scrollId", "scroll-id"));
+  }
+
+  private FakeKuzzle scrollingKuzzle() {
+    return new FakeKuzzle(this::page);
+  }
+
+  private SearchResult firstPage(final FakeKuzzle kuzzle) {
+    return new SearchResult(kuzzle,
+        new KuzzleMap().put("controller", "document").put("action", "search"),
+        new SearchOptions(), page(null));
+  }
+
+  @Test
+  public void streamsEveryHit() {
+    final FakeKuzzle kuzzle = scrollingKuzzle();
+    final List<Object> ids;
+
+    try (Stream<ConcurrentHashMap<String, Object>> hits =
+             firstPage(kuzzle).stream()) {
+      ids = hits.map(hit -> hit.get("_id")).collect(Collectors.toList());
+    }
+
+    Assert.assertEquals(TOTAL, ids.size());
+    for (int i = 0; i < TOTAL; i++) {
+      Assert.assertEquals("document-" + i, ids.get(i));
+    }
+    Assert.assertEquals(2, kuzzle.size());
+  }
+
+  @Test
+  public void prefetchesAtMostMaxPages() throws InterruptedException {
+    final FakeKuzzle kuzzle = scrollingKuzzle();
+    final SearchResult first = firstPage(kuzzle);
+    final SearchCursor cursor = first.cursor(2);
+
+    // the second page is fetched before the first one is consumed
+    for (int i = 0; i < 100 && kuzzle.size() < 1; i++) {
+      Thread.sleep(10);
+    }
+    Thread.sleep(50);
+    Assert.assertEquals(1, kuzzle.size());
+
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      cursor.next();
+    }
+    // the first page is not released: it belongs to the caller
+    Assert.assertNotNull(first.hits.get(0));
+
+    cursor.next();
+    for (int i = 0; i < 100 && kuzzle.size() < 2; i++) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(2, kuzzle.size());
+    cursor.close();
+    Assert.assertFalse(cursor.hasNext());
+  }
+
+  @Test
+  public void fetchesOnDemand() {
+    final FakeKuzzle kuzzle = scrollingKuzzle();
+    final SearchCursor cursor = firstPage(kuzzle).cursor(1);
+
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      cursor.next();
+    }
+    Assert.assertEquals(0, kuzzle.size());
+
+    int count = PAGE_SIZE;
+    while (cursor.hasNext()) {
+      cursor.next();
+      count++;
+    }
+    Assert.assertEquals(TOTAL, count);
+    Assert.assertEquals(2, kuzzle.size());
+  }
+}
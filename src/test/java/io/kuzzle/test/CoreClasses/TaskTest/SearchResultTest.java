@@ -38,7 +38,7 @@ public class SearchResultTest {
     result.put("scrollId", "");
     result.put("total", new LazilyParsedNumber("1"));
 
-    response.result = result;
+    response.setResult(result);
 
     SearchResult searchResult = new SearchResult(kuzzleMock, request, options, response);
     Assert.assertNotNull(searchResult);
@@ -51,7 +51,7 @@ public class SearchResultTest {
     result.put("scrollId", "");
     result.put("total", new LazilyParsedNumber("1"));
 
-    response.result = result;
+    response.setResult(result);
 
     SearchResult searchResult = new SearchResult(kuzzleMock, request, options, response, 10);
     Assert.assertNotNull(searchResult);
@@ -65,7 +65,7 @@ public class SearchResultTest {
     result.put("scrollAction", "scroll");
     result.put("total", new LazilyParsedNumber("10"));
     request.put("controller", "document");
-    response.result = result;
+    response.setResult(result);
 
     SearchResult searchResult = new SearchResult(kuzzleMock, request, options, response, 10);
     searchResult = searchResult.next().get();
@@ -83,7 +83,7 @@ public class SearchResultTest {
     options.setFrom(30);
     ConcurrentHashMap<String, Object> body = new ConcurrentHashMap<>();
     request.put("body", body);
-    response.result = result;
+    response.setResult(result);
 
     SearchResult searchResult = new SearchResult(kuzzleMock, request, options, response, 10);
     searchResult = searchResult.next().get();
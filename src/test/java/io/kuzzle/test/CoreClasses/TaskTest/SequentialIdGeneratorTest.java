@@ -0,0 +1,35 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.CoreClasses.SequentialIdGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class SequentialIdGeneratorTest {
+
+  @Test
+  public void generatesPrefixedSequentialIds() {
+    SequentialIdGenerator generator = new SequentialIdGenerator("foo");
+
+    Assert.assertEquals("foo-1", generator.get());
+    Assert.assertEquals("foo-2", generator.get());
+    for (int i = 0; i < 33; i++) {
+      generator.get();
+    }
+    Assert.assertEquals("foo-10", generator.get());
+  }
+
+  @Test
+  public void generatesUniqueIdsAcrossGenerators() {
+    SequentialIdGenerator first = new SequentialIdGenerator();
+    SequentialIdGenerator second = new SequentialIdGenerator();
+    Set<String> ids = new HashSet<>();
+
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertTrue(ids.add(first.get()));
+      Assert.assertTrue(ids.add(second.get()));
+    }
+  }
+}
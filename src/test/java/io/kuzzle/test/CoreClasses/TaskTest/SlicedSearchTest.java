@@ -0,0 +1,116 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.CoreClasses.SlicedSearch;
+import io.kuzzle.sdk.Options.SearchOptions;
+import io.kuzzle.test.FakeKuzzle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SlicedSearchTest {
+  private static final int SLICE_SIZE = 25;
+  private static final int PAGE_SIZE = 10;
+
+  private final HashMap<String, Integer> offsets = new HashMap<>();
+
+  /**
+   * Serves sliced scroll searches over SLICE_SIZE documents per slice.
+   */
+  private Response page(final KuzzleMap query) {
+    final String scrollId;
+
+    if ("search".equals(query.get("action"))) {
+      final KuzzleMap slice = query.getMap("body").getMap("slice");
+      scrollId = "slice-" + (slice == null ? 0 : slice.getNumber("id"));
+    } else {
+      scrollId = query.getString("scrollId");
+    }
+
+    final int offset = offsets.getOrDefault(scrollId, 0);
+    final ArrayList<Object> hits = new ArrayList<>();
+    for (int i = offset; i < Math.min(SLICE_SIZE, offset + PAGE_SIZE); i++) {
+      hits.add(new KuzzleMap().put("_id", scrollId + "/" + i));
+    }
+    offsets.put(scrollId, offset + hits.size());
+
+    return FakeKuzzle.response(new KuzzleMap()
+        .put("hits", hits)
+        .put("total", SLICE_SIZE)
+        .put("scrollId", scrollId));
+  }
+
+  private SearchOptions scrollOptions() {
+    SearchOptions options = new SearchOptions();
+    options.setScroll("1m");
+    options.setSize(PAGE_SIZE);
+    return options;
+  }
+
+  @Test
+  public void mergesSlices() {
+    FakeKuzzle kuzzle = new FakeKuzzle(this::page);
+    SlicedSearch search = kuzzle.getDocumentController().searchSliced(
+        "index", "collection", new ConcurrentHashMap<>(), scrollOptions(), 3, 4);
+    List<Object> ids;
+
+    try (Stream<ConcurrentHashMap<String, Object>> hits = search.stream()) {
+      ids = hits.map(hit -> hit.get("_id")).collect(Collectors.toList());
+    }
+
+    Assert.assertEquals(3 * SLICE_SIZE, ids.size());
+    Assert.assertEquals(3 * SLICE_SIZE, new HashSet<>(ids).size());
+    Assert.assertEquals(9, kuzzle.size());
+  }
+
+  @Test
+  public void partitionsCanBeConsumedInSequence() {
+    FakeKuzzle kuzzle = new FakeKuzzle(this::page);
+    SlicedSearch search = kuzzle.getDocumentController().searchSliced(
+        "index", "collection", new ConcurrentHashMap<>(), scrollOptions(), 3, 3);
+    List<Stream<ConcurrentHashMap<String, Object>>> partitions =
+        search.partitions();
+
+    Assert.assertEquals(3, partitions.size());
+    for (int i = 0; i < 3; i++) {
+      final String prefix = "slice-" + i + "/";
+      List<Object> ids = partitions.get(i)
+          .map(hit -> hit.get("_id"))
+          .collect(Collectors.toList());
+
+      Assert.assertEquals(SLICE_SIZE, ids.size());
+      Assert.assertTrue(ids.stream().allMatch(id -> id.toString().startsWith(prefix)));
+    }
+  }
+
+  @Test
+  public void boundsHeldPages() throws InterruptedException {
+    final ArrayList<Integer> sent = new ArrayList<>();
+    final SlicedSearch search = new SlicedSearch((slice) -> {
+      synchronized (sent) {
+        sent.add(slice);
+      }
+      return new CompletableFuture<>();
+    }, 4, 2);
+
+    search.stream();
+    Thread.sleep(50);
+    Assert.assertEquals(2, sent.size());
+    search.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void requiresScroll() {
+    new FakeKuzzle(this::page).getDocumentController().searchSliced(
+        "index", "collection", new ConcurrentHashMap<>(), new SearchOptions(), 3, 4);
+  }
+}
@@ -0,0 +1,170 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.CoreClasses.Jwt;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.ErrorResponse;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Options.KuzzleOptions;
+import io.kuzzle.sdk.Protocol.ProtocolState;
+import io.kuzzle.sdk.Protocol.RequestPriority;
+import io.kuzzle.sdk.Protocol.WebSocket;
+import io.kuzzle.test.TestableKuzzle;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class TokenRefresherTest {
+  private final WebSocket networkProtocol = Mockito.mock(WebSocket.class);
+  private final ArrayList<KuzzleMap> sent = new ArrayList<>();
+
+  private TestableKuzzle connect(final int minTokenDuration) {
+    Mockito.when(networkProtocol.getState()).thenReturn(ProtocolState.OPEN);
+    Mockito.doAnswer(invocation -> {
+      synchronized (sent) {
+        sent.add((KuzzleMap) invocation.getArguments()[0]);
+        sent.notifyAll();
+      }
+      return null;
+    }).when(networkProtocol).send(Matchers.any(), Matchers.any(RequestPriority.class));
+
+    return new TestableKuzzle(networkProtocol, new KuzzleOptions()
+        .setMinTokenDuration(minTokenDuration)
+        .setRefreshedTokenDuration(3_600_000));
+  }
+
+  private static String token(final long expiresIn) {
+    final String claims = "{\"_id\":\"user\",\"exp\":"
+        + (System.currentTimeMillis() + expiresIn) / 1000 + "}";
+
+    return "header."
+        + Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(claims.getBytes(StandardCharsets.UTF_8))
+        + ".signature";
+  }
+
+  private KuzzleMap awaitSent(final int count) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 5000;
+
+    synchronized (sent) {
+      while (sent.size() < count && System.currentTimeMillis() < deadline) {
+        sent.wait(100);
+      }
+      Assert.assertTrue(sent.size() >= count);
+      return sent.get(count - 1);
+    }
+  }
+
+  private static void answer(final TestableKuzzle kuzzle, final KuzzleMap query,
+                             final Object result) {
+    final Response response = new Response();
+    response.requestId = query.getString("requestId");
+    response.room = response.requestId;
+    response.status = 200;
+    response.setResult(result);
+    kuzzle.onResponseReceived(JsonSerializer.serialize(response.toMap()));
+  }
+
+  @Test
+  public void readsTheTokenExpiry() {
+    Assert.assertEquals(-1, Jwt.getExpiresAt("not-a-jwt"));
+    Assert.assertTrue(Jwt.getExpiresAt(token(60_000))
+        > System.currentTimeMillis());
+  }
+
+  @Test
+  public void refreshesTheTokenBeforeItExpires() throws Exception {
+    TestableKuzzle kuzzle = connect(60_000);
+    String refreshed = token(3_600_000);
+
+    // less than minTokenDuration left: refreshed half-way
+    kuzzle.setAuthenticationToken(token(2_000));
+
+    KuzzleMap query = awaitSent(1);
+    Assert.assertEquals("refreshToken", query.getString("action"));
+    Assert.assertEquals("3600000ms", query.getString("expiresIn"));
+
+    answer(kuzzle, query, new KuzzleMap().put("jwt", refreshed));
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (kuzzle.getTokenRefresher().getRefreshCount() == 0
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(refreshed, kuzzle.getAuthenticationToken());
+    Assert.assertEquals(1, kuzzle.getTokenRefresher().getRefreshCount());
+    Assert.assertEquals(Jwt.getExpiresAt(refreshed),
+        kuzzle.getTokenRefresher().getExpiresAt());
+  }
+
+  @Test
+  public void holdsRequestsUntilTheTokenIsSwapped() throws Exception {
+    TestableKuzzle kuzzle = connect(60_000);
+    String refreshed = token(3_600_000);
+
+    // expires within the swap window
+    kuzzle.setAuthenticationToken(token(500));
+
+    CompletableFuture<Response> response = kuzzle.query(new KuzzleMap()
+        .put("controller", "document")
+        .put("action", "get"));
+
+    KuzzleMap refresh = awaitSent(1);
+    Assert.assertEquals("refreshToken", refresh.getString("action"));
+    Assert.assertFalse(response.isDone());
+    Assert.assertEquals(1, sent.size());
+
+    answer(kuzzle, refresh, new KuzzleMap().put("jwt", refreshed));
+
+    KuzzleMap query = awaitSent(2);
+    Assert.assertEquals("get", query.getString("action"));
+    Assert.assertEquals(refreshed, query.getString("jwt"));
+
+    answer(kuzzle, query, new KuzzleMap());
+    Assert.assertNotNull(response.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void sendsTheHeldRequestsAfterAFailedRefresh() throws Exception {
+    TestableKuzzle kuzzle = connect(60_000);
+    String current = token(1_000);
+
+    // expires within the swap window
+    kuzzle.setAuthenticationToken(current);
+
+    for (int i = 0; i < 3; i++) {
+      kuzzle.query(new KuzzleMap()
+          .put("controller", "document")
+          .put("action", "get"));
+    }
+
+    KuzzleMap refresh = awaitSent(1);
+    Assert.assertEquals("refreshToken", refresh.getString("action"));
+
+    Response failure = new Response();
+    failure.requestId = refresh.getString("requestId");
+    failure.room = failure.requestId;
+    failure.status = 500;
+    failure.error = new ErrorResponse();
+    failure.error.status = 500;
+    failure.error.message = "refresh failed";
+    kuzzle.onResponseReceived(JsonSerializer.serialize(failure.toMap()));
+
+    // no refresh per held request: they go with the current token
+    awaitSent(4);
+    Thread.sleep(100);
+    Assert.assertEquals(4, sent.size());
+    for (int i = 1; i < 4; i++) {
+      Assert.assertEquals("get", sent.get(i).getString("action"));
+      Assert.assertEquals(current, sent.get(i).getString("jwt"));
+    }
+    Assert.assertEquals(1, kuzzle.getTokenRefresher().getFailureCount());
+  }
+}
@@ -0,0 +1,83 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.API.Controllers.AuthController;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.TokenValidator;
+import io.kuzzle.test.FakeKuzzle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class TokenValidatorTest {
+  /**
+   * Answers checkToken: tokens are valid for one more minute.
+   */
+  private static FakeKuzzle checkingKuzzle() {
+    return new FakeKuzzle(request -> FakeKuzzle.response(new KuzzleMap()
+        .put("valid", true)
+        .put("expiresAt", System.currentTimeMillis() + 60_000)));
+  }
+
+  private static String token(final long expiresIn) {
+    final String claims = "{\"_id\":\"user\",\"exp\":"
+        + (System.currentTimeMillis() + expiresIn) / 1000 + "}";
+
+    return "header."
+        + Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(claims.getBytes(StandardCharsets.UTF_8))
+        + ".signature";
+  }
+
+  @Test
+  public void answersLocallyWhenCertain() throws Exception {
+    FakeKuzzle kuzzle = checkingKuzzle();
+    AuthController auth = kuzzle.getAuthController();
+
+    Assert.assertFalse(auth.checkTokenValidity(token(-60_000), 0).get());
+    Assert.assertTrue(auth.checkTokenValidity(token(3_600_000), 60_000).get());
+
+    Assert.assertEquals(0, kuzzle.queries.size());
+    Assert.assertEquals(2, kuzzle.getTokenValidator().getLocalAnswerCount());
+    Assert.assertEquals(0, kuzzle.getTokenValidator().getRoundTripCount());
+  }
+
+  @Test
+  public void asksKuzzleWhenUncertain() throws Exception {
+    FakeKuzzle kuzzle = checkingKuzzle();
+    AuthController auth = kuzzle.getAuthController();
+
+    // expires too close to the requested validity, given the clock skew
+    Assert.assertTrue(auth.checkTokenValidity(token(62_000), 58_000).get());
+    Assert.assertFalse(auth.checkTokenValidity(token(62_000), 120_000).get());
+    // not a JWT
+    Assert.assertTrue(auth.checkTokenValidity("opaque-token", 0).get());
+
+    Assert.assertEquals(3, kuzzle.queries.size());
+    Assert.assertEquals("checkToken", kuzzle.queries.get(0).get("action"));
+    Assert.assertEquals(3, kuzzle.getTokenValidator().getRoundTripCount());
+  }
+
+  @Test
+  public void cachesTheDecodedClaims() {
+    TokenValidator validator = checkingKuzzle().getTokenValidator();
+    String token = token(60_000);
+
+    Assert.assertSame(validator.getClaims(token), validator.getClaims(token));
+    Assert.assertEquals("user", validator.getClaims(token).getString("_id"));
+    Assert.assertNull(validator.getClaims("opaque-token"));
+    Assert.assertEquals(TokenValidator.Validity.UNCERTAIN,
+        validator.validate(null, 0));
+  }
+
+  @Test
+  public void checksTheCurrentToken() throws Exception {
+    FakeKuzzle kuzzle = checkingKuzzle();
+
+    Assert.assertFalse(kuzzle.getAuthController().checkTokenValidity(0).get());
+
+    kuzzle.setAuthenticationToken(token(3_600_000));
+    Assert.assertTrue(kuzzle.getAuthController().checkTokenValidity(0).get());
+  }
+}
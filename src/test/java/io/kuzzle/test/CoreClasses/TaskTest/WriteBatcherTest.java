@@ -0,0 +1,203 @@
+package io.kuzzle.test.CoreClasses.TaskTest;
+
+import io.kuzzle.sdk.API.Controllers.DocumentController;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Exceptions.ApiErrorException;
+import io.kuzzle.sdk.Options.CreateOptions;
+import io.kuzzle.sdk.Options.KuzzleOptions;
+import io.kuzzle.sdk.Options.WriteBatchingOptions;
+import io.kuzzle.sdk.Protocol.RequestPriority;
+import io.kuzzle.test.FakeKuzzle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+public class WriteBatcherTest {
+  private int generated = 0;
+
+  private FakeKuzzle batchingKuzzle(final int maxBatchSize,
+                                    final long lingerTime) {
+    return new FakeKuzzle(new KuzzleOptions()
+        .setWriteBatching(new WriteBatchingOptions()
+            .setMaxBatchSize(maxBatchSize)
+            .setLingerTime(lingerTime)), this::write);
+  }
+
+  /**
+   * Answers document writes, rejecting documents with an "invalid" field.
+   */
+  private Response write(final KuzzleMap request) {
+    if (!request.getString("action").startsWith("m")) {
+      return FakeKuzzle.response(written(request.getMap("body"),
+          request.isNull("_id") ? null : request.getString("_id")));
+    }
+
+    final ArrayList<Object> successes = new ArrayList<>();
+    final ArrayList<Object> errors = new ArrayList<>();
+
+    for (Object entry : request.getMap("body").getArrayList("documents")) {
+      KuzzleMap document = KuzzleMap.from((ConcurrentHashMap<String, Object>) entry);
+
+      if (document.getMap("body").containsKey("invalid")) {
+        errors.add(new KuzzleMap()
+            .put("document", new KuzzleMap(document))
+            .put("status", 400)
+            .put("reason", "Invalid document"));
+      } else {
+        successes.add(written(document.getMap("body"),
+            document.containsKey("_id") ? document.getString("_id") : null));
+      }
+    }
+
+    return FakeKuzzle.response(new KuzzleMap()
+        .put("successes", successes)
+        .put("errors", errors));
+  }
+
+  private KuzzleMap written(final KuzzleMap body, final String id) {
+    return new KuzzleMap()
+        .put("_id", id != null ? id : "generated-" + generated++)
+        .put("_source", body)
+        .put("_version", 1);
+  }
+
+  private static KuzzleMap document(final int i) {
+    return new KuzzleMap().put("name", "document " + i);
+  }
+
+  private static CreateOptions withId(final String id) {
+    CreateOptions options = new CreateOptions();
+    options.setId(id);
+    return options;
+  }
+
+  @Test
+  public void coalescesConcurrentCreates() throws Exception {
+    FakeKuzzle kuzzle = batchingKuzzle(10, 60000);
+    DocumentController documents = kuzzle.getDocumentController();
+    ArrayList<CompletableFuture<ConcurrentHashMap<String, Object>>> results =
+        new ArrayList<>();
+
+    for (int i = 0; i < 10; i++) {
+      results.add(documents.create("index", "collection", document(i),
+          i % 2 == 0 ? withId("id-" + i) : null));
+    }
+
+    for (int i = 0; i < 10; i++) {
+      ConcurrentHashMap<String, Object> result = results.get(i).get();
+      Assert.assertEquals(document(i),
+          KuzzleMap.from(result).getMap("_source"));
+      if (i % 2 == 0) {
+        Assert.assertEquals("id-" + i, result.get("_id"));
+      }
+    }
+
+    Assert.assertEquals(1, kuzzle.queries.size());
+    Assert.assertEquals("mCreate", kuzzle.queries.get(0).get("action"));
+  }
+
+  @Test
+  public void flushesAfterLingerTime() throws Exception {
+    FakeKuzzle kuzzle = batchingKuzzle(100, 20);
+    DocumentController documents = kuzzle.getDocumentController();
+
+    CompletableFuture<ConcurrentHashMap<String, Object>> first =
+        documents.createOrReplace("index", "collection", "a", document(0));
+    CompletableFuture<ConcurrentHashMap<String, Object>> second =
+        documents.createOrReplace("index", "collection", "b", document(1));
+
+    Assert.assertEquals("a", first.get().get("_id"));
+    Assert.assertEquals("b", second.get().get("_id"));
+    Assert.assertEquals(1, kuzzle.queries.size());
+    Assert.assertEquals("mCreateOrReplace",
+        kuzzle.queries.get(0).get("action"));
+  }
+
+  @Test
+  public void sendsSingleDocumentsAlone() throws Exception {
+    FakeKuzzle kuzzle = batchingKuzzle(100, 1);
+
+    ConcurrentHashMap<String, Object> result = kuzzle.getDocumentController()
+        .create("index", "collection", document(0))
+        .get();
+
+    Assert.assertEquals("generated-0", result.get("_id"));
+    Assert.assertEquals("create", kuzzle.queries.get(0).get("action"));
+  }
+
+  @Test
+  public void failsRejectedDocumentsOnly() throws Exception {
+    FakeKuzzle kuzzle = batchingKuzzle(3, 60000);
+    DocumentController documents = kuzzle.getDocumentController();
+
+    CompletableFuture<ConcurrentHashMap<String, Object>> first =
+        documents.create("index", "collection", document(0));
+    CompletableFuture<ConcurrentHashMap<String, Object>> invalid =
+        documents.create("index", "collection",
+            document(1).put("invalid", true));
+    CompletableFuture<ConcurrentHashMap<String, Object>> last =
+        documents.create("index", "collection", document(2));
+
+    Assert.assertEquals(document(0),
+        KuzzleMap.from(first.get()).getMap("_source"));
+    Assert.assertEquals(document(2),
+        KuzzleMap.from(last.get()).getMap("_source"));
+
+    try {
+      invalid.get();
+      Assert.fail("The invalid document should have been rejected");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof ApiErrorException);
+      Assert.assertEquals(400, ((ApiErrorException) e.getCause()).getStatus());
+      Assert.assertEquals("Invalid document", e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  public void neverBatchesWritesOfTheSameDocument() throws Exception {
+    FakeKuzzle kuzzle = batchingKuzzle(100, 60000);
+    DocumentController documents = kuzzle.getDocumentController();
+
+    CompletableFuture<ConcurrentHashMap<String, Object>> first =
+        documents.createOrReplace("index", "collection", "a", document(0));
+    CompletableFuture<ConcurrentHashMap<String, Object>> second =
+        documents.createOrReplace("index", "collection", "a", document(1));
+    kuzzle.getWriteBatcher().flush();
+
+    Assert.assertEquals(document(0),
+        KuzzleMap.from(first.get()).getMap("_source"));
+    Assert.assertEquals(document(1),
+        KuzzleMap.from(second.get()).getMap("_source"));
+    Assert.assertEquals(2, kuzzle.queries.size());
+  }
+
+  @Test
+  public void batchesWritesByPriority() throws Exception {
+    FakeKuzzle kuzzle = batchingKuzzle(100, 60000);
+    DocumentController documents = kuzzle.getDocumentController();
+    CreateOptions bulk = new CreateOptions();
+    bulk.setPriority(RequestPriority.BULK);
+
+    documents.create("index", "collection", document(0), bulk);
+    documents.create("index", "collection", document(1), bulk);
+    documents.create("index", "collection", document(2));
+    documents.create("index", "collection", document(3));
+    kuzzle.getWriteBatcher().flush();
+    kuzzle.awaitQueries(2);
+
+    Assert.assertEquals(2, kuzzle.queries.size());
+    for (KuzzleMap query : kuzzle.queries) {
+      Assert.assertEquals("mCreate", query.get("action"));
+      Assert.assertEquals(
+          query.getMap("body").getArrayList("documents")
+              .contains(new KuzzleMap().put("body", document(0)))
+              ? RequestPriority.BULK : RequestPriority.INTERACTIVE,
+          query.get("priority"));
+    }
+  }
+}
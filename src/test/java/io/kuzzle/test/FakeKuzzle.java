@@ -0,0 +1,186 @@
+package io.kuzzle.test;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Kuzzle;
+import io.kuzzle.sdk.Options.KuzzleOptions;
+import io.kuzzle.sdk.Protocol.ProtocolState;
+import io.kuzzle.sdk.Protocol.WebSocket;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Kuzzle instance recording the queries made through query(), and answering
+ * them with a responder instead of sending them. Queries are kept pending
+ * if there is no responder, or while the instance holds them.
+ */
+public class FakeKuzzle extends Kuzzle {
+  public final ArrayList<KuzzleMap> queries = new ArrayList<>();
+  public final ArrayList<CompletableFuture<Response>> pending =
+      new ArrayList<>();
+  private final ArrayList<KuzzleMap> pendingQueries = new ArrayList<>();
+  private final Function<KuzzleMap, Response> responder;
+  private boolean holding = false;
+
+  /**
+   * @param responder Answers a query. A RuntimeException it throws fails the
+   *                  query with its cause. Null to keep queries pending.
+   */
+  public FakeKuzzle(final Function<KuzzleMap, Response> responder) {
+    this(new KuzzleOptions(), responder);
+  }
+
+  /**
+   * @param options   Kuzzle options
+   * @param responder Answers a query. A RuntimeException it throws fails the
+   *                  query with its cause. Null to keep queries pending.
+   */
+  public FakeKuzzle(final KuzzleOptions options,
+                    final Function<KuzzleMap, Response> responder) {
+    super(Mockito.mock(WebSocket.class), options);
+    this.responder = responder;
+  }
+
+  @Override
+  public synchronized CompletableFuture<Response> query(
+      final ConcurrentHashMap<String, Object> query) {
+    final KuzzleMap request = KuzzleMap.from(query);
+    final CompletableFuture<Response> future = new CompletableFuture<>();
+
+    queries.add(request);
+
+    if (responder == null || holding) {
+      pending.add(future);
+      pendingQueries.add(request);
+    } else {
+      answer(request, future);
+    }
+    return future;
+  }
+
+  /**
+   * Keep the next queries pending until release() is called.
+   *
+   * @return This instance
+   */
+  public synchronized FakeKuzzle hold() {
+    holding = true;
+    return this;
+  }
+
+  /**
+   * Answer the pending queries with the responder, and stop holding them.
+   */
+  public synchronized void release() {
+    holding = false;
+
+    for (int i = 0; i < pending.size(); i++) {
+      answer(pendingQueries.get(i), pending.get(i));
+    }
+    pending.clear();
+    pendingQueries.clear();
+  }
+
+  /**
+   * @return The number of queries made
+   */
+  public synchronized int size() {
+    return queries.size();
+  }
+
+  /**
+   * @param action
+   * @return The number of queries made for an action
+   */
+  public synchronized int count(final String action) {
+    int count = 0;
+
+    for (final KuzzleMap query : queries) {
+      if (action.equals(query.get("action"))) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Wait until count queries were made, for queries made from other threads.
+   *
+   * @param count
+   * @throws InterruptedException
+   */
+  public void awaitQueries(final int count) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 5000;
+
+    while (size() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(1);
+    }
+    Thread.sleep(20);
+  }
+
+  public void onStateChanged(final ProtocolState state) {
+    super.onStateChanged(state);
+  }
+
+  /**
+   * @param result
+   * @return A successful response
+   */
+  public static Response response(final Object result) {
+    final Response response = new Response();
+    response.setResult(result);
+    return response;
+  }
+
+  /**
+   * @param id
+   * @return A document named after its ID
+   */
+  public static KuzzleMap document(final String id) {
+    return new KuzzleMap()
+        .put("_id", id)
+        .put("_source", new KuzzleMap().put("name", id))
+        .put("_version", 1);
+  }
+
+  /**
+   * Answer document:get and document:mGet, finding the documents whose ID
+   * starts with "document-" only.
+   *
+   * @param request
+   * @return The get or mGet response
+   */
+  public static Response documents(final KuzzleMap request) {
+    if ("get".equals(request.getString("action"))) {
+      return response(document(request.getString("_id")));
+    }
+
+    final ArrayList<Object> successes = new ArrayList<>();
+    final ArrayList<Object> errors = new ArrayList<>();
+
+    for (Object id : request.getMap("body").getArrayList("ids")) {
+      if (id.toString().startsWith("document-")) {
+        successes.add(document(id.toString()));
+      } else {
+        errors.add(id);
+      }
+    }
+
+    return response(new KuzzleMap()
+        .put("successes", successes)
+        .put("errors", errors));
+  }
+
+  private void answer(final KuzzleMap request,
+                      final CompletableFuture<Response> future) {
+    try {
+      future.complete(responder.apply(request));
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e.getCause() != null ? e.getCause() : e);
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package io.kuzzle.test;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.CoreClasses.Responses.ErrorResponse;
+import io.kuzzle.sdk.CoreClasses.Responses.Response;
+import io.kuzzle.sdk.Events.Event;
+import io.kuzzle.sdk.Events.EventListener;
+import io.kuzzle.sdk.KuzzleSession;
+import io.kuzzle.sdk.Protocol.AbstractProtocol;
+import io.kuzzle.sdk.Protocol.ProtocolState;
+import io.kuzzle.sdk.Protocol.RequestPriority;
+import io.kuzzle.sdk.Protocol.WebSocket;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class KuzzleSessionTest {
+  private AbstractProtocol networkProtocol = Mockito.mock(WebSocket.class);
+  private TestableKuzzle kuzzle;
+
+  @Before
+  public void setup() throws URISyntaxException {
+    kuzzle = new TestableKuzzle(networkProtocol);
+  }
+
+  private List<ConcurrentHashMap> sent(final int count) {
+    ArgumentCaptor<ConcurrentHashMap> arg =
+        ArgumentCaptor.forClass(ConcurrentHashMap.class);
+    Mockito.verify(networkProtocol, Mockito.times(count))
+        .send(arg.capture(), Matchers.any(RequestPriority.class));
+    return arg.getAllValues();
+  }
+
+  @Test
+  public void sessionsSendTheirOwnToken() throws Exception {
+    Mockito.when(networkProtocol.getState()).thenReturn(ProtocolState.OPEN);
+
+    KuzzleSession alice = kuzzle.createSession();
+    KuzzleSession bob = kuzzle.createSession();
+    alice.setAuthenticationToken("alice-token");
+    bob.setAuthenticationToken("bob-token");
+
+    alice.query(new KuzzleMap().put("controller", "server").put("action", "now"));
+    bob.query(new KuzzleMap().put("controller", "server").put("action", "now"));
+    kuzzle.query(new KuzzleMap().put("controller", "server").put("action", "now"));
+
+    List<ConcurrentHashMap> queries = sent(3);
+    Assert.assertEquals("alice-token", queries.get(0).get("jwt"));
+    Assert.assertEquals("bob-token", queries.get(1).get("jwt"));
+    Assert.assertNull(queries.get(2).get("jwt"));
+    Assert.assertEquals(2, kuzzle.getSessionCount());
+  }
+
+  @Test
+  public void sessionsShareThePendingRequests() throws Exception {
+    Mockito.when(networkProtocol.getState()).thenReturn(ProtocolState.OPEN);
+
+    KuzzleSession session = kuzzle.createSession();
+    CompletableFuture<Response> response = session.query(new KuzzleMap()
+        .put("controller", "server").put("action", "now"));
+
+    String requestId = sent(1).get(0).get("requestId").toString();
+    Assert.assertTrue(kuzzle.getRequests().containsKey(requestId));
+
+    Response answer = new Response();
+    answer.requestId = requestId;
+    answer.room = requestId;
+    answer.status = 200;
+    answer.setResult(new KuzzleMap().put("now", 42));
+    kuzzle.onResponseReceived(JsonSerializer.serialize(answer.toMap()));
+
+    Assert.assertEquals(200, response.get(5, TimeUnit.SECONDS).status);
+  }
+
+  @Test
+  public void expiredTokensAreReportedToTheSession() throws Exception {
+    Mockito.when(networkProtocol.getState()).thenReturn(ProtocolState.OPEN);
+
+    KuzzleSession session = kuzzle.createSession();
+    EventListener parentListener = Mockito.mock(EventListener.class);
+    EventListener sessionListener = Mockito.mock(EventListener.class);
+    kuzzle.register(Event.tokenExpired, parentListener);
+    session.register(Event.tokenExpired, sessionListener);
+
+    session.query(new KuzzleMap().put("controller", "server").put("action", "now"));
+    String requestId = sent(1).get(0).get("requestId").toString();
+
+    Response answer = new Response();
+    answer.requestId = requestId;
+    answer.room = requestId;
+    answer.status = 401;
+    answer.error = new ErrorResponse();
+    answer.error.id = "security.token.expired";
+    answer.error.status = 401;
+    kuzzle.onResponseReceived(JsonSerializer.serialize(answer.toMap()));
+
+    Mockito.verify(sessionListener, Mockito.times(1)).trigger();
+    Mockito.verify(parentListener, Mockito.never()).trigger();
+  }
+
+  @Test
+  public void sessionsReplayTheirQueueOnReconnection() throws Exception {
+    Mockito.when(networkProtocol.getState()).thenReturn(ProtocolState.RECONNECTING);
+
+    KuzzleSession session = kuzzle.createSession();
+    session.setAuthenticationToken("session-token");
+    session.query(new KuzzleMap().put("controller", "server").put("action", "now"));
+
+    Assert.assertEquals(1, session.getOfflineQueueSize());
+    Assert.assertEquals(0, kuzzle.getOfflineQueueSize());
+
+    Mockito.when(networkProtocol.getState()).thenReturn(ProtocolState.OPEN);
+    kuzzle.onStateChanged(ProtocolState.OPEN);
+
+    ArgumentCaptor<ConcurrentHashMap> arg =
+        ArgumentCaptor.forClass(ConcurrentHashMap.class);
+    Mockito.verify(networkProtocol, Mockito.timeout(5000))
+        .send(arg.capture(), Matchers.any(RequestPriority.class));
+    Assert.assertEquals("session-token", arg.getValue().get("jwt"));
+  }
+
+  @Test
+  public void closingASessionStopsItsReplay() throws Exception {
+    Mockito.when(networkProtocol.getState()).thenReturn(ProtocolState.RECONNECTING);
+
+    KuzzleSession session = kuzzle.createSession();
+    session.query(new KuzzleMap().put("controller", "server").put("action", "now"));
+    Thread.sleep(300);
+    CompletableFuture<Response> waiting = session.query(
+        new KuzzleMap().put("controller", "server").put("action", "now"));
+
+    Mockito.when(networkProtocol.getState()).thenReturn(ProtocolState.OPEN);
+    kuzzle.onStateChanged(ProtocolState.OPEN);
+    Mockito.verify(networkProtocol, Mockito.timeout(1000))
+        .send(Matchers.any(ConcurrentHashMap.class), Matchers.any(RequestPriority.class));
+
+    session.close();
+    Thread.sleep(500);
+
+    Mockito.verify(networkProtocol, Mockito.times(1))
+        .send(Matchers.any(ConcurrentHashMap.class), Matchers.any(RequestPriority.class));
+    Assert.assertTrue(waiting.isCompletedExceptionally());
+    Assert.assertEquals(0, session.getOfflineQueueSize());
+  }
+
+  @Test
+  public void closingASessionKeepsTheConnection() {
+    KuzzleSession session = kuzzle.createSession();
+
+    session.disconnect();
+
+    Mockito.verify(networkProtocol, Mockito.never()).disconnect();
+    Assert.assertEquals(0, kuzzle.getSessionCount());
+  }
+}
@@ -6,14 +6,18 @@ import io.kuzzle.sdk.Events.Event;
 import io.kuzzle.sdk.Events.EventListener;
 import io.kuzzle.sdk.Exceptions.InternalException;
 import io.kuzzle.sdk.Exceptions.NotConnectedException;
+import io.kuzzle.sdk.Exceptions.RequestTimeoutException;
+import io.kuzzle.sdk.Options.KuzzleOptions;
 import io.kuzzle.sdk.Protocol.AbstractProtocol;
 import io.kuzzle.sdk.Protocol.ProtocolState;
+import io.kuzzle.sdk.Protocol.RequestPriority;
 import io.kuzzle.sdk.CoreClasses.Responses.ErrorResponse;
 import io.kuzzle.sdk.CoreClasses.Responses.Response;
 import io.kuzzle.sdk.Protocol.WebSocket;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
@@ -23,6 +27,9 @@ import static org.mockito.Mockito.mock;
 import java.net.URISyntaxException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class KuzzleTests {
   private AbstractProtocol networkProtocol = Mockito.mock(WebSocket.class);
@@ -70,7 +77,21 @@ public class KuzzleTests {
     CompletableFuture<Response> response = kuzzle.query(new ConcurrentHashMap<>());
 
     Assert.assertNotNull(response);
-    Mockito.verify(networkProtocol, Mockito.times(1)).send(Matchers.any(ConcurrentHashMap.class));
+    Mockito.verify(networkProtocol, Mockito.times(1)).send(Matchers.any(ConcurrentHashMap.class), Matchers.eq(RequestPriority.INTERACTIVE));
+  }
+
+  @Test
+  public void queryIsForgottenByTheProtocolOnceOver() throws NotConnectedException, InternalException {
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.OPEN);
+
+    CompletableFuture<Response> response = kuzzle.query(new ConcurrentHashMap<>());
+    ArgumentCaptor<ConcurrentHashMap> arg = ArgumentCaptor.forClass(ConcurrentHashMap.class);
+    Mockito.verify(networkProtocol).send(arg.capture(), Matchers.any(RequestPriority.class));
+    String requestId = arg.getValue().get("requestId").toString();
+
+    Mockito.verify(networkProtocol, Mockito.never()).forget(requestId);
+    response.cancel(false);
+    Mockito.verify(networkProtocol, Mockito.times(1)).forget(requestId);
   }
 
   @Test(expected = InternalException.class)
@@ -122,4 +143,173 @@ public class KuzzleTests {
 
     Mockito.verify(listener, Mockito.times(1)).trigger(Matchers.any(Response.class));
   }
+
+  @Test
+  public void queryIsQueuedWhileReconnecting() throws NotConnectedException, InternalException {
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.RECONNECTING);
+    EventListener listener = mock(EventListener.class);
+    kuzzle.register(Event.offlineQueuePush, listener);
+
+    kuzzle.query(new ConcurrentHashMap<>());
+    kuzzle.query(new ConcurrentHashMap<>());
+
+    Assert.assertEquals(2, kuzzle.getOfflineQueueSize());
+    Assert.assertEquals(0, kuzzle.getRequests().size());
+    Mockito.verify(listener, Mockito.times(2)).trigger(Matchers.any(ConcurrentHashMap.class));
+    Mockito.verify(networkProtocol, Mockito.never()).send(Matchers.any(ConcurrentHashMap.class), Matchers.eq(RequestPriority.INTERACTIVE));
+
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.OPEN);
+    kuzzle.onStateChanged(ProtocolState.OPEN);
+
+    Mockito.verify(networkProtocol, Mockito.timeout(1000).times(2)).send(Matchers.any(ConcurrentHashMap.class), Matchers.eq(RequestPriority.INTERACTIVE));
+    Assert.assertEquals(0, kuzzle.getOfflineQueueSize());
+  }
+
+  @Test
+  public void offlineQueueReplaysWithTheOriginalDelays() throws NotConnectedException, InternalException, InterruptedException {
+    kuzzle = new TestableKuzzle(networkProtocol, new KuzzleOptions().setMaxRequestDelay(1000));
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.RECONNECTING);
+
+    kuzzle.query(new ConcurrentHashMap<>());
+    Thread.sleep(300);
+    kuzzle.query(new ConcurrentHashMap<>());
+
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.OPEN);
+    kuzzle.onStateChanged(ProtocolState.OPEN);
+
+    Mockito.verify(networkProtocol, Mockito.timeout(1000).times(1)).send(Matchers.any(ConcurrentHashMap.class), Matchers.eq(RequestPriority.INTERACTIVE));
+    Assert.assertEquals(1, kuzzle.getOfflineQueueSize());
+
+    Mockito.verify(networkProtocol, Mockito.timeout(1000).times(2)).send(Matchers.any(ConcurrentHashMap.class), Matchers.eq(RequestPriority.INTERACTIVE));
+    Assert.assertEquals(0, kuzzle.getOfflineQueueSize());
+  }
+
+  @Test(expected = NotConnectedException.class)
+  public void queryShouldThrowWhenFilteredOut() throws NotConnectedException, InternalException {
+    kuzzle = new TestableKuzzle(networkProtocol, new KuzzleOptions().setQueueFilter(query -> false));
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.RECONNECTING);
+
+    kuzzle.query(new ConcurrentHashMap<>());
+  }
+
+  @Test
+  public void offlineQueueEvictsOldestRequests() throws NotConnectedException, InternalException, InterruptedException {
+    kuzzle = new TestableKuzzle(networkProtocol, new KuzzleOptions().setMaxQueueSize(1));
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.RECONNECTING);
+
+    CompletableFuture<Response> first = kuzzle.query(new ConcurrentHashMap<>());
+    CompletableFuture<Response> second = kuzzle.query(new ConcurrentHashMap<>());
+
+    Assert.assertEquals(1, kuzzle.getOfflineQueueSize());
+    Assert.assertTrue(first.isCompletedExceptionally());
+    Assert.assertFalse(second.isDone());
+  }
+
+  @Test
+  public void queryIsQueuedWhenClosedWithAutoQueue() throws NotConnectedException, InternalException {
+    kuzzle = new TestableKuzzle(networkProtocol, new KuzzleOptions().setAutoQueue(true));
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.CLOSE);
+
+    CompletableFuture<Response> response = kuzzle.query(new ConcurrentHashMap<>());
+    kuzzle.onStateChanged(ProtocolState.CLOSE);
+
+    Assert.assertEquals(1, kuzzle.getOfflineQueueSize());
+    Assert.assertFalse(response.isDone());
+  }
+
+  @Test
+  public void queryUsesRequestIdGenerator() throws NotConnectedException, InternalException {
+    kuzzle = new TestableKuzzle(networkProtocol, new KuzzleOptions().setRequestIdGenerator(() -> "some-id"));
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.OPEN);
+    ArgumentCaptor<ConcurrentHashMap> arg = ArgumentCaptor.forClass(ConcurrentHashMap.class);
+
+    kuzzle.query(new ConcurrentHashMap<>());
+
+    Mockito.verify(networkProtocol, Mockito.times(1)).send(arg.capture(), Matchers.eq(RequestPriority.INTERACTIVE));
+    Assert.assertEquals("some-id", arg.getValue().get("requestId"));
+    Assert.assertTrue(kuzzle.getRequests().containsKey("some-id"));
+  }
+
+  @Test
+  public void onResponseReceivedRemovesFailedRequests() {
+    ConcurrentHashMap<String, Task<Response>> requests = kuzzle.getRequests();
+
+    Response response = new Response();
+    response.requestId = "request-id";
+    response.room = "request-id";
+    response.status = 400;
+    response.error = new ErrorResponse();
+    response.error.status = 400;
+    response.error.message = "Bad request";
+
+    Task<Response> task = new Task<>();
+    requests.put("request-id", task);
+
+    kuzzle.onResponseReceived(JsonSerializer.serialize(response.toMap()));
+
+    Assert.assertTrue(task.isCompletedExceptionally());
+    Assert.assertEquals(0, requests.size());
+  }
+
+  @Test
+  public void queryTimesOut() throws NotConnectedException, InternalException, InterruptedException {
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.OPEN);
+
+    CompletableFuture<Response> response = kuzzle.query(new ConcurrentHashMap<>(), 50);
+
+    try {
+      response.get(5, TimeUnit.SECONDS);
+      Assert.fail("The request should have timed out");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof RequestTimeoutException);
+      Assert.assertEquals(408, ((RequestTimeoutException) e.getCause()).getStatus());
+    } catch (TimeoutException e) {
+      Assert.fail("The request timeout did not expire");
+    }
+    Assert.assertEquals(0, kuzzle.getRequests().size());
+  }
+
+  @Test
+  public void cancelledQueryIsDropped() throws NotConnectedException, InternalException {
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.OPEN);
+
+    CompletableFuture<Response> response = kuzzle.query(new ConcurrentHashMap<>());
+    response.cancel(false);
+
+    Assert.assertEquals(0, kuzzle.getRequests().size());
+    Assert.assertEquals(1, kuzzle.getCancelledRequestCount());
+    // already handed to the network protocol
+    Assert.assertEquals(0, kuzzle.getWithdrawnRequestCount());
+  }
+
+  @Test
+  public void cancelledQueuedQueryIsWithdrawn() throws NotConnectedException, InternalException {
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.RECONNECTING);
+
+    CompletableFuture<Response> cancelled = kuzzle.query(new ConcurrentHashMap<>());
+    kuzzle.query(new ConcurrentHashMap<>());
+    cancelled.cancel(false);
+
+    Assert.assertEquals(1, kuzzle.getOfflineQueueSize());
+    Assert.assertEquals(1, kuzzle.getCancelledRequestCount());
+    Assert.assertEquals(1, kuzzle.getWithdrawnRequestCount());
+  }
+
+  @Test
+  public void querySendsInThePriorityLane() throws NotConnectedException, InternalException {
+    Mockito.when(networkProtocol.getState()).thenAnswer((Answer<ProtocolState>) invocation -> ProtocolState.OPEN);
+    ArgumentCaptor<ConcurrentHashMap> arg = ArgumentCaptor.forClass(ConcurrentHashMap.class);
+
+    ConcurrentHashMap<String, Object> bulk = new ConcurrentHashMap<>();
+    bulk.put("controller", "document");
+    bulk.put("action", "mCreate");
+    kuzzle.query(bulk);
+    Mockito.verify(networkProtocol, Mockito.times(1)).send(Matchers.any(ConcurrentHashMap.class), Matchers.eq(RequestPriority.BULK));
+
+    ConcurrentHashMap<String, Object> urgent = new ConcurrentHashMap<>(bulk);
+    urgent.put("priority", RequestPriority.CONTROL);
+    kuzzle.query(urgent);
+    Mockito.verify(networkProtocol, Mockito.times(1)).send(arg.capture(), Matchers.eq(RequestPriority.CONTROL));
+    Assert.assertFalse(arg.getValue().containsKey("priority"));
+  }
 }
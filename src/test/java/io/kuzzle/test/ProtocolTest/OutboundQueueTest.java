@@ -0,0 +1,105 @@
+package io.kuzzle.test.ProtocolTest;
+
+import io.kuzzle.sdk.Protocol.OutboundQueue;
+import io.kuzzle.sdk.Protocol.RequestPriority;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class OutboundQueueTest {
+  private static OutboundQueue.Frame frame(final String name,
+                                           final int length,
+                                           final RequestPriority priority) {
+    ConcurrentHashMap<String, Object> payload = new ConcurrentHashMap<>();
+    payload.put("name", name);
+
+    StringBuilder text = new StringBuilder(name);
+    while (text.length() < length) {
+      text.append(' ');
+    }
+    return new OutboundQueue.Frame(payload, text.toString(), priority);
+  }
+
+  private static List<String> drain(final OutboundQueue queue) {
+    List<String> names = new ArrayList<>();
+    OutboundQueue.Frame frame;
+
+    while ((frame = queue.poll()) != null) {
+      names.add(frame.getPayload().get("name").toString());
+    }
+    return names;
+  }
+
+  @Test
+  public void largePayloadsDoNotBlockSmallOnes() {
+    OutboundQueue queue = new OutboundQueue();
+
+    queue.add(frame("bulk-1", 10 * OutboundQueue.QUANTUM, RequestPriority.BULK));
+    queue.add(frame("bulk-2", 10 * OutboundQueue.QUANTUM, RequestPriority.BULK));
+    queue.add(frame("get", 100, RequestPriority.INTERACTIVE));
+    queue.add(frame("refreshToken", 100, RequestPriority.CONTROL));
+
+    Assert.assertEquals(
+        Arrays.asList("refreshToken", "get", "bulk-1", "bulk-2"),
+        drain(queue));
+    Assert.assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void lanesShareTheBandwidthByWeight() {
+    OutboundQueue queue = new OutboundQueue();
+
+    for (int i = 0; i < 20; i++) {
+      queue.add(frame("bulk", OutboundQueue.QUANTUM, RequestPriority.BULK));
+      queue.add(frame("interactive", OutboundQueue.QUANTUM,
+          RequestPriority.INTERACTIVE));
+    }
+
+    // 4 interactive payloads are sent per bulk payload
+    List<String> names = drain(queue);
+    Assert.assertEquals(
+        Arrays.asList("interactive", "interactive", "interactive",
+            "interactive", "bulk", "interactive"),
+        names.subList(0, 6));
+    Assert.assertEquals(40, names.size());
+  }
+
+  @Test
+  public void removesPayloadsByIdentity() {
+    OutboundQueue queue = new OutboundQueue();
+    OutboundQueue.Frame first = frame("same", 10, RequestPriority.BULK);
+    OutboundQueue.Frame second = frame("same", 10, RequestPriority.BULK);
+
+    queue.add(first);
+    queue.add(second);
+
+    Assert.assertTrue(queue.remove(second.getPayload()));
+    Assert.assertFalse(queue.remove(second.getPayload()));
+    Assert.assertEquals(1, queue.size(RequestPriority.BULK));
+    Assert.assertSame(first, queue.poll());
+  }
+
+  @Test
+  public void defaultPriorities() {
+    Assert.assertEquals(RequestPriority.CONTROL,
+        RequestPriority.of("auth", "refreshToken"));
+    Assert.assertEquals(RequestPriority.CONTROL,
+        RequestPriority.of("realtime", "subscribe"));
+    Assert.assertEquals(RequestPriority.INTERACTIVE,
+        RequestPriority.of("realtime", "publish"));
+    Assert.assertEquals(RequestPriority.INTERACTIVE,
+        RequestPriority.of("document", "get"));
+    Assert.assertEquals(RequestPriority.INTERACTIVE,
+        RequestPriority.of("document", "mGet"));
+    Assert.assertEquals(RequestPriority.BULK,
+        RequestPriority.of("document", "mCreate"));
+    Assert.assertEquals(RequestPriority.BULK,
+        RequestPriority.of("bulk", "import"));
+    Assert.assertEquals(RequestPriority.INTERACTIVE,
+        RequestPriority.of(null, null));
+  }
+}
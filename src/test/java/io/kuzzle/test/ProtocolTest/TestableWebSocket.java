@@ -29,6 +29,14 @@ public class TestableWebSocket extends WebSocket {
     return super.socket;
   }
 
+  public Thread getWriter() {
+    return super.writer;
+  }
+
+  public Thread startWriter() {
+    return super.Dequeue();
+  }
+
   @Override
   protected com.neovisionaries.ws.client.WebSocket createClientSocket() {
     return mockedSocket;
@@ -0,0 +1,267 @@
+package io.kuzzle.test.ProtocolTest;
+
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.Events.Event;
+import io.kuzzle.sdk.Options.Protocol.ClusterOptions;
+import io.kuzzle.sdk.Options.Protocol.WebSocketOptions;
+import io.kuzzle.sdk.Protocol.AbstractProtocol;
+import io.kuzzle.sdk.Protocol.ProtocolState;
+import io.kuzzle.sdk.Protocol.WebSocket;
+import io.kuzzle.sdk.Protocol.WebSocketCluster;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WebSocketClusterTest {
+  /**
+   * Node connection recording the payloads sent to it.
+   */
+  private static class FakeNode extends AbstractProtocol {
+    final List<ConcurrentHashMap<String, Object>> sent = new ArrayList<>();
+    ProtocolState state = ProtocolState.CLOSE;
+    boolean reachable = true;
+
+    @Override
+    public ProtocolState getState() {
+      return state;
+    }
+
+    @Override
+    public void connect() throws Exception {
+      if (!reachable) {
+        throw new ConnectException("unreachable");
+      }
+      setState(ProtocolState.OPEN);
+    }
+
+    @Override
+    public void disconnect() {
+      setState(ProtocolState.CLOSE);
+    }
+
+    @Override
+    public void send(final ConcurrentHashMap<String, Object> payload) {
+      sent.add(payload);
+    }
+
+    void setState(final ProtocolState state) {
+      this.state = state;
+      trigger(Event.networkStateChange, state);
+    }
+
+    void respond(final Object requestId) {
+      trigger(Event.networkResponseReceived,
+          "{\"requestId\":\"" + requestId + "\",\"status\":200}");
+    }
+
+    void respondToPings() {
+      for (final ConcurrentHashMap<String, Object> payload
+          : new ArrayList<>(sent)) {
+        if ("now".equals(payload.get("action"))) {
+          respond(payload.get("requestId"));
+        }
+      }
+    }
+  }
+
+  private final List<FakeNode> nodes = new ArrayList<>();
+  private final List<Object> states = new ArrayList<>();
+  private final List<Object> responses = new ArrayList<>();
+  private WebSocketCluster cluster;
+
+  @Before
+  public void setup() throws Exception {
+    nodes.addAll(Arrays.asList(new FakeNode(), new FakeNode()));
+    cluster = new WebSocketCluster(nodes, new ClusterOptions()
+        .setHealthCheckInterval(0)
+        .setHealthCheckTimeout(10));
+    cluster.register(Event.networkStateChange, args -> states.add(args[0]));
+    cluster.register(Event.networkResponseReceived,
+        args -> responses.add(args[0]));
+    cluster.connect();
+  }
+
+  private FakeNode active() {
+    return nodes.get(cluster.getActiveNode());
+  }
+
+  private FakeNode standby() {
+    return nodes.get(1 - cluster.getActiveNode());
+  }
+
+  private static KuzzleMap request(final String requestId) {
+    return new KuzzleMap()
+        .put("controller", "document")
+        .put("action", "get")
+        .put("requestId", requestId);
+  }
+
+  @Test
+  public void sendsToTheActiveNode() {
+    Assert.assertEquals(ProtocolState.OPEN, cluster.getState());
+
+    cluster.send(request("1"));
+    Assert.assertEquals(1, active().sent.size());
+    Assert.assertEquals(0, standby().sent.size());
+
+    active().respond("1");
+    Assert.assertEquals(1, responses.size());
+    Assert.assertEquals(0, cluster.getPendingCount());
+  }
+
+  @Test
+  public void checksTheNodesHealth() {
+    cluster.checkHealth();
+    Assert.assertEquals("server", active().sent.get(0).get("controller"));
+    Assert.assertEquals("now", standby().sent.get(0).get("action"));
+
+    active().respondToPings();
+    standby().respondToPings();
+
+    // health check responses are not forwarded
+    Assert.assertEquals(0, responses.size());
+    Assert.assertTrue(cluster.isHealthy(0));
+    Assert.assertTrue(cluster.getLatency(1) >= 0);
+  }
+
+  @Test
+  public void failsOverAndReplaysPendingRequests() {
+    FakeNode lost = active();
+    FakeNode next = standby();
+
+    cluster.send(request("1"));
+    cluster.send(request("2"));
+    lost.respond("1");
+    states.clear();
+
+    lost.setState(ProtocolState.CLOSE);
+
+    Assert.assertSame(next, active());
+    Assert.assertEquals(1, cluster.getFailoverCount());
+    Assert.assertEquals(
+        Arrays.asList(ProtocolState.RECONNECTING, ProtocolState.OPEN), states);
+    Assert.assertEquals(1, next.sent.size());
+    Assert.assertEquals("2", next.sent.get(0).get("requestId"));
+
+    // late responses from the lost node are ignored
+    lost.respond("2");
+    Assert.assertEquals(1, responses.size());
+  }
+
+  @Test
+  public void doesNotReplayRequestsThatAreOver() {
+    FakeNode lost = active();
+    FakeNode next = standby();
+
+    cluster.send(request("1"));
+    cluster.send(request("2"));
+    // timed out
+    cluster.forget("1");
+
+    lost.setState(ProtocolState.CLOSE);
+
+    Assert.assertEquals(1, next.sent.size());
+    Assert.assertEquals("2", next.sent.get(0).get("requestId"));
+    Assert.assertEquals(1, cluster.getPendingCount());
+  }
+
+  @Test
+  public void forwardsLateResponsesOfRequestsNotReplayed() throws Exception {
+    List<FakeNode> others = Arrays.asList(new FakeNode(), new FakeNode());
+    WebSocketCluster noReplay = new WebSocketCluster(others,
+        new ClusterOptions()
+            .setHealthCheckInterval(0)
+            .setReplayPendingRequests(false));
+    noReplay.register(Event.networkResponseReceived,
+        args -> responses.add(args[0]));
+    noReplay.connect();
+
+    FakeNode lost = others.get(noReplay.getActiveNode());
+    FakeNode next = others.get(1 - noReplay.getActiveNode());
+
+    noReplay.send(request("1"));
+    lost.setState(ProtocolState.CLOSE);
+    Assert.assertEquals(0, next.sent.size());
+
+    lost.respond("1");
+    Assert.assertEquals(1, responses.size());
+    Assert.assertEquals(0, noReplay.getPendingCount());
+  }
+
+  @Test
+  public void failsOverFromAnUnresponsiveNode() throws Exception {
+    FakeNode slow = active();
+
+    cluster.checkHealth();
+    standby().respondToPings();
+    Thread.sleep(50);
+    cluster.checkHealth();
+
+    Assert.assertNotSame(slow, active());
+    Assert.assertEquals(ProtocolState.CLOSE, slow.state);
+    Assert.assertEquals(ProtocolState.OPEN, cluster.getState());
+
+    // reconnected as a standby node
+    cluster.checkHealth();
+    Assert.assertEquals(ProtocolState.OPEN, slow.state);
+    Assert.assertNotSame(slow, active());
+  }
+
+  @Test
+  public void waitsForANodeWhenAllAreLost() {
+    nodes.get(0).reachable = false;
+    nodes.get(1).reachable = false;
+    active().setState(ProtocolState.CLOSE);
+    active().setState(ProtocolState.CLOSE);
+
+    Assert.assertEquals(-1, cluster.getActiveNode());
+    Assert.assertEquals(ProtocolState.RECONNECTING, cluster.getState());
+
+    cluster.send(request("1"));
+    nodes.get(1).reachable = true;
+    cluster.checkHealth();
+
+    Assert.assertEquals(1, cluster.getActiveNode());
+    Assert.assertEquals(ProtocolState.OPEN, cluster.getState());
+    Assert.assertEquals("1", nodes.get(1).sent.get(0).get("requestId"));
+  }
+
+  @Test
+  public void retriesANodeWhoseFirstConnectionFailed() throws Exception {
+    final int port;
+    try (ServerSocket closed = new ServerSocket(0)) {
+      port = closed.getLocalPort();
+    }
+
+    final AtomicInteger attempts = new AtomicInteger();
+    final WebSocket unreachable = new WebSocket("localhost",
+        new WebSocketOptions().setPort(port).setConnectionTimeout(1000)) {
+      @Override
+      protected com.neovisionaries.ws.client.WebSocket createClientSocket()
+          throws IOException {
+        attempts.incrementAndGet();
+        return super.createClientSocket();
+      }
+    };
+
+    WebSocketCluster mixed = new WebSocketCluster(
+        Arrays.asList(new FakeNode(), unreachable),
+        new ClusterOptions().setHealthCheckInterval(0));
+    mixed.connect();
+    Assert.assertEquals(1, attempts.get());
+    Assert.assertFalse(mixed.isHealthy(1));
+
+    mixed.checkHealth();
+    Assert.assertEquals(2, attempts.get());
+    Assert.assertEquals(ProtocolState.CLOSE, unreachable.getState());
+  }
+}
@@ -0,0 +1,213 @@
+package io.kuzzle.test.ProtocolTest;
+
+import io.kuzzle.sdk.CoreClasses.Json.JsonSerializer;
+import io.kuzzle.sdk.CoreClasses.Maps.KuzzleMap;
+import io.kuzzle.sdk.Events.Event;
+import io.kuzzle.sdk.Protocol.AbstractProtocol;
+import io.kuzzle.sdk.Protocol.ProtocolState;
+import io.kuzzle.sdk.Protocol.WebSocketPool;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class WebSocketPoolTest {
+  /**
+   * Connection recording the payloads sent through it. Payloads sent while
+   * it is held are queued, and can be cancelled.
+   */
+  private static class FakeConnection extends AbstractProtocol {
+    final List<ConcurrentHashMap<String, Object>> sent = new ArrayList<>();
+    final List<ConcurrentHashMap<String, Object>> queued = new ArrayList<>();
+    ProtocolState state = ProtocolState.CLOSE;
+    boolean held = false;
+
+    @Override
+    public ProtocolState getState() {
+      return state;
+    }
+
+    @Override
+    public void connect() {
+      setState(ProtocolState.OPEN);
+    }
+
+    @Override
+    public void disconnect() {
+      setState(ProtocolState.CLOSE);
+    }
+
+    @Override
+    public void send(final ConcurrentHashMap<String, Object> payload) {
+      (held ? queued : sent).add(payload);
+    }
+
+    @Override
+    public boolean cancel(final ConcurrentHashMap<String, Object> payload) {
+      return queued.remove(payload);
+    }
+
+    void setState(final ProtocolState state) {
+      this.state = state;
+      trigger(Event.networkStateChange, state);
+    }
+
+    void respond(final String requestId) {
+      trigger(Event.networkResponseReceived,
+          "{\"requestId\":\"" + requestId + "\",\"status\":200}");
+    }
+  }
+
+  private FakeConnection first;
+  private FakeConnection second;
+  private WebSocketPool pool;
+  private final List<Object> states = new ArrayList<>();
+  private final List<Object> responses = new ArrayList<>();
+
+  @Before
+  public void setup() throws Exception {
+    first = new FakeConnection();
+    second = new FakeConnection();
+    pool = new WebSocketPool(Arrays.asList(first, second));
+    pool.register(Event.networkStateChange, args -> states.add(args[0]));
+    pool.register(Event.networkResponseReceived, args -> responses.add(args[0]));
+    pool.connect();
+  }
+
+  private static KuzzleMap request(final String controller,
+                                   final String requestId) {
+    return new KuzzleMap()
+        .put("controller", controller)
+        .put("action", "action")
+        .put("requestId", requestId);
+  }
+
+  @Test
+  public void routesToTheLeastLoadedConnection() {
+    pool.send(request("document", "1"));
+    pool.send(request("document", "2"));
+    pool.send(request("document", "3"));
+
+    Assert.assertEquals(2, first.sent.size());
+    Assert.assertEquals(1, second.sent.size());
+    Assert.assertEquals(3, pool.getInFlight());
+
+    second.respond("2");
+    pool.send(request("document", "4"));
+
+    Assert.assertEquals(1, responses.size());
+    Assert.assertEquals("4", second.sent.get(1).get("requestId"));
+    Assert.assertEquals(2, pool.getInFlight(0));
+    Assert.assertEquals(1, pool.getInFlight(1));
+  }
+
+  @Test
+  public void pinsRealtimeRequests() {
+    pool.send(request("document", "1"));
+    pool.send(request("realtime", "2"));
+    pool.send(request("realtime", "3"));
+
+    Assert.assertEquals(0, pool.getPinnedConnection());
+    Assert.assertEquals(3, first.sent.size());
+    Assert.assertEquals(0, second.sent.size());
+  }
+
+  @Test
+  public void movesThePinWhenItsConnectionIsLost() {
+    pool.send(request("realtime", "1"));
+    states.clear();
+
+    first.setState(ProtocolState.RECONNECTING);
+
+    // the pool reopens so that subscriptions are renewed
+    Assert.assertEquals(1, pool.getPinnedConnection());
+    Assert.assertEquals(
+        Arrays.asList(ProtocolState.RECONNECTING, ProtocolState.OPEN), states);
+    Assert.assertEquals(ProtocolState.OPEN, pool.getState());
+    Assert.assertEquals(0, pool.getInFlight(0));
+
+    pool.send(request("realtime", "2"));
+    pool.send(request("document", "3"));
+    Assert.assertEquals(2, second.sent.size());
+
+    first.setState(ProtocolState.OPEN);
+    pool.send(request("document", "4"));
+    Assert.assertEquals("4", first.sent.get(1).get("requestId"));
+  }
+
+  @Test
+  public void failsTheRequestsWrittenToALostConnection() {
+    pool.send(request("document", "1"));
+    pool.send(request("document", "2"));
+    pool.send(request("document", "3"));
+    first.respond("1");
+    responses.clear();
+
+    second.setState(ProtocolState.RECONNECTING);
+
+    // the request left unanswered may have been executed: it fails
+    Assert.assertEquals(2, first.sent.size());
+    Assert.assertEquals(1, responses.size());
+    KuzzleMap response = KuzzleMap.from(
+        JsonSerializer.deserialize(responses.get(0).toString()));
+    Assert.assertEquals("2", response.getString("requestId"));
+    Assert.assertEquals("network.connection.lost",
+        response.getMap("error").getString("id"));
+    Assert.assertEquals(0, pool.getInFlight(1));
+    Assert.assertEquals(1, pool.getInFlight());
+  }
+
+  @Test
+  public void movesTheRequestsStillQueuedOnALostConnection() {
+    pool.send(request("document", "1"));
+    second.held = true;
+    pool.send(request("document", "2"));
+    responses.clear();
+
+    second.setState(ProtocolState.RECONNECTING);
+
+    Assert.assertEquals(0, responses.size());
+    Assert.assertTrue(second.queued.isEmpty());
+    Assert.assertEquals("2", first.sent.get(1).get("requestId"));
+    Assert.assertEquals(2, pool.getInFlight(0));
+  }
+
+  @Test
+  public void resendsTheRequestsWrittenToALostConnectionIfAsked() {
+    pool.setReplayPendingRequests(true);
+    pool.send(request("document", "1"));
+    pool.send(request("document", "2"));
+    pool.send(request("document", "3"));
+    first.respond("1");
+
+    second.setState(ProtocolState.RECONNECTING);
+
+    // only the request left unanswered is sent again
+    Assert.assertEquals(3, first.sent.size());
+    Assert.assertEquals("2", first.sent.get(2).get("requestId"));
+    Assert.assertEquals(2, pool.getInFlight(0));
+    Assert.assertEquals(0, pool.getInFlight(1));
+
+    first.respond("2");
+    Assert.assertEquals(1, pool.getInFlight());
+  }
+
+  @Test
+  public void aggregatesTheConnectionStates() {
+    first.setState(ProtocolState.RECONNECTING);
+    second.setState(ProtocolState.RECONNECTING);
+    Assert.assertEquals(ProtocolState.RECONNECTING, pool.getState());
+
+    second.setState(ProtocolState.OPEN);
+    Assert.assertEquals(ProtocolState.OPEN, pool.getState());
+    Assert.assertEquals(ProtocolState.RECONNECTING, pool.getConnectionState(0));
+
+    pool.disconnect();
+    Assert.assertEquals(ProtocolState.CLOSE, pool.getState());
+    Assert.assertEquals(ProtocolState.CLOSE, pool.getConnectionState(1));
+  }
+}
@@ -7,6 +7,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.net.URISyntaxException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.mockito.Mockito.*;
 
@@ -81,4 +82,66 @@ public class WebSocketTests {
     Assert.assertEquals(ProtocolState.CLOSE, socket.getState());
     Assert.assertEquals(0, socket.stateChangedCount);
   }
+
+  @Test
+  public void sendDrainsQueueOnWriterThread() throws Exception {
+    when(socket.mockedSocket.connect()).thenAnswer(invocation -> null);
+
+    ConcurrentHashMap<String, Object> payload = new ConcurrentHashMap<>();
+    payload.put("foo", "bar");
+
+    socket.send(payload);
+    socket.send(payload);
+    Assert.assertEquals(2, socket.getQueueDepth());
+
+    socket.connect();
+
+    verify(socket.mockedSocket, timeout(1000).times(2)).sendText("{\"foo\":\"bar\"}");
+    verify(socket.mockedSocket, timeout(1000).atLeastOnce()).flush();
+    for (int i = 0; i < 100 && socket.getSentFrames() < 2; i++) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(0, socket.getQueueDepth());
+    Assert.assertEquals(2, socket.getSentFrames());
+  }
+
+  @Test
+  public void writerIsKeptAcrossConnections() throws Exception {
+    when(socket.mockedSocket.connect()).thenAnswer(invocation -> null);
+
+    socket.connect();
+    Thread writer = socket.getWriter();
+    Assert.assertTrue(writer.isAlive());
+
+    Assert.assertSame(writer, socket.startWriter());
+
+    socket.disconnect();
+    writer.join(1000);
+    Assert.assertFalse(writer.isAlive());
+  }
+
+  @Test
+  public void cancelRemovesQueuedPayloads() throws Exception {
+    when(socket.mockedSocket.connect()).thenAnswer(invocation -> null);
+
+    ConcurrentHashMap<String, Object> payload = new ConcurrentHashMap<>();
+    payload.put("foo", "bar");
+    ConcurrentHashMap<String, Object> cancelled = new ConcurrentHashMap<>(payload);
+
+    socket.send(cancelled);
+    socket.send(payload);
+
+    Assert.assertTrue(socket.cancel(cancelled));
+    Assert.assertFalse(socket.cancel(cancelled));
+    Assert.assertEquals(1, socket.getQueueDepth());
+
+    socket.connect();
+
+    verify(socket.mockedSocket, timeout(1000).times(1)).sendText("{\"foo\":\"bar\"}");
+    for (int i = 0; i < 100 && socket.getSentFrames() < 1; i++) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(1, socket.getSentFrames());
+    Assert.assertFalse(socket.cancel(payload));
+  }
 }